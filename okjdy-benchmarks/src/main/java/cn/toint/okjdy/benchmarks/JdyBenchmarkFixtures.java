@@ -0,0 +1,300 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks;
+
+import cn.toint.okjdy.benchmarks.model.BenchmarkOrderDo;
+import cn.toint.okjdy.benchmarks.model.BenchmarkOrderItemDo;
+import cn.toint.okjdy.core.enums.JdyFieldTypeEnum;
+import cn.toint.okjdy.core.enums.JdyWebhookOpEnum;
+import cn.toint.okjdy.core.model.JdyField;
+import cn.toint.okjdy.core.model.JdySub;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.dromara.hutool.crypto.SecureUtil;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试数据, 全部为合成数据, 不访问简道云
+ * 同一个 seed 生成的数据完全一致, 保证多次运行结果可比较
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyBenchmarkFixtures {
+    /**
+     * 宽表单字段数量 (不含子表单)
+     */
+    public static final int WIDE_FIELD_COUNT = 100;
+
+    /**
+     * 宽表单子表单行数
+     */
+    public static final int WIDE_SUB_FORM_ROWS = 5;
+
+    /**
+     * 订单明细行数
+     */
+    public static final int ORDER_ITEM_ROWS = 5;
+
+    /**
+     * 宽表单轮换使用的字段类型
+     */
+    private static final JdyFieldTypeEnum[] WIDE_FIELD_TYPES = {
+            JdyFieldTypeEnum.TEXT,
+            JdyFieldTypeEnum.TEXT_AREA,
+            JdyFieldTypeEnum.NUMBER,
+            JdyFieldTypeEnum.DATE_TIME,
+            JdyFieldTypeEnum.RADIO_GROUP,
+            JdyFieldTypeEnum.CHECK_BOX_GROUP,
+            JdyFieldTypeEnum.COMBO,
+            JdyFieldTypeEnum.COMBO_CHECK,
+    };
+
+    /**
+     * 宽表单子表单字段类型
+     */
+    private static final JdyFieldTypeEnum[] WIDE_SUB_FIELD_TYPES = {
+            JdyFieldTypeEnum.TEXT,
+            JdyFieldTypeEnum.NUMBER,
+            JdyFieldTypeEnum.DATE_TIME,
+            JdyFieldTypeEnum.COMBO,
+            JdyFieldTypeEnum.CHECK_BOX_GROUP,
+            JdyFieldTypeEnum.TEXT_AREA,
+    };
+
+    /**
+     * 固定起始时间, 保证数据可复现
+     */
+    private static final Instant BASE_TIME = Instant.parse("2025-07-01T00:00:00Z");
+
+    /**
+     * 宽表单字段定义: {@link #WIDE_FIELD_COUNT} 个普通字段 + 1 个子表单
+     */
+    @Nonnull
+    public static List<JdyField> wideFields() {
+        final List<JdyField> fields = new ArrayList<>(WIDE_FIELD_COUNT + 1);
+        for (int i = 0; i < WIDE_FIELD_COUNT; i++) {
+            fields.add(JdyBenchmarkFixtures.field(JdyBenchmarkFixtures.wideFieldName(i), WIDE_FIELD_TYPES[i % WIDE_FIELD_TYPES.length], null));
+        }
+
+        final List<JdyField> subFields = new ArrayList<>(WIDE_SUB_FIELD_TYPES.length);
+        for (int i = 0; i < WIDE_SUB_FIELD_TYPES.length; i++) {
+            subFields.add(JdyBenchmarkFixtures.field(JdyBenchmarkFixtures.wideSubFieldName(i), WIDE_SUB_FIELD_TYPES[i], null));
+        }
+        fields.add(JdyBenchmarkFixtures.field("_widget_sub", JdyFieldTypeEnum.SUBFORM, subFields));
+        return fields;
+    }
+
+    /**
+     * 宽表单数据, 与 {@link #wideFields()} 对应
+     *
+     * @param seed 数据种子
+     */
+    @Nonnull
+    public static ObjectNode wideRow(final int seed) {
+        final ObjectNode row = JacksonUtil.ofObjectNode();
+        for (int i = 0; i < WIDE_FIELD_COUNT; i++) {
+            JdyBenchmarkFixtures.putValue(row, JdyBenchmarkFixtures.wideFieldName(i), WIDE_FIELD_TYPES[i % WIDE_FIELD_TYPES.length], seed + i);
+        }
+
+        final ArrayNode subRows = row.putArray("_widget_sub");
+        for (int r = 0; r < WIDE_SUB_FORM_ROWS; r++) {
+            final ObjectNode subRow = subRows.addObject();
+            for (int i = 0; i < WIDE_SUB_FIELD_TYPES.length; i++) {
+                JdyBenchmarkFixtures.putValue(subRow, JdyBenchmarkFixtures.wideSubFieldName(i), WIDE_SUB_FIELD_TYPES[i], seed + r * 10 + i);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * 订单表单字段定义, 与 {@link BenchmarkOrderDo} 对应
+     */
+    @Nonnull
+    public static List<JdyField> orderFields() {
+        final List<JdyField> items = List.of(
+                JdyBenchmarkFixtures.field("sku", JdyFieldTypeEnum.TEXT, null),
+                JdyBenchmarkFixtures.field("name", JdyFieldTypeEnum.TEXT, null),
+                JdyBenchmarkFixtures.field("price", JdyFieldTypeEnum.NUMBER, null),
+                JdyBenchmarkFixtures.field("qty", JdyFieldTypeEnum.NUMBER, null));
+
+        return List.of(
+                JdyBenchmarkFixtures.field("order_no", JdyFieldTypeEnum.TEXT, null),
+                JdyBenchmarkFixtures.field("customer", JdyFieldTypeEnum.TEXT, null),
+                JdyBenchmarkFixtures.field("remark", JdyFieldTypeEnum.TEXT_AREA, null),
+                JdyBenchmarkFixtures.field("amount", JdyFieldTypeEnum.NUMBER, null),
+                JdyBenchmarkFixtures.field("quantity", JdyFieldTypeEnum.NUMBER, null),
+                JdyBenchmarkFixtures.field("order_time", JdyFieldTypeEnum.DATE_TIME, null),
+                JdyBenchmarkFixtures.field("status", JdyFieldTypeEnum.RADIO_GROUP, null),
+                JdyBenchmarkFixtures.field("tags", JdyFieldTypeEnum.CHECK_BOX_GROUP, null),
+                JdyBenchmarkFixtures.field("region", JdyFieldTypeEnum.COMBO, null),
+                JdyBenchmarkFixtures.field("items", JdyFieldTypeEnum.SUBFORM, items));
+    }
+
+    /**
+     * 订单数据
+     *
+     * @param seed 数据种子
+     */
+    @Nonnull
+    public static BenchmarkOrderDo order(final int seed) {
+        final BenchmarkOrderDo order = new BenchmarkOrderDo();
+        order.setOrderNo("SO" + (100000 + seed));
+        order.setCustomer("客户-" + (seed % 97));
+        order.setRemark("这是一段用于基准测试的订单备注, 序号 " + seed);
+        order.setAmount(BigDecimal.valueOf(seed * 131L % 100000, 2));
+        order.setQuantity(seed % 50 + 1);
+        order.setOrderTime(BASE_TIME.plusSeconds(seed * 60L).toString());
+        order.setStatus(seed % 3 == 0 ? "已完成" : "处理中");
+        order.setTags(List.of("标签" + seed % 5, "标签" + seed % 7));
+        order.setRegion("区域" + seed % 10);
+
+        final JdySub<BenchmarkOrderItemDo> items = new JdySub<>();
+        for (int i = 0; i < ORDER_ITEM_ROWS; i++) {
+            final BenchmarkOrderItemDo item = new BenchmarkOrderItemDo();
+            item.setSku("SKU" + (seed * ORDER_ITEM_ROWS + i));
+            item.setName("商品-" + i);
+            item.setPrice(BigDecimal.valueOf(1000L + i * 250L, 2));
+            item.setQty(i + 1);
+            items.add(item);
+        }
+        order.setItems(items);
+        return order;
+    }
+
+    /**
+     * 订单数据列表
+     *
+     * @param size 数量
+     */
+    @Nonnull
+    public static List<BenchmarkOrderDo> orders(final int size) {
+        final List<BenchmarkOrderDo> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            orders.add(JdyBenchmarkFixtures.order(i));
+        }
+        return orders;
+    }
+
+    /**
+     * 查询订单数据, 附带简道云返回的系统字段
+     *
+     * @param seed 数据种子
+     */
+    @Nonnull
+    public static BenchmarkOrderDo storedOrder(final int seed) {
+        final BenchmarkOrderDo order = JdyBenchmarkFixtures.order(seed);
+        order.setDataId(JdyBenchmarkFixtures.dataId(seed));
+        order.setCreateTime(BASE_TIME.plusSeconds(seed).toString());
+        order.setUpdateTime(BASE_TIME.plusSeconds(seed + 3600L).toString());
+        order.setFlowState(1);
+        for (int i = 0; i < order.getItems().size(); i++) {
+            order.getItems().get(i).setDataId(JdyBenchmarkFixtures.dataId(seed * ORDER_ITEM_ROWS + i));
+        }
+        return order;
+    }
+
+    /**
+     * 简道云查询多条数据接口的一页响应: {"data": [...]}
+     *
+     * @param rows 行数
+     */
+    @Nonnull
+    public static byte[] listDataPage(final int rows) {
+        final List<BenchmarkOrderDo> orders = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            orders.add(JdyBenchmarkFixtures.storedOrder(i));
+        }
+        return JacksonUtil.writeValueAsString(Map.of("data", orders)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 24 位十六进制数据ID, 与简道云数据ID格式一致
+     */
+    @Nonnull
+    public static String dataId(final long seed) {
+        return String.format("%024x", seed);
+    }
+
+    /**
+     * 已签名的 webhook 请求 (data_create)
+     *
+     * @param secret secret
+     */
+    @Nonnull
+    public static WebhookPayload webhook(@Nonnull final String secret) {
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("op", JdyWebhookOpEnum.DATA_CREATE.getValue());
+        body.put("opTime", BASE_TIME.toEpochMilli());
+        body.put("data", JdyBenchmarkFixtures.storedOrder(0));
+
+        final String payload = JacksonUtil.writeValueAsString(body);
+        final String nonce = "a1b2c3";
+        final String timestamp = String.valueOf(BASE_TIME.getEpochSecond());
+        final String signature = SecureUtil.sha1(nonce + ":" + payload + ":" + secret + ":" + timestamp);
+        return new WebhookPayload(payload, Map.of("nonce", nonce, "timestamp", timestamp),
+                Map.of("x-jdy-signature", signature, "x-jdy-deliverid", "deliver-0"), secret);
+    }
+
+    private static JdyField field(@Nonnull final String name, @Nonnull final JdyFieldTypeEnum type, @Nullable final List<JdyField> items) {
+        final JdyField field = new JdyField();
+        field.setLabel(name);
+        field.setName(name);
+        field.setType(type.getValue());
+        field.setItems(items);
+        return field;
+    }
+
+    private static String wideFieldName(final int index) {
+        return "_widget_" + (1000000000L + index);
+    }
+
+    private static String wideSubFieldName(final int index) {
+        return "_widget_sub_" + index;
+    }
+
+    private static void putValue(@Nonnull final ObjectNode row, @Nonnull final String name, @Nonnull final JdyFieldTypeEnum type, final int seed) {
+        switch (type) {
+            case NUMBER -> row.put(name, seed * 1.5D);
+            case DATE_TIME -> row.put(name, BASE_TIME.plusSeconds(seed).toString());
+            case CHECK_BOX_GROUP, COMBO_CHECK -> row.putArray(name).add("选项" + seed % 3).add("选项" + seed % 5);
+            case RADIO_GROUP, COMBO -> row.put(name, "选项" + seed % 4);
+            default -> row.put(name, "文本内容-" + seed);
+        }
+    }
+
+    /**
+     * 已签名的 webhook 请求
+     *
+     * @param body    请求体
+     * @param params  请求参数 nonce、timestamp
+     * @param headers 请求头 X-JDY-Signature、X-JDY-DeliverId, 名称与 Servlet 容器一样为小写
+     * @param secret  secret
+     */
+    public record WebhookPayload(String body, Map<String, String> params, Map<String, String> headers, String secret) {
+    }
+}
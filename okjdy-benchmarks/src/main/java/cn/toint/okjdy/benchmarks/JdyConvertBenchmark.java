@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks;
+
+import cn.toint.okjdy.core.model.JdyField;
+import cn.toint.okjdy.core.util.JdyDataRequestConvertUtil;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求数据转换基准测试
+ * 宽表单 ({@value JdyBenchmarkFixtures#WIDE_FIELD_COUNT} 个字段 + 子表单), 对比:
+ * 1. 每次编译字段定义并构建转换后的 JsonNode 树 (旧方式)
+ * 2. 预编译转换计划后构建 JsonNode 树
+ * 3. 预编译转换计划 + 延迟转换, 序列化时直接写出
+ * 转换结果最终都要序列化为请求体, 因此 2、3 均包含序列化以便对比
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JdyConvertBenchmark {
+    private List<JdyField> fields;
+
+    private JdyDataRequestConvertUtil.ConvertPlan convertPlan;
+
+    private JsonNode row;
+
+    @Setup
+    public void setup() {
+        this.fields = JdyBenchmarkFixtures.wideFields();
+        this.convertPlan = JdyDataRequestConvertUtil.compile(this.fields);
+        this.row = JdyBenchmarkFixtures.wideRow(0);
+    }
+
+    /**
+     * 编译转换计划
+     */
+    @Benchmark
+    public JdyDataRequestConvertUtil.ConvertPlan compile() {
+        return JdyDataRequestConvertUtil.compile(this.fields);
+    }
+
+    /**
+     * 每次编译 + 构建 JsonNode 树
+     */
+    @Benchmark
+    public JsonNode convertTree() {
+        return JdyDataRequestConvertUtil.convert(this.row, this.fields);
+    }
+
+    /**
+     * 每次编译 + 构建 JsonNode 树 + 序列化
+     */
+    @Benchmark
+    public String convertTreeAndWrite() {
+        return JacksonUtil.writeValueAsString(JdyDataRequestConvertUtil.convert(this.row, this.fields));
+    }
+
+    /**
+     * 预编译 + 构建 JsonNode 树 + 序列化
+     */
+    @Benchmark
+    public String convertCompiledAndWrite() {
+        return JacksonUtil.writeValueAsString(JdyDataRequestConvertUtil.convert(this.row, this.convertPlan));
+    }
+
+    /**
+     * 预编译 + 延迟转换 + 序列化
+     */
+    @Benchmark
+    public String convertLazilyAndWrite() {
+        return JacksonUtil.writeValueAsString(JdyDataRequestConvertUtil.convertLazily(this.row, this.convertPlan));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks;
+
+import cn.toint.okjdy.core.util.JdyHttpUtil;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流响应判断基准测试
+ * 对比按字符串重新解析响应体与复用已解析的 JsonNode, 成功响应为 100 行的查询结果
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JdyHttpUtilBenchmark {
+    private String successBody;
+
+    private String limitBody;
+
+    private JsonNode successNode;
+
+    private JsonNode limitNode;
+
+    @Setup
+    public void setup() {
+        final byte[] page = JdyBenchmarkFixtures.listDataPage(100);
+        this.successBody = new String(page, StandardCharsets.UTF_8);
+        this.limitBody = "{\"code\":8303,\"msg\":\"请求过于频繁\"}";
+        this.successNode = JacksonUtil.readTree(this.successBody);
+        this.limitNode = JacksonUtil.readTree(this.limitBody);
+    }
+
+    @Benchmark
+    public boolean isLimitExceptionSuccessString() {
+        return JdyHttpUtil.isLimitException(this.successBody);
+    }
+
+    @Benchmark
+    public boolean isLimitExceptionLimitString() {
+        return JdyHttpUtil.isLimitException(this.limitBody);
+    }
+
+    @Benchmark
+    public boolean isLimitExceptionSuccessNode() {
+        return JdyHttpUtil.isLimitException(this.successNode);
+    }
+
+    @Benchmark
+    public boolean isLimitExceptionLimitNode() {
+        return JdyHttpUtil.isLimitException(this.limitNode);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks;
+
+import cn.toint.okjdy.benchmarks.model.BenchmarkOrderDo;
+import cn.toint.okjdy.core.util.JdyJsonUtil;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 查询多条数据响应解析基准测试
+ * 对比解析为 JsonNode 树后逐条转换 (旧方式) 与流式读取 data 数组直接反序列化
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JdyListDataParseBenchmark {
+    @Param({"10", "100"})
+    private int rows;
+
+    private byte[] page;
+
+    @Setup
+    public void setup() {
+        this.page = JdyBenchmarkFixtures.listDataPage(this.rows);
+    }
+
+    /**
+     * readTree + deepCopy + treeToValue
+     */
+    @Benchmark
+    public List<BenchmarkOrderDo> parseTree() throws IOException {
+        final JsonNode response = JacksonUtil.getObjectMapper().readTree(this.page);
+        final JsonNode data = response == null ? null : response.get("data").deepCopy();
+        final List<BenchmarkOrderDo> result = new ArrayList<>();
+        if (data != null) {
+            for (final JsonNode item : data) {
+                result.add(JacksonUtil.treeToValue(item, BenchmarkOrderDo.class));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 流式读取
+     */
+    @Benchmark
+    public List<BenchmarkOrderDo> parseStreaming() throws IOException {
+        return JdyJsonUtil.tryRead(new ByteArrayInputStream(this.page), parser -> JdyJsonUtil.readData(parser, BenchmarkOrderDo.class));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks;
+
+import cn.toint.okjdy.benchmarks.model.BenchmarkOrderDo;
+import cn.toint.okjdy.core.model.JdyDataSaveBatchRequest;
+import cn.toint.okjdy.core.util.JdyDataRequestConvertUtil;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.dromara.hutool.core.collection.CollUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量新建请求构建基准测试
+ * 对比实体集合转为 JsonNode 树后构建请求 (旧方式) 与以 POJONode 直接构建请求,
+ * 以及构建后按 100 条一批转换并序列化请求体 (与 saveBatchData 一致) 的耗时
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JdySaveBatchRequestBenchmark {
+    @Param({"100", "1000"})
+    private int rows;
+
+    private List<BenchmarkOrderDo> orders;
+
+    private JdyDataRequestConvertUtil.ConvertPlan convertPlan;
+
+    @Setup
+    public void setup() {
+        this.orders = JdyBenchmarkFixtures.orders(this.rows);
+        this.convertPlan = JdyDataRequestConvertUtil.compile(JdyBenchmarkFixtures.orderFields());
+    }
+
+    /**
+     * 实体集合先转为 JsonNode 树
+     */
+    @Benchmark
+    public JdyDataSaveBatchRequest ofTree() {
+        return JdyDataSaveBatchRequest.of(JacksonUtil.valueToTree(this.orders));
+    }
+
+    /**
+     * 实体以 POJONode 保存
+     */
+    @Benchmark
+    public JdyDataSaveBatchRequest ofEntities() {
+        return JdyDataSaveBatchRequest.ofEntities(this.orders);
+    }
+
+    /**
+     * 构建请求 + 构建转换后的 JsonNode 树 + 序列化请求体
+     */
+    @Benchmark
+    public List<String> writeEagerly() {
+        final JdyDataSaveBatchRequest request = JdyDataSaveBatchRequest.ofEntities(this.orders);
+        final List<JsonNode> newDatas = new ArrayList<>(this.rows);
+        for (final JsonNode item : request.getDatas()) {
+            newDatas.add(JdyDataRequestConvertUtil.convert(item, this.convertPlan));
+        }
+        return JdySaveBatchRequestBenchmark.write(request, newDatas);
+    }
+
+    /**
+     * 构建请求 + 延迟转换 + 序列化请求体
+     */
+    @Benchmark
+    public List<String> writeLazily() {
+        final JdyDataSaveBatchRequest request = JdyDataSaveBatchRequest.ofEntities(this.orders);
+        final List<JsonNode> newDatas = new ArrayList<>(this.rows);
+        for (final JsonNode item : request.getDatas()) {
+            newDatas.add(JdyDataRequestConvertUtil.convertLazily(item, this.convertPlan));
+        }
+        return JdySaveBatchRequestBenchmark.write(request, newDatas);
+    }
+
+    /**
+     * 每 100 条序列化一个请求体
+     */
+    private static List<String> write(final JdyDataSaveBatchRequest request, final List<JsonNode> newDatas) {
+        final List<String> bodies = new ArrayList<>();
+        for (final List<JsonNode> jsonNodes : CollUtil.partition(newDatas, 100)) {
+            request.setDatas(JacksonUtil.createArrayNode().addAll(jsonNodes));
+            bodies.add(JacksonUtil.writeValueAsString(request));
+        }
+        return bodies;
+    }
+}
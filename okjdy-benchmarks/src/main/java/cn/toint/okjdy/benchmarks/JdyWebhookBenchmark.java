@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks;
+
+import cn.toint.okjdy.core.model.JdyWebhookRequest;
+import cn.toint.okjdy.core.util.JdyWebhookUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * webhook 解码基准测试: 签名校验 + 请求体反序列化
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JdyWebhookBenchmark {
+    private JdyBenchmarkFixtures.WebhookPayload payload;
+
+    @Setup
+    public void setup() {
+        this.payload = JdyBenchmarkFixtures.webhook("benchmark-secret");
+    }
+
+    @Benchmark
+    public JdyWebhookRequest decode() {
+        return JdyWebhookUtil.decode(this.payload.body(), this.payload.params(), this.payload.headers(), this.payload.secret());
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks.load;
+
+import cn.toint.okjdy.benchmarks.JdyBenchmarkFixtures;
+import cn.toint.okjdy.benchmarks.mock.JdyMockServer;
+import cn.toint.okjdy.benchmarks.mock.JdyMockServerConfig;
+import cn.toint.okjdy.benchmarks.model.BenchmarkOrderDo;
+import cn.toint.okjdy.core.annotation.JdyTable;
+import cn.toint.okjdy.core.client.JdyClient;
+import cn.toint.okjdy.core.client.impl.JdyClientImpl;
+import cn.toint.okjdy.core.config.JdyClientConfig;
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.model.*;
+import cn.toint.oktool.util.ExceptionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.hutool.core.data.id.IdUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 客户端端到端压测
+ * 在进程内启动 {@link JdyMockServer}, 以指定并发混合执行单条查询、分页查询、批量新建和文件上传,
+ * 输出吞吐量、p50/p99/p999 延迟、重试次数、限流次数以及每次操作的内存分配, 用于评估线程池大小以及请求、重试策略的改动效果.
+ * <p>
+ * 运行: java -cp okjdy-benchmarks/target/benchmarks.jar cn.toint.okjdy.benchmarks.load.JdyLoadTest --concurrency=32 --qpsRatio=0.5
+ * 参数见 {@link JdyLoadTestOptions}
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+public class JdyLoadTest {
+    /**
+     * 压测操作
+     */
+    public enum Operation {
+        /**
+         * 查询单条数据
+         */
+        GET,
+
+        /**
+         * 从随机位置分页查询 scanRows 条数据
+         */
+        LIST,
+
+        /**
+         * 批量新建 batchSize 条数据
+         */
+        SAVE,
+
+        /**
+         * 上传 uploadFiles 个文件
+         */
+        UPLOAD
+    }
+
+    private static final String APP_ID = BenchmarkOrderDo.class.getAnnotation(JdyTable.class).appId();
+
+    private static final String ENTRY_ID = BenchmarkOrderDo.class.getAnnotation(JdyTable.class).entryId();
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final JdyLoadTestOptions options;
+
+    /**
+     * 客户端指标与压测指标共用
+     */
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * 客户端使用的线程 (压测线程和客户端异步线程池), 用于统计客户端内存分配, 不包括模拟服务
+     */
+    private final List<Thread> clientThreads = new CopyOnWriteArrayList<>();
+
+    private final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * 按权重展开的操作, 随机取一个元素即按权重选择操作
+     */
+    private final Operation[] operations;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<Operation, DistributionSummary> allocations = new EnumMap<>(Operation.class);
+
+    private volatile boolean running = true;
+
+    private volatile boolean recording = false;
+
+    private JdyMockServer server;
+
+    private JdyClient jdyClient;
+
+    private List<String> dataIds;
+
+    private List<BenchmarkOrderDo> saveBatch;
+
+    private List<File> uploadFiles;
+
+    public JdyLoadTest(@Nonnull final JdyLoadTestOptions options) {
+        this.options = options;
+        final List<Operation> expanded = new ArrayList<>();
+        options.getMix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                expanded.add(operation);
+            }
+            if (weight > 0) {
+                this.allocations.put(operation, DistributionSummary.builder("okjdy.load.allocation")
+                        .baseUnit("bytes")
+                        .tag("operation", operation.name())
+                        .register(this.registry));
+            }
+        });
+        this.operations = expanded.toArray(new Operation[0]);
+        this.threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    public static void main(final String[] args) {
+        new JdyLoadTest(JdyLoadTestOptions.parse(args)).run();
+        System.exit(0);
+    }
+
+    /**
+     * 执行压测并输出结果
+     */
+    public void run() {
+        final ExecutorService workers = Executors.newFixedThreadPool(this.options.getConcurrency(), this.threadFactory("okjdy-load-"));
+        // 客户端异步线程使用固定数量的平台线程, 线程不会退出, 保证内存分配统计完整
+        final int asyncThreads = Math.max(16, this.options.getConcurrency() * 4);
+        final ThreadPoolExecutor asyncExecutor = new ThreadPoolExecutor(asyncThreads, asyncThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), this.threadFactory("okjdy-async-"));
+        asyncExecutor.prestartAllCoreThreads();
+
+        this.server = new JdyMockServer(this.mockServerConfig()).start();
+        try {
+            this.prepare();
+            this.jdyClient = new JdyClientImpl(this.clientConfig(asyncExecutor));
+
+            for (int i = 0; i < this.options.getConcurrency(); i++) {
+                workers.execute(this::work);
+            }
+
+            log.info("预热 {}", this.options.getWarmup());
+            Thread.sleep(this.options.getWarmup());
+
+            // 开始统计
+            final Map<String, Double> clientCounters = this.clientCounters();
+            this.server.resetStats();
+            final long allocatedBytes = this.clientAllocatedBytes();
+            final long startNanos = System.nanoTime();
+            this.recording = true;
+
+            log.info("压测 {}", this.options.getDuration());
+            Thread.sleep(this.options.getDuration());
+
+            this.recording = false;
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            final long clientAllocatedBytes = this.clientAllocatedBytes() - allocatedBytes;
+            final Map<String, Double> clientCounterDeltas = new LinkedHashMap<>();
+            this.clientCounters().forEach((name, value) -> clientCounterDeltas.put(name, value - clientCounters.getOrDefault(name, 0D)));
+
+            this.running = false;
+            workers.shutdown();
+            if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("压测线程未在 1 分钟内结束");
+            }
+
+            this.report(Duration.ofNanos(elapsedNanos), clientAllocatedBytes, clientCounterDeltas);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.running = false;
+            workers.shutdownNow();
+            asyncExecutor.shutdownNow();
+            this.server.close();
+            if (this.uploadFiles != null) {
+                this.uploadFiles.forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * 创建表单, 预置数据和上传文件
+     */
+    private void prepare() {
+        this.server.createEntry(APP_ID, "压测应用", ENTRY_ID, "压测订单", JdyBenchmarkFixtures.orderFields());
+        this.dataIds = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(this.options.getSeedRows()));
+        this.saveBatch = JdyBenchmarkFixtures.orders(this.options.getBatchSize());
+
+        this.uploadFiles = new ArrayList<>();
+        final byte[] content = new byte[this.options.getUploadSize()];
+        new Random(0).nextBytes(content);
+        try {
+            for (int i = 0; i < this.options.getUploadFiles(); i++) {
+                final Path path = Files.createTempFile("okjdy-load-", ".bin");
+                Files.write(path, content);
+                this.uploadFiles.add(path.toFile());
+            }
+        } catch (IOException e) {
+            throw ExceptionUtil.wrapRuntimeException(e);
+        }
+        log.info("预置数据 {} 条, 上传文件 {} 个", this.dataIds.size(), this.uploadFiles.size());
+    }
+
+    @Nonnull
+    private JdyMockServerConfig mockServerConfig() {
+        final JdyMockServerConfig config = new JdyMockServerConfig();
+        config.setLatency(this.options.getLatency());
+        config.setLatencyJitter(this.options.getLatencyJitter());
+        config.setQpsRatio(this.options.getQpsRatio());
+        config.setTenantQps(this.options.getTenantQps());
+        config.setThrottleRate(this.options.getThrottleRate());
+        config.setErrorRate(this.options.getErrorRate());
+        return config;
+    }
+
+    @Nonnull
+    private JdyClientConfig clientConfig(@Nonnull final Executor asyncExecutor) {
+        final JdyClientConfig config = new JdyClientConfig("load-test-" + IdUtil.fastSimpleUUID());
+        config.setUrl(this.server.getUrl());
+        config.setAsyncExecutor(asyncExecutor);
+        config.setMeterRegistry(this.registry);
+        if (!this.options.isClientRateLimit()) {
+            config.setRateLimiter(null);
+        }
+        if (!this.options.isCircuitBreaker()) {
+            config.setCircuitBreaker(null);
+        }
+        return config;
+    }
+
+    /**
+     * 压测线程: 按权重随机选择操作并执行, 统计期间记录耗时和当前线程的内存分配
+     */
+    private void work() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (this.running) {
+            final Operation operation = this.operations[random.nextInt(this.operations.length)];
+            final long allocatedBytes = this.threadMXBean.getCurrentThreadAllocatedBytes();
+            final long startNanos = System.nanoTime();
+            String outcome = "success";
+            try {
+                this.execute(operation, random);
+            } catch (Exception e) {
+                outcome = "error";
+                log.debug("{} 执行失败: {}", operation, e.getMessage());
+            }
+
+            if (this.recording) {
+                this.timer(operation, outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                this.allocations.get(operation).record(this.threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBytes);
+            }
+        }
+    }
+
+    private void execute(@Nonnull final Operation operation, @Nonnull final Random random) {
+        switch (operation) {
+            case GET -> this.jdyClient.getData(new JdyDataGetRequest(APP_ID, ENTRY_ID, this.randomDataId(random)), BenchmarkOrderDo.class);
+            case LIST -> {
+                final JdyListDataRequest request = new JdyListDataRequest();
+                request.setAppId(APP_ID);
+                request.setEntryId(ENTRY_ID);
+                request.setDataId(this.randomDataId(random));
+                request.setLimit(this.options.getScanRows());
+                this.jdyClient.listData(request, BenchmarkOrderDo.class);
+            }
+            case SAVE -> this.jdyClient.saveBatchData(JdyDataSaveBatchRequest.ofEntities(this.saveBatch));
+            case UPLOAD -> this.jdyClient.uploadFile(new JdyFileUploadRequest(APP_ID, ENTRY_ID, IdUtil.fastSimpleUUID()), this.uploadFiles);
+        }
+    }
+
+    @Nonnull
+    private String randomDataId(@Nonnull final Random random) {
+        return this.dataIds.get(random.nextInt(this.dataIds.size()));
+    }
+
+    /**
+     * 操作耗时, 统计整个压测期间的分位数
+     */
+    @Nonnull
+    private Timer timer(@Nonnull final Operation operation, @Nonnull final String outcome) {
+        return this.timers.computeIfAbsent(operation.name() + ":" + outcome, key -> Timer.builder("okjdy.load.operation")
+                .tag("operation", operation.name())
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(3)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(this.registry));
+    }
+
+    /**
+     * 客户端计数指标合计, key: 指标名称
+     */
+    @Nonnull
+    private Map<String, Double> clientCounters() {
+        final Map<String, Double> counters = new LinkedHashMap<>();
+        for (final String name : List.of("okjdy.retries", "okjdy.rate.limited", "okjdy.circuit.rejected")) {
+            counters.put(name, this.registry.find(name).counters().stream().mapToDouble(Counter::count).sum());
+        }
+        return counters;
+    }
+
+    /**
+     * 客户端线程累计分配的内存
+     */
+    private long clientAllocatedBytes() {
+        final long[] threadIds = this.clientThreads.stream().mapToLong(Thread::threadId).toArray();
+        return Arrays.stream(this.threadMXBean.getThreadAllocatedBytes(threadIds)).filter(bytes -> bytes > 0).sum();
+    }
+
+    @Nonnull
+    private ThreadFactory threadFactory(@Nonnull final String prefix) {
+        final AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            this.clientThreads.add(thread);
+            return thread;
+        };
+    }
+
+    private void report(@Nonnull final Duration elapsed, final long clientAllocatedBytes, @Nonnull final Map<String, Double> clientCounters) {
+        final double seconds = elapsed.toNanos() / 1e9;
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n==== okjdy 压测结果 ====%n"));
+        sb.append(String.format("并发: %d, 时长: %.1fs, 操作权重: %s%n", this.options.getConcurrency(), seconds, this.options.getMix()));
+        sb.append(String.format("模拟服务: 延迟 %dms + [0, %dms), qpsRatio %.2f, tenantQps %d, throttleRate %.3f, errorRate %.3f%n",
+                this.options.getLatency().toMillis(), this.options.getLatencyJitter().toMillis(), this.options.getQpsRatio(),
+                this.options.getTenantQps(), this.options.getThrottleRate(), this.options.getErrorRate()));
+        sb.append(String.format("客户端: 本地限流 %s, 熔断 %s%n%n", this.options.isClientRateLimit(), this.options.isCircuitBreaker()));
+
+        sb.append(String.format("%-8s %10s %8s %10s %10s %10s %10s %10s %12s%n",
+                "操作", "次数", "失败", "ops/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "分配/次(KB)"));
+        long totalCount = 0;
+        for (final Operation operation : this.allocations.keySet()) {
+            final Timer success = this.timers.get(operation.name() + ":success");
+            final Timer error = this.timers.get(operation.name() + ":error");
+            final long successCount = success == null ? 0 : success.count();
+            final long errorCount = error == null ? 0 : error.count();
+            totalCount += successCount + errorCount;
+
+            final double[] values = new double[PERCENTILES.length];
+            if (success != null) {
+                final HistogramSnapshot snapshot = success.takeSnapshot();
+                final ValueAtPercentile[] percentileValues = snapshot.percentileValues();
+                for (int i = 0; i < percentileValues.length && i < values.length; i++) {
+                    values[i] = percentileValues[i].value(TimeUnit.MILLISECONDS);
+                }
+            }
+            sb.append(String.format("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %12.1f%n",
+                    operation, successCount, errorCount, (successCount + errorCount) / seconds,
+                    values[0], values[1], values[2], success == null ? 0D : success.max(TimeUnit.MILLISECONDS),
+                    this.allocations.get(operation).mean() / 1024));
+        }
+        sb.append(String.format("%-8s %10d %8s %10.1f%n%n", "合计", totalCount, "", totalCount / seconds));
+
+        sb.append(String.format("客户端重试: %.0f, 客户端收到限流: %.0f, 熔断拒绝: %.0f%n",
+                clientCounters.get("okjdy.retries"), clientCounters.get("okjdy.rate.limited"), clientCounters.get("okjdy.circuit.rejected")));
+        sb.append(String.format("模拟服务返回限流: %d, 注入异常: %d%n", this.server.getLimitedCount(), this.server.getErrorCount()));
+        sb.append(String.format("客户端内存分配 (含异步线程池): %.1f MB, 平均每次操作 %.1f KB%n",
+                clientAllocatedBytes / 1024D / 1024D, totalCount == 0 ? 0D : clientAllocatedBytes / 1024D / totalCount));
+        sb.append("模拟服务请求数:");
+        for (final JdyUrlEnum jdyUrlEnum : JdyUrlEnum.values()) {
+            final long count = this.server.getRequestCount(jdyUrlEnum);
+            if (count > 0) {
+                sb.append(String.format(" %s=%d (%.1f/s)", jdyUrlEnum, count, count / seconds));
+            }
+        }
+        sb.append(String.format(" UPLOAD=%d", this.server.getUploadCount()));
+        System.out.println(sb);
+    }
+}
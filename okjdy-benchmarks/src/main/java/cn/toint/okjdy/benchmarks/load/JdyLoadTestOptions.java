@@ -0,0 +1,191 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks.load;
+
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 压测参数, 命令行格式: --name=value, 示例: --concurrency=32 --duration=1m --mix=get:70,list:10,save:15,upload:5
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Data
+public class JdyLoadTestOptions {
+    /**
+     * 预热时长, 预热期间的请求不计入结果
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * 压测时长
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * 并发线程数
+     */
+    private int concurrency = 16;
+
+    /**
+     * 各类操作的权重
+     */
+    private Map<JdyLoadTest.Operation, Integer> mix = JdyLoadTestOptions.parseMix("get:60,list:20,save:15,upload:5");
+
+    /**
+     * 预置数据量
+     */
+    private int seedRows = 10000;
+
+    /**
+     * 每次分页查询的数据量
+     */
+    private int scanRows = 500;
+
+    /**
+     * 每次批量新建的数据量
+     */
+    private int batchSize = 100;
+
+    /**
+     * 每次上传的文件数量
+     */
+    private int uploadFiles = 2;
+
+    /**
+     * 上传文件大小 (字节)
+     */
+    private int uploadSize = 64 * 1024;
+
+    /**
+     * 模拟服务: 基础延迟
+     */
+    private Duration latency = Duration.ofMillis(20);
+
+    /**
+     * 模拟服务: 延迟抖动
+     */
+    private Duration latencyJitter = Duration.ofMillis(10);
+
+    /**
+     * 模拟服务: 接口频率比例, 小于 1 时可模拟其他应用占用额度
+     */
+    private double qpsRatio = 1D;
+
+    /**
+     * 模拟服务: apiKey 合计频率, 小于等于 0 不限制
+     */
+    private int tenantQps = 0;
+
+    /**
+     * 模拟服务: 随机返回 8303 的比例
+     */
+    private double throttleRate = 0D;
+
+    /**
+     * 模拟服务: 随机返回 HTTP 500 的比例
+     */
+    private double errorRate = 0D;
+
+    /**
+     * 客户端是否启用本地限流
+     */
+    private boolean clientRateLimit = true;
+
+    /**
+     * 客户端是否启用熔断
+     */
+    private boolean circuitBreaker = true;
+
+    /**
+     * 解析命令行参数
+     */
+    @Nonnull
+    public static JdyLoadTestOptions parse(@Nonnull final String[] args) {
+        final JdyLoadTestOptions options = new JdyLoadTestOptions();
+        for (final String arg : args) {
+            Assert.isTrue(arg.startsWith("--") && arg.contains("="), "参数格式错误: {}, 示例: --concurrency=32", arg);
+            final String name = StringUtils.substringBetween(arg, "--", "=");
+            final String value = StringUtils.substringAfter(arg, "=");
+            switch (name) {
+                case "warmup" -> options.setWarmup(JdyLoadTestOptions.parseDuration(value));
+                case "duration" -> options.setDuration(JdyLoadTestOptions.parseDuration(value));
+                case "concurrency" -> options.setConcurrency(Integer.parseInt(value));
+                case "mix" -> options.setMix(JdyLoadTestOptions.parseMix(value));
+                case "seedRows" -> options.setSeedRows(Integer.parseInt(value));
+                case "scanRows" -> options.setScanRows(Integer.parseInt(value));
+                case "batchSize" -> options.setBatchSize(Integer.parseInt(value));
+                case "uploadFiles" -> options.setUploadFiles(Integer.parseInt(value));
+                case "uploadSize" -> options.setUploadSize(Integer.parseInt(value));
+                case "latency" -> options.setLatency(JdyLoadTestOptions.parseDuration(value));
+                case "latencyJitter" -> options.setLatencyJitter(JdyLoadTestOptions.parseDuration(value));
+                case "qpsRatio" -> options.setQpsRatio(Double.parseDouble(value));
+                case "tenantQps" -> options.setTenantQps(Integer.parseInt(value));
+                case "throttleRate" -> options.setThrottleRate(Double.parseDouble(value));
+                case "errorRate" -> options.setErrorRate(Double.parseDouble(value));
+                case "clientRateLimit" -> options.setClientRateLimit(Boolean.parseBoolean(value));
+                case "circuitBreaker" -> options.setCircuitBreaker(Boolean.parseBoolean(value));
+                default -> throw new IllegalArgumentException("未知参数: " + name);
+            }
+        }
+
+        Assert.isTrue(options.getConcurrency() > 0, "concurrency must be greater than 0");
+        Assert.isTrue(options.getSeedRows() > 0, "seedRows must be greater than 0");
+        Assert.isTrue(options.getBatchSize() > 0, "batchSize must be greater than 0");
+        Assert.isTrue(options.getMix().values().stream().anyMatch(weight -> weight > 0), "mix must contain at least one operation");
+        return options;
+    }
+
+    /**
+     * 解析时长, 支持 ms、s、m 后缀, 示例: 500ms、30s、2m
+     */
+    @Nonnull
+    private static Duration parseDuration(@Nonnull final String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(StringUtils.removeEnd(value, "ms")));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(StringUtils.removeEnd(value, "s")));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(StringUtils.removeEnd(value, "m")));
+        }
+        return Duration.parse(value);
+    }
+
+    /**
+     * 解析操作权重, 示例: get:60,list:20,save:15,upload:5
+     */
+    @Nonnull
+    private static Map<JdyLoadTest.Operation, Integer> parseMix(@Nonnull final String value) {
+        final Map<JdyLoadTest.Operation, Integer> mix = new EnumMap<>(JdyLoadTest.Operation.class);
+        for (final String item : StringUtils.split(value, ',')) {
+            final String operation = StringUtils.substringBefore(item, ":").trim();
+            final int weight = Integer.parseInt(StringUtils.substringAfter(item, ":").trim());
+            Assert.isTrue(weight >= 0, "weight must not be negative: {}", item);
+            mix.put(JdyLoadTest.Operation.valueOf(operation.toUpperCase()), weight);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,1095 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks.mock;
+
+import cn.toint.okjdy.core.enums.JdyFieldTypeEnum;
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.model.JdyField;
+import cn.toint.oktool.util.Assert;
+import cn.toint.oktool.util.ExceptionUtil;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 简道云模拟服务
+ * 基于 JDK HttpServer 的进程内 HTTP 服务, 实现 {@link JdyUrlEnum} 中的全部接口以及文件上传地址,
+ * 数据保存在内存中, 用于在不消耗简道云额度的情况下测试客户端的吞吐量和延迟.
+ * 将 {@link cn.toint.okjdy.core.config.JdyClientConfig#setUrl(String)} 设置为 {@link #getUrl()} 即可使用.
+ * <p>
+ * 模拟行为:
+ * 1. 查询多条数据按数据ID升序返回, 使用 data_id 作为游标 (keyset 分页), 支持 filter 与 fields
+ * 2. 每个请求增加可配置的延迟
+ * 3. 按接口频率限制返回 8303, 按 apiKey 合计频率返回 8304, 也可按比例随机返回 8303
+ * 4. 按比例随机返回 HTTP 500
+ * 5. 通过 {@link #failNext(JdyUrlEnum, int, int)} 让指定接口接下来的若干次请求返回指定错误码, 用于确定性地测试重试和部分失败
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+public class JdyMockServer implements AutoCloseable {
+    /**
+     * 文件上传地址
+     */
+    public static final String UPLOAD_PATH = "/mock/upload";
+
+    /**
+     * 请求参数错误, 模拟服务自定义错误码
+     */
+    public static final int BAD_REQUEST_CODE = 4000;
+
+    /**
+     * apiKey 错误, 模拟服务自定义错误码
+     */
+    public static final int UNAUTHORIZED_CODE = 4010;
+
+    /**
+     * 表单或数据不存在, 模拟服务自定义错误码
+     */
+    public static final int NOT_FOUND_CODE = 4040;
+
+    /**
+     * 接口超出频率限制
+     */
+    public static final int LIMIT_CODE = 8303;
+
+    /**
+     * apiKey 超出合计频率限制
+     */
+    public static final int TENANT_LIMIT_CODE = 8304;
+
+    private static final ObjectMapper MAPPER = JacksonUtil.getObjectMapper();
+
+    /**
+     * 系统字段
+     */
+    private static final List<String> SYS_WIDGETS = List.of("creator", "createTime", "updater", "updateTime", "flowState");
+
+    /**
+     * 配置
+     */
+    @Getter
+    private final JdyMockServerConfig config;
+
+    /**
+     * key: 接口路径, value: 接口
+     */
+    private final Map<String, JdyUrlEnum> urlEnumMap = new HashMap<>();
+
+    /**
+     * key: appId, value: 应用名称
+     */
+    private final Map<String, String> apps = new ConcurrentSkipListMap<>();
+
+    /**
+     * key: appId:entryId, value: 表单
+     */
+    private final Map<String, MockEntry> entries = new ConcurrentSkipListMap<>();
+
+    /**
+     * 未使用的文件上传凭证
+     */
+    private final Set<String> uploadTokens = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 待注入的错误码, key: 接口, value: 按请求顺序依次返回的错误码
+     */
+    private final Map<JdyUrlEnum, Queue<Integer>> injectedErrors = new ConcurrentHashMap<>();
+
+    /**
+     * 限流窗口, key: apiKey 或 apiKey:接口路径
+     */
+    private final Map<String, FixedWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * 数据ID前缀 (启动时间) 与序号, 保证数据ID按创建顺序递增
+     */
+    private final long idPrefix = Instant.now().getEpochSecond();
+    private final AtomicLong idSequence = new AtomicLong();
+
+    /**
+     * 统计
+     */
+    private final Map<JdyUrlEnum, LongAdder> requestCounts = new EnumMap<>(JdyUrlEnum.class);
+    private final LongAdder limitedCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder uploadCount = new LongAdder();
+    private final LongAdder uploadBytes = new LongAdder();
+
+    private HttpServer httpServer;
+
+    private ExecutorService executor;
+
+    public JdyMockServer() {
+        this(new JdyMockServerConfig());
+    }
+
+    public JdyMockServer(@Nonnull final JdyMockServerConfig config) {
+        Assert.notNull(config, "config must not be null");
+        this.config = config;
+        for (final JdyUrlEnum jdyUrlEnum : JdyUrlEnum.values()) {
+            this.urlEnumMap.put(URI.create(jdyUrlEnum.getUrl()).getPath(), jdyUrlEnum);
+            this.requestCounts.put(jdyUrlEnum, new LongAdder());
+        }
+    }
+
+    /**
+     * 启动服务, 每个请求使用一个虚拟线程处理, 延迟不占用平台线程
+     */
+    @Nonnull
+    public JdyMockServer start() {
+        Assert.isTrue(this.httpServer == null, "mock server already started");
+        try {
+            this.httpServer = HttpServer.create(new InetSocketAddress(this.config.getHost(), this.config.getPort()), 1024);
+        } catch (IOException e) {
+            throw ExceptionUtil.wrapRuntimeException(e);
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpServer.setExecutor(this.executor);
+        this.httpServer.createContext("/", this::handle);
+        this.httpServer.start();
+        log.info("简道云模拟服务已启动: {}", this.getUrl());
+        return this;
+    }
+
+    /**
+     * 服务地址, 示例: http://127.0.0.1:8080
+     */
+    @Nonnull
+    public String getUrl() {
+        Assert.notNull(this.httpServer, "mock server not started");
+        return "http://" + this.config.getHost() + ":" + this.httpServer.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        if (this.httpServer != null) {
+            this.httpServer.stop(0);
+            this.executor.close();
+            this.httpServer = null;
+        }
+    }
+
+    // ==== 数据准备
+
+    /**
+     * 创建表单, 表单已存在时替换字段定义, 保留数据
+     *
+     * @param appId     应用ID
+     * @param appName   应用名称
+     * @param entryId   表单ID
+     * @param entryName 表单名称
+     * @param widgets   字段定义
+     */
+    public void createEntry(@Nonnull final String appId, @Nonnull final String appName,
+                            @Nonnull final String entryId, @Nonnull final String entryName,
+                            @Nonnull final List<JdyField> widgets) {
+        Assert.notBlank(appId, "appId must not be blank");
+        Assert.notBlank(entryId, "entryId must not be blank");
+        Assert.notNull(widgets, "widgets must not be null");
+        this.apps.put(appId, appName);
+        this.entries.compute(JdyMockServer.entryKey(appId, entryId), (key, entry) -> {
+            final MockEntry newEntry = new MockEntry(appId, entryId, entryName, List.copyOf(widgets));
+            if (entry != null) {
+                newEntry.datas.putAll(entry.datas);
+                newEntry.dataModifyTime = entry.dataModifyTime;
+            }
+            return newEntry;
+        });
+    }
+
+    /**
+     * 直接写入数据, 不经过接口, 不计入统计
+     *
+     * @param appId   应用ID
+     * @param entryId 表单ID
+     * @param datas   数据, 实体对象或 JsonNode, 字段值不需要 {"value": xxx} 包装
+     * @return 数据ID, 与输入顺序一致
+     */
+    @Nonnull
+    public List<String> insert(@Nonnull final String appId, @Nonnull final String entryId, @Nonnull final Collection<?> datas) {
+        final MockEntry entry = this.getEntry(appId, entryId);
+        final List<String> dataIds = new ArrayList<>(datas.size());
+        for (final Object data : datas) {
+            final ObjectNode value = JacksonUtil.valueToTree(data);
+            final ObjectNode record = JacksonUtil.ofObjectNode();
+            value.properties().forEach(field -> {
+                if (this.isSystemField(field.getKey())) {
+                    return;
+                }
+                if (entry.subForms.contains(field.getKey()) && field.getValue().isArray()) {
+                    final ArrayNode rows = record.putArray(field.getKey());
+                    field.getValue().forEach(row -> rows.add(this.withSubFormId(row.deepCopy(), row.path("_id"))));
+                    return;
+                }
+                record.set(field.getKey(), field.getValue());
+            });
+            dataIds.add(this.create(entry, record).path("_id").asText());
+        }
+        return dataIds;
+    }
+
+    /**
+     * 表单数据量
+     */
+    public int count(@Nonnull final String appId, @Nonnull final String entryId) {
+        return this.getEntry(appId, entryId).datas.size();
+    }
+
+    /**
+     * 清空表单数据
+     */
+    public void clear(@Nonnull final String appId, @Nonnull final String entryId) {
+        this.getEntry(appId, entryId).datas.clear();
+    }
+
+    // ==== 错误注入
+
+    /**
+     * 注入错误, 接下来 count 次请求该接口时返回 HTTP 400 + 指定错误码, 不执行接口逻辑
+     * 错误码为 8303/8304 时计入限流次数, 否则计入错误次数
+     *
+     * @param jdyUrlEnum 接口
+     * @param count      次数
+     * @param code       错误码, 示例: {@link #LIMIT_CODE}, {@link #BAD_REQUEST_CODE}
+     */
+    public void failNext(@Nonnull final JdyUrlEnum jdyUrlEnum, final int count, final int code) {
+        Assert.notNull(jdyUrlEnum, "jdyUrlEnum must not be null");
+        Assert.isTrue(count > 0, "count must be greater than 0");
+        final Queue<Integer> codes = this.injectedErrors.computeIfAbsent(jdyUrlEnum, key -> new ConcurrentLinkedQueue<>());
+        for (int i = 0; i < count; i++) {
+            codes.add(code);
+        }
+    }
+
+    /**
+     * 清除尚未返回的注入错误
+     */
+    public void clearInjectedErrors() {
+        this.injectedErrors.clear();
+    }
+
+    // ==== 统计
+
+    /**
+     * 接口请求次数, 包括被限流和注入异常的请求
+     */
+    public long getRequestCount(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+        return this.requestCounts.get(jdyUrlEnum).sum();
+    }
+
+    /**
+     * 返回 8303/8304 的次数
+     */
+    public long getLimitedCount() {
+        return this.limitedCount.sum();
+    }
+
+    /**
+     * 注入 HTTP 500 以及注入非限流错误码的次数
+     */
+    public long getErrorCount() {
+        return this.errorCount.sum();
+    }
+
+    /**
+     * 上传成功的文件数量
+     */
+    public long getUploadCount() {
+        return this.uploadCount.sum();
+    }
+
+    /**
+     * 上传请求体总字节数
+     */
+    public long getUploadBytes() {
+        return this.uploadBytes.sum();
+    }
+
+    /**
+     * 重置统计
+     */
+    public void resetStats() {
+        this.requestCounts.values().forEach(LongAdder::reset);
+        this.limitedCount.reset();
+        this.errorCount.reset();
+        this.uploadCount.reset();
+        this.uploadBytes.reset();
+    }
+
+    // ==== 请求处理
+
+    private void handle(@Nonnull final HttpExchange exchange) {
+        try (exchange) {
+            try {
+                final String path = exchange.getRequestURI().getPath();
+                final JdyUrlEnum jdyUrlEnum = this.urlEnumMap.get(path);
+                if (jdyUrlEnum != null) {
+                    this.requestCounts.get(jdyUrlEnum).increment();
+                }
+                this.delay();
+
+                if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                    throw new MockException(405, BAD_REQUEST_CODE, "请求方法错误");
+                }
+                if (UPLOAD_PATH.equals(path)) {
+                    this.write(exchange, 200, this.upload(exchange));
+                    return;
+                }
+                if (jdyUrlEnum == null) {
+                    throw new MockException(404, NOT_FOUND_CODE, "接口不存在: " + path);
+                }
+
+                final String apiKey = this.authorize(exchange);
+                this.throttle(apiKey, path, jdyUrlEnum);
+                this.injectError(jdyUrlEnum);
+                if (this.hit(this.config.getErrorRate())) {
+                    this.errorCount.increment();
+                    this.writeText(exchange, 500, "Internal Server Error");
+                    return;
+                }
+
+                final JsonNode body;
+                try (final InputStream inputStream = exchange.getRequestBody()) {
+                    body = MAPPER.readTree(inputStream);
+                }
+                if (body == null || !body.isObject()) {
+                    throw new MockException(400, BAD_REQUEST_CODE, "请求体必须为 Json 对象");
+                }
+                this.write(exchange, 200, this.dispatch(jdyUrlEnum, body));
+            } catch (MockException e) {
+                final ObjectNode error = JacksonUtil.ofObjectNode().put("code", e.code).put("msg", e.getMessage());
+                this.write(exchange, e.status, error);
+            } catch (Exception e) {
+                log.warn("简道云模拟服务处理请求异常: {}", e.getMessage(), e);
+                this.writeText(exchange, 500, "Internal Server Error");
+            }
+        } catch (IOException e) {
+            log.debug("简道云模拟服务写出响应异常: {}", e.getMessage());
+        }
+    }
+
+    @Nonnull
+    private JsonNode dispatch(@Nonnull final JdyUrlEnum jdyUrlEnum, @Nonnull final JsonNode body) {
+        return switch (jdyUrlEnum) {
+            case LIST_APP -> this.listApp(body);
+            case LIST_ENTRY -> this.listEntry(body);
+            case LIST_WIDGET -> this.listWidget(body);
+            case GET_DATA -> this.getData(body);
+            case LIST_DATA -> this.listData(body);
+            case SAVE_ONE_DATA -> this.saveData(body);
+            case SAVE_BATCH_DATA -> this.saveBatchData(body);
+            case UPDATE_ONE_DATA -> this.updateData(body);
+            case UPDATE_BATCH_DATA -> this.updateBatchData(body);
+            case DELETE_ONE_DATA -> this.deleteData(body);
+            case DELETE_BATCH_DATA -> this.deleteBatchData(body);
+            case GET_UPLOAD_TOKEN -> this.getUploadToken(body);
+        };
+    }
+
+    /**
+     * 校验 apiKey
+     *
+     * @return 请求使用的 apiKey
+     */
+    @Nonnull
+    private String authorize(@Nonnull final HttpExchange exchange) {
+        final String authorization = StringUtils.defaultString(exchange.getRequestHeaders().getFirst("Authorization"));
+        final String apiKey = StringUtils.removeStart(authorization, "Bearer ");
+        final String expected = this.config.getApiKey();
+        if (StringUtils.isBlank(apiKey) || (expected != null && !expected.equals(apiKey))) {
+            throw new MockException(401, UNAUTHORIZED_CODE, "apiKey 错误");
+        }
+        return apiKey;
+    }
+
+    /**
+     * 频率限制, 超出时返回 HTTP 400 + 8303/8304, 与简道云一致
+     */
+    private void throttle(@Nonnull final String apiKey, @Nonnull final String path, @Nonnull final JdyUrlEnum jdyUrlEnum) {
+        final int tenantQps = this.config.getTenantQps();
+        if (tenantQps > 0 && !this.windows.computeIfAbsent(apiKey, key -> new FixedWindow()).tryAcquire(tenantQps)) {
+            this.limitedCount.increment();
+            throw new MockException(400, TENANT_LIMIT_CODE, "apiKey 超出频率限制");
+        }
+
+        if (this.config.isQpsLimitEnabled()) {
+            final int qps = Math.max(1, (int) (jdyUrlEnum.getQps() * this.config.getQpsRatio()));
+            if (!this.windows.computeIfAbsent(apiKey + ":" + path, key -> new FixedWindow()).tryAcquire(qps)) {
+                this.limitedCount.increment();
+                throw new MockException(400, LIMIT_CODE, "接口超出频率限制");
+            }
+        }
+
+        if (this.hit(this.config.getThrottleRate())) {
+            this.limitedCount.increment();
+            throw new MockException(400, LIMIT_CODE, "接口超出频率限制");
+        }
+    }
+
+    /**
+     * 返回注入的错误码
+     */
+    private void injectError(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+        final Queue<Integer> codes = this.injectedErrors.get(jdyUrlEnum);
+        final Integer code = codes == null ? null : codes.poll();
+        if (code == null) {
+            return;
+        }
+        if (code == LIMIT_CODE || code == TENANT_LIMIT_CODE) {
+            this.limitedCount.increment();
+        } else {
+            this.errorCount.increment();
+        }
+        throw new MockException(400, code, "注入的错误");
+    }
+
+    private void delay() throws InterruptedException {
+        final Duration latency = this.config.getLatency();
+        final Duration jitter = this.config.getLatencyJitter();
+        long nanos = latency == null ? 0 : latency.toNanos();
+        if (jitter != null && jitter.toNanos() > 0) {
+            nanos += ThreadLocalRandom.current().nextLong(jitter.toNanos());
+        }
+        if (nanos > 0) {
+            Thread.sleep(Duration.ofNanos(nanos));
+        }
+    }
+
+    private boolean hit(final double rate) {
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private void write(@Nonnull final HttpExchange exchange, final int status, @Nonnull final JsonNode body) throws IOException {
+        final byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (final OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private void writeText(@Nonnull final HttpExchange exchange, final int status, @Nonnull final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (final OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    // ==== 接口实现
+
+    /**
+     * 用户应用查询接口, 示例: {"apps": [{"app_id": "xxx", "name": "xxx"}]}
+     */
+    @Nonnull
+    private JsonNode listApp(@Nonnull final JsonNode body) {
+        final ObjectNode response = JacksonUtil.ofObjectNode();
+        final ArrayNode apps = response.putArray("apps");
+        this.apps.entrySet().stream()
+                .skip(Math.max(0, body.path("skip").asInt(0)))
+                .limit(Math.max(0, body.path("limit").asInt(100)))
+                .forEach(app -> apps.addObject().put("app_id", app.getKey()).put("name", app.getValue()));
+        return response;
+    }
+
+    /**
+     * 用户表单查询接口, 示例: {"forms": [{"app_id": "xxx", "entry_id": "xxx", "name": "xxx"}]}
+     */
+    @Nonnull
+    private JsonNode listEntry(@Nonnull final JsonNode body) {
+        final String appId = JdyMockServer.requiredText(body, "app_id");
+        final ObjectNode response = JacksonUtil.ofObjectNode();
+        final ArrayNode forms = response.putArray("forms");
+        this.entries.values().stream()
+                .filter(entry -> entry.appId.equals(appId))
+                .skip(Math.max(0, body.path("skip").asInt(0)))
+                .limit(Math.max(0, body.path("limit").asInt(100)))
+                .forEach(entry -> forms.addObject().put("app_id", entry.appId).put("entry_id", entry.entryId).put("name", entry.name));
+        return response;
+    }
+
+    /**
+     * 表单字段查询接口, 示例: {"widgets": [...], "sysWidgets": [...], "dataModifyTime": "xxx"}
+     */
+    @Nonnull
+    private JsonNode listWidget(@Nonnull final JsonNode body) {
+        final MockEntry entry = this.getEntry(body);
+        final ObjectNode response = JacksonUtil.ofObjectNode();
+        response.set("widgets", JacksonUtil.valueToTree(entry.widgets));
+        final ArrayNode sysWidgets = response.putArray("sysWidgets");
+        SYS_WIDGETS.forEach(name -> sysWidgets.addObject().put("name", name));
+        response.put("dataModifyTime", entry.dataModifyTime);
+        return response;
+    }
+
+    /**
+     * 查询单条数据接口, 示例: {"data": {...}}
+     */
+    @Nonnull
+    private JsonNode getData(@Nonnull final JsonNode body) {
+        final MockEntry entry = this.getEntry(body);
+        final ObjectNode record = this.getRecord(entry, JdyMockServer.requiredText(body, "data_id"));
+        return JacksonUtil.ofObjectNode().set("data", record);
+    }
+
+    /**
+     * 查询多条数据接口, 按数据ID升序, 返回 data_id 之后的 limit 条数据, 示例: {"data": [...]}
+     */
+    @Nonnull
+    private JsonNode listData(@Nonnull final JsonNode body) {
+        final MockEntry entry = this.getEntry(body);
+        final int limit = Math.min(Math.max(1, body.path("limit").asInt(10)), this.config.getMaxListLimit());
+        final String dataId = body.path("data_id").asText(null);
+        final JsonNode filter = body.path("filter");
+        final JsonNode fields = body.path("fields");
+
+        final ConcurrentNavigableMap<String, ObjectNode> datas = StringUtils.isBlank(dataId) ? entry.datas : entry.datas.tailMap(dataId, false);
+        final ObjectNode response = JacksonUtil.ofObjectNode();
+        final ArrayNode page = response.putArray("data");
+        for (final ObjectNode record : datas.values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            if (JdyMockServer.matches(record, filter)) {
+                page.add(JdyMockServer.project(record, fields));
+            }
+        }
+        return response;
+    }
+
+    /**
+     * 新建单条数据接口, 示例: {"data": {...}}
+     */
+    @Nonnull
+    private JsonNode saveData(@Nonnull final JsonNode body) {
+        final MockEntry entry = this.getEntry(body);
+        final ObjectNode record = this.unwrap(entry, JdyMockServer.requiredObject(body, "data"));
+        return JacksonUtil.ofObjectNode().set("data", this.create(entry, record));
+    }
+
+    /**
+     * 新建多条数据接口, 示例: {"status": "success", "success_count": 1, "success_ids": ["xxx"]}
+     */
+    @Nonnull
+    private JsonNode saveBatchData(@Nonnull final JsonNode body) {
+        final MockEntry entry = this.getEntry(body);
+        final JsonNode dataList = body.path("data_list");
+        if (!dataList.isArray() || dataList.isEmpty() || dataList.size() > 100) {
+            throw new MockException(400, BAD_REQUEST_CODE, "data_list 必须为 1~100 条数据");
+        }
+
+        // 先全部解析, 任意一条格式错误都不保存
+        final List<ObjectNode> records = new ArrayList<>(dataList.size());
+        for (final JsonNode data : dataList) {
+            if (!data.isObject()) {
+                throw new MockException(400, BAD_REQUEST_CODE, "data_list 元素必须为 Json 对象");
+            }
+            records.add(this.unwrap(entry, (ObjectNode) data));
+        }
+
+        final ObjectNode response = JacksonUtil.ofObjectNode().put("status", "success").put("success_count", records.size());
+        final ArrayNode successIds = response.putArray("success_ids");
+        records.forEach(record -> successIds.add(this.create(entry, record).path("_id").asText()));
+        return response;
+    }
+
+    /**
+     * 修改单条数据接口, 示例: {"data": {...}}
+     */
+    @Nonnull
+    private JsonNode updateData(@Nonnull final JsonNode body) {
+        final MockEntry entry = this.getEntry(body);
+        final String dataId = JdyMockServer.requiredText(body, "data_id");
+        final ObjectNode changes = this.unwrap(entry, JdyMockServer.requiredObject(body, "data"));
+        final ObjectNode record = this.update(entry, dataId, changes);
+        if (record == null) {
+            throw new MockException(400, NOT_FOUND_CODE, "数据不存在: " + dataId);
+        }
+        return JacksonUtil.ofObjectNode().set("data", record);
+    }
+
+    /**
+     * 修改多条数据接口, 不存在的数据忽略, 示例: {"status": "success", "success_count": 1}
+     */
+    @Nonnull
+    private JsonNode updateBatchData(@Nonnull final JsonNode body) {
+        final MockEntry entry = this.getEntry(body);
+        final ObjectNode changes = this.unwrap(entry, JdyMockServer.requiredObject(body, "data"));
+        int successCount = 0;
+        for (final String dataId : JdyMockServer.dataIds(body)) {
+            if (this.update(entry, dataId, changes) != null) {
+                successCount++;
+            }
+        }
+        return JacksonUtil.ofObjectNode().put("status", "success").put("success_count", successCount);
+    }
+
+    /**
+     * 删除单条数据接口, 示例: {"status": "success"}
+     */
+    @Nonnull
+    private JsonNode deleteData(@Nonnull final JsonNode body) {
+        final MockEntry entry = this.getEntry(body);
+        final String dataId = JdyMockServer.requiredText(body, "data_id");
+        if (entry.datas.remove(dataId) == null) {
+            throw new MockException(400, NOT_FOUND_CODE, "数据不存在: " + dataId);
+        }
+        entry.dataModifyTime = Instant.now().toString();
+        return JacksonUtil.ofObjectNode().put("status", "success");
+    }
+
+    /**
+     * 删除多条数据接口, 不存在的数据忽略, 示例: {"status": "success", "success_count": 1}
+     */
+    @Nonnull
+    private JsonNode deleteBatchData(@Nonnull final JsonNode body) {
+        final MockEntry entry = this.getEntry(body);
+        int successCount = 0;
+        for (final String dataId : JdyMockServer.dataIds(body)) {
+            if (entry.datas.remove(dataId) != null) {
+                successCount++;
+            }
+        }
+        entry.dataModifyTime = Instant.now().toString();
+        return JacksonUtil.ofObjectNode().put("status", "success").put("success_count", successCount);
+    }
+
+    /**
+     * 获取文件上传凭证和上传地址接口, 示例: {"token_and_url_list": [{"url": "xxx", "token": "xxx"}]}
+     */
+    @Nonnull
+    private JsonNode getUploadToken(@Nonnull final JsonNode body) {
+        this.getEntry(body);
+        JdyMockServer.requiredText(body, "transaction_id");
+
+        final String url = this.getUrl() + UPLOAD_PATH;
+        final ObjectNode response = JacksonUtil.ofObjectNode();
+        final ArrayNode tokenAndUrls = response.putArray("token_and_url_list");
+        for (int i = 0; i < this.config.getUploadTokenCount(); i++) {
+            final String token = UUID.randomUUID().toString();
+            this.uploadTokens.add(token);
+            tokenAndUrls.addObject().put("url", url).put("token", token);
+        }
+        return response;
+    }
+
+    /**
+     * 上传文件, multipart/form-data, 每个凭证只能使用一次, 示例: {"key": "xxx"}
+     */
+    @Nonnull
+    private JsonNode upload(@Nonnull final HttpExchange exchange) throws IOException {
+        final byte[] body;
+        try (final InputStream inputStream = exchange.getRequestBody()) {
+            body = inputStream.readAllBytes();
+        }
+
+        final String contentType = StringUtils.defaultString(exchange.getRequestHeaders().getFirst("Content-Type"));
+        final String boundary = StringUtils.substringAfter(contentType, "boundary=");
+        if (StringUtils.isBlank(boundary)) {
+            throw new MockException(400, BAD_REQUEST_CODE, "请求体必须为 multipart/form-data");
+        }
+
+        // 只需要读取 token 字段, 按 ISO-8859-1 解码保证字节与字符一一对应
+        final String content = new String(body, StandardCharsets.ISO_8859_1);
+        final String token = StringUtils.substringBetween(StringUtils.substringAfter(content, "name=\"token\""), "\r\n\r\n", "\r\n--" + boundary);
+        if (token == null || !this.uploadTokens.remove(token.trim())) {
+            throw new MockException(400, BAD_REQUEST_CODE, "上传凭证无效或已使用");
+        }
+        if (!content.contains("name=\"file\"")) {
+            throw new MockException(400, BAD_REQUEST_CODE, "缺少文件");
+        }
+
+        this.uploadCount.increment();
+        this.uploadBytes.add(body.length);
+        return JacksonUtil.ofObjectNode().put("key", UUID.randomUUID().toString());
+    }
+
+    // ==== 数据存储
+
+    @Nonnull
+    private MockEntry getEntry(@Nonnull final JsonNode body) {
+        return this.getEntry(JdyMockServer.requiredText(body, "app_id"), JdyMockServer.requiredText(body, "entry_id"));
+    }
+
+    @Nonnull
+    private MockEntry getEntry(@Nonnull final String appId, @Nonnull final String entryId) {
+        final MockEntry entry = this.entries.get(JdyMockServer.entryKey(appId, entryId));
+        if (entry == null) {
+            throw new MockException(400, NOT_FOUND_CODE, "表单不存在: " + appId + "/" + entryId);
+        }
+        return entry;
+    }
+
+    @Nonnull
+    private ObjectNode getRecord(@Nonnull final MockEntry entry, @Nonnull final String dataId) {
+        final ObjectNode record = entry.datas.get(dataId);
+        if (record == null) {
+            throw new MockException(400, NOT_FOUND_CODE, "数据不存在: " + dataId);
+        }
+        return record;
+    }
+
+    /**
+     * 保存新数据, 补充系统字段
+     */
+    @Nonnull
+    private ObjectNode create(@Nonnull final MockEntry entry, @Nonnull final ObjectNode fields) {
+        final String now = Instant.now().toString();
+        final ObjectNode record = JacksonUtil.ofObjectNode();
+        record.put("_id", this.nextId());
+        record.put("appId", entry.appId);
+        record.put("entryId", entry.entryId);
+        record.put("createTime", now);
+        record.put("updateTime", now);
+        record.put("flowState", 1);
+        record.setAll(fields);
+        entry.datas.put(record.get("_id").asText(), record);
+        entry.dataModifyTime = now;
+        return record;
+    }
+
+    /**
+     * 修改数据, 已保存的数据不可变, 修改时整体替换, 并发读取不会读到修改了一半的数据
+     *
+     * @return 修改后的数据, 数据不存在返回 null
+     */
+    @Nullable
+    private ObjectNode update(@Nonnull final MockEntry entry, @Nonnull final String dataId, @Nonnull final ObjectNode changes) {
+        final String now = Instant.now().toString();
+        final ObjectNode record = entry.datas.computeIfPresent(dataId, (key, oldRecord) -> {
+            final ObjectNode newRecord = oldRecord.deepCopy();
+            newRecord.setAll(changes.deepCopy());
+            newRecord.put("updateTime", now);
+            return newRecord;
+        });
+        if (record != null) {
+            entry.dataModifyTime = now;
+        }
+        return record;
+    }
+
+    /**
+     * 解开请求中的 {"字段": {"value": xxx}} 包装, 子表单行同样解开并为新增行生成数据ID
+     */
+    @Nonnull
+    private ObjectNode unwrap(@Nonnull final MockEntry entry, @Nonnull final ObjectNode data) {
+        final ObjectNode record = JacksonUtil.ofObjectNode();
+        data.properties().forEach(field -> {
+            if (this.isSystemField(field.getKey())) {
+                return;
+            }
+            final JsonNode value = JdyMockServer.unwrapValue(field.getKey(), field.getValue());
+
+            // 子表单: [{"_id": {"value": xxx}, "字段": {"value": xxx}}]
+            if (entry.subForms.contains(field.getKey()) && value.isArray()) {
+                final ArrayNode rows = record.putArray(field.getKey());
+                for (final JsonNode row : value) {
+                    if (!row.isObject()) {
+                        throw new MockException(400, BAD_REQUEST_CODE, "子表单[" + field.getKey() + "]行必须为 Json 对象");
+                    }
+                    final ObjectNode newRow = JacksonUtil.ofObjectNode();
+                    row.properties().forEach(item -> {
+                        if (!"_id".equals(item.getKey())) {
+                            newRow.set(item.getKey(), JdyMockServer.unwrapValue(item.getKey(), item.getValue()));
+                        }
+                    });
+                    rows.add(this.withSubFormId(newRow, row.path("_id").path("value")));
+                }
+                return;
+            }
+            record.set(field.getKey(), value);
+        });
+        return record;
+    }
+
+    @Nonnull
+    private static JsonNode unwrapValue(@Nonnull final String name, @Nonnull final JsonNode value) {
+        final JsonNode unwrapped = value.path("value");
+        if (unwrapped.isMissingNode()) {
+            throw new MockException(400, BAD_REQUEST_CODE, "字段[" + name + "]必须为 {\"value\": xxx} 格式");
+        }
+        return unwrapped;
+    }
+
+    /**
+     * 为子表单行补充数据ID, 新增的子表单行没有数据ID
+     */
+    @Nonnull
+    private ObjectNode withSubFormId(@Nonnull final ObjectNode row, @Nonnull final JsonNode dataId) {
+        row.put("_id", dataId.isTextual() && StringUtils.isNotBlank(dataId.asText()) ? dataId.asText() : this.nextId());
+        return row;
+    }
+
+    private boolean isSystemField(@Nonnull final String name) {
+        return "_id".equals(name) || "appId".equals(name) || "entryId".equals(name) || SYS_WIDGETS.contains(name);
+    }
+
+    /**
+     * 24 位十六进制数据ID, 按创建顺序递增
+     */
+    @Nonnull
+    private String nextId() {
+        return String.format("%08x%016x", this.idPrefix, this.idSequence.incrementAndGet());
+    }
+
+    // ==== 查询条件
+
+    /**
+     * 是否满足查询条件, 示例: {"rel": "and", "cond": [{"field": "xxx", "method": "eq", "value": [xxx]}]}
+     */
+    private static boolean matches(@Nonnull final JsonNode record, @Nonnull final JsonNode filter) {
+        final JsonNode conditions = filter.path("cond");
+        if (!conditions.isArray() || conditions.isEmpty()) {
+            return true;
+        }
+
+        final boolean or = "or".equals(filter.path("rel").asText("and"));
+        for (final JsonNode condition : conditions) {
+            final boolean matched = JdyMockServer.matchesCondition(record, condition);
+            if (or == matched) {
+                return matched;
+            }
+        }
+        return !or;
+    }
+
+    private static boolean matchesCondition(@Nonnull final JsonNode record, @Nonnull final JsonNode condition) {
+        final JsonNode value = record.path(condition.path("field").asText());
+        final JsonNode values = condition.path("value");
+        final String method = condition.path("method").asText();
+        return switch (method) {
+            case "empty" -> JacksonUtil.isEmpty(value);
+            case "not_empty" -> !JacksonUtil.isEmpty(value);
+            case "eq" -> values.size() > 0 && JdyMockServer.contains(value, values.get(0));
+            case "ne" -> values.size() == 0 || !JdyMockServer.contains(value, values.get(0));
+            case "in" -> JdyMockServer.containsAny(value, values);
+            case "nin" -> !JdyMockServer.containsAny(value, values);
+            case "like" -> values.size() > 0 && value.asText().contains(values.get(0).asText());
+            case "range" -> !JacksonUtil.isNull(value)
+                    && (JacksonUtil.isNull(values.path(0)) || JdyMockServer.compare(value, values.get(0)) >= 0)
+                    && (JacksonUtil.isNull(values.path(1)) || JdyMockServer.compare(value, values.get(1)) <= 0);
+            default -> throw new MockException(400, BAD_REQUEST_CODE, "不支持的查询方法: " + method);
+        };
+    }
+
+    private static boolean containsAny(@Nonnull final JsonNode value, @Nonnull final JsonNode values) {
+        for (final JsonNode item : values) {
+            if (JdyMockServer.contains(value, item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 字段值是否等于指定值, 数组字段 (复选框组等) 任意元素相等即可
+     */
+    private static boolean contains(@Nonnull final JsonNode value, @Nonnull final JsonNode expected) {
+        if (value.isArray()) {
+            for (final JsonNode item : value) {
+                if (JdyMockServer.compare(item, expected) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return !JacksonUtil.isNull(value) && JdyMockServer.compare(value, expected) == 0;
+    }
+
+    /**
+     * 比较字段值, 都可以转为数字时按数字比较, 否则按文本比较
+     */
+    private static int compare(@Nonnull final JsonNode value, @Nonnull final JsonNode expected) {
+        final BigDecimal left = JdyMockServer.toDecimal(value);
+        final BigDecimal right = JdyMockServer.toDecimal(expected);
+        if (left != null && right != null) {
+            return left.compareTo(right);
+        }
+        return value.asText().compareTo(expected.asText());
+    }
+
+    @Nullable
+    private static BigDecimal toDecimal(@Nonnull final JsonNode value) {
+        if (value.isNumber()) {
+            return value.decimalValue();
+        }
+        if (value.isTextual()) {
+            try {
+                return new BigDecimal(value.asText());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 只返回指定字段, 数据ID始终返回
+     */
+    @Nonnull
+    private static ObjectNode project(@Nonnull final ObjectNode record, @Nonnull final JsonNode fields) {
+        if (!fields.isArray() || fields.isEmpty()) {
+            return record;
+        }
+        final ObjectNode projected = JacksonUtil.ofObjectNode();
+        projected.set("_id", record.get("_id"));
+        for (final JsonNode field : fields) {
+            final JsonNode value = record.get(field.asText());
+            if (value != null) {
+                projected.set(field.asText(), value);
+            }
+        }
+        return projected;
+    }
+
+    // ==== 工具
+
+    @Nonnull
+    private static String requiredText(@Nonnull final JsonNode body, @Nonnull final String name) {
+        final String value = body.path(name).asText(null);
+        if (StringUtils.isBlank(value)) {
+            throw new MockException(400, BAD_REQUEST_CODE, name + " 不能为空");
+        }
+        return value;
+    }
+
+    @Nonnull
+    private static ObjectNode requiredObject(@Nonnull final JsonNode body, @Nonnull final String name) {
+        final JsonNode value = body.path(name);
+        if (!value.isObject()) {
+            throw new MockException(400, BAD_REQUEST_CODE, name + " 必须为 Json 对象");
+        }
+        return (ObjectNode) value;
+    }
+
+    @Nonnull
+    private static List<String> dataIds(@Nonnull final JsonNode body) {
+        final JsonNode dataIds = body.path("data_ids");
+        if (!dataIds.isArray() || dataIds.isEmpty() || dataIds.size() > 100) {
+            throw new MockException(400, BAD_REQUEST_CODE, "data_ids 必须为 1~100 个数据ID");
+        }
+        final List<String> result = new ArrayList<>(dataIds.size());
+        dataIds.forEach(dataId -> result.add(dataId.asText()));
+        return result;
+    }
+
+    @Nonnull
+    private static String entryKey(@Nonnull final String appId, @Nonnull final String entryId) {
+        return appId + ":" + entryId;
+    }
+
+    /**
+     * 表单
+     */
+    private static class MockEntry {
+        private final String appId;
+        private final String entryId;
+        private final String name;
+        private final List<JdyField> widgets;
+
+        /**
+         * 子表单字段名称
+         */
+        private final Set<String> subForms = new HashSet<>();
+
+        /**
+         * key: 数据ID, 有序, 用于 keyset 分页
+         */
+        private final ConcurrentNavigableMap<String, ObjectNode> datas = new ConcurrentSkipListMap<>();
+
+        @Nullable
+        private volatile String dataModifyTime;
+
+        private MockEntry(final String appId, final String entryId, final String name, final List<JdyField> widgets) {
+            this.appId = appId;
+            this.entryId = entryId;
+            this.name = name;
+            this.widgets = widgets;
+            widgets.stream()
+                    .filter(widget -> JdyFieldTypeEnum.SUBFORM.getValue().equals(widget.getType()))
+                    .forEach(widget -> this.subForms.add(widget.getName()));
+        }
+    }
+
+    /**
+     * 固定时间窗口计数, 每秒重置
+     */
+    private static class FixedWindow {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long second = -1;
+        private int count;
+
+        private boolean tryAcquire(final int limit) {
+            final long now = System.nanoTime() / 1_000_000_000L;
+            this.lock.lock();
+            try {
+                if (now != this.second) {
+                    this.second = now;
+                    this.count = 0;
+                }
+                if (this.count >= limit) {
+                    return false;
+                }
+                this.count++;
+                return true;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 返回给客户端的错误
+     */
+    private static class MockException extends RuntimeException {
+        private final int status;
+        private final int code;
+
+        private MockException(final int status, final int code, final String message) {
+            super(message);
+            this.status = status;
+            this.code = code;
+        }
+    }
+}
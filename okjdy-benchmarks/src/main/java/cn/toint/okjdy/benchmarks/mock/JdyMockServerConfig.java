@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks.mock;
+
+import jakarta.annotation.Nullable;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 简道云模拟服务配置
+ * 所有配置都可以在模拟服务运行期间修改, 下一个请求即生效
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Data
+public class JdyMockServerConfig {
+    /**
+     * 监听地址
+     */
+    private String host = "127.0.0.1";
+
+    /**
+     * 监听端口, 0 表示随机端口
+     */
+    private int port = 0;
+
+    /**
+     * 校验的 apiKey, 为 null 时不校验
+     */
+    @Nullable
+    private volatile String apiKey;
+
+    /**
+     * 每个请求的基础延迟
+     */
+    private volatile Duration latency = Duration.ZERO;
+
+    /**
+     * 在基础延迟上随机增加 [0, latencyJitter) 的延迟
+     */
+    private volatile Duration latencyJitter = Duration.ZERO;
+
+    /**
+     * 是否按 {@link cn.toint.okjdy.core.enums.JdyUrlEnum#getQps()} 对每个 apiKey 的每个接口限流, 超出返回 8303
+     */
+    private volatile boolean qpsLimitEnabled = true;
+
+    /**
+     * 接口频率比例, 实际频率 = 接口频率 * qpsRatio, 至少为 1
+     */
+    private volatile double qpsRatio = 1D;
+
+    /**
+     * 每个 apiKey 所有接口合计的频率, 超出返回 8304, 小于等于 0 表示不限制
+     */
+    private volatile int tenantQps = 0;
+
+    /**
+     * 随机返回 8303 的比例, 与频率限制无关, 用于模拟其他应用占用额度
+     */
+    private volatile double throttleRate = 0D;
+
+    /**
+     * 随机返回 HTTP 500 的比例
+     */
+    private volatile double errorRate = 0D;
+
+    /**
+     * 查询多条数据单页最大数量
+     */
+    private volatile int maxListLimit = 100;
+
+    /**
+     * 单次获取文件上传凭证的数量
+     */
+    private volatile int uploadTokenCount = 100;
+}
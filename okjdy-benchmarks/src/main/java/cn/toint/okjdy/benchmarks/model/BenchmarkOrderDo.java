@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks.model;
+
+import cn.toint.okjdy.core.annotation.JdyTable;
+import cn.toint.okjdy.core.model.JdyDo;
+import cn.toint.okjdy.core.model.JdySub;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 基准测试订单表单
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@JdyTable(appId = "bench_app", entryId = "bench_order")
+public class BenchmarkOrderDo extends JdyDo {
+    /**
+     * 订单号 (text)
+     */
+    @JsonProperty("order_no")
+    private String orderNo;
+
+    /**
+     * 客户 (text)
+     */
+    @JsonProperty("customer")
+    private String customer;
+
+    /**
+     * 备注 (textarea)
+     */
+    @JsonProperty("remark")
+    private String remark;
+
+    /**
+     * 金额 (number)
+     */
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    /**
+     * 数量 (number)
+     */
+    @JsonProperty("quantity")
+    private Integer quantity;
+
+    /**
+     * 下单时间 (datetime)
+     */
+    @JsonProperty("order_time")
+    private String orderTime;
+
+    /**
+     * 状态 (radiogroup)
+     */
+    @JsonProperty("status")
+    private String status;
+
+    /**
+     * 标签 (checkboxgroup)
+     */
+    @JsonProperty("tags")
+    private List<String> tags;
+
+    /**
+     * 区域 (combo)
+     */
+    @JsonProperty("region")
+    private String region;
+
+    /**
+     * 订单明细 (subform)
+     */
+    @JsonProperty("items")
+    private JdySub<BenchmarkOrderItemDo> items;
+}
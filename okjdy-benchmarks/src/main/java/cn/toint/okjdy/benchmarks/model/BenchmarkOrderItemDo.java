@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.benchmarks.model;
+
+import cn.toint.okjdy.core.model.JdySubDo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+
+/**
+ * 基准测试订单明细子表单
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BenchmarkOrderItemDo extends JdySubDo {
+    /**
+     * 商品编码 (text)
+     */
+    @JsonProperty("sku")
+    private String sku;
+
+    /**
+     * 商品名称 (text)
+     */
+    @JsonProperty("name")
+    private String name;
+
+    /**
+     * 单价 (number)
+     */
+    @JsonProperty("price")
+    private BigDecimal price;
+
+    /**
+     * 数量 (number)
+     */
+    @JsonProperty("qty")
+    private Integer qty;
+}
@@ -0,0 +1,322 @@
+package cn.toint.okjdy.benchmarks.mock;
+
+import cn.toint.okjdy.benchmarks.JdyBenchmarkFixtures;
+import cn.toint.okjdy.benchmarks.model.BenchmarkOrderDo;
+import cn.toint.okjdy.core.annotation.JdyTable;
+import cn.toint.okjdy.core.client.JdyClient;
+import cn.toint.okjdy.core.client.impl.JdyClientImpl;
+import cn.toint.okjdy.core.config.JdyClientConfig;
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.exception.JdyBatchException;
+import cn.toint.okjdy.core.exception.JdyRequestLimitException;
+import cn.toint.okjdy.core.model.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 使用简道云模拟服务对客户端做端到端冒烟测试
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyMockServerTest {
+    private static final String APP_ID = BenchmarkOrderDo.class.getAnnotation(JdyTable.class).appId();
+
+    private static final String ENTRY_ID = BenchmarkOrderDo.class.getAnnotation(JdyTable.class).entryId();
+
+    private JdyMockServer server;
+
+    private JdyClientConfig clientConfig;
+
+    private JdyClient jdyClient;
+
+    @BeforeEach
+    void setUp() {
+        // 关闭模拟服务的频率限制, 限流只由注入的错误触发
+        final JdyMockServerConfig serverConfig = new JdyMockServerConfig();
+        serverConfig.setQpsLimitEnabled(false);
+        this.server = new JdyMockServer(serverConfig).start();
+        this.server.createEntry(APP_ID, "测试应用", ENTRY_ID, "测试订单", JdyBenchmarkFixtures.orderFields());
+
+        this.clientConfig = new JdyClientConfig("test-" + UUID.randomUUID());
+        this.clientConfig.setUrl(this.server.getUrl());
+        this.clientConfig.getJdyRetryPolicy().setBaseDelay(Duration.ofMillis(10));
+        this.clientConfig.getJdyRetryPolicy().setMaxDelay(Duration.ofMillis(50));
+        this.jdyClient = new JdyClientImpl(this.clientConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.close();
+    }
+
+    /**
+     * 查询多条数据按数据ID翻页, 不重复不遗漏
+     */
+    @Test
+    void testListDataKeysetPagination() {
+        final List<String> dataIds = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(250));
+
+        final JdyListDataRequest request = new JdyListDataRequest();
+        request.setAppId(APP_ID);
+        request.setEntryId(ENTRY_ID);
+        final List<BenchmarkOrderDo> orders = this.jdyClient.listData(request, BenchmarkOrderDo.class);
+
+        assertEquals(dataIds, orders.stream().map(BenchmarkOrderDo::getDataId).toList());
+        assertEquals("SO100249", orders.get(249).getOrderNo());
+        assertEquals(3, this.server.getRequestCount(JdyUrlEnum.LIST_DATA));
+    }
+
+    /**
+     * 按页过滤后转换为实体, 回调异常的页被忽略
+     */
+    @Test
+    void testListDataPredicate() {
+        final List<String> dataIds = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(250));
+
+        final JdyListDataRequest request = new JdyListDataRequest();
+        request.setAppId(APP_ID);
+        request.setEntryId(ENTRY_ID);
+        final List<BenchmarkOrderDo> orders = this.jdyClient.listData(request, BenchmarkOrderDo.class, page -> {
+            if (page.size() < 100) {
+                throw new IllegalStateException("last page");
+            }
+            return !page.get(0).path("_id").asText().equals(dataIds.getFirst());
+        });
+
+        assertEquals(dataIds.subList(100, 200), orders.stream().map(BenchmarkOrderDo::getDataId).toList());
+        assertEquals(dataIds, this.jdyClient.listData(request, BenchmarkOrderDo.class, null).stream().map(BenchmarkOrderDo::getDataId).toList());
+    }
+
+    /**
+     * 被限流 (8303) 时重试直到成功
+     */
+    @Test
+    void testRetryOnLimit() {
+        this.jdyClient.listField(new JdyFieldListRequest(APP_ID, ENTRY_ID));
+        this.server.resetStats();
+        this.server.failNext(JdyUrlEnum.SAVE_BATCH_DATA, 2, JdyMockServer.LIMIT_CODE);
+
+        final List<String> successIds = this.jdyClient.saveBatchData(JdyDataSaveBatchRequest.ofEntities(JdyBenchmarkFixtures.orders(10)));
+
+        assertEquals(10, successIds.size());
+        assertEquals(10, this.server.count(APP_ID, ENTRY_ID));
+        assertEquals(3, this.server.getRequestCount(JdyUrlEnum.SAVE_BATCH_DATA));
+        assertEquals(2, this.server.getLimitedCount());
+    }
+
+    /**
+     * 某一批保存失败不影响其他批次, 异常中携带已成功的数据ID
+     */
+    @Test
+    void testSaveBatchPartialFailure() {
+        this.server.failNext(JdyUrlEnum.SAVE_BATCH_DATA, 1, JdyMockServer.BAD_REQUEST_CODE);
+
+        final JdyBatchException e = assertThrows(JdyBatchException.class,
+                () -> this.jdyClient.saveBatchData(JdyDataSaveBatchRequest.ofEntities(JdyBenchmarkFixtures.orders(300))));
+
+        assertEquals(200, e.getSuccessCount());
+        assertEquals(200, e.getSuccessIds().size());
+        assertEquals(1, e.getFailures().size());
+        assertEquals(200, this.server.count(APP_ID, ENTRY_ID));
+        assertEquals(3, this.server.getRequestCount(JdyUrlEnum.SAVE_BATCH_DATA));
+
+        // 失败批次的下标与原因
+        final Map.Entry<Integer, Throwable> failure = e.getFailures().entrySet().iterator().next();
+        assertTrue(failure.getKey() >= 0 && failure.getKey() < 3);
+        assertTrue(failure.getValue().getMessage().contains(String.valueOf(JdyMockServer.BAD_REQUEST_CODE)));
+        assertSame(failure.getValue(), e.getCause());
+    }
+
+    /**
+     * 只有一个批次时失败, 抛出原始异常
+     */
+    @Test
+    void testSaveBatchSingleChunkFailure() {
+        this.server.failNext(JdyUrlEnum.SAVE_BATCH_DATA, 1, JdyMockServer.BAD_REQUEST_CODE);
+
+        final RuntimeException e = assertThrows(RuntimeException.class,
+                () -> this.jdyClient.saveBatchData(JdyDataSaveBatchRequest.ofEntities(JdyBenchmarkFixtures.orders(10))));
+
+        assertFalse(e instanceof JdyBatchException);
+        assertTrue(e.getMessage().contains(String.valueOf(JdyMockServer.BAD_REQUEST_CODE)));
+        assertEquals(0, this.server.count(APP_ID, ENTRY_ID));
+    }
+
+    /**
+     * 全部批次失败, 抛出第一个失败批次的原始异常, 其他批次的失败原因附加为 suppressed
+     */
+    @Test
+    void testSaveBatchAllChunksFailure() {
+        this.server.failNext(JdyUrlEnum.SAVE_BATCH_DATA, 3, JdyMockServer.BAD_REQUEST_CODE);
+
+        final RuntimeException e = assertThrows(RuntimeException.class,
+                () -> this.jdyClient.saveBatchData(JdyDataSaveBatchRequest.ofEntities(JdyBenchmarkFixtures.orders(300))));
+
+        assertFalse(e instanceof JdyBatchException);
+        assertEquals(2, e.getSuppressed().length);
+        assertEquals(0, this.server.count(APP_ID, ENTRY_ID));
+    }
+
+    /**
+     * 某一批修改失败不影响其他批次, 异常中携带已成功的数量
+     */
+    @Test
+    void testUpdateBatchPartialFailure() {
+        final List<String> dataIds = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(300));
+        this.server.failNext(JdyUrlEnum.UPDATE_BATCH_DATA, 1, JdyMockServer.BAD_REQUEST_CODE);
+
+        final JdyDataUpdateBatchRequest request = JdyDataUpdateBatchRequest.of(JdyBenchmarkFixtures.order(0), dataIds);
+        final JdyBatchException e = assertThrows(JdyBatchException.class, () -> this.jdyClient.updateBatchData(request, true));
+
+        assertEquals(200, e.getSuccessCount());
+        assertTrue(e.getSuccessIds().isEmpty());
+        assertEquals(1, e.getFailures().size());
+        assertEquals(3, this.server.getRequestCount(JdyUrlEnum.UPDATE_BATCH_DATA));
+    }
+
+    /**
+     * 全部批次修改失败, 抛出原始异常
+     */
+    @Test
+    void testUpdateBatchAllChunksFailure() {
+        final List<String> dataIds = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(200));
+        this.server.failNext(JdyUrlEnum.UPDATE_BATCH_DATA, 2, JdyMockServer.BAD_REQUEST_CODE);
+
+        final JdyDataUpdateBatchRequest request = JdyDataUpdateBatchRequest.of(JdyBenchmarkFixtures.order(0), dataIds);
+        final RuntimeException e = assertThrows(RuntimeException.class, () -> this.jdyClient.updateBatchData(request, true));
+
+        assertFalse(e instanceof JdyBatchException);
+        assertEquals(1, e.getSuppressed().length);
+    }
+
+    /**
+     * 某一批删除失败不影响其他批次, 异常中携带已成功的数量
+     */
+    @Test
+    void testDeleteBatchPartialFailure() {
+        final List<String> dataIds = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(300));
+        this.server.failNext(JdyUrlEnum.DELETE_BATCH_DATA, 1, JdyMockServer.BAD_REQUEST_CODE);
+
+        final JdyBatchException e = assertThrows(JdyBatchException.class,
+                () -> this.jdyClient.deleteBatchData(new JdyDataDeleteBatchRequest(APP_ID, ENTRY_ID, dataIds)));
+
+        assertEquals(200, e.getSuccessCount());
+        assertEquals(1, e.getFailures().size());
+        assertEquals(100, this.server.count(APP_ID, ENTRY_ID));
+    }
+
+    /**
+     * 只有一个批次时删除失败, 抛出原始异常
+     */
+    @Test
+    void testDeleteBatchSingleChunkFailure() {
+        final List<String> dataIds = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(10));
+        this.server.failNext(JdyUrlEnum.DELETE_BATCH_DATA, 1, JdyMockServer.BAD_REQUEST_CODE);
+
+        final RuntimeException e = assertThrows(RuntimeException.class,
+                () -> this.jdyClient.deleteBatchData(new JdyDataDeleteBatchRequest(APP_ID, ENTRY_ID, dataIds)));
+
+        assertFalse(e instanceof JdyBatchException);
+        assertTrue(e.getMessage().contains(String.valueOf(JdyMockServer.BAD_REQUEST_CODE)));
+        assertEquals(10, this.server.count(APP_ID, ENTRY_ID));
+    }
+
+    /**
+     * 接口默认的流式查询按页调用 listData, 按需翻页
+     */
+    @Test
+    void testDefaultStreamData() {
+        final List<String> dataIds = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(250));
+        final JdyClient defaultClient = this.defaultMethodClient();
+
+        try (final Stream<BenchmarkOrderDo> stream = defaultClient.streamData(JdyListDataRequest.of().from(BenchmarkOrderDo.class), BenchmarkOrderDo.class)) {
+            assertEquals(dataIds, stream.map(BenchmarkOrderDo::getDataId).toList());
+        }
+        assertEquals(3, this.server.getRequestCount(JdyUrlEnum.LIST_DATA));
+
+        // 达到 limit 后不再请求下一页
+        this.server.resetStats();
+        final JdyListDataRequest request = JdyListDataRequest.of().from(BenchmarkOrderDo.class);
+        request.setLimit(150);
+        try (final Stream<JsonNode> stream = defaultClient.streamData(request)) {
+            assertEquals(dataIds.subList(0, 150), stream.map(jsonNode -> jsonNode.path("_id").asText()).toList());
+        }
+        assertEquals(2, this.server.getRequestCount(JdyUrlEnum.LIST_DATA));
+    }
+
+    /**
+     * 接口默认的分区查询依次查询各区间, 不重复不遗漏
+     */
+    @Test
+    void testDefaultScanData() {
+        final List<String> dataIds = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(250));
+        final JdyListDataScanRequest request = JdyListDataScanRequest.ofNumber(JdyListDataRequest.of().from(BenchmarkOrderDo.class),
+                "quantity", BigDecimal.ONE, BigDecimal.valueOf(50), 4);
+
+        try (final Stream<BenchmarkOrderDo> stream = this.defaultMethodClient().scanData(request, BenchmarkOrderDo.class)) {
+            final List<String> scanned = stream.map(BenchmarkOrderDo::getDataId).toList();
+            assertEquals(dataIds.size(), scanned.size());
+            assertEquals(new HashSet<>(dataIds), new HashSet<>(scanned));
+        }
+    }
+
+    /**
+     * 接口默认不支持从上传来源上传文件
+     */
+    @Test
+    void testDefaultUpload() {
+        final JdyFileUploadRequest request = new JdyFileUploadRequest(APP_ID, ENTRY_ID, UUID.randomUUID().toString());
+        final JdyUploadResponse response = this.defaultMethodClient().upload(request, List.of(
+                JdyUploadSource.of("a.txt", new byte[]{1}),
+                JdyUploadSource.of("b.txt", new byte[]{2, 3})));
+        assertEquals(List.of("a.txt", "b.txt"), List.copyOf(response.getKeyMap().keySet()));
+        assertTrue(response.getKeyMap().values().stream().noneMatch(Objects::isNull));
+        assertEquals(2, this.server.getUploadCount());
+    }
+
+    /**
+     * 删除单条数据, 业务错误返回 false, 重试后仍被限流时抛出异常
+     */
+    @Test
+    void testDeleteData() {
+        final String dataId = this.server.insert(APP_ID, ENTRY_ID, JdyBenchmarkFixtures.orders(1)).getFirst();
+
+        assertTrue(this.jdyClient.deleteData(new JdyDataDeleteRequest(APP_ID, ENTRY_ID, dataId)));
+        assertFalse(this.jdyClient.deleteData(new JdyDataDeleteRequest(APP_ID, ENTRY_ID, dataId)));
+
+        this.clientConfig.getJdyRetryPolicy().setMaxLimitRetries(1);
+        this.server.failNext(JdyUrlEnum.DELETE_ONE_DATA, 2, JdyMockServer.LIMIT_CODE);
+        assertThrows(JdyRequestLimitException.class,
+                () -> this.jdyClient.deleteData(new JdyDataDeleteRequest(APP_ID, ENTRY_ID, dataId)));
+        assertEquals(2, this.server.getLimitedCount());
+    }
+
+    /**
+     * 只实现抽象方法的客户端, 默认方法使用接口的默认实现
+     */
+    private JdyClient defaultMethodClient() {
+        return (JdyClient) Proxy.newProxyInstance(JdyClient.class.getClassLoader(), new Class<?>[]{JdyClient.class}, (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            try {
+                return method.invoke(this.jdyClient, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.breaker;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.exception.JdyCircuitOpenException;
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 简道云接口熔断器
+ * 每个接口统计最近 {@value #WINDOW_SIZE} 次请求的失败率和慢请求比例, 请求数达到 {@value #MINIMUM_CALLS} 次后任一比例超过阈值即打开熔断,
+ * 打开期间请求直接抛出 {@link JdyCircuitOpenException}; 经过熔断时长后进入半开状态, 放行 {@value #HALF_OPEN_CALLS} 次试探请求,
+ * 全部成功则关闭熔断, 任一失败或过慢则重新打开.
+ * 被限流不视为失败, 简道云返回的业务错误码 (响应体可以正常解析) 同样不视为失败.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyCircuitBreaker {
+    /**
+     * 统计窗口大小 (请求次数)
+     */
+    private static final int WINDOW_SIZE = 100;
+
+    /**
+     * 开始计算比例的最少请求次数
+     */
+    private static final int MINIMUM_CALLS = 20;
+
+    /**
+     * 半开状态下的试探请求次数
+     */
+    private static final int HALF_OPEN_CALLS = 5;
+
+    /**
+     * 失败率阈值, (0, 1]
+     */
+    private final double failureRateThreshold;
+
+    /**
+     * 慢请求耗时阈值 (纳秒)
+     */
+    private final long slowCallNanos;
+
+    /**
+     * 慢请求比例阈值, (0, 1]
+     */
+    private final double slowCallRateThreshold;
+
+    /**
+     * 熔断时长 (纳秒)
+     */
+    private final long openNanos;
+
+    /**
+     * 时钟 (纳秒)
+     */
+    private final LongSupplier ticker;
+
+    /**
+     * 各接口的熔断状态
+     */
+    private final Map<JdyUrlEnum, Circuit> circuitMap = new ConcurrentHashMap<>();
+
+    /**
+     * 失败率超过 50% 或超过 5 秒的慢请求比例超过 80% 时熔断 30 秒
+     */
+    public JdyCircuitBreaker() {
+        this(0.5, Duration.ofSeconds(5), 0.8, Duration.ofSeconds(30));
+    }
+
+    /**
+     * @param failureRateThreshold  失败率阈值, (0, 1]
+     * @param slowCallDuration      慢请求耗时阈值
+     * @param slowCallRateThreshold 慢请求比例阈值, (0, 1]
+     * @param openDuration          熔断时长
+     */
+    public JdyCircuitBreaker(final double failureRateThreshold, @Nonnull final Duration slowCallDuration, final double slowCallRateThreshold, @Nonnull final Duration openDuration) {
+        this(failureRateThreshold, slowCallDuration, slowCallRateThreshold, openDuration, System::nanoTime);
+    }
+
+    /**
+     * @param ticker 时钟 (纳秒), 测试时可替换
+     */
+    JdyCircuitBreaker(final double failureRateThreshold, @Nonnull final Duration slowCallDuration, final double slowCallRateThreshold,
+                      @Nonnull final Duration openDuration, @Nonnull final LongSupplier ticker) {
+        Assert.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 1, "failureRateThreshold must be in (0, 1]");
+        Assert.notNull(slowCallDuration, "slowCallDuration must not be null");
+        Assert.isTrue(slowCallRateThreshold > 0 && slowCallRateThreshold <= 1, "slowCallRateThreshold must be in (0, 1]");
+        Assert.notNull(openDuration, "openDuration must not be null");
+        Assert.notNull(ticker, "ticker must not be null");
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * 获取一次请求许可, 请求结束后必须调用许可的结果方法, 多次调用时只有第一次生效
+     *
+     * @param jdyUrlEnum 请求的接口
+     * @return 请求许可
+     * @throws JdyCircuitOpenException 熔断器已打开, 或半开状态下试探请求已满
+     */
+    @Nonnull
+    public Permit acquire(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+        Assert.notNull(jdyUrlEnum, "jdyUrlEnum must not be null");
+        return this.circuitMap.computeIfAbsent(jdyUrlEnum, Circuit::new).acquire();
+    }
+
+    /**
+     * 接口当前的熔断状态, 可用于监控
+     *
+     * @param jdyUrlEnum 接口
+     * @return 熔断状态
+     */
+    @Nonnull
+    public State getState(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+        Assert.notNull(jdyUrlEnum, "jdyUrlEnum must not be null");
+        final Circuit circuit = this.circuitMap.get(jdyUrlEnum);
+        return circuit == null ? State.CLOSED : circuit.getState();
+    }
+
+    /**
+     * 熔断状态
+     */
+    public enum State {
+        /**
+         * 关闭, 正常请求
+         */
+        CLOSED,
+        /**
+         * 打开, 拒绝请求
+         */
+        OPEN,
+        /**
+         * 半开, 放行少量试探请求
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * 请求许可
+     */
+    public interface Permit {
+        /**
+         * 请求成功
+         *
+         * @param durationNanos 请求耗时 (纳秒)
+         */
+        void onSuccess(long durationNanos);
+
+        /**
+         * 请求失败
+         *
+         * @param durationNanos 请求耗时 (纳秒)
+         */
+        void onError(long durationNanos);
+
+        /**
+         * 请求结果不计入统计 (如被限流), 只释放许可
+         */
+        void onIgnore();
+    }
+
+    /**
+     * 单个接口的熔断状态
+     */
+    private class Circuit {
+        private final JdyUrlEnum jdyUrlEnum;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * 最近请求的结果, 环形数组, 0: 成功, 1: 失败, 2: 慢请求 (成功但过慢), 3: 失败且过慢
+         */
+        private final byte[] window = new byte[WINDOW_SIZE];
+
+        private int windowIndex;
+
+        private int calls;
+
+        private int failures;
+
+        private int slowCalls;
+
+        private State state = State.CLOSED;
+
+        /**
+         * 熔断打开的时间
+         */
+        private long openedNanos;
+
+        /**
+         * 进入半开状态的代数, 试探请求只在其获取时的代数内生效
+         */
+        private long halfOpenGeneration;
+
+        /**
+         * 半开状态下已放行的试探请求数
+         */
+        private int halfOpenPermits;
+
+        /**
+         * 半开状态下已成功的试探请求数
+         */
+        private int halfOpenSuccesses;
+
+        private Circuit(final JdyUrlEnum jdyUrlEnum) {
+            this.jdyUrlEnum = jdyUrlEnum;
+        }
+
+        private Permit acquire() {
+            this.lock.lock();
+            try {
+                if (this.state == State.OPEN) {
+                    if (JdyCircuitBreaker.this.ticker.getAsLong() - this.openedNanos < JdyCircuitBreaker.this.openNanos) {
+                        throw new JdyCircuitOpenException(this.jdyUrlEnum);
+                    }
+                    this.state = State.HALF_OPEN;
+                    this.halfOpenGeneration++;
+                    this.halfOpenPermits = 0;
+                    this.halfOpenSuccesses = 0;
+                }
+                if (this.state == State.HALF_OPEN) {
+                    if (this.halfOpenPermits >= HALF_OPEN_CALLS) {
+                        throw new JdyCircuitOpenException(this.jdyUrlEnum);
+                    }
+                    this.halfOpenPermits++;
+                    return new CircuitPermit(this, true, this.halfOpenGeneration);
+                }
+                return new CircuitPermit(this, false, 0);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private State getState() {
+            this.lock.lock();
+            try {
+                return this.state;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * 记录请求结果
+         *
+         * @param trial      是否为半开状态下的试探请求
+         * @param generation 试探请求获取时的半开代数
+         * @param ignore     是否不计入统计
+         * @param failed     是否失败
+         * @param slow       是否过慢
+         */
+        private void record(final boolean trial, final long generation, final boolean ignore, final boolean failed, final boolean slow) {
+            this.lock.lock();
+            try {
+                if (trial) {
+                    this.recordTrial(generation, ignore, failed || slow);
+                } else if (!ignore && this.state == State.CLOSED) {
+                    this.recordCall(failed, slow);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private void recordTrial(final long generation, final boolean ignore, final boolean bad) {
+            // 上一轮半开状态的试探请求, 名额和结果都不属于本轮
+            if (this.state != State.HALF_OPEN || generation != this.halfOpenGeneration) {
+                return;
+            }
+            if (ignore) {
+                // 归还试探名额
+                this.halfOpenPermits--;
+            } else if (bad) {
+                this.open();
+            } else if (++this.halfOpenSuccesses >= HALF_OPEN_CALLS) {
+                this.close();
+            }
+        }
+
+        private void recordCall(final boolean failed, final boolean slow) {
+            final byte outcome = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+            if (this.calls == WINDOW_SIZE) {
+                final byte evicted = this.window[this.windowIndex];
+                this.failures -= evicted & 1;
+                this.slowCalls -= (evicted & 2) >> 1;
+            } else {
+                this.calls++;
+            }
+            this.window[this.windowIndex] = outcome;
+            this.windowIndex = (this.windowIndex + 1) % WINDOW_SIZE;
+            this.failures += outcome & 1;
+            this.slowCalls += (outcome & 2) >> 1;
+
+            if (this.calls >= MINIMUM_CALLS
+                    && ((double) this.failures / this.calls >= JdyCircuitBreaker.this.failureRateThreshold
+                    || (double) this.slowCalls / this.calls >= JdyCircuitBreaker.this.slowCallRateThreshold)) {
+                this.open();
+            }
+        }
+
+        private void open() {
+            this.state = State.OPEN;
+            this.openedNanos = JdyCircuitBreaker.this.ticker.getAsLong();
+        }
+
+        private void close() {
+            this.state = State.CLOSED;
+            this.calls = 0;
+            this.windowIndex = 0;
+            this.failures = 0;
+            this.slowCalls = 0;
+        }
+    }
+
+    /**
+     * 请求许可, 重复调用结果方法只生效一次
+     */
+    private class CircuitPermit implements Permit {
+        private final Circuit circuit;
+
+        private final boolean trial;
+
+        /**
+         * 试探请求获取时的半开代数
+         */
+        private final long generation;
+
+        private boolean released;
+
+        private CircuitPermit(final Circuit circuit, final boolean trial, final long generation) {
+            this.circuit = circuit;
+            this.trial = trial;
+            this.generation = generation;
+        }
+
+        @Override
+        public void onSuccess(final long durationNanos) {
+            this.release(false, false, durationNanos);
+        }
+
+        @Override
+        public void onError(final long durationNanos) {
+            this.release(false, true, durationNanos);
+        }
+
+        @Override
+        public void onIgnore() {
+            this.release(true, false, 0);
+        }
+
+        private void release(final boolean ignore, final boolean failed, final long durationNanos) {
+            if (this.released) {
+                return;
+            }
+            this.released = true;
+            this.circuit.record(this.trial, this.generation, ignore, failed, durationNanos >= JdyCircuitBreaker.this.slowCallNanos);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.breaker;
+
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 重试预算
+ * 统计最近 {@value #WINDOW_SECONDS} 秒内的请求次数和重试次数, 重试次数不超过 请求次数 * 比例 + 每秒最少重试次数 * 窗口秒数,
+ * 简道云故障时大量请求同时失败, 重试不会成倍放大请求量.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyRetryBudget {
+    /**
+     * 统计窗口 (秒)
+     */
+    private static final int WINDOW_SECONDS = 10;
+
+    /**
+     * 重试次数占请求次数的比例
+     */
+    private final double retryRatio;
+
+    /**
+     * 每秒最少允许的重试次数, 保证低流量时也能重试
+     */
+    private final int minRetriesPerSecond;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 每秒的请求次数, 环形数组
+     */
+    private final long[] requests = new long[WINDOW_SECONDS];
+
+    /**
+     * 每秒的重试次数, 环形数组
+     */
+    private final long[] retries = new long[WINDOW_SECONDS];
+
+    /**
+     * 时钟 (纳秒)
+     */
+    private final LongSupplier ticker;
+
+    /**
+     * 最近一次记录所在的秒
+     */
+    private long currentSecond;
+
+    /**
+     * 重试次数不超过请求次数的 20%, 每秒最少允许 10 次重试
+     */
+    public JdyRetryBudget() {
+        this(0.2, 10);
+    }
+
+    /**
+     * @param retryRatio          重试次数占请求次数的比例, 大于等于 0
+     * @param minRetriesPerSecond 每秒最少允许的重试次数, 大于等于 0
+     */
+    public JdyRetryBudget(final double retryRatio, final int minRetriesPerSecond) {
+        this(retryRatio, minRetriesPerSecond, System::nanoTime);
+    }
+
+    /**
+     * @param ticker 时钟 (纳秒), 测试时可替换
+     */
+    JdyRetryBudget(final double retryRatio, final int minRetriesPerSecond, @Nonnull final LongSupplier ticker) {
+        Assert.isTrue(retryRatio >= 0, "retryRatio must be greater than or equal to 0");
+        Assert.isTrue(minRetriesPerSecond >= 0, "minRetriesPerSecond must be greater than or equal to 0");
+        Assert.notNull(ticker, "ticker must not be null");
+        this.retryRatio = retryRatio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.ticker = ticker;
+        this.currentSecond = this.nowSecond();
+    }
+
+    /**
+     * 记录一次请求 (不含重试)
+     */
+    public void onRequest() {
+        this.lock.lock();
+        try {
+            this.requests[this.advance()]++;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 尝试获取一次重试许可
+     *
+     * @return 是否允许重试, 允许时计入重试次数
+     */
+    public boolean tryRetry() {
+        this.lock.lock();
+        try {
+            final int index = this.advance();
+            long requestCount = 0;
+            long retryCount = 0;
+            for (int i = 0; i < WINDOW_SECONDS; i++) {
+                requestCount += this.requests[i];
+                retryCount += this.retries[i];
+            }
+            if (retryCount >= requestCount * this.retryRatio + (long) this.minRetriesPerSecond * WINDOW_SECONDS) {
+                return false;
+            }
+            this.retries[index]++;
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 滚动窗口到当前秒, 清空过期的计数
+     *
+     * @return 当前秒在环形数组中的下标
+     */
+    private int advance() {
+        final long now = this.nowSecond();
+        final long elapsed = Math.min(now - this.currentSecond, WINDOW_SECONDS);
+        for (long i = 1; i <= elapsed; i++) {
+            final int index = (int) Math.floorMod(this.currentSecond + i, WINDOW_SECONDS);
+            this.requests[index] = 0;
+            this.retries[index] = 0;
+        }
+        this.currentSecond = Math.max(this.currentSecond, now);
+        return (int) Math.floorMod(this.currentSecond, WINDOW_SECONDS);
+    }
+
+    private long nowSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(this.ticker.getAsLong());
+    }
+}
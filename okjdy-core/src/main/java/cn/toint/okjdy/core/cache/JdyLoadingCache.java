@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.cache;
+
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 本地加载缓存
+ * 1. 同一个 key 同一时间只会加载一次, 并发请求等待同一次加载结果, 避免缓存失效时大量请求同时访问 api
+ * 2. 超过刷新时间后, 继续返回旧值, 同时在后台刷新, 调用方不会阻塞在加载上
+ * 3. 超过过期时间 (长时间没有访问, 后台也未能刷新) 后, 下一次访问同步加载
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+public class JdyLoadingCache<K, V> {
+    /**
+     * 缓存
+     * k: key
+     * v: 加载中或已加载的值
+     */
+    private final Map<K, CompletableFuture<Entry<V>>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 加载方法
+     */
+    private final Function<K, V> loader;
+
+    /**
+     * 刷新时合并新旧值的方法, 入参为 (旧值, 新值), 可用于在内容未变化时复用旧值实例
+     */
+    private final BinaryOperator<V> merger;
+
+    /**
+     * 后台刷新线程池
+     */
+    private final Executor executor;
+
+    /**
+     * 刷新时间 (纳秒)
+     */
+    private final long refreshAfterNanos;
+
+    /**
+     * 过期时间 (纳秒)
+     */
+    private final long expireAfterNanos;
+
+    /**
+     * 时钟 (纳秒)
+     */
+    private final LongSupplier ticker;
+
+    /**
+     * 命中次数, 包括等待其他线程的加载结果和返回待刷新的旧值
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 未命中次数, 即当前线程同步加载的次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param loader       加载方法, 不能返回 null
+     * @param merger       刷新时合并新旧值的方法, 入参为 (旧值, 新值)
+     * @param executor     后台刷新线程池
+     * @param refreshAfter 加载后超过该时间, 访问时在后台刷新
+     * @param expireAfter  加载后超过该时间, 访问时同步加载, 不小于 refreshAfter
+     */
+    public JdyLoadingCache(@Nonnull final Function<K, V> loader, @Nonnull final BinaryOperator<V> merger, @Nonnull final Executor executor,
+                           @Nonnull final Duration refreshAfter, @Nonnull final Duration expireAfter) {
+        this(loader, merger, executor, refreshAfter, expireAfter, System::nanoTime);
+    }
+
+    /**
+     * @param ticker 时钟 (纳秒), 测试时可替换
+     */
+    JdyLoadingCache(@Nonnull final Function<K, V> loader, @Nonnull final BinaryOperator<V> merger, @Nonnull final Executor executor,
+                    @Nonnull final Duration refreshAfter, @Nonnull final Duration expireAfter, @Nonnull final LongSupplier ticker) {
+        Assert.notNull(loader, "loader must not be null");
+        Assert.notNull(merger, "merger must not be null");
+        Assert.notNull(executor, "executor must not be null");
+        Assert.notNull(refreshAfter, "refreshAfter must not be null");
+        Assert.notNull(expireAfter, "expireAfter must not be null");
+        Assert.notNull(ticker, "ticker must not be null");
+        Assert.isFalse(expireAfter.compareTo(refreshAfter) < 0, "expireAfter must not be less than refreshAfter");
+        this.loader = loader;
+        this.merger = merger;
+        this.executor = executor;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.expireAfterNanos = expireAfter.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * 获取缓存, 不存在或已过期时同步加载
+     *
+     * @param key key
+     * @return 缓存值
+     */
+    @Nonnull
+    public V get(@Nonnull final K key) {
+        Assert.notNull(key, "key must not be null");
+
+        boolean loaded = false;
+        while (true) {
+            CompletableFuture<Entry<V>> future = this.cache.get(key);
+
+            // 不存在, 由抢到占位的线程加载, 其他线程等待
+            if (future == null) {
+                final CompletableFuture<Entry<V>> loading = new CompletableFuture<>();
+                future = this.cache.putIfAbsent(key, loading);
+                if (future == null) {
+                    future = loading;
+                    loaded = true;
+                    this.load(key, loading);
+                }
+            }
+
+            final Entry<V> entry;
+            try {
+                entry = future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+            }
+
+            // 已过期, 移除后重新加载
+            final long now = this.ticker.getAsLong();
+            if (now - entry.loadedNanos >= this.expireAfterNanos) {
+                this.cache.remove(key, future);
+                continue;
+            }
+
+            // 需要刷新, 后台刷新, 本次返回旧值
+            if (now - entry.loadedNanos >= this.refreshAfterNanos) {
+                this.refresh(key, future, entry);
+            }
+
+            (loaded ? this.missCount : this.hitCount).increment();
+            return entry.value;
+        }
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * 未命中次数
+     */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    /**
+     * 获取缓存, 不存在时返回 null, 不触发加载
+     */
+    @Nullable
+    public V getIfPresent(@Nonnull final K key) {
+        final CompletableFuture<Entry<V>> future = this.cache.get(key);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+
+        final Entry<V> entry = future.join();
+        return this.ticker.getAsLong() - entry.loadedNanos >= this.expireAfterNanos ? null : entry.value;
+    }
+
+    /**
+     * 写入缓存
+     */
+    public void put(@Nonnull final K key, @Nonnull final V value) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(value, "value must not be null");
+        this.cache.put(key, CompletableFuture.completedFuture(new Entry<>(value, this.ticker.getAsLong())));
+    }
+
+    /**
+     * 移除缓存, 下一次访问时同步加载
+     */
+    public void invalidate(@Nonnull final K key) {
+        Assert.notNull(key, "key must not be null");
+        this.cache.remove(key);
+    }
+
+    /**
+     * 移除缓存并立即在后台重新加载, 加载完成前访问该 key 的请求等待本次加载结果, 不会重复访问 api
+     */
+    public void reload(@Nonnull final K key) {
+        Assert.notNull(key, "key must not be null");
+        final CompletableFuture<Entry<V>> loading = new CompletableFuture<>();
+        this.cache.put(key, loading);
+        try {
+            this.executor.execute(() -> this.load(key, loading));
+        } catch (RuntimeException e) {
+            this.cache.remove(key, loading);
+            loading.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        this.cache.clear();
+    }
+
+    /**
+     * 加载, 失败时移除占位, 下一次访问重新加载
+     */
+    private void load(@Nonnull final K key, @Nonnull final CompletableFuture<Entry<V>> loading) {
+        try {
+            final V value = this.loader.apply(key);
+            Assert.notNull(value, "cache value must not be null, key: {}", key);
+            loading.complete(new Entry<>(value, this.ticker.getAsLong()));
+        } catch (Throwable e) {
+            this.cache.remove(key, loading);
+            loading.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 后台刷新, 同一个值只会有一个刷新任务
+     * 刷新失败时保留旧值, 直至过期
+     */
+    private void refresh(@Nonnull final K key, @Nonnull final CompletableFuture<Entry<V>> future, @Nonnull final Entry<V> entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            this.executor.execute(() -> {
+                try {
+                    final V value = this.merger.apply(entry.value, this.loader.apply(key));
+                    Assert.notNull(value, "cache value must not be null, key: {}", key);
+                    // 刷新期间被移除或替换的, 不覆盖
+                    this.cache.replace(key, future, CompletableFuture.completedFuture(new Entry<>(value, this.ticker.getAsLong())));
+                } catch (Exception e) {
+                    log.warn("缓存刷新失败, key: {}, cause: {}", key, e.getMessage());
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("缓存刷新任务提交失败, key: {}, cause: {}", key, e.getMessage());
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * 缓存值
+     */
+    private static class Entry<V> {
+        private final V value;
+
+        /**
+         * 加载时间
+         */
+        private final long loadedNanos;
+
+        /**
+         * 是否正在后台刷新
+         */
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(final V value, final long loadedNanos) {
+            this.value = value;
+            this.loadedNanos = loadedNanos;
+        }
+    }
+}
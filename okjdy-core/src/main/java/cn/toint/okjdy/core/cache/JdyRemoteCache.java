@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.cache;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * 简道云元数据远程缓存 (二级缓存)
+ * 多个节点共享表单字段、应用列表、表单列表等元数据, 避免每个节点各自消耗接口频率.
+ * 实现类应吞掉自身的异常 (如 Redis 不可用), 此时客户端直接访问 api.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public interface JdyRemoteCache {
+    /**
+     * 获取缓存
+     *
+     * @param key key
+     * @return 缓存值, 不存在返回 null
+     */
+    @Nullable
+    String get(@Nonnull String key);
+
+    /**
+     * 写入缓存
+     *
+     * @param key   key
+     * @param value 缓存值
+     * @param ttl   过期时间
+     */
+    void put(@Nonnull String key, @Nonnull String value, @Nonnull Duration ttl);
+
+    /**
+     * 删除缓存, 并通知其他节点使本地缓存失效
+     *
+     * @param key key
+     */
+    void evict(@Nonnull String key);
+
+    /**
+     * 注册失效监听, 其他节点删除缓存时回调
+     *
+     * @param listener 入参为失效的 key
+     */
+    void addInvalidationListener(@Nonnull Consumer<String> listener);
+}
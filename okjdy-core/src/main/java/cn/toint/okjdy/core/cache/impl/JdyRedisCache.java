@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.cache.impl;
+
+import cn.toint.okjdy.core.cache.JdyRemoteCache;
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Redis 远程缓存
+ * 缓存值保存为字符串, 删除缓存时通过 pub/sub 通知其他节点, 其他节点收到后使本地缓存失效.
+ * Redis 异常时记录日志并视为未命中, 不影响正常请求.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+public class JdyRedisCache implements JdyRemoteCache, AutoCloseable {
+    /**
+     * 默认失效通知频道
+     */
+    public static final String DEFAULT_CHANNEL = "okjdy:cache:invalidate";
+
+    /**
+     * 失效通知中节点 ID 与 key 的分隔符
+     */
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 当前节点 ID, 忽略自己发出的失效通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 失效通知频道
+     */
+    private final String channel;
+
+    /**
+     * 消息监听容器
+     */
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 是否由本类创建监听容器, 是则由本类负责关闭
+     */
+    private final boolean ownListenerContainer;
+
+    /**
+     * 失效监听
+     */
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 使用 redisTemplate 的连接工厂创建并启动监听容器, 不再使用时需调用 {@link #close()}
+     */
+    public JdyRedisCache(@Nonnull final StringRedisTemplate redisTemplate) {
+        this(redisTemplate, JdyRedisCache.createListenerContainer(redisTemplate), DEFAULT_CHANNEL, true);
+    }
+
+    /**
+     * 使用已有的监听容器 (如 Spring 容器中的 Bean), 监听容器的生命周期由调用方管理
+     */
+    public JdyRedisCache(@Nonnull final StringRedisTemplate redisTemplate, @Nonnull final RedisMessageListenerContainer listenerContainer, @Nonnull final String channel) {
+        this(redisTemplate, listenerContainer, channel, false);
+    }
+
+    private JdyRedisCache(@Nonnull final StringRedisTemplate redisTemplate, @Nonnull final RedisMessageListenerContainer listenerContainer,
+                          @Nonnull final String channel, final boolean ownListenerContainer) {
+        Assert.notNull(redisTemplate, "redisTemplate must not be null");
+        Assert.notNull(listenerContainer, "listenerContainer must not be null");
+        Assert.notBlank(channel, "channel must not be blank");
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.channel = channel;
+        this.ownListenerContainer = ownListenerContainer;
+        this.listenerContainer.addMessageListener((message, pattern) -> this.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    @Nullable
+    @Override
+    public String get(@Nonnull final String key) {
+        try {
+            return this.redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.warn("简道云远程缓存读取失败, key: {}, cause: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(@Nonnull final String key, @Nonnull final String value, @Nonnull final Duration ttl) {
+        try {
+            this.redisTemplate.opsForValue().set(key, value, ttl);
+        } catch (Exception e) {
+            log.warn("简道云远程缓存写入失败, key: {}, cause: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(@Nonnull final String key) {
+        try {
+            this.redisTemplate.delete(key);
+            this.redisTemplate.convertAndSend(this.channel, this.nodeId + SEPARATOR + key);
+        } catch (Exception e) {
+            log.warn("简道云远程缓存删除失败, key: {}, cause: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void addInvalidationListener(@Nonnull final Consumer<String> listener) {
+        Assert.notNull(listener, "listener must not be null");
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (this.ownListenerContainer) {
+            this.listenerContainer.destroy();
+        }
+    }
+
+    /**
+     * 收到失效通知
+     *
+     * @param message 格式: 节点ID|key
+     */
+    private void onMessage(@Nonnull final String message) {
+        final String fromNodeId = StringUtils.substringBefore(message, SEPARATOR);
+        final String key = StringUtils.substringAfter(message, SEPARATOR);
+        if (StringUtils.isBlank(key) || this.nodeId.equals(fromNodeId)) {
+            return;
+        }
+
+        for (final Consumer<String> listener : this.listeners) {
+            try {
+                listener.accept(key);
+            } catch (Exception e) {
+                log.error("简道云远程缓存失效回调异常, key: {}", key, e);
+            }
+        }
+    }
+
+    /**
+     * 创建并启动监听容器
+     */
+    private static RedisMessageListenerContainer createListenerContainer(@Nonnull final StringRedisTemplate redisTemplate) {
+        Assert.notNull(redisTemplate, "redisTemplate must not be null");
+        Assert.notNull(redisTemplate.getConnectionFactory(), "redisTemplate connectionFactory must not be null");
+        final RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisTemplate.getConnectionFactory());
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        return listenerContainer;
+    }
+}
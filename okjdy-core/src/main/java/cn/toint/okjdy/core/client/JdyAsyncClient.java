@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.toint.okjdy.core.client;
+
+import cn.toint.okjdy.core.model.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.Nonnull;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 简道云异步客户端
+ * 方法语义与 {@link JdyClient} 一致, 在异步线程池 (默认虚拟线程) 中执行, 与同步客户端共享限流和重试策略
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public interface JdyAsyncClient {
+    /**
+     * 查询数据
+     *
+     * @see JdyClient#getData(JdyDataGetRequest)
+     */
+    @Nonnull
+    CompletableFuture<JsonNode> getData(@Nonnull JdyDataGetRequest jdyDataGetRequest);
+
+    /**
+     * 查询数据
+     *
+     * @see JdyClient#getData(JdyDataGetRequest, Class)
+     */
+    @Nonnull
+    <T extends JdyDo> CompletableFuture<T> getData(@Nonnull JdyDataGetRequest jdyDataGetRequest, @Nonnull Class<T> responseClass);
+
+    /**
+     * 查询数据列表
+     *
+     * @see JdyClient#listData(JdyListDataRequest)
+     */
+    @Nonnull
+    CompletableFuture<JsonNode> listData(@Nonnull JdyListDataRequest jdyListDataRequest);
+
+    /**
+     * 查询数据列表
+     *
+     * @see JdyClient#listData(JdyListDataRequest, Class)
+     */
+    @Nonnull
+    <T extends JdyDo> CompletableFuture<List<T>> listData(@Nonnull JdyListDataRequest jdyListDataRequest, @Nonnull Class<T> responseType);
+
+    /**
+     * 新增数据
+     *
+     * @see JdyClient#saveData(JdyDataSaveRequest)
+     */
+    @Nonnull
+    CompletableFuture<JsonNode> saveData(@Nonnull JdyDataSaveRequest jdyDataSaveRequest);
+
+    /**
+     * 新增数据
+     *
+     * @see JdyClient#saveData(JdyDataSaveRequest, Class)
+     */
+    @Nonnull
+    <T> CompletableFuture<T> saveData(@Nonnull JdyDataSaveRequest jdyDataSaveRequest, @Nonnull Class<T> responseClass);
+
+    /**
+     * 新增多条数据
+     *
+     * @see JdyClient#saveBatchData(JdyDataSaveBatchRequest)
+     */
+    @Nonnull
+    CompletableFuture<List<String>> saveBatchData(@Nonnull JdyDataSaveBatchRequest jdyDataSaveBatchRequest);
+
+    /**
+     * 修改多条数据
+     *
+     * @see JdyClient#updateBatchData(JdyDataUpdateBatchRequest, boolean)
+     */
+    @Nonnull
+    CompletableFuture<Integer> updateBatchData(@Nonnull JdyDataUpdateBatchRequest jdyDataUpdateBatchRequest, boolean ignoreNull);
+
+    /**
+     * 删除多条数据
+     *
+     * @see JdyClient#deleteBatchData(JdyDataDeleteBatchRequest)
+     */
+    @Nonnull
+    CompletableFuture<Integer> deleteBatchData(@Nonnull JdyDataDeleteBatchRequest jdyDataDeleteBatchRequest);
+
+    /**
+     * 文件上传
+     *
+     * @see JdyClient#uploadFile(JdyFileUploadRequest, Collection)
+     */
+    @Nonnull
+    CompletableFuture<JdyFileUploadResponse> uploadFile(@Nonnull JdyFileUploadRequest jdyFileUploadRequest, @Nonnull Collection<File> files);
+
+    /**
+     * 文件上传
+     *
+     * @see JdyClient#upload(JdyFileUploadRequest, Collection)
+     */
+    @Nonnull
+    CompletableFuture<JdyUploadResponse> upload(@Nonnull JdyFileUploadRequest jdyFileUploadRequest, @Nonnull Collection<JdyUploadSource> sources);
+}
@@ -15,15 +15,31 @@
  */
 package cn.toint.okjdy.core.client;
 
+import cn.toint.okjdy.core.enums.JdyWebhookOpEnum;
+import cn.toint.okjdy.core.exception.JdyFileUploadException;
+import cn.toint.okjdy.core.exception.JdyUploadException;
 import cn.toint.okjdy.core.model.*;
+import cn.toint.oktool.util.Assert;
+import cn.toint.oktool.util.ExceptionUtil;
+import cn.toint.oktool.util.JacksonUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.hutool.core.io.file.FileNameUtil;
+import org.dromara.hutool.core.io.file.FileUtil;
 
 import java.io.File;
-import java.util.Collection;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 简道云客户端
@@ -50,6 +66,36 @@ public interface JdyClient {
     @Nonnull
     JdyFieldListResponse listField(@Nonnull JdyFieldListRequest jdyFieldListRequest);
 
+    /**
+     * 使表单字段缓存失效, 并立即在后台重新获取
+     * 默认不做任何处理, 适用于不缓存表单字段的实现
+     *
+     * @param appId   应用ID
+     * @param entryId 表单ID
+     */
+    default void invalidateFieldCache(@Nonnull final String appId, @Nonnull final String entryId) {
+    }
+
+    /**
+     * 处理 webhook 推送
+     * 收到表单修改 ({@link JdyWebhookOpEnum#FORM_UPDATE}) 推送时, 使对应表单的字段缓存失效
+     *
+     * @param jdyWebhookRequest webhook 推送, 见 {@link cn.toint.okjdy.core.util.JdyWebhookUtil#decode}
+     */
+    default void onWebhook(@Nonnull final JdyWebhookRequest jdyWebhookRequest) {
+        Assert.notNull(jdyWebhookRequest, "jdyWebhookRequest must not be null");
+        if (jdyWebhookRequest.opEnum() != JdyWebhookOpEnum.FORM_UPDATE || JacksonUtil.isNull(jdyWebhookRequest.getData())) {
+            return;
+        }
+
+        // 表单结构推送, 示例: {"app_id": "xxx", "entry_id": "xxx", "widgets": [...]}
+        final String appId = jdyWebhookRequest.getData().path("app_id").asText(null);
+        final String entryId = jdyWebhookRequest.getData().path("entry_id").asText(null);
+        if (StringUtils.isNoneBlank(appId, entryId)) {
+            this.invalidateFieldCache(appId, entryId);
+        }
+    }
+
     /**
      * 查询数据
      */
@@ -87,6 +133,7 @@ public interface JdyClient {
      * 第二次, 用第 100 条数据的 data_id 进行查询, 若设置 limit 为100, 则第二次返回 101～200 这 100 条数据；
      * 第三次, 用第 200 条数据的 data_id 进行查询, 若设置 limit 为100, 则第三次返回 201～230 这 30 条数据.
      * 由于第三次返回结果只有 30 条, 未达到设置的 limit 上限100, 则说明查询结束.
+     * 每页响应中的 data 数组直接流式反序列化为实体, 不构建中间 JsonNode.
      *
      * @param jdyListDataRequest jdyListRequest
      * @param responseType       返回值类型
@@ -130,6 +177,104 @@ public interface JdyClient {
     @Nonnull
     <T extends JdyDo> List<T> listData(@Nonnull JdyListDataRequest jdyListDataRequest, @Nonnull Class<T> responseType, @Nullable Predicate<JsonNode> predicate);
 
+    /**
+     * 流式查询数据列表
+     * 按需分页查询, 消费完当前页 (100 条) 后才会请求下一页, 内存中最多只保留一页数据, 适用于大数据量的表单.
+     * 开启预取 ({@link cn.toint.okjdy.core.config.JdyClientConfig#getListDataPrefetchDepth()}) 后在后台提前查询后续页, 最多缓存预取深度的页数.
+     * 返回的 Stream 必须关闭 (建议使用 try-with-resources), 未读完就丢弃的 Stream 会让预取线程一直等待,
+     * 直至消费方超过 {@link cn.toint.okjdy.core.config.JdyClientConfig#getListDataConsumerTimeout()} 未取数据才停止.
+     *
+     * 默认实现按页依次调用 {@link #listData(JdyListDataRequest)}, 不预取, 供未覆盖该方法的实现类使用.
+     *
+     * @param jdyListDataRequest jdyListRequest
+     * @return 数据流
+     */
+    @Nonnull
+    default Stream<JsonNode> streamData(@Nonnull final JdyListDataRequest jdyListDataRequest) {
+        Assert.notNull(jdyListDataRequest, "jdyListDataRequest must not be null");
+
+        // 每页使用独立的查询条件, 游标为上一页最后一条数据的 ID, 不足一页说明查询结束
+        final int pageSize = Math.min(100, jdyListDataRequest.getLimit());
+        final Function<String, JsonNode> nextPage = dataId -> {
+            final JdyListDataRequest pageRequest = new JdyListDataRequest();
+            pageRequest.setAppId(jdyListDataRequest.getAppId());
+            pageRequest.setEntryId(jdyListDataRequest.getEntryId());
+            pageRequest.setFields(jdyListDataRequest.getFields());
+            pageRequest.setFilter(jdyListDataRequest.getFilter());
+            pageRequest.setDataId(dataId);
+            pageRequest.setLimit(pageSize);
+            return this.listData(pageRequest);
+        };
+
+        // 终结操作开始后才请求第一页
+        return Stream.of(jdyListDataRequest.getDataId())
+                .flatMap(dataId -> Stream.iterate(nextPage.apply(dataId), page -> !page.isEmpty(),
+                        page -> page.size() < pageSize ? JacksonUtil.createArrayNode() : nextPage.apply(page.get(page.size() - 1).path("_id").asText())))
+                .flatMap(page -> StreamSupport.stream(page.spliterator(), false))
+                .limit(jdyListDataRequest.getLimit());
+    }
+
+    /**
+     * 流式查询数据列表
+     * 按需分页查询, 消费完当前页 (100 条) 后才会请求下一页, 内存中最多只保留一页数据, 适用于大数据量的表单.
+     * 开启预取 ({@link cn.toint.okjdy.core.config.JdyClientConfig#getListDataPrefetchDepth()}) 后在后台提前查询后续页, 最多缓存预取深度的页数.
+     * 返回的 Stream 必须关闭 (建议使用 try-with-resources), 未读完就丢弃的 Stream 会让预取线程一直等待,
+     * 直至消费方超过 {@link cn.toint.okjdy.core.config.JdyClientConfig#getListDataConsumerTimeout()} 未取数据才停止.
+     *
+     * 默认实现将 {@link #streamData(JdyListDataRequest)} 的结果逐条转换为实体.
+     *
+     * @param jdyListDataRequest jdyListRequest
+     * @param responseType       返回值类型
+     * @return 数据流
+     */
+    @Nonnull
+    default <T extends JdyDo> Stream<T> streamData(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nonnull final Class<T> responseType) {
+        Assert.notNull(responseType, "responseType must not be null");
+        return this.streamData(jdyListDataRequest).map(jsonNode -> JacksonUtil.treeToValue(jsonNode, responseType));
+    }
+
+    /**
+     * 并行分区查询数据列表
+     * 按分区字段将表单拆分为多个互不重叠的区间, 每个区间使用各自的数据 ID 游标并发翻页, 结果合并为一个数据流.
+     * 适用于大表单的全量导出, 区间之间不保证顺序, 并发数不超过查询多条数据接口的频率限制.
+     * 返回的 Stream 使用完毕后需要关闭 (建议使用 try-with-resources), 提前关闭后不会再发起请求;
+     * 未关闭的 Stream 在消费方超过 {@link cn.toint.okjdy.core.config.JdyClientConfig#getListDataConsumerTimeout()} 未取数据后停止后台查询.
+     *
+     * 默认实现使用 {@link #streamData(JdyListDataRequest)} 依次查询各区间, 不并发.
+     *
+     * @param jdyListDataScanRequest 分区查询条件
+     * @return 数据流
+     */
+    @Nonnull
+    default Stream<JsonNode> scanData(@Nonnull final JdyListDataScanRequest jdyListDataScanRequest) {
+        Assert.notNull(jdyListDataScanRequest, "jdyListDataScanRequest must not be null");
+
+        final List<JdyListDataRequest> partitions = jdyListDataScanRequest.partitions();
+        return IntStream.range(0, partitions.size())
+                .boxed()
+                .flatMap(index -> this.streamData(partitions.get(index)).filter(jsonNode -> jdyListDataScanRequest.contains(index, jsonNode)))
+                .limit(jdyListDataScanRequest.getRequest().getLimit());
+    }
+
+    /**
+     * 并行分区查询数据列表
+     * 按分区字段将表单拆分为多个互不重叠的区间, 每个区间使用各自的数据 ID 游标并发翻页, 结果合并为一个数据流.
+     * 适用于大表单的全量导出, 区间之间不保证顺序, 并发数不超过查询多条数据接口的频率限制.
+     * 返回的 Stream 使用完毕后需要关闭 (建议使用 try-with-resources), 提前关闭后不会再发起请求;
+     * 未关闭的 Stream 在消费方超过 {@link cn.toint.okjdy.core.config.JdyClientConfig#getListDataConsumerTimeout()} 未取数据后停止后台查询.
+     *
+     * 默认实现将 {@link #scanData(JdyListDataScanRequest)} 的结果逐条转换为实体.
+     *
+     * @param jdyListDataScanRequest 分区查询条件
+     * @param responseType           返回值类型
+     * @return 数据流
+     */
+    @Nonnull
+    default <T extends JdyDo> Stream<T> scanData(@Nonnull final JdyListDataScanRequest jdyListDataScanRequest, @Nonnull final Class<T> responseType) {
+        Assert.notNull(responseType, "responseType must not be null");
+        return this.scanData(jdyListDataScanRequest).map(jsonNode -> JacksonUtil.treeToValue(jsonNode, responseType));
+    }
+
     /**
      * 新增数据
      *
@@ -152,9 +297,13 @@ public interface JdyClient {
 
     /**
      * 新增数据
+     * 按 100 条一批并发保存, 并发数见 {@link cn.toint.okjdy.core.config.JdyClientConfig#getBatchParallelism()}.
+     * 某一批失败不会中断其他批次, 全部结束后抛出 {@link cn.toint.okjdy.core.exception.JdyBatchException}, 其中包含已成功的数据 ID.
+     * 没有任何批次成功 (包括只有一个批次) 时直接抛出原始异常.
      *
      * @param jdyDataSaveBatchRequest jdyDataSaveRequest
-     * @return 创建成功的数据的 ID 列表
+     * @return 创建成功的数据的 ID 列表, 与输入顺序一致
+     * @throws cn.toint.okjdy.core.exception.JdyBatchException 部分批次失败, 部分批次成功
      */
     @Nonnull
     List<String> saveBatchData(@Nonnull JdyDataSaveBatchRequest jdyDataSaveBatchRequest);
@@ -182,10 +331,13 @@ public interface JdyClient {
 
     /**
      * 修改数据 (数据编号列表数据均修改为传入的数据)
+     * 按 100 条一批并发修改, 某一批失败不会中断其他批次, 全部结束后抛出 {@link cn.toint.okjdy.core.exception.JdyBatchException}.
+     * 没有任何批次成功 (包括只有一个批次) 时直接抛出原始异常.
      *
      * @param jdyDataUpdateBatchRequest jdyDataUpdateBatchRequest
      * @param ignoreNull                是否忽略 null 值, true: null 字段不会更新至简道云; false: null 字段会更新至简道云.
      * @return 修改数据数量
+     * @throws cn.toint.okjdy.core.exception.JdyBatchException 部分批次失败, 部分批次成功
      */
     int updateBatchData(@Nonnull JdyDataUpdateBatchRequest jdyDataUpdateBatchRequest, boolean ignoreNull);
 
@@ -193,21 +345,93 @@ public interface JdyClient {
      * 删除数据
      *
      * @param jdyDataDeleteRequest jdyDataDeleteRequest
-     * @return 是否删除成功
+     * @return 是否删除成功, 数据不存在等业务错误返回 false
+     * @throws cn.toint.okjdy.core.exception.JdyCircuitOpenException 接口已熔断
+     * @throws RuntimeException 请求重试后仍然异常时抛出最后一次异常
      */
     boolean deleteData(@Nonnull JdyDataDeleteRequest jdyDataDeleteRequest);
 
     /**
      * 删除数据
+     * 按 100 条一批并发删除, 某一批失败不会中断其他批次, 全部结束后抛出 {@link cn.toint.okjdy.core.exception.JdyBatchException}.
+     * 没有任何批次成功 (包括只有一个批次) 时直接抛出原始异常.
      *
      * @param jdyDataDeleteBatchRequest jdyDataDeleteBatchRequest
      * @return 删除成功数量
+     * @throws cn.toint.okjdy.core.exception.JdyBatchException 部分批次失败, 部分批次成功
      */
     int deleteBatchData(@Nonnull JdyDataDeleteBatchRequest jdyDataDeleteBatchRequest);
 
     /**
      * 文件上传
+     * 按 {@link cn.toint.okjdy.core.config.JdyClientConfig#getUploadParallelism()} 并发上传, 某个文件失败不会中断其他文件,
+     * 全部结束后抛出 {@link cn.toint.okjdy.core.exception.JdyFileUploadException}, 其中包含已上传成功的文件 key.
+     *
+     * @param jdyFileUploadRequest jdyFileUploadRequest
+     * @param files                文件, 不存在的文件和重复的文件会被忽略
+     * @return 文件 key
+     * @throws cn.toint.okjdy.core.exception.JdyFileUploadException 部分文件上传失败
      */
     @Nonnull
     JdyFileUploadResponse uploadFile(@Nonnull JdyFileUploadRequest jdyFileUploadRequest, @Nonnull Collection<File> files);
-}
\ No newline at end of file
+
+    /**
+     * 文件上传, 支持文件、字节数组、缓冲区、输入流等来源, 上传时从来源边读边写, 无需先写入临时文件
+     * 并发和失败处理同 {@link #uploadFile(JdyFileUploadRequest, Collection)}, 上传结果以来源名称为 key.
+     * 默认实现先将每个来源复制到临时文件, 再调用 {@link #uploadFile(JdyFileUploadRequest, Collection)}, 结束后删除临时文件.
+     *
+     * @param jdyFileUploadRequest jdyFileUploadRequest
+     * @param sources              上传来源, 名称不能重复
+     * @return 文件 key
+     * @throws cn.toint.okjdy.core.exception.JdyUploadException 部分文件上传失败
+     */
+    @Nonnull
+    default JdyUploadResponse upload(@Nonnull final JdyFileUploadRequest jdyFileUploadRequest, @Nonnull final Collection<JdyUploadSource> sources) {
+        Assert.notNull(jdyFileUploadRequest, "jdyFileUploadRequest must not be null");
+        Assert.notEmpty(sources, "sources must not be empty");
+
+        // k: 临时文件, v: 来源名称; 每个来源使用单独的目录, 上传的文件名与来源名称一致
+        final Map<File, String> fileNames = new LinkedHashMap<>();
+        Path tempDir = null;
+        try {
+            tempDir = Files.createTempDirectory("okjdy-upload-");
+            int index = 0;
+            for (final JdyUploadSource source : sources) {
+                Assert.isFalse(fileNames.containsValue(source.getName()), "duplicate source name: {}", source.getName());
+                final Path dir = Files.createDirectory(tempDir.resolve(String.valueOf(index++)));
+                final String fileName = FileNameUtil.cleanInvalid(Path.of(source.getName()).getFileName().toString());
+                final Path file = dir.resolve(StringUtils.isBlank(fileName) ? "file" : fileName);
+                try (final InputStream inputStream = source.openStream()) {
+                    Files.copy(inputStream, file);
+                }
+                fileNames.put(file.toFile(), source.getName());
+            }
+
+            final JdyUploadResponse jdyUploadResponse = new JdyUploadResponse();
+            jdyUploadResponse.setTransactionId(jdyFileUploadRequest.getTransactionId());
+            try {
+                final JdyFileUploadResponse jdyFileUploadResponse = this.uploadFile(jdyFileUploadRequest, fileNames.keySet());
+                fileNames.forEach((file, name) -> jdyUploadResponse.getKeyMap().put(name, jdyFileUploadResponse.getFileKeyMap().get(file)));
+                return jdyUploadResponse;
+            } catch (JdyFileUploadException e) {
+                // 按来源名称返回已成功和失败的文件
+                final Map<String, Throwable> failures = new LinkedHashMap<>();
+                fileNames.forEach((file, name) -> {
+                    final String key = e.getJdyFileUploadResponse().getFileKeyMap().get(file);
+                    if (key != null) {
+                        jdyUploadResponse.getKeyMap().put(name, key);
+                    } else {
+                        failures.put(name, e.getFailures().get(file));
+                    }
+                });
+                throw new JdyUploadException(jdyUploadResponse, failures);
+            }
+        } catch (IOException e) {
+            throw ExceptionUtil.wrapRuntimeException(e);
+        } finally {
+            if (tempDir != null) {
+                FileUtil.del(tempDir.toFile());
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package cn.toint.okjdy.core.client.impl;
+
+import cn.toint.okjdy.core.client.JdyAsyncClient;
+import cn.toint.okjdy.core.client.JdyClient;
+import cn.toint.okjdy.core.config.JdyClientConfig;
+import cn.toint.okjdy.core.config.JdyRetryPolicy;
+import cn.toint.okjdy.core.model.*;
+import cn.toint.okjdy.core.util.JdyRetryUtil;
+import cn.toint.oktool.util.Assert;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * 简道云异步客户端
+ * 委托同步客户端在 {@link JdyClientConfig#getAsyncExecutor()} 中执行, 限流、重试和字段缓存均与同步客户端共享
+ * 配置了 {@link JdyClientConfig#getAsyncRetryScheduler()} 时, 单次请求的重试由定时器调度, 等待重试期间不占用线程
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyAsyncClientImpl implements JdyAsyncClient {
+    /**
+     * 同步客户端
+     */
+    private final JdyClient jdyClient;
+
+    /**
+     * 异步线程池
+     */
+    private final Executor executor;
+
+    /**
+     * 重试定时器, 为 null 则在同步客户端中重试
+     */
+    @Nullable
+    private final ScheduledExecutorService retryScheduler;
+
+    /**
+     * 定时器调度重试时使用的重试策略
+     */
+    @Nullable
+    private final JdyRetryPolicy retryPolicy;
+
+    @SuppressWarnings("deprecation")
+    public JdyAsyncClientImpl(@Nonnull final JdyClientConfig jdyClientConfig) {
+        this(new JdyClientImpl(jdyClientConfig), jdyClientConfig.getAsyncExecutor(),
+                jdyClientConfig.getRetryPolicy() == null ? jdyClientConfig.getAsyncRetryScheduler() : null,
+                jdyClientConfig.getJdyRetryPolicy());
+    }
+
+    public JdyAsyncClientImpl(@Nonnull final JdyClient jdyClient, @Nonnull final Executor executor) {
+        Assert.notNull(jdyClient, "jdyClient must not be null");
+        Assert.notNull(executor, "executor must not be null");
+        this.jdyClient = jdyClient;
+        this.executor = executor;
+        this.retryScheduler = null;
+        this.retryPolicy = null;
+    }
+
+    /**
+     * @param jdyClient      同步客户端, 定时器调度重试时其请求只执行一次
+     * @param executor       异步线程池
+     * @param retryScheduler 重试定时器, 为 null 则在同步客户端中重试
+     * @param retryPolicy    重试策略
+     */
+    JdyAsyncClientImpl(@Nonnull final JdyClientImpl jdyClient, @Nonnull final Executor executor,
+                       @Nullable final ScheduledExecutorService retryScheduler, @Nonnull final JdyRetryPolicy retryPolicy) {
+        Assert.notNull(jdyClient, "jdyClient must not be null");
+        Assert.notNull(executor, "executor must not be null");
+        Assert.notNull(retryPolicy, "retryPolicy must not be null");
+        this.jdyClient = jdyClient;
+        this.executor = executor;
+        this.retryScheduler = retryScheduler;
+        this.retryPolicy = retryPolicy;
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<JsonNode> getData(@Nonnull final JdyDataGetRequest jdyDataGetRequest) {
+        return this.retryAsync(() -> this.jdyClient.getData(jdyDataGetRequest));
+    }
+
+    @Nonnull
+    @Override
+    public <T extends JdyDo> CompletableFuture<T> getData(@Nonnull final JdyDataGetRequest jdyDataGetRequest, @Nonnull final Class<T> responseClass) {
+        return this.retryAsync(() -> this.jdyClient.getData(jdyDataGetRequest, responseClass));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<JsonNode> listData(@Nonnull final JdyListDataRequest jdyListDataRequest) {
+        return CompletableFuture.supplyAsync(() -> this.jdyClient.listData(jdyListDataRequest), this.executor);
+    }
+
+    @Nonnull
+    @Override
+    public <T extends JdyDo> CompletableFuture<List<T>> listData(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nonnull final Class<T> responseType) {
+        return CompletableFuture.supplyAsync(() -> this.jdyClient.listData(jdyListDataRequest, responseType), this.executor);
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<JsonNode> saveData(@Nonnull final JdyDataSaveRequest jdyDataSaveRequest) {
+        return this.retryAsync(() -> this.jdyClient.saveData(jdyDataSaveRequest));
+    }
+
+    @Nonnull
+    @Override
+    public <T> CompletableFuture<T> saveData(@Nonnull final JdyDataSaveRequest jdyDataSaveRequest, @Nonnull final Class<T> responseClass) {
+        return this.retryAsync(() -> this.jdyClient.saveData(jdyDataSaveRequest, responseClass));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<List<String>> saveBatchData(@Nonnull final JdyDataSaveBatchRequest jdyDataSaveBatchRequest) {
+        return CompletableFuture.supplyAsync(() -> this.jdyClient.saveBatchData(jdyDataSaveBatchRequest), this.executor);
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Integer> updateBatchData(@Nonnull final JdyDataUpdateBatchRequest jdyDataUpdateBatchRequest, final boolean ignoreNull) {
+        return CompletableFuture.supplyAsync(() -> this.jdyClient.updateBatchData(jdyDataUpdateBatchRequest, ignoreNull), this.executor);
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Integer> deleteBatchData(@Nonnull final JdyDataDeleteBatchRequest jdyDataDeleteBatchRequest) {
+        return CompletableFuture.supplyAsync(() -> this.jdyClient.deleteBatchData(jdyDataDeleteBatchRequest), this.executor);
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<JdyFileUploadResponse> uploadFile(@Nonnull final JdyFileUploadRequest jdyFileUploadRequest, @Nonnull final Collection<File> files) {
+        return CompletableFuture.supplyAsync(() -> this.jdyClient.uploadFile(jdyFileUploadRequest, files), this.executor);
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<JdyUploadResponse> upload(@Nonnull final JdyFileUploadRequest jdyFileUploadRequest, @Nonnull final Collection<JdyUploadSource> sources) {
+        return CompletableFuture.supplyAsync(() -> this.jdyClient.upload(jdyFileUploadRequest, sources), this.executor);
+    }
+
+    /**
+     * 执行单次请求, 配置了重试定时器时请求失败后由定时器重新提交, 否则在同步客户端中重试
+     *
+     * @param task 单次请求, 重试时重新执行
+     * @return 请求结果
+     */
+    @Nonnull
+    private <R> CompletableFuture<R> retryAsync(@Nonnull final Supplier<R> task) {
+        if (this.retryScheduler == null || this.retryPolicy == null) {
+            return CompletableFuture.supplyAsync(task, this.executor);
+        }
+        return JdyRetryUtil.executeAsync(() -> CompletableFuture.supplyAsync(() -> JdyClientImpl.withoutRetry(task), this.executor),
+                this.retryPolicy, this.retryScheduler);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.client.impl;
+
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * 批量请求执行器
+ * 批量接口按批次拆分后并发请求, 同时执行的批次数受并发数限制, 请求频率仍由限流器控制.
+ * 某一批次失败不会中断其他批次, 结果按批次顺序返回.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyBatchExecutor {
+    private JdyBatchExecutor() {
+    }
+
+    /**
+     * 并发执行所有批次, 等待全部结束后返回
+     *
+     * @param tasks       批次任务
+     * @param executor    线程池
+     * @param parallelism 最大并发批次数
+     * @return 执行结果
+     */
+    @Nonnull
+    static <R> Result<R> execute(@Nonnull final List<Supplier<R>> tasks, @Nonnull final Executor executor, final int parallelism) {
+        Assert.notNull(tasks, "tasks must not be null");
+        Assert.notNull(executor, "executor must not be null");
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+
+        final List<R> results = new ArrayList<>(Collections.nCopies(tasks.size(), null));
+        final Map<Integer, Throwable> failures = new TreeMap<>();
+
+        // 只有一个批次时直接在当前线程执行
+        if (tasks.size() == 1 || parallelism == 1) {
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    results.set(i, tasks.get(i).get());
+                } catch (Exception e) {
+                    failures.put(i, e);
+                }
+            }
+            return new Result<>(results, failures);
+        }
+
+        // 获取许可后再提交, 避免一次性提交全部批次
+        final Semaphore semaphore = new Semaphore(parallelism);
+        final List<CompletableFuture<R>> futures = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            final Supplier<R> task = tasks.get(i);
+            try {
+                semaphore.acquire();
+                futures.add(CompletableFuture.supplyAsync(task, executor).whenComplete((r, e) -> semaphore.release()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.add(CompletableFuture.failedFuture(e));
+            } catch (RuntimeException e) {
+                // 线程池拒绝
+                semaphore.release();
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.set(i, futures.get(i).join());
+            } catch (CompletionException e) {
+                failures.put(i, e.getCause() == null ? e : e.getCause());
+            } catch (Exception e) {
+                failures.put(i, e);
+            }
+        }
+        return new Result<>(results, failures);
+    }
+
+    /**
+     * 执行结果
+     *
+     * @param results  各批次结果, 与批次顺序一致, 失败的批次为 null
+     * @param failures 失败的批次, k: 批次下标, v: 失败原因
+     */
+    record Result<R>(@Nonnull List<R> results, @Nonnull Map<Integer, Throwable> failures) {
+        /**
+         * 成功的批次结果, 按批次顺序
+         */
+        @Nonnull
+        List<R> successes() {
+            final List<R> successes = new ArrayList<>(this.results.size());
+            for (int i = 0; i < this.results.size(); i++) {
+                if (!this.failures.containsKey(i)) {
+                    successes.add(this.results.get(i));
+                }
+            }
+            return successes;
+        }
+
+        /**
+         * 是否存在失败的批次
+         */
+        boolean hasFailure() {
+            return !this.failures.isEmpty();
+        }
+    }
+}
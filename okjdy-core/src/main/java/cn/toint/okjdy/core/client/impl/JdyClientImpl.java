@@ -16,17 +16,27 @@
 
 package cn.toint.okjdy.core.client.impl;
 
+import cn.toint.okjdy.core.breaker.JdyCircuitBreaker;
+import cn.toint.okjdy.core.cache.JdyLoadingCache;
+import cn.toint.okjdy.core.cache.JdyRemoteCache;
 import cn.toint.okjdy.core.client.JdyClient;
 import cn.toint.okjdy.core.config.JdyClientConfig;
+import cn.toint.okjdy.core.config.JdyRequestCapturePolicy;
 import cn.toint.okjdy.core.enums.JdyFieldTypeEnum;
 import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.enums.JdyWebhookOpEnum;
+import cn.toint.okjdy.core.event.JdyEventDispatcher;
 import cn.toint.okjdy.core.event.JdyRequestEvent;
-import cn.toint.okjdy.core.exception.JdyRequestLimitException;
+import cn.toint.okjdy.core.exception.*;
+import cn.toint.okjdy.core.limiter.JdyConcurrencyLimiter;
+import cn.toint.okjdy.core.limiter.JdyRateLimiter;
+import cn.toint.okjdy.core.limiter.impl.JdyAimdConcurrencyLimiter;
+import cn.toint.okjdy.core.metrics.JdyMetrics;
 import cn.toint.okjdy.core.model.*;
-import cn.toint.okjdy.core.util.JdyDataRequestConvertUtil;
-import cn.toint.okjdy.core.util.JdyHttpUtil;
-import cn.toint.oktool.exception.RetryException;
+import cn.toint.okjdy.core.util.*;
+import cn.toint.oktool.model.RetryPolicy;
 import cn.toint.oktool.util.*;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -34,17 +44,17 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.dromara.hutool.core.cache.CacheUtil;
-import org.dromara.hutool.core.cache.impl.TimedCache;
 import org.dromara.hutool.core.collection.CollUtil;
 import org.dromara.hutool.core.convert.ConvertUtil;
 import org.dromara.hutool.core.date.TimeUtil;
 import org.dromara.hutool.core.io.file.FileUtil;
+import org.dromara.hutool.core.io.resource.Resource;
 import org.dromara.hutool.core.net.url.UrlBuilder;
 import org.dromara.hutool.core.net.url.UrlQuery;
 import org.dromara.hutool.core.text.StrUtil;
 import org.dromara.hutool.http.client.Request;
 import org.dromara.hutool.http.client.Response;
+import org.dromara.hutool.http.client.body.HttpBody;
 import org.dromara.hutool.http.client.body.MultipartBody;
 import org.dromara.hutool.http.meta.Method;
 import org.springframework.http.HttpHeaders;
@@ -52,14 +62,22 @@ import org.springframework.http.MediaType;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Toint
@@ -67,6 +85,16 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class JdyClientImpl implements JdyClient {
+    /**
+     * 响应解析失败时, 异常信息中保留的响应体最大字节数
+     */
+    private static final int ERROR_BODY_SIZE = 1024;
+
+    /**
+     * 为 true 时当前线程的请求只执行一次, 由异步客户端在定时器上调度重试
+     */
+    private static final ThreadLocal<Boolean> WITHOUT_RETRY = ThreadLocal.withInitial(() -> false);
+
     /**
      * 客户端配置
      */
@@ -77,13 +105,87 @@ public class JdyClientImpl implements JdyClient {
 
     /**
      * 字段缓存, 避免频繁访问 api 引发瓶颈
-     * 缓存30s, 30s 过后自动清除缓存, 直至下一次该表单被再次查询
+     * 同一表单并发未命中时只查询一次, 超过刷新时间后在后台刷新, 写入数据时不会阻塞在查询字段上
+     * k: 表单
+     */
+    private final JdyLoadingCache<JdyFieldListRequest, JdyFieldListResponse> fieldCache;
+
+    /**
+     * 应用列表本地缓存, 仅配置了远程缓存时使用
+     */
+    private final JdyLoadingCache<JdyAppListRequest, List<JdyApp>> appCache;
+
+    /**
+     * 表单列表本地缓存, 仅配置了远程缓存时使用
+     */
+    private final JdyLoadingCache<JdyEntryListRequest, List<JdyEntry>> entryCache;
+
+    /**
+     * 远程缓存 key 前缀, 包含 apiKey 的摘要, 不同企业的缓存互不影响, 且不会在 Redis 中暴露 apiKey
      */
-    private final TimedCache<String, JdyFieldListResponse> fieldCache = CacheUtil.newTimedCache(Duration.ofSeconds(30).toMillis(), Duration.ofSeconds(30).toMillis());
+    private final String cacheKeyPrefix;
+
+    /**
+     * 转换计划缓存, 避免每条数据都重新构建字段映射和查找转换器
+     * 字段定义 (widgets 实例) 变化后重新编译
+     * k: appId:entryId
+     */
+    private final Map<String, JdyDataRequestConvertUtil.ConvertPlan> convertPlanCache = new ConcurrentHashMap<>();
+
+    /**
+     * 请求信息分发器, 代替每次请求创建一个线程回调
+     */
+    private final JdyEventDispatcher<JdyRequestEvent> requestEventDispatcher;
+
+    /**
+     * 指标
+     */
+    private final JdyMetrics metrics;
 
     public JdyClientImpl(@Nonnull final JdyClientConfig jdyClientConfig) {
         Assert.validate(jdyClientConfig, "jdyClient init error, cause: {}");
         this.jdyClientConfig = jdyClientConfig;
+        final String apiKeyDigest = JdyUtil.digestApiKey(jdyClientConfig.getApiKey());
+        this.cacheKeyPrefix = "okjdy:" + apiKeyDigest + ":";
+        this.metrics = JdyMetrics.of(jdyClientConfig.getMeterRegistry(), apiKeyDigest);
+
+        // 本地缓存未命中时先查远程缓存, 远程缓存未命中再访问 api
+        this.fieldCache = new JdyLoadingCache<>(
+                req -> this.loadWithRemoteCache(this.fieldCacheKey(req), new TypeReference<>() {
+                }, () -> this.loadField(req)),
+                JdyClientImpl::mergeField, jdyClientConfig.getAsyncExecutor(),
+                jdyClientConfig.getFieldCacheRefreshAfter(), jdyClientConfig.getFieldCacheExpireAfter());
+        this.appCache = new JdyLoadingCache<>(
+                req -> this.loadWithRemoteCache(this.cacheKeyPrefix + "app:" + req.getSkip() + ":" + req.getLimit(), new TypeReference<>() {
+                }, () -> this.loadApp(req)),
+                (oldValue, newValue) -> newValue, jdyClientConfig.getAsyncExecutor(),
+                jdyClientConfig.getFieldCacheRefreshAfter(), jdyClientConfig.getFieldCacheExpireAfter());
+        this.entryCache = new JdyLoadingCache<>(
+                req -> this.loadWithRemoteCache(this.cacheKeyPrefix + "entry:" + req.getAppId() + ":" + req.getSkip() + ":" + req.getLimit(), new TypeReference<>() {
+                }, () -> this.loadEntry(req)),
+                (oldValue, newValue) -> newValue, jdyClientConfig.getAsyncExecutor(),
+                jdyClientConfig.getFieldCacheRefreshAfter(), jdyClientConfig.getFieldCacheExpireAfter());
+
+        this.requestEventDispatcher = new JdyEventDispatcher<>(this::dispatchRequestEvents, jdyClientConfig.getAsyncExecutor(),
+                jdyClientConfig.getRequestEventBufferSize(), jdyClientConfig.getRequestEventBatchSize(), jdyClientConfig.getRequestEventOverflowPolicy());
+        this.metrics.bindCache("field", this.fieldCache);
+        this.metrics.bindCache("app", this.appCache);
+        this.metrics.bindCache("entry", this.entryCache);
+        this.metrics.bindEventDispatcher(this.requestEventDispatcher);
+
+        // 其他节点删除远程缓存时, 使本地缓存失效
+        final JdyRemoteCache metadataCache = jdyClientConfig.getMetadataCache();
+        if (metadataCache != null) {
+            metadataCache.addInvalidationListener(this::onRemoteInvalidate);
+        }
+    }
+
+    /**
+     * 请求信息分发器, 可用于监控丢弃、处理的请求信息数量
+     */
+    @Nonnull
+    public JdyEventDispatcher<JdyRequestEvent> getRequestEventDispatcher() {
+        return this.requestEventDispatcher;
     }
 
     @Nonnull
@@ -91,6 +193,22 @@ public class JdyClientImpl implements JdyClient {
     public List<JdyApp> listApp(@Nonnull final JdyAppListRequest jdyAppListRequest) {
         Assert.notNull(jdyAppListRequest, "jdyAppRequest must not be null");
 
+        // 未配置远程缓存时不缓存
+        if (this.jdyClientConfig.getMetadataCache() == null) {
+            return this.loadApp(jdyAppListRequest);
+        }
+
+        final JdyAppListRequest key = new JdyAppListRequest();
+        key.setLimit(jdyAppListRequest.getLimit());
+        key.setSkip(jdyAppListRequest.getSkip());
+        return new ArrayList<>(this.appCache.get(key));
+    }
+
+    /**
+     * 查询应用列表
+     */
+    @Nonnull
+    private List<JdyApp> loadApp(@Nonnull final JdyAppListRequest jdyAppListRequest) {
         // 单次最大数量
         final int onceSize = 100;
         final AtomicInteger limit = new AtomicInteger(jdyAppListRequest.getLimit());
@@ -106,9 +224,8 @@ public class JdyClientImpl implements JdyClient {
                     .method(JdyUrlEnum.LIST_APP.getMethod())
                     .body(JacksonUtil.writeValueAsString(reqBody));
 
-            final String resBody = this.request(request);
+            final JsonNode resBody = this.request(JdyUrlEnum.LIST_APP, request);
             final List<JdyApp> apps = Optional.of(resBody)
-                    .map(JacksonUtil::readTree)
                     .map(jsonNode -> jsonNode.path("apps"))
                     .filter(JsonNode::isArray)
                     .map(jsonNode -> JacksonUtil.treeToValue(jsonNode, new TypeReference<List<JdyApp>>() {
@@ -132,6 +249,23 @@ public class JdyClientImpl implements JdyClient {
     public List<JdyEntry> listEntry(@Nonnull final JdyEntryListRequest jdyEntryListRequest) {
         Assert.validate(jdyEntryListRequest, "jdyEntryRequest valid error, cause: {}");
 
+        // 未配置远程缓存时不缓存
+        if (this.jdyClientConfig.getMetadataCache() == null) {
+            return this.loadEntry(jdyEntryListRequest);
+        }
+
+        final JdyEntryListRequest key = new JdyEntryListRequest();
+        key.setAppId(jdyEntryListRequest.getAppId());
+        key.setLimit(jdyEntryListRequest.getLimit());
+        key.setSkip(jdyEntryListRequest.getSkip());
+        return new ArrayList<>(this.entryCache.get(key));
+    }
+
+    /**
+     * 查询表单列表
+     */
+    @Nonnull
+    private List<JdyEntry> loadEntry(@Nonnull final JdyEntryListRequest jdyEntryListRequest) {
         // 单次最大数量
         final int onceSize = 100;
         final AtomicInteger limit = new AtomicInteger(jdyEntryListRequest.getLimit());
@@ -148,9 +282,8 @@ public class JdyClientImpl implements JdyClient {
                     .method(JdyUrlEnum.LIST_ENTRY.getMethod())
                     .body(JacksonUtil.writeValueAsString(reqBody));
 
-            final String resBody = this.request(request);
+            final JsonNode resBody = this.request(JdyUrlEnum.LIST_ENTRY, request);
             final List<JdyEntry> forms = Optional.of(resBody)
-                    .map(JacksonUtil::readTree)
                     .map(jsonNode -> jsonNode.path("forms"))
                     .filter(JsonNode::isArray)
                     .map(jsonNode -> JacksonUtil.treeToValue(jsonNode, new TypeReference<List<JdyEntry>>() {
@@ -174,23 +307,40 @@ public class JdyClientImpl implements JdyClient {
         Assert.validate(jdyFieldListRequest, "jdyFieldListRequest valid error, cause: {}");
 
         // 先从缓存找, 缓存不存在再调用 api
-        final String key = KeyBuilderUtil.of(jdyFieldListRequest.getAppId()).build(jdyFieldListRequest.getEntryId());
-        final JdyFieldListResponse responseByCache = this.fieldCache.get(key, false);
-        if (responseByCache != null) {
-            return responseByCache;
+        return this.fieldCache.get(new JdyFieldListRequest(jdyFieldListRequest.getAppId(), jdyFieldListRequest.getEntryId()));
+    }
+
+    @Override
+    public void invalidateFieldCache(@Nonnull final String appId, @Nonnull final String entryId) {
+        Assert.notBlank(appId, "appId must not be blank");
+        Assert.notBlank(entryId, "entryId must not be blank");
+
+        // 先删除远程缓存并通知其他节点, 再立即在后台重新查询, 期间写入数据的请求等待本次查询结果
+        final JdyFieldListRequest key = new JdyFieldListRequest(appId, entryId);
+        final JdyRemoteCache metadataCache = this.jdyClientConfig.getMetadataCache();
+        if (metadataCache != null) {
+            metadataCache.evict(this.fieldCacheKey(key));
         }
+        this.fieldCache.reload(key);
+    }
 
-        final Request request = Request.of(JdyUrlEnum.LIST_WIDGET.getUrl())
-                .method(JdyUrlEnum.LIST_WIDGET.getMethod())
-                .body(JacksonUtil.writeValueAsString(jdyFieldListRequest));
+    @Override
+    public void onWebhook(@Nonnull final JdyWebhookRequest jdyWebhookRequest) {
+        Assert.notNull(jdyWebhookRequest, "jdyWebhookRequest must not be null");
+        if (jdyWebhookRequest.opEnum() != JdyWebhookOpEnum.FORM_UPDATE || JacksonUtil.isNull(jdyWebhookRequest.getData())) {
+            return;
+        }
 
-        final String resBody = this.request(request);
-        final JdyFieldListResponse jdyFieldListResponse = Optional.of(resBody)
-                .map(str -> JacksonUtil.readValue(str, JdyFieldListResponse.class))
-                .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
-        Assert.validate(jdyFieldListResponse, "简道云响应异常, body: {}, cause: {}", resBody);
-        this.fieldCache.put(key, jdyFieldListResponse);
-        return jdyFieldListResponse;
+        // 表单结构推送, 示例: {"app_id": "xxx", "entry_id": "xxx", "widgets": [...]}
+        final JsonNode data = jdyWebhookRequest.getData();
+        final String appId = data.path("app_id").asText(null);
+        final String entryId = data.path("entry_id").asText(null);
+        if (StringUtils.isAnyBlank(appId, entryId)) {
+            log.warn("表单修改推送缺少 app_id/entry_id, 清空全部字段缓存, data: {}", data);
+            this.fieldCache.invalidateAll();
+            return;
+        }
+        this.invalidateFieldCache(appId, entryId);
     }
 
     @Override
@@ -203,9 +353,8 @@ public class JdyClientImpl implements JdyClient {
                 .body(JacksonUtil.writeValueAsString(jdyDataGetRequest));
 
         // 执行请求
-        final String resBody = this.request(request);
+        final JsonNode resBody = this.request(JdyUrlEnum.GET_DATA, request);
         return Optional.of(resBody)
-                .map(JacksonUtil::readTree)
                 .map(jsonNode -> jsonNode.get("data"))
                 .orElse(null);
     }
@@ -225,7 +374,21 @@ public class JdyClientImpl implements JdyClient {
     @Nonnull
     @Override
     public <T extends JdyDo> List<T> listData(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nonnull final Class<T> responseType) {
-        return this.listData(jdyListDataRequest, responseType, jsonNode -> true);
+        Assert.validate(jdyListDataRequest, "jdyListRequest valid error, cause: {}");
+        Assert.notNull(responseType, "responseType must not be null");
+
+        // 转换字段, 数字和字符串需要严格区分, 根据简道云字段类型判断
+        this.convertConditionFieldValue(jdyListDataRequest);
+
+        // 每页 data 数组直接反序列化为实体, 不经过 JsonNode
+        final List<T> response = new ArrayList<>();
+        try (final JdyListDataIterator<T> iterator = this.listDataIterator(jdyListDataRequest, responseType)) {
+            List<T> page;
+            while ((page = iterator.nextPage()) != null) {
+                response.addAll(page);
+            }
+        }
+        return response;
     }
 
     @Override
@@ -236,68 +399,125 @@ public class JdyClientImpl implements JdyClient {
         // 转换字段, 数字和字符串需要严格区分, 根据简道云字段类型判断
         this.convertConditionFieldValue(jdyListDataRequest);
 
-        // 单次最大数量
-        final int onceSize = 100;
-        final AtomicInteger limit = new AtomicInteger(jdyListDataRequest.getLimit());
         final ArrayNode response = JacksonUtil.createArrayNode();
+        try (final JdyListDataIterator<JsonNode> iterator = this.listDataIterator(jdyListDataRequest)) {
+            List<JsonNode> page;
+            while ((page = iterator.nextPage()) != null) {
+                // 每页都是新解析的节点, 直接加入结果, 无需复制
+                if (this.testPage(page, predicate)) {
+                    response.addAll(page);
+                }
+            }
+        }
 
-        while (true) {
-            final JdyListDataRequest reqBody = new JdyListDataRequest();
-            reqBody.setAppId(jdyListDataRequest.getAppId());
-            reqBody.setEntryId(jdyListDataRequest.getEntryId());
-            reqBody.setDataId(jdyListDataRequest.getDataId());
-            reqBody.setFields(jdyListDataRequest.getFields());
-            reqBody.setFilter(jdyListDataRequest.getFilter());
-            reqBody.setLimit(Math.min(limit.get(), onceSize));
+        return response;
+    }
 
-            final Request request = Request.of(JdyUrlEnum.LIST_DATA.getUrl())
-                    .method(JdyUrlEnum.LIST_DATA.getMethod())
-                    .body(JacksonUtil.writeValueAsString(reqBody));
+    @Nonnull
+    @Override
+    public <T extends JdyDo> List<T> listData(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nonnull final Class<T> responseType, @Nullable final Predicate<JsonNode> predicate) {
+        // 不过滤时每页 data 数组直接反序列化为实体, 不经过 JsonNode
+        if (predicate == null) {
+            return this.listData(jdyListDataRequest, responseType);
+        }
 
-            final String resBody = this.request(request);
-            final JsonNode data = Optional.of(resBody)
-                    .map(JacksonUtil::readTree)
-                    .map(jsonNode -> jsonNode.path("data"))
-                    .filter(JsonNode::isArray)
-                    .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
+        Assert.validate(jdyListDataRequest, "jdyListRequest valid error, cause: {}");
+        Assert.notNull(responseType, "responseType must not be null");
 
-            // 可在回调中控制是否过滤数据, 避免数据量过大撑爆内存
-            // 捕获异常, 避免回调方法异常导致整个任务失败
-            // 异常发生后, 会忽略结果
-            try {
-                if (!JacksonUtil.isEmpty(data) && (predicate == null || predicate.test(data))) {
-                    final ArrayNode arr = data.deepCopy();
-                    response.addAll(arr);
+        // 转换字段, 数字和字符串需要严格区分, 根据简道云字段类型判断
+        this.convertConditionFieldValue(jdyListDataRequest);
+
+        // 回调的入参为本页 JsonNode, 通过后逐页转换为实体, 不再汇总为完整的 JsonNode 结果
+        final List<T> response = new ArrayList<>();
+        try (final JdyListDataIterator<JsonNode> iterator = this.listDataIterator(jdyListDataRequest)) {
+            List<JsonNode> page;
+            while ((page = iterator.nextPage()) != null) {
+                if (this.testPage(page, predicate)) {
+                    for (final JsonNode item : page) {
+                        response.add(JacksonUtil.treeToValue(item, responseType));
+                    }
                 }
-            } catch (Exception e) {
-                log.error(e.getMessage(), e);
             }
+        }
+        return response;
+    }
 
-            // 扣减数量
-            limit.addAndGet(-data.size());
+    /**
+     * 判断是否返回本页数据
+     * 可在回调中控制是否过滤数据, 避免数据量过大撑爆内存
+     * 捕获异常, 避免回调方法异常导致整个任务失败, 异常发生后, 会忽略结果
+     *
+     * @param page      本页数据
+     * @param predicate 结果返回策略, 为 null 返回所有非空页
+     * @return 是否返回本页数据
+     */
+    private boolean testPage(@Nonnull final List<JsonNode> page, @Nullable final Predicate<JsonNode> predicate) {
+        if (page.isEmpty()) {
+            return false;
+        }
+        try {
+            return predicate == null || predicate.test(JacksonUtil.createArrayNode().addAll(page));
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            return false;
+        }
+    }
 
-            // 退出方法
-            final String lastDataId = this.getLastDataId(data);
-            if (data.size() < onceSize || limit.get() <= 0 || StringUtils.isBlank(lastDataId)) {
-                break;
-            } else {
-                jdyListDataRequest.setDataId(lastDataId);
-            }
+    @Nonnull
+    @Override
+    public Stream<JsonNode> streamData(@Nonnull final JdyListDataRequest jdyListDataRequest) {
+        Assert.validate(jdyListDataRequest, "jdyListRequest valid error, cause: {}");
 
-        }
+        // 转换字段, 数字和字符串需要严格区分, 根据简道云字段类型判断
+        this.convertConditionFieldValue(jdyListDataRequest);
 
-        return response;
+        return this.listDataIterator(jdyListDataRequest).stream();
     }
 
     @Nonnull
     @Override
-    public <T extends JdyDo> List<T> listData(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nonnull final Class<T> responseType, @Nullable final Predicate<JsonNode> predicate) {
+    public <T extends JdyDo> Stream<T> streamData(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nonnull final Class<T> responseType) {
+        Assert.validate(jdyListDataRequest, "jdyListRequest valid error, cause: {}");
         Assert.notNull(responseType, "responseType must not be null");
-        final List<T> response = new ArrayList<>();
-        for (final JsonNode item : this.listData(jdyListDataRequest, predicate)) {
-            response.add(JacksonUtil.treeToValue(item, responseType));
+
+        // 转换字段, 数字和字符串需要严格区分, 根据简道云字段类型判断
+        this.convertConditionFieldValue(jdyListDataRequest);
+
+        return this.listDataIterator(jdyListDataRequest, responseType).stream();
+    }
+
+    @Nonnull
+    @Override
+    public Stream<JsonNode> scanData(@Nonnull final JdyListDataScanRequest jdyListDataScanRequest) {
+        Assert.validate(jdyListDataScanRequest, "jdyListDataScanRequest valid error, cause: {}");
+
+        // 每个区间使用各自的游标, 区间内不预取, 由区间并发提高吞吐
+        final List<JdyListDataRequest> partitionRequests = jdyListDataScanRequest.partitions();
+        final List<JdyListDataScanIterator.Partition<JsonNode>> partitions = new ArrayList<>();
+        for (int i = 0; i < partitionRequests.size(); i++) {
+            final JdyListDataRequest partitionRequest = partitionRequests.get(i);
+            this.convertConditionFieldValue(partitionRequest);
+
+            final int index = i;
+            final JdyListDataIterator<JsonNode> iterator = new JdyListDataIterator<>((dataId, limit) -> {
+                final List<JsonNode> page = new ArrayList<>(limit);
+                this.listDataPage(partitionRequest, dataId, limit).forEach(page::add);
+                return page;
+            }, jsonNode -> jsonNode.path("_id").asText(null), null, partitionRequest.getLimit());
+            partitions.add(new JdyListDataScanIterator.Partition<>(iterator, jsonNode -> jdyListDataScanRequest.contains(index, jsonNode)));
         }
-        return response;
+
+        // 并发数不超过接口频率限制
+        final int parallelism = Math.min(jdyListDataScanRequest.getParallelism(), JdyUrlEnum.LIST_DATA.getQps());
+        return new JdyListDataScanIterator<>(partitions, this.jdyClientConfig.getAsyncExecutor(), parallelism,
+                jdyListDataScanRequest.getRequest().getLimit(), this.jdyClientConfig.getListDataConsumerTimeout()).stream();
+    }
+
+    @Nonnull
+    @Override
+    public <T extends JdyDo> Stream<T> scanData(@Nonnull final JdyListDataScanRequest jdyListDataScanRequest, @Nonnull final Class<T> responseType) {
+        Assert.notNull(responseType, "responseType must not be null");
+        return this.scanData(jdyListDataScanRequest).map(item -> JacksonUtil.treeToValue(item, responseType));
     }
 
     @Nonnull
@@ -305,10 +525,11 @@ public class JdyClientImpl implements JdyClient {
     public JsonNode saveData(@Nonnull final JdyDataSaveRequest jdyDataSaveRequest) {
         Assert.validate(jdyDataSaveRequest, "jdyDataSaveRequest valid error, cause: {}");
 
-        // 转换 data
-        final JdyFieldListResponse jdyFieldListResponse = this.listField(JdyFieldListRequest.of(jdyDataSaveRequest.getData()));
-        final JsonNode newData = JdyDataRequestConvertUtil.convert(jdyDataSaveRequest.getData(), jdyFieldListResponse.getWidgets());
+        // 转换 data, 序列化请求时直接写出转换结果
+        final JdyDataRequestConvertUtil.ConvertPlan convertPlan = this.getConvertPlan(JdyFieldListRequest.of(jdyDataSaveRequest.getData()));
+        final JsonNode newData = JdyDataRequestConvertUtil.convertLazily(jdyDataSaveRequest.getData(), convertPlan);
         jdyDataSaveRequest.setData(newData);
+        this.metrics.recordConvertedRows(1);
 
         // 请求参数
         final Request request = Request.of(JdyUrlEnum.SAVE_ONE_DATA.getUrl())
@@ -316,9 +537,8 @@ public class JdyClientImpl implements JdyClient {
                 .body(JacksonUtil.writeValueAsString(jdyDataSaveRequest));
 
         // 执行请求
-        final String resBody = this.request(request);
+        final JsonNode resBody = this.request(JdyUrlEnum.SAVE_ONE_DATA, request);
         return Optional.of(resBody)
-                .map(JacksonUtil::readTree)
                 .map(jsonNode -> jsonNode.path("data"))
                 .filter(jsonNode -> StringUtils.isNotBlank(jsonNode.path("_id").asText()))
                 .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
@@ -340,34 +560,46 @@ public class JdyClientImpl implements JdyClient {
         Assert.notEmpty(datas, "datas must not be empty");
         Assert.isTrue(datas.isArray(), "datas must be array");
 
-        // 字段信息
-        final JdyFieldListResponse jdyFieldListResponse = this.listField(JdyFieldListRequest.of(datas.path(0)));
+        // 转换计划
+        final JdyDataRequestConvertUtil.ConvertPlan convertPlan = this.getConvertPlan(JdyFieldListRequest.of(datas.path(0)));
 
-        // 新数据列表
-        final ArrayList<JsonNode> newDatas = new ArrayList<>();
+        // 新数据列表, 序列化请求时直接写出转换结果, 不构建转换后的 JsonNode 树
+        final ArrayList<JsonNode> newDatas = new ArrayList<>(datas.size());
         for (final JsonNode item : datas) {
-            final JsonNode newData = JdyDataRequestConvertUtil.convert(item, jdyFieldListResponse.getWidgets());
+            final JsonNode newData = JdyDataRequestConvertUtil.convertLazily(item, convertPlan);
             newDatas.add(newData);
         }
+        this.metrics.recordConvertedRows(newDatas.size());
 
         // 每次保存100条
-        final List<String> successIds = new ArrayList<>();
+        // 先序列化全部请求体 (此时执行转换), 任意一条转换失败都不会保存任何数据
+        final List<Request> requests = new ArrayList<>();
         for (final List<JsonNode> jsonNodes : CollUtil.partition(newDatas, 100)) {
-            jdyDataSaveBatchRequest.setDatas(JacksonUtil.valueToTree(jsonNodes));
-            final Request request = Request.of(JdyUrlEnum.SAVE_BATCH_DATA.getUrl())
+            jdyDataSaveBatchRequest.setDatas(JacksonUtil.createArrayNode().addAll(jsonNodes));
+            requests.add(Request.of(JdyUrlEnum.SAVE_BATCH_DATA.getUrl())
                     .method(JdyUrlEnum.SAVE_BATCH_DATA.getMethod())
-                    .body(JacksonUtil.writeValueAsString(jdyDataSaveBatchRequest));
+                    .body(JacksonUtil.writeValueAsString(jdyDataSaveBatchRequest)));
+        }
 
-            final String resBody = this.request(request);
-            final List<String> ids = Optional.of(resBody)
-                    .map(JacksonUtil::readTree)
-                    .map(jsonNode -> jsonNode.path("success_ids"))
-                    .filter(JsonNode::isArray)
-                    .map(jsonNode -> JacksonUtil.treeToValue(jsonNode, new TypeReference<List<String>>() {
-                    }))
-                    .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
-            successIds.addAll(ids);
+        // 并发保存, 某一批失败不影响其他批次
+        final List<Supplier<List<String>>> tasks = new ArrayList<>(requests.size());
+        for (final Request request : requests) {
+            tasks.add(() -> {
+                final JsonNode resBody = this.request(JdyUrlEnum.SAVE_BATCH_DATA, request);
+                return Optional.of(resBody)
+                        .map(jsonNode -> jsonNode.path("success_ids"))
+                        .filter(JsonNode::isArray)
+                        .map(jsonNode -> JacksonUtil.treeToValue(jsonNode, new TypeReference<List<String>>() {
+                        }))
+                        .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
+            });
         }
+        final JdyBatchExecutor.Result<List<String>> result = this.executeBatch(JdyUrlEnum.SAVE_BATCH_DATA, tasks);
+
+        // 按输入顺序合并
+        final List<String> successIds = new ArrayList<>();
+        result.successes().forEach(successIds::addAll);
+        JdyClientImpl.throwIfFailed(result, successIds.size(), successIds);
         return successIds;
     }
 
@@ -387,9 +619,10 @@ public class JdyClientImpl implements JdyClient {
         }
 
         // 转换 data
-        final JdyFieldListResponse jdyFieldListResponse = this.listField(JdyFieldListRequest.of(jdyDataUpdateRequest.getData()));
-        final JsonNode newData = JdyDataRequestConvertUtil.convert(jdyDataUpdateRequest.getData(), jdyFieldListResponse.getWidgets());
+        final JdyDataRequestConvertUtil.ConvertPlan convertPlan = this.getConvertPlan(JdyFieldListRequest.of(jdyDataUpdateRequest.getData()));
+        final JsonNode newData = JdyDataRequestConvertUtil.convert(jdyDataUpdateRequest.getData(), convertPlan);
         jdyDataUpdateRequest.setData(newData);
+        this.metrics.recordConvertedRows(1);
 
         // 请求参数
         final Request request = Request.of(JdyUrlEnum.UPDATE_ONE_DATA.getUrl())
@@ -397,9 +630,8 @@ public class JdyClientImpl implements JdyClient {
                 .body(JacksonUtil.writeValueAsString(jdyDataUpdateRequest));
 
         // 执行请求
-        final String resBody = this.request(request);
+        final JsonNode resBody = this.request(JdyUrlEnum.UPDATE_ONE_DATA, request);
         return Optional.of(resBody)
-                .map(JacksonUtil::readTree)
                 .map(jsonNode -> jsonNode.path("data"))
                 .filter(jsonNode -> StringUtils.isNotBlank(jsonNode.path("_id").asText()))
                 .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
@@ -427,27 +659,30 @@ public class JdyClientImpl implements JdyClient {
         }
 
         // 转换 data
-        final JdyFieldListResponse jdyFieldListResponse = this.listField(JdyFieldListRequest.of(jdyDataUpdateBatchRequest.getData()));
-        final JsonNode newData = JdyDataRequestConvertUtil.convert(jdyDataUpdateBatchRequest.getData(), jdyFieldListResponse.getWidgets());
-        jdyDataUpdateBatchRequest.setData(newData);
-
-        final AtomicInteger successCount = new AtomicInteger();
-        CollUtil.partition(jdyDataUpdateBatchRequest.getDataIds(), 100).forEach(dataIds -> {
-            jdyDataUpdateBatchRequest.setDataIds(dataIds);
+        final JdyDataRequestConvertUtil.ConvertPlan convertPlan = this.getConvertPlan(JdyFieldListRequest.of(jdyDataUpdateBatchRequest.getData()));
+        final JsonNode newData = JdyDataRequestConvertUtil.convert(jdyDataUpdateBatchRequest.getData(), convertPlan);
+        this.metrics.recordConvertedRows(1);
+
+        // 每次修改100条, 每批使用独立的请求对象, 不修改调用方传入的请求
+        final List<Supplier<Integer>> tasks = new ArrayList<>();
+        for (final List<String> dataIds : CollUtil.partition(new ArrayList<>(jdyDataUpdateBatchRequest.getDataIds()), 100)) {
+            final JdyDataUpdateBatchRequest reqBody = new JdyDataUpdateBatchRequest(jdyDataUpdateBatchRequest.getAppId(),
+                    jdyDataUpdateBatchRequest.getEntryId(), dataIds, newData)
+                    .transactionId(jdyDataUpdateBatchRequest.getTransactionId());
             final Request request = Request.of(JdyUrlEnum.UPDATE_BATCH_DATA.getUrl())
                     .method(JdyUrlEnum.UPDATE_BATCH_DATA.getMethod())
-                    .body(JacksonUtil.writeValueAsString(jdyDataUpdateBatchRequest));
+                    .body(JacksonUtil.writeValueAsString(reqBody));
 
-            final String resBody = this.request(request);
-            final int count = Optional.of(resBody)
-                    .map(JacksonUtil::readTree)
-                    .map(jsonNode -> jsonNode.path("success_count").asInt(-1))
-                    .filter(num -> num >= 0)
-                    .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
-            successCount.addAndGet(count);
-        });
+            tasks.add(() -> {
+                final JsonNode resBody = this.request(JdyUrlEnum.UPDATE_BATCH_DATA, request);
+                return Optional.of(resBody)
+                        .map(jsonNode -> jsonNode.path("success_count").asInt(-1))
+                        .filter(num -> num >= 0)
+                        .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
+            });
+        }
 
-        return successCount.get();
+        return this.sumBatch(this.executeBatch(JdyUrlEnum.UPDATE_BATCH_DATA, tasks));
     }
 
     @Override
@@ -459,17 +694,11 @@ public class JdyClientImpl implements JdyClient {
                 .method(JdyUrlEnum.DELETE_ONE_DATA.getMethod())
                 .body(JacksonUtil.writeValueAsString(jdyDataDeleteRequest));
 
-        // 执行请求, 若数据不存在会抛异常
-        final String resBody;
-        try {
-            resBody = this.request(request);
-        } catch (Exception e) {
-            return false;
-        }
+        // 执行请求, 数据不存在等业务错误返回错误码, 熔断、限流、网络异常直接抛出
+        final JsonNode resBody = this.request(JdyUrlEnum.DELETE_ONE_DATA, request);
 
         // 读取响应
         return Optional.of(resBody)
-                .map(JacksonUtil::readTree)
                 .map(jsonNode -> jsonNode.path("status").asText())
                 .filter(str -> Objects.equals("success", str))
                 .isPresent();
@@ -479,21 +708,25 @@ public class JdyClientImpl implements JdyClient {
     public int deleteBatchData(@Nonnull final JdyDataDeleteBatchRequest jdyDataDeleteBatchRequest) {
         Assert.validate(jdyDataDeleteBatchRequest, "jdyDataDeleteBatchRequest valid error, cause: {}");
 
-        final AtomicInteger successCount = new AtomicInteger();
-        CollUtil.partition(jdyDataDeleteBatchRequest.getDataIds(), 100).forEach(dataIds -> {
-            jdyDataDeleteBatchRequest.setDataIds(dataIds);
+        // 每次删除100条, 每批使用独立的请求对象, 不修改调用方传入的请求
+        final List<Supplier<Integer>> tasks = new ArrayList<>();
+        for (final List<String> dataIds : CollUtil.partition(new ArrayList<>(jdyDataDeleteBatchRequest.getDataIds()), 100)) {
+            final JdyDataDeleteBatchRequest reqBody = new JdyDataDeleteBatchRequest(jdyDataDeleteBatchRequest.getAppId(),
+                    jdyDataDeleteBatchRequest.getEntryId(), dataIds);
             final Request request = Request.of(JdyUrlEnum.DELETE_BATCH_DATA.getUrl())
                     .method(JdyUrlEnum.DELETE_BATCH_DATA.getMethod())
-                    .body(JacksonUtil.writeValueAsString(jdyDataDeleteBatchRequest));
+                    .body(JacksonUtil.writeValueAsString(reqBody));
 
-            final String resBody = this.request(request);
-            final int count = Optional.of(resBody)
-                    .map(JacksonUtil::readTree)
-                    .map(jsonNode -> jsonNode.path("success_count").asInt())
-                    .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
-            successCount.addAndGet(count);
-        });
-        return successCount.get();
+            tasks.add(() -> {
+                final JsonNode resBody = this.request(JdyUrlEnum.DELETE_BATCH_DATA, request);
+                return Optional.of(resBody)
+                        .map(jsonNode -> jsonNode.path("success_count").asInt(-1))
+                        .filter(num -> num >= 0)
+                        .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
+            });
+        }
+
+        return this.sumBatch(this.executeBatch(JdyUrlEnum.DELETE_BATCH_DATA, tasks));
     }
 
     @Nonnull
@@ -502,63 +735,200 @@ public class JdyClientImpl implements JdyClient {
         Assert.validate(jdyFileUploadRequest, "jdyFileUploadRequest valid error, cause: {}");
         Assert.notEmpty(files, "files must not be empty");
 
-        // 文件必须存在才可以上传
-        final Set<File> fileSet = files.stream().filter(FileUtil::exists).collect(Collectors.toSet());
-        Assert.notEmpty(fileSet, "files must not be empty");
+        // 文件必须存在才可以上传, 去重并保持输入顺序
+        final List<File> fileList = files.stream().filter(FileUtil::exists).distinct().toList();
+        Assert.notEmpty(fileList, "files must not be empty");
 
-        // 获取足量的文件上传凭证和上传地址
-        final Deque<JdyFileGetUploadTokenResponse> tokenAndUrls = new ArrayDeque<>();
-        final Request request = Request.of(JdyUrlEnum.GET_UPLOAD_TOKEN.getUrl())
-                .method(JdyUrlEnum.GET_UPLOAD_TOKEN.getMethod())
-                .body(JacksonUtil.writeValueAsString(jdyFileUploadRequest));
-        do {
-            final String resBody = this.request(request);
-            final List<JdyFileGetUploadTokenResponse> getUploadTokenResponses = Optional.of(resBody)
-                    .map(JacksonUtil::readTree)
-                    .map(jsonNode -> jsonNode.path("token_and_url_list"))
-                    .filter(JsonNode::isArray)
-                    .map(jsonNode -> JacksonUtil.treeToValue(jsonNode, new TypeReference<List<JdyFileGetUploadTokenResponse>>() {
-                    }))
-                    .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
-            getUploadTokenResponses.forEach(item -> Assert.validate(item, "jdyGetUploadTokenResponse valid error, cause: {}"));
-            tokenAndUrls.addAll(getUploadTokenResponses);
-        } while (tokenAndUrls.size() < fileSet.size());
+        final List<JdyUploadSource> sources = fileList.stream().map(JdyUploadSource::of).toList();
+        final JdyBatchExecutor.Result<String> result = this.uploadSources(jdyFileUploadRequest, sources);
 
-        // 上传文件
+        // 按输入顺序合并
         final JdyFileUploadResponse jdyFileUploadResponse = new JdyFileUploadResponse();
         jdyFileUploadResponse.setTransactionId(jdyFileUploadRequest.getTransactionId());
-        for (final File file : fileSet) {
-            final JdyFileGetUploadTokenResponse tokenAndUrl = tokenAndUrls.pop();
-
-            final HashMap<String, Object> bodyMap = new HashMap<>();
-            bodyMap.put("token", tokenAndUrl.getToken());
-            bodyMap.put("file", file);
-
-            final Request uploadFileRequest = Request.of(tokenAndUrl.getUrl())
-                    .method(Method.POST)
-                    .body(MultipartBody.of(bodyMap, StandardCharsets.UTF_8));
-            // 执行请求并重试
-            final String resBody = RetryUtil.execute(() -> this.executeRequest(uploadFileRequest), this.jdyClientConfig.getRetryPolicy());
-            final String key = Optional.of(resBody)
-                    .map(JacksonUtil::readTree)
-                    .map(jsonNode -> jsonNode.path("key").asText())
-                    .filter(StringUtils::isNotBlank)
-                    .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
-            jdyFileUploadResponse.getFileKeyMap().put(file, key);
+        final Map<File, Throwable> failures = new LinkedHashMap<>();
+        for (int i = 0; i < fileList.size(); i++) {
+            final Throwable failure = result.failures().get(i);
+            if (failure == null) {
+                jdyFileUploadResponse.getFileKeyMap().put(fileList.get(i), result.results().get(i));
+            } else {
+                failures.put(fileList.get(i), failure);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new JdyFileUploadException(jdyFileUploadResponse, failures);
         }
-
         return jdyFileUploadResponse;
     }
 
+    @Nonnull
+    @Override
+    public JdyUploadResponse upload(@Nonnull final JdyFileUploadRequest jdyFileUploadRequest, @Nonnull final Collection<JdyUploadSource> sources) {
+        Assert.validate(jdyFileUploadRequest, "jdyFileUploadRequest valid error, cause: {}");
+        Assert.notEmpty(sources, "sources must not be empty");
+
+        // 名称作为结果的 key, 不能重复
+        final List<JdyUploadSource> sourceList = List.copyOf(sources);
+        final Set<String> names = new HashSet<>();
+        for (final JdyUploadSource source : sourceList) {
+            Assert.isTrue(names.add(source.getName()), "duplicate source name: {}", source.getName());
+        }
+
+        final JdyBatchExecutor.Result<String> result = this.uploadSources(jdyFileUploadRequest, sourceList);
+
+        // 按输入顺序合并
+        final JdyUploadResponse jdyUploadResponse = new JdyUploadResponse();
+        jdyUploadResponse.setTransactionId(jdyFileUploadRequest.getTransactionId());
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        for (int i = 0; i < sourceList.size(); i++) {
+            final Throwable failure = result.failures().get(i);
+            if (failure == null) {
+                jdyUploadResponse.getKeyMap().put(sourceList.get(i).getName(), result.results().get(i));
+            } else {
+                failures.put(sourceList.get(i).getName(), failure);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new JdyUploadException(jdyUploadResponse, failures);
+        }
+        return jdyUploadResponse;
+    }
+
+    /**
+     * 并发上传文件, 某个文件失败不影响其他文件
+     *
+     * @param jdyFileUploadRequest jdyFileUploadRequest
+     * @param sources              上传来源
+     * @return 与 sources 下标一一对应的文件 key 和失败原因
+     */
+    @Nonnull
+    private JdyBatchExecutor.Result<String> uploadSources(@Nonnull final JdyFileUploadRequest jdyFileUploadRequest, @Nonnull final List<JdyUploadSource> sources) {
+        // 上传凭证按需获取: 凭证用完时由需要凭证的上传任务获取下一批, 其他文件继续上传, 获取凭证与上传重叠进行
+        final Request tokenRequest = Request.of(JdyUrlEnum.GET_UPLOAD_TOKEN.getUrl())
+                .method(JdyUrlEnum.GET_UPLOAD_TOKEN.getMethod())
+                .body(JacksonUtil.writeValueAsString(jdyFileUploadRequest));
+        final Deque<JdyFileGetUploadTokenResponse> tokenAndUrls = new ArrayDeque<>();
+        final ReentrantLock tokenLock = new ReentrantLock();
+        final Supplier<JdyFileGetUploadTokenResponse> tokenSupplier = () -> {
+            tokenLock.lock();
+            try {
+                if (tokenAndUrls.isEmpty()) {
+                    tokenAndUrls.addAll(this.getUploadTokens(tokenRequest));
+                }
+                return tokenAndUrls.pop();
+            } finally {
+                tokenLock.unlock();
+            }
+        };
+
+        final List<Supplier<String>> tasks = new ArrayList<>(sources.size());
+        for (final JdyUploadSource source : sources) {
+            tasks.add(() -> this.uploadSource(source, tokenSupplier.get()));
+        }
+        final int parallelism = Math.max(1, this.jdyClientConfig.getUploadParallelism());
+        return JdyBatchExecutor.execute(tasks, this.jdyClientConfig.getAsyncExecutor(), parallelism);
+    }
+
+    /**
+     * 获取一批文件上传凭证和上传地址
+     *
+     * @param request 获取凭证的请求, 可重复发送
+     * @return 上传凭证和上传地址
+     */
+    @Nonnull
+    private List<JdyFileGetUploadTokenResponse> getUploadTokens(@Nonnull final Request request) {
+        final JsonNode resBody = this.request(JdyUrlEnum.GET_UPLOAD_TOKEN, request);
+        final List<JdyFileGetUploadTokenResponse> getUploadTokenResponses = Optional.of(resBody)
+                .map(jsonNode -> jsonNode.path("token_and_url_list"))
+                .filter(JsonNode::isArray)
+                .filter(jsonNode -> !jsonNode.isEmpty())
+                .map(jsonNode -> JacksonUtil.treeToValue(jsonNode, new TypeReference<List<JdyFileGetUploadTokenResponse>>() {
+                }))
+                .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
+        getUploadTokenResponses.forEach(item -> Assert.validate(item, "jdyGetUploadTokenResponse valid error, cause: {}"));
+        return getUploadTokenResponses;
+    }
+
+    /**
+     * 使用上传凭证上传一个文件, 写入请求体时才打开来源的输入流, 边读边写
+     *
+     * @param source      上传来源
+     * @param tokenAndUrl 上传凭证和上传地址, 每个凭证只能使用一次
+     * @return 文件 key
+     */
+    @Nonnull
+    private String uploadSource(@Nonnull final JdyUploadSource source, @Nonnull final JdyFileGetUploadTokenResponse tokenAndUrl) {
+        final Resource resource = new Resource() {
+            @Override
+            public String getName() {
+                return source.getName();
+            }
+
+            @Override
+            public URL getUrl() {
+                return null;
+            }
+
+            @Override
+            public long size() {
+                return source.getSize();
+            }
+
+            @Override
+            public InputStream getStream() {
+                return source.openStream();
+            }
+        };
+
+        final HashMap<String, Object> bodyMap = new HashMap<>();
+        bodyMap.put("token", tokenAndUrl.getToken());
+        bodyMap.put("file", resource);
+
+        final Request uploadFileRequest = Request.of(tokenAndUrl.getUrl())
+                .method(Method.POST)
+                .body(MultipartBody.of(bodyMap, StandardCharsets.UTF_8));
+        // 执行请求并重试, 不可重复读取的来源只请求一次
+        final Callable<JsonNode> call = () -> this.executeRequest(uploadFileRequest);
+        final JsonNode resBody;
+        if (source.isRepeatable()) {
+            resBody = this.retry(call);
+        } else {
+            try {
+                resBody = call.call();
+            } catch (Exception e) {
+                throw e instanceof RuntimeException runtimeException ? runtimeException : ExceptionUtil.wrapRuntimeException(e);
+            }
+        }
+        return Optional.of(resBody)
+                .map(jsonNode -> jsonNode.path("key").asText())
+                .filter(StringUtils::isNotBlank)
+                .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
+    }
+
     /**
      * 请求简道云
      *
-     * @param request request
+     * @param jdyUrlEnum 请求的接口, 用于限流
+     * @param request    request
      * @return 响应体
-     * @throws RetryException 请求重试后仍然异常
+     * @throws RuntimeException 请求重试后仍然异常时抛出最后一次异常
      */
     @Nonnull
-    private String request(@Nonnull final Request request) {
+    private JsonNode request(@Nonnull final JdyUrlEnum jdyUrlEnum, @Nonnull final Request request) {
+        return this.request(jdyUrlEnum, request, JdyClientImpl::readTree);
+    }
+
+    /**
+     * 发送请求, 使用指定读取方法解析响应体
+     *
+     * @param jdyUrlEnum 接口, 用于限流
+     * @param request    请求
+     * @param bodyReader 响应体读取方法
+     * @return 读取结果
+     * @throws RuntimeException 请求重试后仍然异常时抛出最后一次异常
+     */
+    @Nonnull
+    private <R> R request(@Nonnull final JdyUrlEnum jdyUrlEnum, @Nonnull final Request request, @Nonnull final JdyJsonUtil.BodyReader<R> bodyReader) {
+        Assert.notNull(jdyUrlEnum, "jdyUrlEnum must not be null");
         Assert.notNull(request, "request must not be null");
         Assert.validate(this.jdyClientConfig, "jdyClientConfig valid error, cause: {}");
 
@@ -574,80 +944,531 @@ public class JdyClientImpl implements JdyClient {
         // apikey
         request.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.jdyClientConfig.getApiKey());
 
-        // 执行请求并重试
-        return RetryUtil.execute(() -> this.executeRequest(request), this.jdyClientConfig.getRetryPolicy());
+        // 执行请求并重试, 每次请求 (包括重试) 都需要获取熔断、限流许可
+        final AtomicInteger attempts = new AtomicInteger();
+        return this.retry(() -> {
+            if (attempts.getAndIncrement() > 0) {
+                this.metrics.recordRetry(jdyUrlEnum);
+            }
+            return this.attemptRequest(jdyUrlEnum, request, bodyReader);
+        });
+    }
+
+    /**
+     * 执行一次请求, 依次获取熔断许可、限流许可和并发许可, 并将请求结果反馈给熔断器和并发限制器
+     *
+     * @param jdyUrlEnum 接口
+     * @param request    request
+     * @param bodyReader 响应体读取方法
+     * @return 读取结果
+     * @throws JdyCircuitOpenException 接口已熔断
+     */
+    @Nonnull
+    private <R> R attemptRequest(@Nonnull final JdyUrlEnum jdyUrlEnum, @Nonnull final Request request, @Nonnull final JdyJsonUtil.BodyReader<R> bodyReader) throws IOException {
+        final JdyCircuitBreaker circuitBreaker = this.jdyClientConfig.getCircuitBreaker();
+        final JdyCircuitBreaker.Permit circuitPermit;
+        try {
+            circuitPermit = circuitBreaker == null ? null : circuitBreaker.acquire(jdyUrlEnum);
+        } catch (JdyCircuitOpenException e) {
+            this.metrics.recordCircuitOpen(jdyUrlEnum);
+            throw e;
+        }
+        JdyConcurrencyLimiter.Permit concurrencyPermit = null;
+        try {
+            final JdyRateLimiter rateLimiter = this.jdyClientConfig.getRateLimiter();
+            if (rateLimiter != null) {
+                final long waitStartNanos = System.nanoTime();
+                rateLimiter.acquire(this.jdyClientConfig.getApiKey(), jdyUrlEnum);
+                this.metrics.recordRateLimitWait(jdyUrlEnum, System.nanoTime() - waitStartNanos);
+            }
+            final JdyConcurrencyLimiter concurrencyLimiter = this.jdyClientConfig.getConcurrencyLimiter();
+            if (concurrencyLimiter != null) {
+                concurrencyPermit = concurrencyLimiter.acquire(this.jdyClientConfig.getApiKey(), jdyUrlEnum);
+                if (concurrencyLimiter instanceof JdyAimdConcurrencyLimiter aimdConcurrencyLimiter) {
+                    this.metrics.bindConcurrencyLimiter(aimdConcurrencyLimiter, jdyUrlEnum);
+                }
+            }
+
+            final long startNanos = System.nanoTime();
+            try {
+                final R body = this.executeRequest(jdyUrlEnum, request, bodyReader);
+                final long durationNanos = System.nanoTime() - startNanos;
+                this.metrics.recordRequest(jdyUrlEnum, "success", durationNanos);
+                if (concurrencyPermit != null) {
+                    concurrencyPermit.onSuccess();
+                }
+                if (circuitPermit != null) {
+                    circuitPermit.onSuccess(durationNanos);
+                }
+                return body;
+            } catch (JdyRequestLimitException e) {
+                // 被限流不视为接口故障
+                this.metrics.recordRequest(jdyUrlEnum, "limited", System.nanoTime() - startNanos);
+                this.metrics.recordLimited(jdyUrlEnum);
+                if (concurrencyPermit != null) {
+                    concurrencyPermit.onLimited();
+                }
+                throw e;
+            } catch (Exception e) {
+                final long durationNanos = System.nanoTime() - startNanos;
+                this.metrics.recordRequest(jdyUrlEnum, "error", durationNanos);
+                if (circuitPermit != null) {
+                    circuitPermit.onError(durationNanos);
+                }
+                throw e;
+            }
+        } finally {
+            if (concurrencyPermit != null) {
+                concurrencyPermit.onIgnore();
+            }
+            if (circuitPermit != null) {
+                circuitPermit.onIgnore();
+            }
+        }
+    }
+
+    /**
+     * 按配置的重试策略执行任务, 兼容已废弃的 oktool 重试策略
+     *
+     * @param task 任务
+     * @return 任务结果
+     */
+    @SuppressWarnings("deprecation")
+    private <R> R retry(@Nonnull final Callable<R> task) {
+        if (WITHOUT_RETRY.get()) {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw e instanceof RuntimeException runtimeException ? runtimeException : ExceptionUtil.wrapRuntimeException(e);
+            }
+        }
+        final List<RetryPolicy> retryPolicy = this.jdyClientConfig.getRetryPolicy();
+        if (retryPolicy != null) {
+            return RetryUtil.execute(task::call, retryPolicy);
+        }
+        return JdyRetryUtil.execute(task, this.jdyClientConfig.getJdyRetryPolicy());
+    }
+
+    /**
+     * 在当前线程中执行任务, 任务中的请求失败时不重试, 供异步客户端在定时器上重试
+     *
+     * @param task 任务
+     * @return 任务结果
+     */
+    static <R> R withoutRetry(@Nonnull final Supplier<R> task) {
+        WITHOUT_RETRY.set(true);
+        try {
+            return task.get();
+        } finally {
+            WITHOUT_RETRY.remove();
+        }
+    }
+
+    /**
+     * 执行请求, 响应体只解析一次, 限流判断和业务数据提取都基于同一个解析结果
+     *
+     * @param request request
+     * @return 解析后的响应体
+     */
+    @Nonnull
+    private JsonNode executeRequest(final @Nonnull Request request) throws IOException {
+        return this.executeRequest(null, request, JdyClientImpl::readTree);
     }
 
+    /**
+     * 执行请求, 使用指定读取方法直接从响应流解析
+     *
+     * @param jdyUrlEnum 接口, 用于记录请求体、响应体字节数, 上传文件等不属于开放接口的请求为 null
+     * @param request    request
+     * @param bodyReader 响应体读取方法, 遇到限流错误码需抛出 {@link JdyRequestLimitException}
+     * @return 读取结果
+     */
     @Nonnull
-    private String executeRequest(final @Nonnull Request request) throws IOException {
+    private <R> R executeRequest(final @Nullable JdyUrlEnum jdyUrlEnum, final @Nonnull Request request, final @Nonnull JdyJsonUtil.BodyReader<R> bodyReader) throws IOException {
         // 简道云所有 API 使用状态码 + 错误码的响应方式来表示错误原因。
         // 接口正确统一返回HTTP 状态码为 2xx 的正确响应。
         // 接口错误则统一返回 HTTP 状态码为 400 的错误响应，同时响应内容会返回错误码（code）和错误信息（msg）
-        String bodyStr = null;
+        // 队列已满将被丢弃时, 不再构建请求信息, 直接计为丢弃
+        final boolean eventEnabled = this.isRequestEventEnabled();
+        final boolean publishEvent = eventEnabled && this.requestEventDispatcher.hasCapacity();
+        if (eventEnabled && !publishEvent) {
+            this.requestEventDispatcher.recordDropped();
+        }
+        final JdyRequestCapturePolicy capturePolicy = this.jdyClientConfig.getRequestCapturePolicy();
+        final boolean captureBody = publishEvent && capturePolicy.isCaptureEnabled();
+        JdyCaptureInputStream captureStream = null;
+        Throwable error = null;
         Integer status = null;
         Map<String, List<String>> headers = null;
         final LocalDateTime startTime = LocalDateTime.now();
+        final long startNanos = System.nanoTime();
         try (final Response response = this.jdyClientConfig.getClientEngine().send(request)) {
-            bodyStr = response.bodyStr();
             headers = response.headers();
             status = response.getStatus();
 
-            // 限流异常
-            if (JdyHttpUtil.isLimitException(bodyStr)) {
-                throw new JdyRequestLimitException(StrUtil.format("简道云接口超出频率限制, status: {}, body: {}", status, bodyStr));
+            // 直接从响应流解析, 解析的同时复制截断后的响应体, 用于解析失败时的异常信息以及采集响应体
+            // 限流异常由读取方法抛出
+            InputStream bodyStream = response.bodyStream();
+            if (bodyStream != null) {
+                captureStream = new JdyCaptureInputStream(bodyStream, Math.max(ERROR_BODY_SIZE, captureBody ? capturePolicy.getMaxResponseBodySize() : 0));
+                bodyStream = captureStream;
             }
+            final R body = JdyJsonUtil.tryRead(bodyStream, bodyReader);
 
-            // 其他异常
-            if (StringUtils.isBlank(bodyStr)) {
-                throw new RuntimeException(StrUtil.format("简道云响应异常, status: {}, body: {}", status, bodyStr));
+            // 其他异常, 保留响应体前缀, 以便排查简道云返回的错误信息
+            if (body == null) {
+                throw new RuntimeException(StrUtil.format("简道云响应异常, status: {}, body: {}", status,
+                        captureStream == null ? null : new String(captureStream.getCaptured(), StandardCharsets.UTF_8)));
             }
 
-            return bodyStr;
+            return body;
+        } catch (Throwable e) {
+            error = e;
+            throw e;
         } finally {
+            if (jdyUrlEnum != null) {
+                final HttpBody requestBody = request.body();
+                this.metrics.recordRequestBytes(jdyUrlEnum, requestBody == null ? 0 : requestBody.contentLength());
+                this.metrics.recordResponseBytes(jdyUrlEnum, captureStream == null ? 0 : captureStream.getReadSize());
+            }
+
             // 异步回调
-            if (this.jdyClientConfig.getJdyRequestConsumer() != null) {
-                final JdyRequestEvent.RequestInfo requestInfo = new JdyRequestEvent.RequestInfo();
-                requestInfo.setUrl(request.url() == null ? null : request.url().build());
-                requestInfo.setMethod(request.method() == null ? null : request.method().name());
-                requestInfo.setRequestHeader(request.headers());
-                requestInfo.setRequestTime(startTime);
-                requestInfo.setResponseBody(bodyStr);
-                requestInfo.setResponseHeader(headers);
-                requestInfo.setStatus(status);
-                requestInfo.setResponseTime(LocalDateTime.now());
-                requestInfo.setDurationTime(TimeUtil.between(requestInfo.getRequestTime(), requestInfo.getResponseTime(), ChronoUnit.MILLIS));
-
-                // 过滤请求 body 日志
-                final String contentType = request.header(HttpHeaders.CONTENT_TYPE);
-                if (StringUtils.isNotBlank(contentType) && this.whiteContentType.contains(contentType)) {
-                    requestInfo.setRequestBody(request.bodyStr());
+            if (publishEvent) {
+                // 构建请求信息失败只记录日志, 不影响请求结果, 也不会覆盖请求本身的异常
+                try {
+                    final JdyRequestEvent.RequestInfo requestInfo = new JdyRequestEvent.RequestInfo();
+                    requestInfo.setUrl(request.url() == null ? null : request.url().build());
+                    requestInfo.setMethod(request.method() == null ? null : request.method().name());
+                    requestInfo.setRequestHeader(capturePolicy.filterHeaders(request.headers()));
+                    requestInfo.setRequestTime(startTime);
+                    requestInfo.setResponseHeader(capturePolicy.filterHeaders(headers));
+                    requestInfo.setStatus(status);
+                    requestInfo.setResponseTime(LocalDateTime.now());
+                    requestInfo.setDurationTime(TimeUtil.between(requestInfo.getRequestTime(), requestInfo.getResponseTime(), ChronoUnit.MILLIS));
+
+                    // 失败、过慢或被采样的请求才保留请求体和响应体
+                    final boolean failed = error != null || (status != null && status >= 400);
+                    if (captureBody && capturePolicy.shouldCapture(failed, Duration.ofNanos(System.nanoTime() - startNanos))) {
+                        if (captureStream != null) {
+                            // 复制的字节数可能因异常信息而多于采集策略的最大字节数
+                            final byte[] captured = captureStream.getCaptured();
+                            final int maxSize = Math.max(0, capturePolicy.getMaxResponseBodySize());
+                            requestInfo.setResponseBody(new String(captured, 0, Math.min(captured.length, maxSize), StandardCharsets.UTF_8));
+                            requestInfo.setResponseBodyTruncated(captureStream.isTruncated() || captured.length > maxSize);
+                        }
+
+                        // 过滤请求 body 日志
+                        final String contentType = request.header(HttpHeaders.CONTENT_TYPE);
+                        // 只复制请求体前若干字节, 不构建完整的请求体字符串
+                        final HttpBody requestBody = request.body();
+                        if (requestBody != null && StringUtils.isNotBlank(contentType) && this.whiteContentType.contains(contentType)) {
+                            final JdyCaptureOutputStream requestBodyStream = new JdyCaptureOutputStream(capturePolicy.getMaxRequestBodySize());
+                            requestBody.write(requestBodyStream);
+                            requestInfo.setRequestBody(new String(requestBodyStream.getCaptured(), StandardCharsets.UTF_8));
+                            requestInfo.setRequestBodyTruncated(requestBodyStream.isTruncated());
+                        }
+                    }
+
+                    this.requestEventDispatcher.publish(new JdyRequestEvent(requestInfo));
+                } catch (Exception e) {
+                    log.warn("简道云请求信息构建失败, cause: {}", e.getMessage(), e);
                 }
+            }
+        }
+    }
+
+    /**
+     * 是否配置了请求信息回调
+     */
+    private boolean isRequestEventEnabled() {
+        return this.jdyClientConfig.getJdyRequestConsumer() != null || this.jdyClientConfig.getJdyRequestBatchConsumer() != null;
+    }
+
+    /**
+     * 回调一批请求信息, 单条回调异常不影响同批其他请求信息
+     *
+     * @param events 请求信息
+     */
+    private void dispatchRequestEvents(@Nonnull final List<JdyRequestEvent> events) {
+        final Consumer<List<JdyRequestEvent>> batchConsumer = this.jdyClientConfig.getJdyRequestBatchConsumer();
+        if (batchConsumer != null) {
+            batchConsumer.accept(List.copyOf(events));
+            return;
+        }
 
-                Thread.startVirtualThread(() -> this.jdyClientConfig.getJdyRequestConsumer().accept(new JdyRequestEvent(requestInfo)));
+        final Consumer<JdyRequestEvent> consumer = this.jdyClientConfig.getJdyRequestConsumer();
+        if (consumer == null) {
+            return;
+        }
+        for (final JdyRequestEvent event : events) {
+            try {
+                consumer.accept(event);
+            } catch (Exception e) {
+                this.requestEventDispatcher.recordFailed();
+                log.warn("简道云请求信息回调异常, cause: {}", e.getMessage(), e);
             }
         }
     }
 
     /**
-     * 获取集合最后一条数据编号
+     * 创建查询数据列表迭代器, 根据配置决定是否预取下一页
      *
-     * @param jsonNode 数据集合, 示例: [{数据1}, {数据2}]
-     * @return 最后一条数据编号, 获取失败则返回 null
+     * @param jdyListDataRequest 查询条件, 需已完成字段值转换
+     */
+    @Nonnull
+    private JdyListDataIterator<JsonNode> listDataIterator(@Nonnull final JdyListDataRequest jdyListDataRequest) {
+        final JdyListDataIterator<JsonNode> iterator = new JdyListDataIterator<>((dataId, limit) -> {
+            final List<JsonNode> page = new ArrayList<>(limit);
+            this.listDataPage(jdyListDataRequest, dataId, limit).forEach(page::add);
+            return page;
+        }, jsonNode -> jsonNode.path("_id").asText(null), jdyListDataRequest.getDataId(), jdyListDataRequest.getLimit(),
+                this.jdyClientConfig.getAsyncExecutor(), this.jdyClientConfig.getListDataPrefetchDepth(), this.jdyClientConfig.getListDataConsumerTimeout());
+        iterator.onClose(this.metrics::recordListDataPages);
+        return iterator;
+    }
+
+    /**
+     * 创建查询数据列表迭代器, 每页直接反序列化为实体
+     *
+     * @param jdyListDataRequest 查询条件, 需已完成字段值转换
+     * @param responseType       实体类型
+     */
+    @Nonnull
+    private <T extends JdyDo> JdyListDataIterator<T> listDataIterator(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nonnull final Class<T> responseType) {
+        final JdyListDataIterator<T> iterator = new JdyListDataIterator<>((dataId, limit) -> this.listDataPage(jdyListDataRequest, dataId, limit, responseType),
+                JdyDo::getDataId, jdyListDataRequest.getDataId(), jdyListDataRequest.getLimit(),
+                this.jdyClientConfig.getAsyncExecutor(), this.jdyClientConfig.getListDataPrefetchDepth(), this.jdyClientConfig.getListDataConsumerTimeout());
+        iterator.onClose(this.metrics::recordListDataPages);
+        return iterator;
+    }
+
+    /**
+     * 查询一页数据
+     *
+     * @param jdyListDataRequest 查询条件
+     * @param dataId             游标, 上一页最后一条数据编号, 第一页为 null
+     * @param limit              查询数量
+     * @return 数据集合, 示例: [{数据1}, {数据2}]
+     */
+    @Nonnull
+    private JsonNode listDataPage(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nullable final String dataId, final int limit) {
+        final Request request = this.listDataPageRequest(jdyListDataRequest, dataId, limit);
+        final JsonNode resBody = this.request(JdyUrlEnum.LIST_DATA, request);
+        return Optional.of(resBody)
+                .map(jsonNode -> jsonNode.path("data"))
+                .filter(JsonNode::isArray)
+                .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
+    }
+
+    /**
+     * 查询一页数据, 响应中的 data 数组使用流式解析直接反序列化为实体
+     *
+     * @param jdyListDataRequest 查询条件
+     * @param dataId             游标, 上一页最后一条数据编号, 第一页为 null
+     * @param limit              查询数量
+     * @param responseType       实体类型
+     * @return 数据集合
+     */
+    @Nonnull
+    private <T extends JdyDo> List<T> listDataPage(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nullable final String dataId, final int limit, @Nonnull final Class<T> responseType) {
+        final Request request = this.listDataPageRequest(jdyListDataRequest, dataId, limit);
+        return this.request(JdyUrlEnum.LIST_DATA, request, parser -> JdyJsonUtil.readData(parser, responseType));
+    }
+
+    /**
+     * 构建查询一页数据的请求
+     */
+    @Nonnull
+    private Request listDataPageRequest(@Nonnull final JdyListDataRequest jdyListDataRequest, @Nullable final String dataId, final int limit) {
+        final JdyListDataRequest reqBody = new JdyListDataRequest();
+        reqBody.setAppId(jdyListDataRequest.getAppId());
+        reqBody.setEntryId(jdyListDataRequest.getEntryId());
+        reqBody.setDataId(dataId);
+        reqBody.setFields(jdyListDataRequest.getFields());
+        reqBody.setFilter(jdyListDataRequest.getFilter());
+        reqBody.setLimit(limit);
+
+        return Request.of(JdyUrlEnum.LIST_DATA.getUrl())
+                .method(JdyUrlEnum.LIST_DATA.getMethod())
+                .body(JacksonUtil.writeValueAsString(reqBody));
+    }
+
+    /**
+     * 读取响应体为 JsonNode
+     *
+     * @throws JdyRequestLimitException 响应错误码为请求超过频率
      */
     @Nullable
-    private String getLastDataId(@Nonnull JsonNode jsonNode) {
-        if (JacksonUtil.isEmpty(jsonNode) || !jsonNode.isArray()) {
-            return null;
+    private static JsonNode readTree(@Nonnull final JsonParser parser) throws IOException {
+        final JsonNode jsonNode = parser.readValueAsTree();
+        if (JdyHttpUtil.isLimitException(jsonNode)) {
+            throw new JdyRequestLimitException(StrUtil.format("简道云接口超出频率限制, body: {}", jsonNode));
         }
-
-        final int index = jsonNode.size() - 1;
-        return jsonNode.path(index)
-                .path("_id")
-                .asText(null);
+        return jsonNode == null || jsonNode.isMissingNode() ? null : jsonNode;
     }
 
     // ====
 
+    /**
+     * 查询表单字段
+     */
+    @Nonnull
+    private JdyFieldListResponse loadField(@Nonnull final JdyFieldListRequest jdyFieldListRequest) {
+        final Request request = Request.of(JdyUrlEnum.LIST_WIDGET.getUrl())
+                .method(JdyUrlEnum.LIST_WIDGET.getMethod())
+                .body(JacksonUtil.writeValueAsString(jdyFieldListRequest));
+
+        final JsonNode resBody = this.request(JdyUrlEnum.LIST_WIDGET, request);
+        final JdyFieldListResponse jdyFieldListResponse = Optional.of(resBody)
+                .map(jsonNode -> JacksonUtil.treeToValue(jsonNode, JdyFieldListResponse.class))
+                .orElseThrow(() -> ExceptionUtil.wrapRuntimeException("简道云响应异常, body: {}", resBody));
+        Assert.validate(jdyFieldListResponse, "简道云响应异常, body: {}, cause: {}", resBody);
+        return jdyFieldListResponse;
+    }
+
+    /**
+     * 先查远程缓存, 未命中再查询并写入远程缓存, 未配置远程缓存时直接查询
+     *
+     * @param key       远程缓存 key
+     * @param valueType 缓存值类型
+     * @param loader    查询方法
+     */
+    @Nonnull
+    private <T> T loadWithRemoteCache(@Nonnull final String key, @Nonnull final TypeReference<T> valueType, @Nonnull final Supplier<T> loader) {
+        final JdyRemoteCache metadataCache = this.jdyClientConfig.getMetadataCache();
+        if (metadataCache == null) {
+            return loader.get();
+        }
+
+        final String cached = metadataCache.get(key);
+        if (StringUtils.isNotBlank(cached)) {
+            try {
+                return JacksonUtil.readValue(cached, valueType);
+            } catch (Exception e) {
+                log.warn("简道云远程缓存解析失败, key: {}, cause: {}", key, e.getMessage());
+            }
+        }
+
+        final T value = loader.get();
+        metadataCache.put(key, JacksonUtil.writeValueAsString(value), this.jdyClientConfig.getMetadataCacheTtl());
+        return value;
+    }
+
+    /**
+     * 表单字段的远程缓存 key
+     */
+    @Nonnull
+    private String fieldCacheKey(@Nonnull final JdyFieldListRequest jdyFieldListRequest) {
+        return this.cacheKeyPrefix + "field:" + jdyFieldListRequest.getAppId() + ":" + jdyFieldListRequest.getEntryId();
+    }
+
+    /**
+     * 其他节点删除了远程缓存, 使对应的本地缓存失效, 下一次访问时从远程缓存或 api 重新获取
+     *
+     * @param key 远程缓存 key
+     */
+    private void onRemoteInvalidate(@Nonnull final String key) {
+        if (!key.startsWith(this.cacheKeyPrefix)) {
+            return;
+        }
+
+        final String name = key.substring(this.cacheKeyPrefix.length());
+        if (name.startsWith("field:")) {
+            final String appId = StringUtils.substringBetween(name, "field:", ":");
+            final String entryId = StringUtils.substringAfter(name.substring("field:".length()), ":");
+            if (StringUtils.isNoneBlank(appId, entryId)) {
+                this.fieldCache.invalidate(new JdyFieldListRequest(appId, entryId));
+            }
+        } else if (name.startsWith("app:")) {
+            this.appCache.invalidateAll();
+        } else if (name.startsWith("entry:")) {
+            this.entryCache.invalidateAll();
+        }
+    }
+
+    /**
+     * 刷新字段缓存时, 字段未变化则复用旧的字段列表实例, 已编译的转换计划继续有效
+     * dataModifyTime 只反映表单数据的修改时间, 不能用于判断字段是否变化, 因此直接比较字段列表
+     */
+    @Nonnull
+    private static JdyFieldListResponse mergeField(@Nonnull final JdyFieldListResponse oldValue, @Nonnull final JdyFieldListResponse newValue) {
+        if (Objects.equals(oldValue.getWidgets(), newValue.getWidgets())) {
+            newValue.setWidgets(oldValue.getWidgets());
+        }
+        return newValue;
+    }
+
+    /**
+     * 并发执行批量请求, 并发数取配置与接口频率限制中的较小值
+     *
+     * @param jdyUrlEnum 接口
+     * @param tasks      批次任务
+     * @return 执行结果
+     */
+    @Nonnull
+    private <R> JdyBatchExecutor.Result<R> executeBatch(@Nonnull final JdyUrlEnum jdyUrlEnum, @Nonnull final List<Supplier<R>> tasks) {
+        final int parallelism = Math.max(1, Math.min(this.jdyClientConfig.getBatchParallelism(), jdyUrlEnum.getQps()));
+        return JdyBatchExecutor.execute(tasks, this.jdyClientConfig.getAsyncExecutor(), parallelism);
+    }
+
+    /**
+     * 存在失败批次时抛出异常
+     * 部分批次成功时抛出 {@link JdyBatchException}; 没有任何批次成功 (包括只有一个批次) 时抛出第一个失败批次的原始异常,
+     * 其他批次的失败原因附加为 suppressed, 与批量接口并发之前的行为一致
+     *
+     * @param result       执行结果
+     * @param successCount 成功数量
+     * @param successIds   成功的数据 ID 列表
+     * @throws JdyBatchException 部分批次失败
+     */
+    private static void throwIfFailed(@Nonnull final JdyBatchExecutor.Result<?> result, final int successCount, @Nonnull final List<String> successIds) {
+        if (!result.hasFailure()) {
+            return;
+        }
+        if (!result.successes().isEmpty()) {
+            throw new JdyBatchException(successCount, successIds, result.failures());
+        }
+
+        final Iterator<Throwable> failures = result.failures().values().iterator();
+        final Throwable first = failures.next();
+        while (failures.hasNext()) {
+            final Throwable other = failures.next();
+            if (other != first) {
+                first.addSuppressed(other);
+            }
+        }
+        if (first instanceof Error error) {
+            throw error;
+        }
+        throw first instanceof RuntimeException runtimeException ? runtimeException : ExceptionUtil.wrapRuntimeException(first);
+    }
+
+    /**
+     * 汇总批量修改/删除的成功数量, 存在失败批次时抛出异常
+     *
+     * @throws JdyBatchException 部分批次失败, 部分批次成功
+     */
+    private int sumBatch(@Nonnull final JdyBatchExecutor.Result<Integer> result) {
+        final int successCount = result.successes().stream().mapToInt(Integer::intValue).sum();
+        JdyClientImpl.throwIfFailed(result, successCount, List.of());
+        return successCount;
+    }
+
+    /**
+     * 获取表单的转换计划, 字段定义未变化时复用已编译的计划
+     *
+     * @param jdyFieldListRequest 表单
+     * @return 转换计划
+     */
+    @Nonnull
+    private JdyDataRequestConvertUtil.ConvertPlan getConvertPlan(@Nonnull final JdyFieldListRequest jdyFieldListRequest) {
+        final List<JdyField> widgets = this.listField(jdyFieldListRequest).getWidgets();
+        final String key = KeyBuilderUtil.of(jdyFieldListRequest.getAppId()).build(jdyFieldListRequest.getEntryId());
+        return this.convertPlanCache.compute(key, (k, convertPlan) -> convertPlan != null && convertPlan.isCompiledFrom(widgets)
+                ? convertPlan
+                : JdyDataRequestConvertUtil.compile(widgets));
+    }
+
     /**
      * 转换字段, 数字和字符串需要严格区分, 根据简道云字段类型判断
      */
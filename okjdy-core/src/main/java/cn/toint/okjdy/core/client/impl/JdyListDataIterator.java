@@ -0,0 +1,331 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package cn.toint.okjdy.core.client.impl;
+
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 查询数据列表迭代器
+ * 按数据 ID 游标分页, 消费完当前页后才请求下一页, 内存中最多保留一页数据.
+ * 开启预取后, 拿到第 N 页的最后一条数据编号就立即在后台请求第 N+1 页, 网络耗时与消费方处理耗时重叠,
+ * 预取的页数受预取深度限制, 请求仍然经过限流器, 不会超出接口频率.
+ * 消费方超过消费超时时长未取走预取的页时, 视为消费方已放弃, 停止预取.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+class JdyListDataIterator<T> implements Iterator<T>, AutoCloseable {
+    /**
+     * 单次最大数量
+     */
+    static final int ONCE_SIZE = 100;
+
+    /**
+     * 预取结束标记
+     */
+    private static final Object END = new Object();
+
+    /**
+     * 分页查询方法
+     */
+    private final PageLoader<T> pageLoader;
+
+    /**
+     * 获取数据编号的方法, 用作下一页的游标
+     */
+    private final Function<T, String> dataIdGetter;
+
+    /**
+     * 预取队列, 元素为 页数据 / 异常 / 结束标记, 未开启预取时为 null
+     */
+    @Nullable
+    private final BlockingQueue<Object> prefetchQueue;
+
+    /**
+     * 预取时等待消费方取走数据的最长时长 (纳秒)
+     */
+    private final long consumerTimeoutNanos;
+
+    /**
+     * 游标, 上一页最后一条数据编号
+     */
+    @Nullable
+    private String dataId;
+
+    /**
+     * 剩余查询数量
+     */
+    private int limit;
+
+    /**
+     * 是否已查询到最后一页
+     */
+    private boolean finished;
+
+    /**
+     * 当前页
+     */
+    private Iterator<T> page = Collections.emptyIterator();
+
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean closed;
+
+    /**
+     * 消费方是否已放弃, 即预取等待消费超时
+     */
+    private volatile boolean abandoned;
+
+    /**
+     * 已查询的页数, 预取时在后台线程累加
+     */
+    private final AtomicInteger pageCount = new AtomicInteger();
+
+    /**
+     * 关闭回调, 入参为已查询的页数
+     */
+    @Nullable
+    private IntConsumer closeListener;
+
+    JdyListDataIterator(@Nonnull final PageLoader<T> pageLoader, @Nonnull final Function<T, String> dataIdGetter, @Nullable final String dataId, final int limit) {
+        this(pageLoader, dataIdGetter, dataId, limit, null, 0, Duration.ZERO);
+    }
+
+    /**
+     * @param executor        预取线程池
+     * @param prefetchDepth   预取深度, 即最多提前查询的页数, 小于等于 0 不预取
+     * @param consumerTimeout 预取时等待消费方取走数据的最长时长, 超过后停止预取
+     */
+    JdyListDataIterator(@Nonnull final PageLoader<T> pageLoader, @Nonnull final Function<T, String> dataIdGetter, @Nullable final String dataId, final int limit,
+                        @Nullable final Executor executor, final int prefetchDepth, @Nonnull final Duration consumerTimeout) {
+        Assert.notNull(pageLoader, "pageLoader must not be null");
+        Assert.notNull(dataIdGetter, "dataIdGetter must not be null");
+        Assert.notNull(consumerTimeout, "consumerTimeout must not be null");
+        this.pageLoader = pageLoader;
+        this.consumerTimeoutNanos = consumerTimeout.toNanos();
+        this.dataIdGetter = dataIdGetter;
+        this.dataId = dataId;
+        this.limit = limit;
+        this.finished = limit <= 0;
+
+        if (executor != null && prefetchDepth > 0 && !this.finished) {
+            this.prefetchQueue = new ArrayBlockingQueue<>(prefetchDepth);
+            executor.execute(this::prefetch);
+        } else {
+            this.prefetchQueue = null;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.page.hasNext()) {
+            final List<T> nextPage = this.nextPage();
+            if (nextPage == null) {
+                return false;
+            }
+            this.page = nextPage.iterator();
+        }
+        return !this.closed;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.page.next();
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.page = Collections.emptyIterator();
+        if (this.prefetchQueue != null) {
+            this.prefetchQueue.clear();
+        }
+        if (this.closeListener != null) {
+            this.closeListener.accept(this.pageCount.get());
+        }
+    }
+
+    /**
+     * 设置关闭回调, 首次关闭时以已查询的页数调用
+     */
+    void onClose(@Nullable final IntConsumer closeListener) {
+        this.closeListener = closeListener;
+    }
+
+    /**
+     * 转换为 Stream, 关闭 Stream 时关闭迭代器
+     */
+    @Nonnull
+    Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * 获取下一页
+     *
+     * @return 下一页数据, 没有更多数据或已关闭返回 null
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    List<T> nextPage() {
+        if (this.closed) {
+            return null;
+        }
+
+        // 未开启预取, 直接查询
+        if (this.prefetchQueue == null) {
+            return this.finished ? null : this.loadPage();
+        }
+
+        // 从预取队列获取, 预取已因等待消费超时停止时不会再有数据
+        Object item = null;
+        try {
+            while (item == null) {
+                if (this.abandoned) {
+                    this.close();
+                    throw new RuntimeException("简道云数据预取等待消费超时, 后台查询已停止");
+                }
+                item = this.prefetchQueue.poll(100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.close();
+            throw new RuntimeException("简道云数据预取等待被中断", e);
+        }
+
+        if (item == END) {
+            this.close();
+            return null;
+        }
+
+        if (item instanceof RuntimeException e) {
+            this.close();
+            throw e;
+        }
+
+        if (item instanceof Throwable e) {
+            this.close();
+            throw new RuntimeException(e.getMessage(), e);
+        }
+
+        return (List<T>) item;
+    }
+
+    /**
+     * 查询下一页, 并移动游标
+     */
+    @Nonnull
+    private List<T> loadPage() {
+        final List<T> data = this.pageLoader.load(this.dataId, Math.min(this.limit, ONCE_SIZE));
+        this.pageCount.incrementAndGet();
+
+        // 扣减数量
+        this.limit -= data.size();
+
+        // 最后一页
+        final String lastDataId = data.isEmpty() ? null : this.dataIdGetter.apply(data.getLast());
+        if (data.size() < ONCE_SIZE || this.limit <= 0 || StringUtils.isBlank(lastDataId)) {
+            this.finished = true;
+        } else {
+            this.dataId = lastDataId;
+        }
+
+        return data;
+    }
+
+    /**
+     * 后台预取, 一页查询完成后立即查询下一页, 队列满时等待消费
+     */
+    private void prefetch() {
+        try {
+            while (!this.closed && !this.finished) {
+                if (!this.offer(this.loadPage())) {
+                    return;
+                }
+            }
+            this.offer(END);
+        } catch (Throwable e) {
+            this.offer(e);
+        }
+    }
+
+    /**
+     * 放入预取队列, 迭代器关闭或等待消费超时后放弃
+     *
+     * @return 是否放入成功
+     */
+    private boolean offer(@Nonnull final Object item) {
+        Assert.notNull(this.prefetchQueue, "prefetchQueue must not be null");
+        final long deadline = System.nanoTime() + this.consumerTimeoutNanos;
+        try {
+            while (!this.closed && !this.abandoned) {
+                if (this.prefetchQueue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    log.warn("简道云数据预取等待消费超时, 停止预取, 请确认 Stream 已关闭");
+                    this.abandoned = true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * 分页查询方法
+     */
+    @FunctionalInterface
+    interface PageLoader<T> {
+        /**
+         * 查询一页数据
+         *
+         * @param dataId 游标, 上一页最后一条数据编号, 第一页为 null
+         * @param limit  查询数量
+         * @return 本页数据
+         */
+        @Nonnull
+        List<T> load(@Nullable String dataId, int limit);
+    }
+}
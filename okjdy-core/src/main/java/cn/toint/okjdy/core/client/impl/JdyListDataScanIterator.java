@@ -0,0 +1,271 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package cn.toint.okjdy.core.client.impl;
+
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 并行分区查询迭代器
+ * 每个区间使用各自的 {@link JdyListDataIterator} 顺序翻页, 区间之间并发执行, 查询结果合并为一个迭代器 (区间之间不保证顺序).
+ * 合并队列有界, 消费方处理不过来时各区间暂停翻页, 超过消费超时时长仍未取走数据时, 视为消费方已放弃, 各区间停止翻页.
+ * 所有区间结束、达到查询数量、查询异常时自动关闭.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+class JdyListDataScanIterator<T> implements Iterator<T>, AutoCloseable {
+    /**
+     * 区间查询结束标记
+     */
+    private static final Object END = new Object();
+
+    /**
+     * 合并队列, 元素为 页数据 / 异常 / 区间结束标记
+     */
+    private final BlockingQueue<Object> queue;
+
+    /**
+     * 区间列表
+     */
+    private final List<Partition<T>> partitions;
+
+    /**
+     * 未结束的区间数量
+     */
+    private final AtomicInteger running;
+
+    /**
+     * 等待消费方取走数据的最长时长 (纳秒)
+     */
+    private final long consumerTimeoutNanos;
+
+    /**
+     * 当前页
+     */
+    private Iterator<T> page = Collections.emptyIterator();
+
+    /**
+     * 剩余查询数量
+     */
+    private long limit;
+
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean closed;
+
+    /**
+     * 消费方是否已放弃, 即后台等待消费超时
+     */
+    private volatile boolean abandoned;
+
+    /**
+     * @param partitions      区间列表
+     * @param executor        线程池
+     * @param parallelism     最大并发区间数
+     * @param limit           查询数量, 达到后关闭
+     * @param consumerTimeout 等待消费方取走数据的最长时长, 超过后停止查询
+     */
+    JdyListDataScanIterator(@Nonnull final List<Partition<T>> partitions, @Nonnull final Executor executor, final int parallelism,
+                            final long limit, @Nonnull final Duration consumerTimeout) {
+        Assert.notEmpty(partitions, "partitions must not be empty");
+        Assert.notNull(executor, "executor must not be null");
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+        Assert.notNull(consumerTimeout, "consumerTimeout must not be null");
+        this.partitions = partitions;
+        this.queue = new ArrayBlockingQueue<>(parallelism);
+        this.running = new AtomicInteger(partitions.size());
+        this.limit = limit;
+        this.consumerTimeoutNanos = consumerTimeout.toNanos();
+
+        final Semaphore semaphore = new Semaphore(parallelism);
+        for (final Partition<T> partition : partitions) {
+            executor.execute(() -> this.scan(partition, semaphore));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.limit <= 0) {
+            this.close();
+            return false;
+        }
+        while (!this.page.hasNext()) {
+            final List<T> nextPage = this.nextPage();
+            if (nextPage == null) {
+                return false;
+            }
+            this.page = nextPage.iterator();
+        }
+        return !this.closed;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T next = this.page.next();
+        if (--this.limit <= 0) {
+            this.close();
+        }
+        return next;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.page = Collections.emptyIterator();
+        this.partitions.forEach(partition -> partition.iterator().close());
+        this.queue.clear();
+    }
+
+    /**
+     * 转换为 Stream, 关闭 Stream 时关闭迭代器
+     */
+    @Nonnull
+    Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * 获取下一页, 所有区间都结束时关闭并返回 null, 已关闭时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> nextPage() {
+        while (!this.closed) {
+            if (this.abandoned) {
+                this.close();
+                throw new RuntimeException("简道云分区查询等待消费超时, 后台查询已停止");
+            }
+            if (this.running.get() <= 0 && this.queue.isEmpty()) {
+                this.close();
+                return null;
+            }
+
+            final Object item;
+            try {
+                item = this.queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.close();
+                throw new RuntimeException("简道云分区查询等待被中断", e);
+            }
+
+            if (item == null || item == END) {
+                continue;
+            }
+
+            if (item instanceof RuntimeException e) {
+                this.close();
+                throw e;
+            }
+
+            if (item instanceof Throwable e) {
+                this.close();
+                throw new RuntimeException(e.getMessage(), e);
+            }
+
+            return (List<T>) item;
+        }
+        return null;
+    }
+
+    /**
+     * 查询一个区间
+     */
+    private void scan(@Nonnull final Partition<T> partition, @Nonnull final Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+            try {
+                List<T> page;
+                while (this.isConsuming() && (page = partition.iterator().nextPage()) != null) {
+                    final List<T> data = page.stream().filter(partition.filter()).toList();
+                    if (!data.isEmpty() && !this.offer(data)) {
+                        break;
+                    }
+                }
+            } finally {
+                semaphore.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.offer(e);
+        } catch (Throwable e) {
+            this.offer(e);
+        } finally {
+            // 只用于唤醒消费方, 队列已满时消费方取走数据后会发现所有区间已结束, 不需要等待
+            this.running.decrementAndGet();
+            this.queue.offer(END);
+        }
+    }
+
+    /**
+     * 消费方是否仍在消费, 即未关闭且未超时放弃
+     */
+    private boolean isConsuming() {
+        return !this.closed && !this.abandoned;
+    }
+
+    /**
+     * 放入合并队列, 迭代器关闭或等待消费超时后放弃
+     *
+     * @return 是否放入成功
+     */
+    private boolean offer(@Nonnull final Object item) {
+        final long deadline = System.nanoTime() + this.consumerTimeoutNanos;
+        try {
+            while (this.isConsuming()) {
+                if (this.queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    log.warn("简道云分区查询等待消费超时, 停止后台查询, 请确认 Stream 已关闭");
+                    this.abandoned = true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * 区间
+     *
+     * @param iterator 区间迭代器
+     * @param filter   区间数据过滤, 用于排除属于相邻区间的边界数据
+     */
+    record Partition<T>(@Nonnull JdyListDataIterator<T> iterator, @Nonnull Predicate<T> filter) {
+    }
+}
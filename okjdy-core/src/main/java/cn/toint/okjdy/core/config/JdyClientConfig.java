@@ -16,9 +16,17 @@
 
 package cn.toint.okjdy.core.config;
 
+import cn.toint.okjdy.core.breaker.JdyCircuitBreaker;
+import cn.toint.okjdy.core.cache.JdyRemoteCache;
 import cn.toint.okjdy.core.constant.JdyConstant;
+import cn.toint.okjdy.core.event.JdyEventDispatcher;
 import cn.toint.okjdy.core.event.JdyRequestEvent;
-import cn.toint.okjdy.core.exception.JdyRequestLimitException;
+import cn.toint.okjdy.core.exception.JdyCircuitOpenException;
+import cn.toint.okjdy.core.limiter.JdyConcurrencyLimiter;
+import cn.toint.okjdy.core.limiter.JdyRateLimiter;
+import cn.toint.okjdy.core.limiter.impl.JdyAimdConcurrencyLimiter;
+import cn.toint.okjdy.core.limiter.impl.JdyLocalRateLimiter;
+import cn.toint.okjdy.core.metrics.JdyMetrics;
 import cn.toint.oktool.model.RetryPolicy;
 import cn.toint.oktool.util.HttpClientUtil;
 import jakarta.annotation.Nullable;
@@ -31,8 +39,10 @@ import org.dromara.hutool.http.client.engine.ClientEngine;
 import org.dromara.hutool.http.client.engine.okhttp.OkHttpEngine;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 
 /**
@@ -62,17 +72,151 @@ public class JdyClientConfig {
     private ClientEngine clientEngine = this.defaultClientEngine();
 
     /**
-     * 重试策略
+     * 重试策略, 默认指数退避 + 随机抖动, 被限流时一直重试, 其他异常重试3次
+     * 不再重试时抛出最后一次请求的异常 (如 {@link cn.toint.okjdy.core.exception.JdyRequestLimitException}), 不再抛出 oktool 的 {@code RetryException}
      */
     @NotNull
-    private List<RetryPolicy> retryPolicy = this.defaultRetryPolicies();
+    private JdyRetryPolicy jdyRetryPolicy = new JdyRetryPolicy();
+
+    /**
+     * oktool 重试策略, 不为 null 时代替 {@link #jdyRetryPolicy} 生效, 固定间隔重试, 重试后仍然异常时抛出 {@code RetryException}
+     * 默认值由固定间隔策略改为 null, 设置为 null 表示使用 {@link #jdyRetryPolicy}
+     *
+     * @deprecated 固定间隔会使同时被限流的请求同时重试, 请使用 {@link #jdyRetryPolicy}
+     */
+    @Nullable
+    @Deprecated
+    private List<RetryPolicy> retryPolicy;
+
+    /**
+     * 限流器, 按 apiKey + 接口的频率限制在请求前等待, 为 null 则不限流
+     * 默认进程内共享令牌桶, 同一 apiKey 的多个客户端共同遵守接口频率限制
+     */
+    @Nullable
+    private JdyRateLimiter rateLimiter = JdyLocalRateLimiter.getInstance();
+
+    /**
+     * 自适应并发限制器, 按简道云实际返回的限流错误码动态调整每个接口的并发上限, 为 null 则不限制
+     * 多个应用共享同一租户额度时, 固定频率往往与实际可用额度不符, 可使用 {@link JdyAimdConcurrencyLimiter#getInstance()},
+     * 并将 {@link #rateLimiter} 置为 null 以充分利用剩余额度
+     */
+    @Nullable
+    private JdyConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * 熔断器, 按接口统计失败率和慢请求比例, 超过阈值后暂停请求并抛出 {@link JdyCircuitOpenException}, 为 null 则不熔断
+     * 默认开启, 与之前版本相比, 接口持续失败时会直接抛出 {@link JdyCircuitOpenException} 而不再请求简道云
+     */
+    @Nullable
+    private JdyCircuitBreaker circuitBreaker = new JdyCircuitBreaker();
+
+    /**
+     * 异步线程池, 用于异步客户端等场景, 默认使用虚拟线程
+     */
+    @NotNull
+    private Executor asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 异步客户端的重试定时器, 为 null 则异步请求与同步客户端一样在 {@link #asyncExecutor} 的线程中等待重试
+     * 配置后, 异步客户端的单次请求 (查询、新增单条数据) 失败时不在线程中等待, 由定时器到达重试间隔后重新提交到 {@link #asyncExecutor},
+     * 适合 {@link #asyncExecutor} 为平台线程池的场景; 使用已废弃的 {@link #retryPolicy} 时不生效
+     */
+    @Nullable
+    private ScheduledExecutorService asyncRetryScheduler;
+
+    /**
+     * 查询数据列表时的预取页数, 小于等于 0 不预取
+     * 开启后, 消费方处理当前页的同时, 在异步线程池中提前查询后续页, 最多缓存该数量的页 (每页 100 条)
+     */
+    private int listDataPrefetchDepth = 0;
+
+    /**
+     * 预取或分区查询时, 后台查询等待消费方取走数据的最长时长
+     * 超过该时长消费方仍未取走数据, 视为已放弃 Stream, 后台停止查询, 之后继续消费会抛出异常
+     */
+    @NotNull
+    private Duration listDataConsumerTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 批量接口 (新建多条数据等) 的最大并发批次数, 每批 100 条
+     * 实际并发数不超过接口频率限制, 小于等于 1 时逐批顺序请求
+     */
+    private int batchParallelism = 10;
+
+    /**
+     * 上传文件的最大并发数, 小于等于 1 时逐个顺序上传
+     */
+    private int uploadParallelism = 5;
+
+    /**
+     * 表单字段缓存刷新时间, 超过该时间后访问时在后台刷新, 期间继续使用旧值
+     */
+    @NotNull
+    private Duration fieldCacheRefreshAfter = Duration.ofSeconds(30);
+
+    /**
+     * 表单字段缓存过期时间, 超过该时间未能刷新的缓存, 访问时同步重新获取
+     * 收到表单修改的 webhook 推送时可通过 {@link cn.toint.okjdy.core.client.JdyClient#onWebhook} 立即失效
+     */
+    @NotNull
+    private Duration fieldCacheExpireAfter = Duration.ofMinutes(10);
+
+    /**
+     * 元数据远程缓存 (表单字段、应用列表、表单列表), 多个节点共享, 为 null 则不使用
+     * 可使用 {@link cn.toint.okjdy.core.cache.impl.JdyRedisCache}, 配置后应用列表和表单列表同样启用本地缓存
+     */
+    @Nullable
+    private JdyRemoteCache metadataCache;
+
+    /**
+     * 元数据远程缓存过期时间
+     */
+    @NotNull
+    private Duration metadataCacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * 指标注册表 ({@code io.micrometer.core.instrument.MeterRegistry}), 记录接口耗时、流量、重试、限流、缓存命中等指标, 为 null 则不记录
+     * 默认使用全局注册表, Spring Boot Actuator 会自动将其注册表加入全局注册表.
+     * micrometer-core 为可选依赖, 因此声明为 Object, 没有 micrometer-core 时默认为 null
+     */
+    @Nullable
+    private Object meterRegistry = JdyMetrics.globalRegistry();
 
     /**
      * 请求信息异步回调, 开发者可用于记录日志等业务逻辑
+     * 事件经有界队列按批异步分发, 同一客户端的事件依次回调, 不会并发调用
      */
     @Nullable
     private Consumer<JdyRequestEvent> jdyRequestConsumer;
 
+    /**
+     * 请求信息异步批量回调, 配置后代替 {@link #jdyRequestConsumer}, 每次回调最多 {@link #requestEventBatchSize} 条, 适合批量写入日志存储
+     */
+    @Nullable
+    private Consumer<List<JdyRequestEvent>> jdyRequestBatchConsumer;
+
+    /**
+     * 请求信息队列容量
+     */
+    private int requestEventBufferSize = 1024;
+
+    /**
+     * 请求信息单次回调的最大条数
+     */
+    private int requestEventBatchSize = 64;
+
+    /**
+     * 请求信息队列已满时的策略, 默认丢弃新事件, 不影响请求
+     */
+    @NotNull
+    private JdyEventDispatcher.OverflowPolicy requestEventOverflowPolicy = JdyEventDispatcher.OverflowPolicy.DROP;
+
+    /**
+     * 请求信息采集策略, 控制请求体、响应体的采样、截断和请求头的允许列表
+     */
+    @NotNull
+    private JdyRequestCapturePolicy requestCapturePolicy = new JdyRequestCapturePolicy();
+
     public JdyClientConfig(final String apiKey) {
         Assert.notBlank(apiKey, "apiKey must not be blank");
         this.apiKey = apiKey;
@@ -86,16 +230,4 @@ public class JdyClientConfig {
                 .setTimeout((int) Duration.ofSeconds(10).toMillis());
         return HttpClientUtil.clientEngine(OkHttpEngine.class, clientConfig);
     }
-
-    /**
-     * 默认重试策略
-     */
-    private List<RetryPolicy> defaultRetryPolicies() {
-        final List<RetryPolicy> retryPolicies = new ArrayList<>();
-        // 限流, 一直重试
-        retryPolicies.add(new RetryPolicy(Integer.MAX_VALUE, Duration.ofSeconds(1), JdyRequestLimitException.class, true));
-        // 其他异常, 重试3次
-        retryPolicies.add(new RetryPolicy(3, Duration.ofSeconds(1), Exception.class, true));
-        return retryPolicies;
-    }
 }
\ No newline at end of file
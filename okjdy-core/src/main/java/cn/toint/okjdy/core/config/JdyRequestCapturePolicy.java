@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.config;
+
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 请求信息采集策略
+ * 请求元数据 (地址、状态码、耗时等) 每次请求都会采集, 请求体和响应体按本策略决定是否采集:
+ * 失败或过慢的请求只要未关闭采集就会采集, 其他请求在 {@link CaptureMode#ALWAYS} 模式下按采样率采集.
+ * 响应体在解析的同时复制前 {@link #maxResponseBodySize} 个字节, 不会为采集再读取一份完整的响应体.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Data
+public class JdyRequestCapturePolicy {
+    /**
+     * 请求体、响应体采集模式
+     */
+    @NotNull
+    private CaptureMode captureMode = CaptureMode.ALWAYS;
+
+    /**
+     * 成功且不慢的请求采集请求体、响应体的比例, [0, 1], 仅 {@link CaptureMode#ALWAYS} 模式生效
+     */
+    private double sampleRate = 1;
+
+    /**
+     * 慢请求耗时阈值, 达到该耗时的请求视为慢请求
+     */
+    @NotNull
+    private Duration slowThreshold = Duration.ofSeconds(3);
+
+    /**
+     * 请求体最大字节数, 超出部分截断
+     */
+    private int maxRequestBodySize = 64 * 1024;
+
+    /**
+     * 响应体最大字节数, 超出部分截断
+     */
+    private int maxResponseBodySize = 64 * 1024;
+
+    /**
+     * 采集的请求头、响应头名称 (不区分大小写), 为 null 时采集除 Authorization 以外的所有请求头
+     */
+    @Nullable
+    private Set<String> headerAllowList;
+
+    /**
+     * 本次请求是否需要在读取响应时复制响应体
+     * 失败或过慢要等请求结束才能确定, 因此只要未关闭采集就需要复制
+     */
+    public boolean isCaptureEnabled() {
+        return this.captureMode != CaptureMode.NONE && (this.maxRequestBodySize > 0 || this.maxResponseBodySize > 0);
+    }
+
+    /**
+     * 请求结束后判断是否保留请求体、响应体
+     *
+     * @param error    是否失败 (抛出异常或状态码大于等于 400)
+     * @param duration 请求耗时
+     * @return 是否保留
+     */
+    public boolean shouldCapture(final boolean error, @Nonnull final Duration duration) {
+        Assert.notNull(duration, "duration must not be null");
+        if (this.captureMode == CaptureMode.NONE) {
+            return false;
+        }
+        if (error || duration.compareTo(this.slowThreshold) >= 0) {
+            return true;
+        }
+        return this.captureMode == CaptureMode.ALWAYS
+                && (this.sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < this.sampleRate);
+    }
+
+    /**
+     * 按允许列表过滤请求头、响应头
+     *
+     * @param headers 请求头或响应头
+     * @return 过滤后的请求头或响应头
+     */
+    @Nullable
+    public Map<String, ? extends Collection<String>> filterHeaders(@Nullable final Map<String, ? extends Collection<String>> headers) {
+        if (headers == null) {
+            return null;
+        }
+
+        final Map<String, Collection<String>> filtered = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            if (name != null && this.isHeaderAllowed(name)) {
+                filtered.put(name, values);
+            }
+        });
+        return filtered;
+    }
+
+    private boolean isHeaderAllowed(@Nonnull final String name) {
+        if (this.headerAllowList == null) {
+            return !HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name);
+        }
+        return this.headerAllowList.stream().anyMatch(name::equalsIgnoreCase);
+    }
+
+    /**
+     * 请求体、响应体采集模式
+     */
+    public enum CaptureMode {
+        /**
+         * 不采集
+         */
+        NONE,
+        /**
+         * 仅采集失败或过慢的请求
+         */
+        ERROR_OR_SLOW,
+        /**
+         * 采集失败或过慢的请求, 其他请求按采样率采集
+         */
+        ALWAYS
+    }
+}
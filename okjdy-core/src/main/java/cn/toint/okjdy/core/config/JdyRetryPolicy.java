@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.config;
+
+import cn.toint.okjdy.core.breaker.JdyRetryBudget;
+import cn.toint.okjdy.core.exception.JdyCircuitOpenException;
+import cn.toint.okjdy.core.exception.JdyRequestLimitException;
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * 简道云重试策略
+ * 重试间隔按指数退避并加入去相关抖动 (decorrelated jitter): 下一次间隔在 [初始间隔, 上一次间隔 * 3] 之间随机, 且不超过最大间隔,
+ * 同时被限流的多个线程不会在同一时刻再次请求.
+ * 被限流时默认一直重试 (与 oktool 默认策略一致), 可通过最大重试次数或最大重试时长限制, 其他异常的重试还受重试预算限制.
+ * 不再重试时抛出最后一次请求的异常, 不再包装为 oktool 的 {@code RetryException}.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Data
+public class JdyRetryPolicy {
+    /**
+     * 被限流 ({@link JdyRequestLimitException}) 时的最大重试次数, 默认不限制
+     */
+    private int maxLimitRetries = Integer.MAX_VALUE;
+
+    /**
+     * 其他异常的最大重试次数
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 初始重试间隔
+     */
+    @NotNull
+    private Duration baseDelay = Duration.ofMillis(200);
+
+    /**
+     * 最大重试间隔
+     */
+    @NotNull
+    private Duration maxDelay = Duration.ofSeconds(10);
+
+    /**
+     * 最大重试时长, 从第一次请求开始计算, 超过后不再重试, 为 null 则不限制
+     */
+    @Nullable
+    private Duration maxDuration;
+
+    /**
+     * 可以重试的异常, {@link JdyCircuitOpenException} 始终不重试
+     */
+    @NotNull
+    private Predicate<Throwable> retryOn = e -> e instanceof Exception;
+
+    /**
+     * 重试预算, 限制被限流以外的重试次数占请求次数的比例, 为 null 则不限制
+     * 同一策略的所有接口共享预算, 被限流的重试已由限流器控制频率, 不占用预算
+     */
+    @Nullable
+    private JdyRetryBudget retryBudget = new JdyRetryBudget();
+
+    /**
+     * 计算下一次重试间隔
+     *
+     * @param e            本次请求的异常
+     * @param retries      已重试次数 (不区分异常类型)
+     * @param limitRetries 已因限流重试的次数
+     * @param prevDelay    上一次重试间隔, 第一次重试为 null
+     * @param elapsed      从第一次请求开始已经过的时长
+     * @return 下一次重试间隔, 不再重试返回 null; 被限流以外的异常返回非 null 时已占用一次重试预算
+     */
+    @Nullable
+    public Duration nextDelay(@Nonnull final Throwable e, final int retries, final int limitRetries,
+                              @Nullable final Duration prevDelay, @Nonnull final Duration elapsed) {
+        Assert.notNull(e, "e must not be null");
+        Assert.notNull(elapsed, "elapsed must not be null");
+
+        if (e instanceof JdyCircuitOpenException || !this.retryOn.test(e)) {
+            return null;
+        }
+        if (e instanceof JdyRequestLimitException) {
+            if (limitRetries >= this.maxLimitRetries) {
+                return null;
+            }
+        } else if (retries - limitRetries >= this.maxRetries) {
+            return null;
+        }
+
+        final long baseMillis = this.baseDelay.toMillis();
+        final long maxMillis = this.maxDelay.toMillis();
+        final long prevMillis = prevDelay == null ? baseMillis : prevDelay.toMillis();
+        final long upperMillis = Math.min(maxMillis, Math.max(baseMillis, prevMillis) * 3);
+        final long delayMillis = upperMillis <= baseMillis ? upperMillis : ThreadLocalRandom.current().nextLong(baseMillis, upperMillis + 1);
+
+        final Duration delay = Duration.ofMillis(delayMillis);
+        if (this.maxDuration != null && elapsed.plus(delay).compareTo(this.maxDuration) > 0) {
+            return null;
+        }
+        if (this.retryBudget != null && !(e instanceof JdyRequestLimitException) && !this.retryBudget.tryRetry()) {
+            return null;
+        }
+        return delay;
+    }
+}
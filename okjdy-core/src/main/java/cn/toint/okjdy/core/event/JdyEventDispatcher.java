@@ -0,0 +1,257 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.event;
+
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 有界异步事件分发器
+ * 事件先放入固定容量的队列, 由异步线程池中的单个任务按批取出并交给处理方法, 队列为空时任务结束, 不常驻线程.
+ * 队列已满时按溢出策略丢弃事件或阻塞生产方, 处理方法较慢时不会无限创建线程或堆积事件.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+public class JdyEventDispatcher<E> {
+    /**
+     * 事件队列
+     */
+    private final BlockingQueue<E> queue;
+
+    /**
+     * 批处理方法
+     */
+    private final Consumer<List<E>> handler;
+
+    /**
+     * 执行处理方法的线程池
+     */
+    private final Executor executor;
+
+    /**
+     * 单批最大事件数
+     */
+    private final int batchSize;
+
+    /**
+     * 队列已满时的策略
+     */
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * 是否有处理任务在运行
+     */
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /**
+     * 丢弃的事件数
+     */
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * 已处理的事件数
+     */
+    private final LongAdder dispatchedCount = new LongAdder();
+
+    /**
+     * 处理失败的事件数
+     */
+    private final LongAdder failedCount = new LongAdder();
+
+    /**
+     * 当前批次中由处理方法自行记录的失败事件数
+     */
+    private final AtomicInteger batchFailedCount = new AtomicInteger();
+
+    /**
+     * @param handler        批处理方法
+     * @param executor       执行处理方法的线程池
+     * @param capacity       队列容量
+     * @param batchSize      单批最大事件数
+     * @param overflowPolicy 队列已满时的策略
+     */
+    public JdyEventDispatcher(@Nonnull final Consumer<List<E>> handler, @Nonnull final Executor executor,
+                              final int capacity, final int batchSize, @Nonnull final OverflowPolicy overflowPolicy) {
+        Assert.notNull(handler, "handler must not be null");
+        Assert.notNull(executor, "executor must not be null");
+        Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+        Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+        Assert.notNull(overflowPolicy, "overflowPolicy must not be null");
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.handler = handler;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * 提交事件
+     *
+     * @param event 事件
+     * @return 是否已放入队列, 被丢弃返回 false
+     */
+    public boolean publish(@Nonnull final E event) {
+        Assert.notNull(event, "event must not be null");
+
+        final boolean accepted;
+        if (this.overflowPolicy == OverflowPolicy.BLOCK) {
+            accepted = this.put(event);
+        } else {
+            accepted = this.queue.offer(event);
+        }
+
+        if (!accepted) {
+            this.droppedCount.increment();
+            return false;
+        }
+
+        this.scheduleDrain();
+        return true;
+    }
+
+    /**
+     * 队列是否还有空位, 可用于在构建较大的事件前判断是否会被丢弃
+     */
+    public boolean hasCapacity() {
+        return this.overflowPolicy == OverflowPolicy.BLOCK || this.queue.remainingCapacity() > 0;
+    }
+
+    /**
+     * 记录一个未提交就丢弃的事件, 用于调用方通过 {@link #hasCapacity()} 判断队列已满而跳过提交的情况
+     */
+    public void recordDropped() {
+        this.droppedCount.increment();
+    }
+
+    /**
+     * 记录一个处理失败的事件, 用于处理方法逐条处理并自行捕获异常的情况, 只能在处理方法中调用
+     * 该事件计入失败数, 不计入已处理数
+     */
+    public void recordFailed() {
+        this.batchFailedCount.incrementAndGet();
+    }
+
+    /**
+     * 丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.sum();
+    }
+
+    /**
+     * 已处理的事件数
+     */
+    public long getDispatchedCount() {
+        return this.dispatchedCount.sum();
+    }
+
+    /**
+     * 处理失败的事件数, 包括处理方法抛出异常的整批事件和处理方法自行记录的失败事件
+     */
+    public long getFailedCount() {
+        return this.failedCount.sum();
+    }
+
+    /**
+     * 队列中等待处理的事件数
+     */
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    private boolean put(final E event) {
+        try {
+            this.queue.put(event);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 没有处理任务在运行时提交一个
+     */
+    private void scheduleDrain() {
+        if (!this.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.executor.execute(this::drain);
+        } catch (Exception e) {
+            this.draining.set(false);
+            log.warn("简道云事件分发任务提交失败, cause: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按批处理队列中的事件, 队列为空时结束
+     */
+    private void drain() {
+        final List<E> batch = new ArrayList<>(this.batchSize);
+        while (true) {
+            this.queue.drainTo(batch, this.batchSize);
+            if (batch.isEmpty()) {
+                this.draining.set(false);
+                // 结束前再次检查, 避免遗漏结束期间放入的事件
+                if (this.queue.isEmpty() || !this.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+
+            this.batchFailedCount.set(0);
+            try {
+                this.handler.accept(batch);
+                final int failed = Math.min(this.batchFailedCount.get(), batch.size());
+                this.dispatchedCount.add(batch.size() - failed);
+                this.failedCount.add(failed);
+            } catch (Exception e) {
+                this.failedCount.add(batch.size());
+                log.warn("简道云事件处理异常, cause: {}", e.getMessage(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * 队列已满时的策略
+     */
+    public enum OverflowPolicy {
+        /**
+         * 丢弃新事件, 生产方不等待
+         */
+        DROP,
+        /**
+         * 阻塞生产方直到队列有空位
+         */
+        BLOCK
+    }
+}
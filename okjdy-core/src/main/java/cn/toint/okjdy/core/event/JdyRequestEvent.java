@@ -55,6 +55,11 @@ public class JdyRequestEvent extends ApplicationEvent {
          */
         private String requestBody;
 
+        /**
+         * 请求体是否被截断
+         */
+        private Boolean requestBodyTruncated;
+
         /**
          * 请求头
          */
@@ -65,6 +70,11 @@ public class JdyRequestEvent extends ApplicationEvent {
          */
         private String responseBody;
 
+        /**
+         * 响应体是否被截断
+         */
+        private Boolean responseBodyTruncated;
+
         /**
          * 响应头
          */
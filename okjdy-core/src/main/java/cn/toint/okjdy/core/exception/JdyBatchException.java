@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.exception;
+
+import jakarta.annotation.Nonnull;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 简道云批量操作部分失败异常
+ * 批量操作按 100 条一批并发请求, 某一批失败不会中断其他批次, 所有批次结束后抛出本异常, 携带已成功部分的结果
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Getter
+public class JdyBatchException extends RuntimeException {
+    /**
+     * 成功数量
+     */
+    private final int successCount;
+
+    /**
+     * 成功的数据 ID 列表 (按输入顺序), 仅新增多条数据时有值
+     */
+    @Nonnull
+    private final List<String> successIds;
+
+    /**
+     * 失败的批次
+     * k: 批次下标 (从 0 开始, 每批 100 条), v: 失败原因
+     */
+    @Nonnull
+    private final Map<Integer, Throwable> failures;
+
+    public JdyBatchException(final int successCount, @Nonnull final List<String> successIds, @Nonnull final Map<Integer, Throwable> failures) {
+        super("简道云批量操作部分失败, 成功数量: " + successCount + ", 失败批次: " + failures.keySet(),
+                failures.values().stream().findFirst().orElse(null));
+        this.successCount = successCount;
+        this.successIds = Collections.unmodifiableList(successIds);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.exception;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import jakarta.annotation.Nonnull;
+import lombok.Getter;
+
+/**
+ * 简道云接口熔断异常
+ * 接口近期失败率或慢请求比例过高, 熔断器打开期间请求不会发出, 直接抛出本异常, 不会重试
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Getter
+public class JdyCircuitOpenException extends RuntimeException {
+    /**
+     * 被熔断的接口
+     */
+    @Nonnull
+    private final JdyUrlEnum jdyUrlEnum;
+
+    public JdyCircuitOpenException(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+        super("简道云接口已熔断, 暂停请求: " + jdyUrlEnum.name());
+        this.jdyUrlEnum = jdyUrlEnum;
+    }
+}
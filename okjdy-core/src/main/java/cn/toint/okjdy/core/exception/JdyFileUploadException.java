@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.exception;
+
+import cn.toint.okjdy.core.model.JdyFileUploadResponse;
+import jakarta.annotation.Nonnull;
+import lombok.Getter;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 简道云文件上传部分失败异常
+ * 文件并发上传, 某个文件失败不会中断其他文件, 全部结束后抛出本异常, 携带已上传成功的文件
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Getter
+public class JdyFileUploadException extends RuntimeException {
+    /**
+     * 已上传成功的文件, 可使用同一个 transactionId 重新上传失败的文件
+     */
+    @Nonnull
+    private final JdyFileUploadResponse jdyFileUploadResponse;
+
+    /**
+     * 上传失败的文件
+     * k: 文件, v: 失败原因
+     */
+    @Nonnull
+    private final Map<File, Throwable> failures;
+
+    public JdyFileUploadException(@Nonnull final JdyFileUploadResponse jdyFileUploadResponse, @Nonnull final Map<File, Throwable> failures) {
+        super("简道云文件上传部分失败, 成功数量: " + jdyFileUploadResponse.getFileKeyMap().size() + ", 失败文件: " + failures.keySet(),
+                failures.values().stream().findFirst().orElse(null));
+        this.jdyFileUploadResponse = jdyFileUploadResponse;
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.exception;
+
+import cn.toint.okjdy.core.model.JdyUploadResponse;
+import jakarta.annotation.Nonnull;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 简道云按名称上传文件部分失败异常
+ *
+ * @author Toint
+ * @date 2025/7/1
+ * @see JdyFileUploadException
+ */
+@Getter
+public class JdyUploadException extends RuntimeException {
+    /**
+     * 已上传成功的文件, 可使用同一个 transactionId 重新上传失败的文件
+     */
+    @Nonnull
+    private final JdyUploadResponse jdyUploadResponse;
+
+    /**
+     * 上传失败的文件
+     * k: 名称, v: 失败原因
+     */
+    @Nonnull
+    private final Map<String, Throwable> failures;
+
+    public JdyUploadException(@Nonnull final JdyUploadResponse jdyUploadResponse, @Nonnull final Map<String, Throwable> failures) {
+        super("简道云文件上传部分失败, 成功数量: " + jdyUploadResponse.getKeyMap().size() + ", 失败文件: " + failures.keySet(),
+                failures.values().stream().findFirst().orElse(null));
+        this.jdyUploadResponse = jdyUploadResponse;
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+}
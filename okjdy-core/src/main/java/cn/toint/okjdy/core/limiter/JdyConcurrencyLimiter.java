@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.limiter;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import jakarta.annotation.Nonnull;
+
+/**
+ * 简道云客户端并发限制器
+ * 按 apiKey + 接口维度限制同时进行中的请求数, 根据请求结果动态调整并发上限.
+ * 与 {@link JdyRateLimiter} 的固定频率不同, 并发上限随简道云实际返回的限流错误码变化, 适用于多个应用共享同一租户额度的场景.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public interface JdyConcurrencyLimiter {
+    /**
+     * 获取一次请求许可, 若进行中的请求数已达上限则阻塞至有请求完成
+     * 请求结束后必须调用许可的结果方法, 多次调用时只有第一次生效
+     *
+     * @param apiKey     apiKey
+     * @param jdyUrlEnum 请求的接口
+     * @return 请求许可
+     */
+    @Nonnull
+    Permit acquire(@Nonnull String apiKey, @Nonnull JdyUrlEnum jdyUrlEnum);
+
+    /**
+     * 请求许可
+     */
+    interface Permit {
+        /**
+         * 请求成功, 释放许可并可能提高并发上限
+         */
+        void onSuccess();
+
+        /**
+         * 请求被简道云限流 (8303/8304), 释放许可并降低并发上限
+         */
+        void onLimited();
+
+        /**
+         * 请求因其他原因失败, 只释放许可, 不调整并发上限
+         */
+        void onIgnore();
+    }
+}
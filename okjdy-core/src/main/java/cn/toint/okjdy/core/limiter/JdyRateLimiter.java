@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package cn.toint.okjdy.core.limiter;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import jakarta.annotation.Nonnull;
+
+/**
+ * 简道云客户端限流器
+ * 按 apiKey + 接口维度控制请求频率, 在请求发出前阻塞等待, 避免触发简道云的 8303/8304 限流
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public interface JdyRateLimiter {
+    /**
+     * 获取一次请求许可, 若超出频率则阻塞至可以请求
+     *
+     * @param apiKey     apiKey
+     * @param jdyUrlEnum 请求的接口
+     */
+    void acquire(@Nonnull String apiKey, @Nonnull JdyUrlEnum jdyUrlEnum);
+}
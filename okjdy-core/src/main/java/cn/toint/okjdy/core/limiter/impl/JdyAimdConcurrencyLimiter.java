@@ -0,0 +1,272 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.limiter.impl;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.limiter.JdyConcurrencyLimiter;
+import cn.toint.okjdy.core.util.JdyUtil;
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD 自适应并发限制器
+ * 每个 apiKey + 接口对应一个并发上限, 初始值为接口频率限制 {@link JdyUrlEnum#getQps()}.
+ * 请求成功且并发已被充分使用时, 上限加性增加 (每个上限周期 +1); 请求被限流时, 上限乘性降低, 从而自动逼近实际可用额度.
+ * 同一时间被限流的多个请求只降低一次上限, 避免一次突发限流把上限降到最低.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyAimdConcurrencyLimiter implements JdyConcurrencyLimiter {
+    /**
+     * 默认实例, 同一进程内相同 apiKey 的客户端共享并发上限
+     */
+    private static final JdyAimdConcurrencyLimiter INSTANCE = new JdyAimdConcurrencyLimiter();
+
+    /**
+     * 最小并发上限
+     */
+    private final int minLimit;
+
+    /**
+     * 最大并发上限
+     */
+    private final int maxLimit;
+
+    /**
+     * 被限流时上限的缩减比例, (0, 1)
+     */
+    private final double backoffRatio;
+
+    /**
+     * 并发上限
+     * k: apiKey 摘要 + 接口
+     * v: 并发上限
+     */
+    private final Map<String, Limit> limitMap = new ConcurrentHashMap<>();
+
+    /**
+     * 并发上限范围 [1, 200], 被限流时上限减半
+     */
+    public JdyAimdConcurrencyLimiter() {
+        this(1, 200, 0.5);
+    }
+
+    /**
+     * @param minLimit     最小并发上限
+     * @param maxLimit     最大并发上限
+     * @param backoffRatio 被限流时上限的缩减比例, (0, 1)
+     */
+    public JdyAimdConcurrencyLimiter(final int minLimit, final int maxLimit, final double backoffRatio) {
+        Assert.isTrue(minLimit > 0, "minLimit must be greater than 0");
+        Assert.isTrue(maxLimit >= minLimit, "maxLimit must be greater than or equal to minLimit");
+        Assert.isTrue(backoffRatio > 0 && backoffRatio < 1, "backoffRatio must be in (0, 1)");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Nonnull
+    public static JdyAimdConcurrencyLimiter getInstance() {
+        return INSTANCE;
+    }
+
+    @Nonnull
+    @Override
+    public Permit acquire(@Nonnull final String apiKey, @Nonnull final JdyUrlEnum jdyUrlEnum) {
+        Assert.notBlank(apiKey, "apiKey must not be blank");
+        Assert.notNull(jdyUrlEnum, "jdyUrlEnum must not be null");
+
+        final String apiKeyDigest = JdyUtil.digestApiKey(apiKey);
+        final Limit limit = this.limitMap.computeIfAbsent(apiKeyDigest + ":" + jdyUrlEnum.name(), key -> new Limit(apiKeyDigest, jdyUrlEnum));
+        return limit.acquire();
+    }
+
+    /**
+     * 当前所有并发上限的快照, 可用于监控
+     *
+     * @return 快照列表
+     */
+    @Nonnull
+    public List<Snapshot> snapshots() {
+        final List<Snapshot> snapshots = new ArrayList<>(this.limitMap.size());
+        this.limitMap.values().forEach(limit -> snapshots.add(limit.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * 指定 apiKey + 接口的并发上限快照, 可用于监控
+     *
+     * @param apiKeyDigest apiKey 摘要, 见 {@link JdyUtil#digestApiKey}
+     * @param jdyUrlEnum   接口
+     * @return 快照, 尚未请求过该接口时返回 null
+     */
+    @Nullable
+    public Snapshot snapshot(@Nonnull final String apiKeyDigest, @Nonnull final JdyUrlEnum jdyUrlEnum) {
+        final Limit limit = this.limitMap.get(apiKeyDigest + ":" + jdyUrlEnum.name());
+        return limit == null ? null : limit.snapshot();
+    }
+
+    /**
+     * 并发上限快照
+     *
+     * @param apiKeyDigest  apiKey 摘要, 不暴露 apiKey 原文
+     * @param jdyUrlEnum    接口
+     * @param limit         当前并发上限
+     * @param inflight      进行中的请求数
+     * @param limitedCount  累计被限流次数
+     * @param backoffCount  累计降低上限次数
+     */
+    public record Snapshot(String apiKeyDigest, JdyUrlEnum jdyUrlEnum, int limit, int inflight, long limitedCount, long backoffCount) {
+    }
+
+    /**
+     * 单个 apiKey + 接口的并发上限
+     */
+    private class Limit {
+        private final String apiKeyDigest;
+
+        private final JdyUrlEnum jdyUrlEnum;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Condition available = this.lock.newCondition();
+
+        /**
+         * 并发上限, 使用小数累计加性增长
+         */
+        private double limit;
+
+        private int inflight;
+
+        /**
+         * 上限降低的代数, 许可只在其获取时的代数内触发降低
+         */
+        private long epoch;
+
+        private long limitedCount;
+
+        private Limit(final String apiKeyDigest, final JdyUrlEnum jdyUrlEnum) {
+            this.apiKeyDigest = apiKeyDigest;
+            this.jdyUrlEnum = jdyUrlEnum;
+            this.limit = Math.clamp(jdyUrlEnum.getQps(), JdyAimdConcurrencyLimiter.this.minLimit, JdyAimdConcurrencyLimiter.this.maxLimit);
+        }
+
+        private Permit acquire() {
+            this.lock.lock();
+            try {
+                while (this.inflight >= (int) this.limit) {
+                    this.available.await();
+                }
+                this.inflight++;
+                return new LimitPermit(this, this.epoch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("简道云请求并发等待被中断", e);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private void release(final long permitEpoch, final Outcome outcome) {
+            this.lock.lock();
+            try {
+                // 并发被充分使用时才提高上限, 避免低负载时上限无限增长
+                final boolean saturated = this.inflight * 2 >= this.limit;
+                this.inflight--;
+                if (outcome == Outcome.SUCCESS && saturated) {
+                    this.limit = Math.min(JdyAimdConcurrencyLimiter.this.maxLimit, this.limit + 1 / this.limit);
+                } else if (outcome == Outcome.LIMITED) {
+                    this.limitedCount++;
+                    // 同一代数内获取的许可只降低一次
+                    if (permitEpoch == this.epoch) {
+                        this.limit = Math.max(JdyAimdConcurrencyLimiter.this.minLimit, this.limit * JdyAimdConcurrencyLimiter.this.backoffRatio);
+                        this.epoch++;
+                    }
+                }
+                this.available.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private Snapshot snapshot() {
+            this.lock.lock();
+            try {
+                return new Snapshot(this.apiKeyDigest, this.jdyUrlEnum, (int) this.limit, this.inflight, this.limitedCount, this.epoch);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 请求许可, 重复调用结果方法只生效一次
+     */
+    private static class LimitPermit implements Permit {
+        private final Limit limit;
+
+        private final long epoch;
+
+        private boolean released;
+
+        private LimitPermit(final Limit limit, final long epoch) {
+            this.limit = limit;
+            this.epoch = epoch;
+        }
+
+        @Override
+        public void onSuccess() {
+            this.release(Outcome.SUCCESS);
+        }
+
+        @Override
+        public void onLimited() {
+            this.release(Outcome.LIMITED);
+        }
+
+        @Override
+        public void onIgnore() {
+            this.release(Outcome.IGNORE);
+        }
+
+        private void release(final Outcome outcome) {
+            if (this.released) {
+                return;
+            }
+            this.released = true;
+            this.limit.release(this.epoch, outcome);
+        }
+    }
+
+    /**
+     * 请求结果
+     */
+    private enum Outcome {
+        SUCCESS,
+        LIMITED,
+        IGNORE
+    }
+}
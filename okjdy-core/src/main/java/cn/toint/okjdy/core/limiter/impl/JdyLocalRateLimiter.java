@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package cn.toint.okjdy.core.limiter.impl;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.limiter.JdyRateLimiter;
+import cn.toint.okjdy.core.util.JdyUtil;
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 本地令牌桶限流器
+ * 每个 apiKey + 接口对应一个令牌桶, 按 {@link JdyUrlEnum#getQps()} 匀速发放令牌.
+ * 简道云按秒统计请求次数, 桶容量固定为 1, 请求被均匀分布到每秒内, 不会出现突发请求.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyLocalRateLimiter implements JdyRateLimiter {
+    /**
+     * 默认实例, 同一进程内相同 apiKey 的客户端共享令牌桶
+     */
+    private static final JdyLocalRateLimiter INSTANCE = new JdyLocalRateLimiter();
+
+    /**
+     * 令牌桶
+     * k: apiKey 摘要 + 接口, 不在内存中保留 apiKey 明文
+     * v: 令牌桶
+     */
+    private final Map<String, TokenBucket> bucketMap = new ConcurrentHashMap<>();
+
+    /**
+     * 时钟 (纳秒)
+     */
+    private final LongSupplier ticker;
+
+    public JdyLocalRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param ticker 时钟 (纳秒), 测试时可替换
+     */
+    JdyLocalRateLimiter(@Nonnull final LongSupplier ticker) {
+        Assert.notNull(ticker, "ticker must not be null");
+        this.ticker = ticker;
+    }
+
+    @Nonnull
+    public static JdyLocalRateLimiter getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void acquire(@Nonnull final String apiKey, @Nonnull final JdyUrlEnum jdyUrlEnum) {
+        final long waitNanos = this.reserve(apiKey, jdyUrlEnum);
+        if (waitNanos <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("简道云请求限流等待被中断", e);
+        }
+    }
+
+    /**
+     * 预占 apiKey + 接口的一个令牌
+     *
+     * @return 需要等待的纳秒数, 小于等于 0 表示无需等待
+     */
+    long reserve(@Nonnull final String apiKey, @Nonnull final JdyUrlEnum jdyUrlEnum) {
+        Assert.notBlank(apiKey, "apiKey must not be blank");
+        Assert.notNull(jdyUrlEnum, "jdyUrlEnum must not be null");
+
+        final TokenBucket tokenBucket = this.bucketMap.computeIfAbsent(JdyUtil.digestApiKey(apiKey) + ":" + jdyUrlEnum.name(),
+                key -> new TokenBucket(jdyUrlEnum.getQps()));
+        return tokenBucket.reserve();
+    }
+
+    /**
+     * 令牌桶
+     */
+    private class TokenBucket {
+        /**
+         * 令牌发放间隔
+         */
+        private final long intervalNanos;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * 下一个令牌的发放时间
+         */
+        private long nextFreeNanos = JdyLocalRateLimiter.this.ticker.getAsLong();
+
+        private TokenBucket(final Integer qps) {
+            Assert.isTrue(qps != null && qps > 0, "qps must be greater than 0");
+            this.intervalNanos = Duration.ofSeconds(1).toNanos() / qps;
+        }
+
+        /**
+         * 预占一个令牌
+         *
+         * @return 需要等待的纳秒数, 小于等于 0 表示无需等待
+         */
+        private long reserve() {
+            this.lock.lock();
+            try {
+                final long now = JdyLocalRateLimiter.this.ticker.getAsLong();
+                final long start = Math.max(this.nextFreeNanos, now);
+                this.nextFreeNanos = start + this.intervalNanos;
+                return start - now;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+}
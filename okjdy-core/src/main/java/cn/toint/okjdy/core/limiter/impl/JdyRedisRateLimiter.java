@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.limiter.impl;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.limiter.JdyRateLimiter;
+import cn.toint.okjdy.core.util.JdyUtil;
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 分布式限流器
+ * 简道云按 apiKey 统计请求频率, 多个进程共用同一个 apiKey 时, 需要在集群范围内共享令牌桶.
+ * 与 {@link JdyLocalRateLimiter} 相同, 每个 apiKey + 接口对应一个容量为 1 的令牌桶, 由 Lua 脚本在 Redis 中原子地预占令牌,
+ * 时间取 Redis 服务器时间, 不受各节点时钟偏差影响.
+ * Redis 不可用时降级为本地限流器.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+public class JdyRedisRateLimiter implements JdyRateLimiter {
+    /**
+     * 预占令牌脚本
+     * KEYS[1]: 令牌桶 key
+     * ARGV[1]: 令牌发放间隔 (微秒)
+     * 返回需要等待的微秒数
+     */
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local next = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local start = math.max(next, now)
+            redis.call('SET', KEYS[1], start + interval, 'PX', math.ceil((start + interval - now) / 1000) + 1000)
+            return start - now
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 实际使用的频率占接口频率限制的比例, 为网络抖动预留余量
+     */
+    private final double qpsRatio;
+
+    /**
+     * Redis 不可用时使用的限流器
+     */
+    private final JdyRateLimiter fallback;
+
+    /**
+     * 按接口频率限制的 90% 限流, Redis 不可用时降级为进程内共享的本地限流器
+     */
+    public JdyRedisRateLimiter(@Nonnull final StringRedisTemplate redisTemplate) {
+        this(redisTemplate, 0.9, JdyLocalRateLimiter.getInstance());
+    }
+
+    /**
+     * @param redisTemplate redisTemplate
+     * @param qpsRatio      实际使用的频率占接口频率限制的比例, (0, 1]
+     * @param fallback      Redis 不可用时使用的限流器
+     */
+    public JdyRedisRateLimiter(@Nonnull final StringRedisTemplate redisTemplate, final double qpsRatio, @Nonnull final JdyRateLimiter fallback) {
+        Assert.notNull(redisTemplate, "redisTemplate must not be null");
+        Assert.isTrue(qpsRatio > 0 && qpsRatio <= 1, "qpsRatio must be in (0, 1]");
+        Assert.notNull(fallback, "fallback must not be null");
+        this.redisTemplate = redisTemplate;
+        this.qpsRatio = qpsRatio;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void acquire(@Nonnull final String apiKey, @Nonnull final JdyUrlEnum jdyUrlEnum) {
+        Assert.notBlank(apiKey, "apiKey must not be blank");
+        Assert.notNull(jdyUrlEnum, "jdyUrlEnum must not be null");
+
+        final long waitMicros;
+        try {
+            final long intervalMicros = (long) (Duration.ofSeconds(1).toNanos() / 1000 / (jdyUrlEnum.getQps() * this.qpsRatio));
+            final String key = "okjdy:limiter:" + JdyUtil.digestApiKey(apiKey) + ":" + jdyUrlEnum.name();
+            final Long result = this.redisTemplate.execute(RESERVE_SCRIPT, List.of(key), String.valueOf(intervalMicros));
+            Assert.notNull(result, "redis script result must not be null");
+            waitMicros = result;
+        } catch (Exception e) {
+            log.warn("简道云分布式限流不可用, 降级为本地限流, cause: {}", e.getMessage());
+            this.fallback.acquire(apiKey, jdyUrlEnum);
+            return;
+        }
+
+        if (waitMicros <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.MICROSECONDS.sleep(waitMicros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("简道云请求限流等待被中断", e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.metrics;
+
+import cn.toint.okjdy.core.cache.JdyLoadingCache;
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.event.JdyEventDispatcher;
+import cn.toint.okjdy.core.limiter.impl.JdyAimdConcurrencyLimiter;
+import cn.toint.okjdy.core.metrics.impl.JdyMicrometerMetrics;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.dromara.hutool.core.classloader.ClassLoaderUtil;
+
+/**
+ * 简道云客户端指标
+ * 记录接口耗时、流量、重试、限流、自适应并发上限、缓存命中等指标, 基于 Micrometer 的实现见 {@link JdyMicrometerMetrics}.
+ * micrometer-core 为可选依赖, 不存在或未配置指标注册表时使用不记录任何数据的 {@link #NOOP}.
+ * 本接口不引用 Micrometer 的类型, 没有 micrometer-core 时也可以加载.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public interface JdyMetrics {
+    /**
+     * 不记录任何数据
+     */
+    JdyMetrics NOOP = new JdyMetrics() {
+    };
+
+    /**
+     * 创建客户端指标
+     *
+     * @param meterRegistry 指标注册表 ({@code io.micrometer.core.instrument.MeterRegistry}), 为 null 则不记录
+     * @param apiKeyDigest  apiKey 摘要
+     * @return 客户端指标
+     */
+    @Nonnull
+    static JdyMetrics of(@Nullable final Object meterRegistry, @Nonnull final String apiKeyDigest) {
+        return meterRegistry == null ? NOOP : JdyMicrometerMetrics.of(meterRegistry, apiKeyDigest);
+    }
+
+    /**
+     * Micrometer 全局注册表, Spring Boot Actuator 会自动将其注册表加入全局注册表
+     *
+     * @return 全局注册表, 没有 micrometer-core 时返回 null
+     */
+    @Nullable
+    static Object globalRegistry() {
+        return ClassLoaderUtil.isPresent("io.micrometer.core.instrument.MeterRegistry") ? JdyMicrometerMetrics.globalRegistry() : null;
+    }
+
+    /**
+     * 记录一次请求 (每次重试单独记录)
+     *
+     * @param jdyUrlEnum    接口
+     * @param outcome       结果, success / limited / error
+     * @param durationNanos 耗时 (纳秒)
+     */
+    default void recordRequest(@Nonnull final JdyUrlEnum jdyUrlEnum, @Nonnull final String outcome, final long durationNanos) {
+    }
+
+    /**
+     * 记录请求体字节数
+     */
+    default void recordRequestBytes(@Nonnull final JdyUrlEnum jdyUrlEnum, final long bytes) {
+    }
+
+    /**
+     * 记录响应体字节数
+     */
+    default void recordResponseBytes(@Nonnull final JdyUrlEnum jdyUrlEnum, final long bytes) {
+    }
+
+    /**
+     * 记录一次重试
+     */
+    default void recordRetry(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+    }
+
+    /**
+     * 记录一次被简道云限流 (8303/8304)
+     */
+    default void recordLimited(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+    }
+
+    /**
+     * 记录一次熔断拒绝
+     */
+    default void recordCircuitOpen(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+    }
+
+    /**
+     * 记录客户端限流器的等待耗时
+     */
+    default void recordRateLimitWait(@Nonnull final JdyUrlEnum jdyUrlEnum, final long waitNanos) {
+    }
+
+    /**
+     * 记录一次查询数据列表请求的页数
+     */
+    default void recordListDataPages(final int pages) {
+    }
+
+    /**
+     * 记录按字段类型转换的数据条数
+     */
+    default void recordConvertedRows(final int rows) {
+    }
+
+    /**
+     * 注册缓存命中、未命中次数
+     *
+     * @param name  缓存名称
+     * @param cache 缓存
+     */
+    default void bindCache(@Nonnull final String name, @Nonnull final JdyLoadingCache<?, ?> cache) {
+    }
+
+    /**
+     * 注册请求信息分发器的处理、丢弃数量和队列长度
+     */
+    default void bindEventDispatcher(@Nonnull final JdyEventDispatcher<?> dispatcher) {
+    }
+
+    /**
+     * 注册 AIMD 并发限制器在指定接口上的并发上限、进行中请求数、被限流次数和降低上限次数, 同一接口只注册一次
+     *
+     * @param limiter    并发限制器
+     * @param jdyUrlEnum 接口
+     */
+    default void bindConcurrencyLimiter(@Nonnull final JdyAimdConcurrencyLimiter limiter, @Nonnull final JdyUrlEnum jdyUrlEnum) {
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.metrics.impl;
+
+import cn.toint.okjdy.core.cache.JdyLoadingCache;
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.event.JdyEventDispatcher;
+import cn.toint.okjdy.core.limiter.impl.JdyAimdConcurrencyLimiter;
+import cn.toint.okjdy.core.metrics.JdyMetrics;
+import cn.toint.oktool.util.Assert;
+import io.micrometer.core.instrument.*;
+import jakarta.annotation.Nonnull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 基于 Micrometer 的简道云客户端指标
+ * 记录接口耗时、流量、重试、限流、自适应并发上限、缓存命中等指标, 所有指标带有 client 标签 (apiKey 摘要) 区分不同企业.
+ * 缓存、分发器、并发限制器等函数型指标读取的是当前客户端持有的对象, 额外带有 instance 标签区分同一 apiKey 的多个客户端,
+ * 否则后创建的客户端会复用先注册的指标, 读到的始终是第一个客户端的数据.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyMicrometerMetrics implements JdyMetrics {
+    /**
+     * 指标名称前缀
+     */
+    private static final String PREFIX = "okjdy.";
+
+    /**
+     * 客户端实例序号
+     */
+    private static final AtomicLong INSTANCE_SEQUENCE = new AtomicLong();
+
+    private final MeterRegistry registry;
+
+    private final String apiKeyDigest;
+
+    private final Tags tags;
+
+    /**
+     * 函数型指标的标签, 在 {@link #tags} 的基础上增加 instance 标签
+     */
+    private final Tags instanceTags;
+
+    /**
+     * 请求耗时, k: 接口:结果
+     */
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    /**
+     * 计数器, k: 名称:接口
+     */
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 限流等待耗时, k: 接口
+     */
+    private final Map<JdyUrlEnum, Timer> rateLimitWaitTimers = new ConcurrentHashMap<>();
+
+    /**
+     * 已注册并发上限指标的接口
+     */
+    private final Set<JdyUrlEnum> concurrencyLimitEndpoints = ConcurrentHashMap.newKeySet();
+
+    private final DistributionSummary listDataPages;
+
+    private final Counter convertedRows;
+
+    /**
+     * @param registry     指标注册表
+     * @param apiKeyDigest apiKey 摘要
+     */
+    public JdyMicrometerMetrics(@Nonnull final MeterRegistry registry, @Nonnull final String apiKeyDigest) {
+        Assert.notNull(registry, "registry must not be null");
+        Assert.notBlank(apiKeyDigest, "apiKeyDigest must not be blank");
+        this.registry = registry;
+        this.apiKeyDigest = apiKeyDigest;
+        this.tags = Tags.of("client", apiKeyDigest);
+        this.instanceTags = this.tags.and("instance", String.valueOf(INSTANCE_SEQUENCE.incrementAndGet()));
+        this.listDataPages = DistributionSummary.builder(PREFIX + "list.data.pages")
+                .description("每次查询数据列表请求的页数")
+                .tags(this.tags)
+                .register(this.registry);
+        this.convertedRows = Counter.builder(PREFIX + "convert.rows")
+                .description("按字段类型转换的数据条数")
+                .tags(this.tags)
+                .register(this.registry);
+    }
+
+    /**
+     * 创建指标, 由 {@link JdyMetrics#of(Object, String)} 调用
+     *
+     * @param meterRegistry 指标注册表, 必须为 {@link MeterRegistry}
+     * @param apiKeyDigest  apiKey 摘要
+     */
+    @Nonnull
+    public static JdyMetrics of(@Nonnull final Object meterRegistry, @Nonnull final String apiKeyDigest) {
+        Assert.isTrue(meterRegistry instanceof MeterRegistry, "meterRegistry must be an instance of {}", MeterRegistry.class.getName());
+        return new JdyMicrometerMetrics((MeterRegistry) meterRegistry, apiKeyDigest);
+    }
+
+    /**
+     * Micrometer 全局注册表
+     */
+    @Nonnull
+    public static Object globalRegistry() {
+        return Metrics.globalRegistry;
+    }
+
+    @Override
+    public void recordRequest(@Nonnull final JdyUrlEnum jdyUrlEnum, @Nonnull final String outcome, final long durationNanos) {
+        this.requestTimers.computeIfAbsent(jdyUrlEnum.name() + ":" + outcome, key -> Timer.builder(PREFIX + "request")
+                        .description("简道云接口请求耗时")
+                        .tags(this.tags)
+                        .tag("endpoint", jdyUrlEnum.name())
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(this.registry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRequestBytes(@Nonnull final JdyUrlEnum jdyUrlEnum, final long bytes) {
+        if (bytes > 0) {
+            this.counter("request.bytes", "简道云请求体字节数", jdyUrlEnum).increment(bytes);
+        }
+    }
+
+    @Override
+    public void recordResponseBytes(@Nonnull final JdyUrlEnum jdyUrlEnum, final long bytes) {
+        if (bytes > 0) {
+            this.counter("response.bytes", "简道云响应体字节数", jdyUrlEnum).increment(bytes);
+        }
+    }
+
+    @Override
+    public void recordRetry(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+        this.counter("retries", "简道云请求重试次数", jdyUrlEnum).increment();
+    }
+
+    @Override
+    public void recordLimited(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+        this.counter("rate.limited", "简道云返回限流错误码的次数", jdyUrlEnum).increment();
+    }
+
+    @Override
+    public void recordCircuitOpen(@Nonnull final JdyUrlEnum jdyUrlEnum) {
+        this.counter("circuit.rejected", "熔断器打开时被拒绝的请求次数", jdyUrlEnum).increment();
+    }
+
+    @Override
+    public void recordRateLimitWait(@Nonnull final JdyUrlEnum jdyUrlEnum, final long waitNanos) {
+        this.rateLimitWaitTimers.computeIfAbsent(jdyUrlEnum, key -> Timer.builder(PREFIX + "rate.limit.wait")
+                        .description("客户端限流器等待耗时")
+                        .tags(this.tags)
+                        .tag("endpoint", jdyUrlEnum.name())
+                        .register(this.registry))
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordListDataPages(final int pages) {
+        this.listDataPages.record(pages);
+    }
+
+    @Override
+    public void recordConvertedRows(final int rows) {
+        if (rows > 0) {
+            this.convertedRows.increment(rows);
+        }
+    }
+
+    @Override
+    public void bindCache(@Nonnull final String name, @Nonnull final JdyLoadingCache<?, ?> cache) {
+        FunctionCounter.builder(PREFIX + "cache.gets", cache, JdyLoadingCache::getHitCount)
+                .description("缓存访问次数")
+                .tags(this.instanceTags)
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(this.registry);
+        FunctionCounter.builder(PREFIX + "cache.gets", cache, JdyLoadingCache::getMissCount)
+                .description("缓存访问次数")
+                .tags(this.instanceTags)
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(this.registry);
+    }
+
+    @Override
+    public void bindEventDispatcher(@Nonnull final JdyEventDispatcher<?> dispatcher) {
+        FunctionCounter.builder(PREFIX + "events", dispatcher, JdyEventDispatcher::getDispatchedCount)
+                .description("请求信息回调数量")
+                .tags(this.instanceTags)
+                .tag("result", "dispatched")
+                .register(this.registry);
+        FunctionCounter.builder(PREFIX + "events", dispatcher, JdyEventDispatcher::getDroppedCount)
+                .description("请求信息回调数量")
+                .tags(this.instanceTags)
+                .tag("result", "dropped")
+                .register(this.registry);
+        FunctionCounter.builder(PREFIX + "events", dispatcher, JdyEventDispatcher::getFailedCount)
+                .description("请求信息回调数量")
+                .tags(this.instanceTags)
+                .tag("result", "failed")
+                .register(this.registry);
+        Gauge.builder(PREFIX + "events.queued", dispatcher, JdyEventDispatcher::getQueueSize)
+                .description("等待回调的请求信息数量")
+                .tags(this.instanceTags)
+                .register(this.registry);
+    }
+
+    @Override
+    public void bindConcurrencyLimiter(@Nonnull final JdyAimdConcurrencyLimiter limiter, @Nonnull final JdyUrlEnum jdyUrlEnum) {
+        if (!this.concurrencyLimitEndpoints.add(jdyUrlEnum)) {
+            return;
+        }
+
+        final Tags endpointTags = this.instanceTags.and("endpoint", jdyUrlEnum.name());
+        Gauge.builder(PREFIX + "concurrency.limit", limiter, it -> this.concurrencySnapshotValue(it, jdyUrlEnum, JdyAimdConcurrencyLimiter.Snapshot::limit))
+                .description("自适应并发上限")
+                .tags(endpointTags)
+                .register(this.registry);
+        Gauge.builder(PREFIX + "concurrency.inflight", limiter, it -> this.concurrencySnapshotValue(it, jdyUrlEnum, JdyAimdConcurrencyLimiter.Snapshot::inflight))
+                .description("进行中的请求数")
+                .tags(endpointTags)
+                .register(this.registry);
+        FunctionCounter.builder(PREFIX + "concurrency.limited", limiter, it -> this.concurrencySnapshotValue(it, jdyUrlEnum, JdyAimdConcurrencyLimiter.Snapshot::limitedCount))
+                .description("并发限制器记录的被限流次数")
+                .tags(endpointTags)
+                .register(this.registry);
+        FunctionCounter.builder(PREFIX + "concurrency.backoffs", limiter, it -> this.concurrencySnapshotValue(it, jdyUrlEnum, JdyAimdConcurrencyLimiter.Snapshot::backoffCount))
+                .description("并发上限降低次数")
+                .tags(endpointTags)
+                .register(this.registry);
+    }
+
+    /**
+     * 读取并发上限快照中的值, 尚未请求过该接口时返回 NaN
+     */
+    private double concurrencySnapshotValue(final JdyAimdConcurrencyLimiter limiter, final JdyUrlEnum jdyUrlEnum,
+                                            final ToDoubleFunction<JdyAimdConcurrencyLimiter.Snapshot> getter) {
+        final JdyAimdConcurrencyLimiter.Snapshot snapshot = limiter.snapshot(this.apiKeyDigest, jdyUrlEnum);
+        return snapshot == null ? Double.NaN : getter.applyAsDouble(snapshot);
+    }
+
+    private Counter counter(final String name, final String description, final JdyUrlEnum jdyUrlEnum) {
+        return this.counters.computeIfAbsent(name + ":" + jdyUrlEnum.name(), key -> Counter.builder(PREFIX + name)
+                .description(description)
+                .tags(this.tags)
+                .tag("endpoint", jdyUrlEnum.name())
+                .register(this.registry));
+    }
+}
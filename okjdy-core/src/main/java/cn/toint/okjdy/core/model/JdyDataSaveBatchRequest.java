@@ -19,6 +19,7 @@ import cn.toint.oktool.util.Assert;
 import cn.toint.oktool.util.JacksonUtil;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import jakarta.annotation.Nonnull;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -95,6 +96,18 @@ public class JdyDataSaveBatchRequest {
         return JdyDataSaveBatchRequest.of(JacksonUtil.valueToTree(datas));
     }
 
+    /**
+     * 实体对象以 POJONode 保存, 不转换为 JsonNode 树, 保存时由转换计划直接写出请求体, 适合大批量或宽表单数据
+     * 注意: {@link #getDatas()} 的元素为包装了实体的 POJONode, 不能按 ObjectNode 读取或修改, 需要读取或修改请求数据时请使用 {@link #of(Collection)}
+     */
+    public static <T extends JdyDo> JdyDataSaveBatchRequest ofEntities(final Collection<T> datas) {
+        Assert.notEmpty(datas, "datas must not be empty");
+        final ArrayNode arrayNode = JacksonUtil.createArrayNode();
+        datas.forEach(data -> arrayNode.addPOJO(Assert.notNull(data, "data must not be null")));
+        final T first = datas.iterator().next();
+        return new JdyDataSaveBatchRequest(first.getAppId(), first.getEntryId(), arrayNode);
+    }
+
     public JdyDataSaveBatchRequest transactionId(final String transactionId) {
         Assert.notBlank(transactionId, "transactionId must not be blank");
         this.transactionId = transactionId;
@@ -19,6 +19,7 @@ import cn.toint.oktool.util.Assert;
 import cn.toint.oktool.util.JacksonUtil;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.POJONode;
 import jakarta.annotation.Nonnull;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -89,6 +90,15 @@ public class JdyDataSaveRequest {
         return JdyDataSaveRequest.of(JacksonUtil.valueToTree(data));
     }
 
+    /**
+     * 实体对象以 POJONode 保存, 不转换为 JsonNode 树, 保存时由转换计划直接写出请求体, 适合大批量或宽表单数据
+     * 注意: {@link #getData()} 为包装了实体的 POJONode, 不能按 ObjectNode 读取或修改, 需要读取或修改请求数据时请使用 {@link #of(JdyDo)}
+     */
+    public static <T extends JdyDo> JdyDataSaveRequest ofEntity(@Nonnull final T data) {
+        Assert.notNull(data, "data must not be null");
+        return new JdyDataSaveRequest(data.getAppId(), data.getEntryId(), new POJONode(data));
+    }
+
     public static JdyDataSaveRequest of(@Nonnull JsonNode data) {
         Assert.notNull(data, "data must not be null");
         final JdyDo jdyDo = JacksonUtil.treeToValue(data, JdyDo.class);
@@ -19,6 +19,7 @@ import cn.toint.oktool.util.Assert;
 import cn.toint.oktool.util.JacksonUtil;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.POJONode;
 import jakarta.annotation.Nonnull;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
@@ -55,7 +56,9 @@ public class JdyFieldListRequest {
 
     public static JdyFieldListRequest of(@Nonnull final JsonNode jsonNode) {
         Assert.notNull(jsonNode, "jsonNode must not be null");
-        final JdyDo jdyDo = JacksonUtil.treeToValue(jsonNode, JdyDo.class);
+        final JdyDo jdyDo = jsonNode instanceof POJONode pojoNode && pojoNode.getPojo() instanceof JdyDo pojo
+                ? pojo
+                : JacksonUtil.treeToValue(jsonNode, JdyDo.class);
         return new JdyFieldListRequest(jdyDo.getAppId(), jdyDo.getEntryId());
     }
 }
\ No newline at end of file
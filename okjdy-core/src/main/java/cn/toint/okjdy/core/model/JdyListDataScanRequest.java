@@ -0,0 +1,244 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.toint.okjdy.core.model;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.oktool.util.Assert;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.Nonnull;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * 并行分区查询数据列表
+ * 按数字或日期时间字段将表单拆分为多个互不重叠的区间, 每个区间使用各自的数据 ID 游标并发查询.
+ * 区间边界升序排列, n+1 个边界得到 n 个区间: [b0, b1), [b1, b2) ... [bn-1, bn], 最后一个区间包含上边界.
+ * 注意: 分区字段为空的数据不在任何区间内, 不会被查询到, 建议使用 createTime 等必填字段分区.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Data
+public class JdyListDataScanRequest {
+    /**
+     * 查询条件, 每个区间在此基础上追加范围条件, 筛选组合关系必须为 and
+     */
+    @Valid
+    @NotNull
+    private JdyListDataRequest request;
+
+    /**
+     * 分区字段, 数字字段或日期时间字段, 如 createTime
+     */
+    @NotBlank
+    private String field;
+
+    /**
+     * 区间边界, 严格升序, 元素均为 {@link BigDecimal} 或均为 {@link Instant}
+     */
+    @NotNull
+    @Size(min = 2)
+    private List<Comparable<?>> boundaries;
+
+    /**
+     * 并发查询的区间数, 实际并发数不超过查询多条数据接口的频率限制
+     */
+    private int parallelism = JdyUrlEnum.LIST_DATA.getQps();
+
+    public JdyListDataScanRequest() {
+    }
+
+    public JdyListDataScanRequest(@Nonnull final JdyListDataRequest request, @Nonnull final String field, @Nonnull final List<? extends Comparable<?>> boundaries) {
+        Assert.notNull(request, "request must not be null");
+        Assert.notBlank(field, "field must not be blank");
+        checkBoundaries(boundaries);
+        this.request = request;
+        this.field = field;
+        this.boundaries = new ArrayList<>(boundaries);
+    }
+
+    /**
+     * 校验区间边界: 至少 2 个, 元素均为 {@link BigDecimal} 或均为 {@link Instant}, 且严格升序
+     */
+    private static void checkBoundaries(final List<? extends Comparable<?>> boundaries) {
+        Assert.isTrue(boundaries != null && boundaries.size() >= 2, "boundaries size must be greater than 1");
+        final Class<?> type = Assert.notNull(boundaries.getFirst(), "boundaries must not contain null").getClass();
+        Assert.isTrue(type == BigDecimal.class || type == Instant.class, "boundaries must be BigDecimal or Instant, but was {}", type.getName());
+        for (int i = 1; i < boundaries.size(); i++) {
+            final Object prev = boundaries.get(i - 1);
+            final Object current = Assert.notNull(boundaries.get(i), "boundaries must not contain null");
+            Assert.isTrue(current.getClass() == type, "boundaries must be of the same type, expected {} but was {}", type.getName(), current.getClass().getName());
+            final int compare = current instanceof BigDecimal decimal ? decimal.compareTo((BigDecimal) prev) : ((Instant) current).compareTo((Instant) prev);
+            Assert.isTrue(compare > 0, "boundaries must be in ascending order, {} is not greater than {}", current, prev);
+        }
+    }
+
+    /**
+     * 按日期时间字段等分区间
+     *
+     * @param request    查询条件
+     * @param field      日期时间字段, 如 createTime
+     * @param start      开始时间 (包含)
+     * @param end        结束时间 (包含)
+     * @param partitions 区间数量
+     */
+    @Nonnull
+    public static JdyListDataScanRequest ofTime(@Nonnull final JdyListDataRequest request, @Nonnull final String field,
+                                                @Nonnull final Instant start, @Nonnull final Instant end, final int partitions) {
+        Assert.notNull(start, "start must not be null");
+        Assert.notNull(end, "end must not be null");
+        Assert.isTrue(end.isAfter(start), "end must be after start");
+        Assert.isTrue(partitions > 0, "partitions must be greater than 0");
+
+        final Duration step = Duration.between(start, end).dividedBy(partitions);
+        final List<Instant> boundaries = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            boundaries.add(start.plus(step.multipliedBy(i)));
+        }
+        boundaries.add(end);
+        return new JdyListDataScanRequest(request, field, boundaries.stream().distinct().toList());
+    }
+
+    /**
+     * 按数字字段等分区间
+     *
+     * @param request    查询条件
+     * @param field      数字字段
+     * @param start      最小值 (包含)
+     * @param end        最大值 (包含)
+     * @param partitions 区间数量
+     */
+    @Nonnull
+    public static JdyListDataScanRequest ofNumber(@Nonnull final JdyListDataRequest request, @Nonnull final String field,
+                                                  @Nonnull final BigDecimal start, @Nonnull final BigDecimal end, final int partitions) {
+        Assert.notNull(start, "start must not be null");
+        Assert.notNull(end, "end must not be null");
+        Assert.isTrue(end.compareTo(start) > 0, "end must be greater than start");
+        Assert.isTrue(partitions > 0, "partitions must be greater than 0");
+
+        final BigDecimal step = end.subtract(start).divide(BigDecimal.valueOf(partitions), 10, RoundingMode.DOWN);
+        final List<BigDecimal> boundaries = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            boundaries.add(start.add(step.multiply(BigDecimal.valueOf(i))).stripTrailingZeros());
+        }
+        boundaries.add(end);
+        return new JdyListDataScanRequest(request, field, boundaries.stream().distinct().toList());
+    }
+
+    /**
+     * 设置并发数
+     */
+    @Nonnull
+    public JdyListDataScanRequest parallelism(final int parallelism) {
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 生成每个区间的查询条件, 在原查询条件上追加 [下边界, 上边界] 的范围条件
+     */
+    @Nonnull
+    public List<JdyListDataRequest> partitions() {
+        // 使用无参构造时边界由 setter 设置, 生成条件前再校验一次
+        checkBoundaries(this.boundaries);
+        Assert.isTrue(this.request.getFilter().getCondition().isEmpty()
+                        || JdyRelationshipEnum.AND.getValue().equals(this.request.getFilter().getRelationship()),
+                "分区查询的筛选组合关系必须为 and");
+
+        final List<JdyListDataRequest> partitions = new ArrayList<>();
+        for (int i = 0; i < this.boundaries.size() - 1; i++) {
+            final JdyListDataRequest partition = new JdyListDataRequest();
+            partition.setAppId(this.request.getAppId());
+            partition.setEntryId(this.request.getEntryId());
+            partition.setLimit(this.request.getLimit());
+
+            // 指定了查询字段时, 需要查询分区字段用于判断区间上边界
+            if (this.request.getFields() != null && !this.request.getFields().isEmpty()) {
+                final Set<String> fields = new LinkedHashSet<>(this.request.getFields());
+                fields.add(this.field);
+                partition.setFields(fields);
+            }
+
+            // 复制条件, 避免各区间共享同一个条件对象
+            final JdyFilter filter = new JdyFilter();
+            filter.setRelationship(JdyRelationshipEnum.AND.getValue());
+            for (final JdyCondition condition : this.request.getFilter().getCondition()) {
+                final JdyCondition copy = new JdyCondition();
+                copy.setField(condition.getField());
+                copy.setType(condition.getType());
+                copy.setMethod(condition.getMethod());
+                copy.setValue(condition.getValue() == null ? null : new ArrayList<>(condition.getValue()));
+                filter.getCondition().add(copy);
+            }
+            partition.setFilter(filter);
+
+            partition.range(this.field, this.toConditionValue(this.boundaries.get(i)), this.toConditionValue(this.boundaries.get(i + 1)));
+            partitions.add(partition);
+        }
+        return partitions;
+    }
+
+    /**
+     * 数据是否属于指定区间
+     * 简道云的范围条件包含上下边界, 相邻区间会同时查询到等于边界值的数据, 除最后一个区间外, 等于上边界的数据归属下一个区间
+     *
+     * @param index 区间下标
+     * @param data  数据
+     * @return 是否属于该区间
+     */
+    public boolean contains(final int index, @Nonnull final JsonNode data) {
+        if (index >= this.boundaries.size() - 2) {
+            return true;
+        }
+
+        final JsonNode value = data.path(this.field);
+        if (StringUtils.isBlank(value.asText())) {
+            return true;
+        }
+
+        final Comparable<?> upper = this.boundaries.get(index + 1);
+        if (upper instanceof Instant instant) {
+            return Instant.parse(value.asText()).isBefore(instant);
+        }
+        if (upper instanceof BigDecimal number) {
+            final BigDecimal decimal = value.isNumber() ? value.decimalValue() : new BigDecimal(value.asText());
+            return decimal.compareTo(number) < 0;
+        }
+        throw new IllegalArgumentException("不支持的区间边界类型: " + upper.getClass());
+    }
+
+    /**
+     * 边界值转换为查询条件值, 日期时间使用 ISO 格式字符串
+     */
+    @Nonnull
+    private Object toConditionValue(@Nonnull final Comparable<?> boundary) {
+        if (boundary instanceof Instant instant) {
+            return instant.toString();
+        }
+        return boundary;
+    }
+}
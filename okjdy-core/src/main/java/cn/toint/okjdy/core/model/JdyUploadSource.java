@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.model;
+
+import cn.toint.oktool.util.Assert;
+import jakarta.annotation.Nonnull;
+import lombok.Getter;
+import org.dromara.hutool.core.io.IORuntimeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 简道云上传文件来源
+ * 上传时从来源打开输入流直接写入请求体, 不会将整个文件读入内存, 也无需先写入临时文件
+ * 名称作为上传文件的文件名, 同时作为上传结果的 key, 同一批上传的名称不能重复
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Getter
+public class JdyUploadSource {
+    /**
+     * 名称
+     */
+    @Nonnull
+    private final String name;
+
+    /**
+     * 文件大小, 未知为 -1
+     */
+    private final long size;
+
+    /**
+     * 是否可以重复读取, 不可重复读取的来源上传失败时不会重试
+     */
+    private final boolean repeatable;
+
+    /**
+     * 输入流, 每次上传 (包括重试) 时打开一次, 由上传方关闭
+     */
+    @Nonnull
+    private final Supplier<InputStream> streamSupplier;
+
+    private JdyUploadSource(@Nonnull final String name, final long size, final boolean repeatable, @Nonnull final Supplier<InputStream> streamSupplier) {
+        Assert.notBlank(name, "name must not be blank");
+        Assert.notNull(streamSupplier, "streamSupplier must not be null");
+        this.name = name;
+        this.size = size;
+        this.repeatable = repeatable;
+        this.streamSupplier = streamSupplier;
+    }
+
+    /**
+     * 打开输入流
+     */
+    @Nonnull
+    public InputStream openStream() {
+        return Assert.notNull(this.streamSupplier.get(), "{} stream must not be null", this.name);
+    }
+
+    /**
+     * 文件, 名称为文件名
+     */
+    @Nonnull
+    public static JdyUploadSource of(@Nonnull final File file) {
+        Assert.notNull(file, "file must not be null");
+        return of(file.toPath());
+    }
+
+    /**
+     * 文件, 名称为文件名
+     */
+    @Nonnull
+    public static JdyUploadSource of(@Nonnull final Path path) {
+        Assert.notNull(path, "path must not be null");
+        Assert.notNull(path.getFileName(), "path must be a file");
+        return of(path.getFileName().toString(), path);
+    }
+
+    /**
+     * 文件
+     */
+    @Nonnull
+    public static JdyUploadSource of(@Nonnull final String name, @Nonnull final Path path) {
+        Assert.notNull(path, "path must not be null");
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (IOException e) {
+            size = -1;
+        }
+        return new JdyUploadSource(name, size, true, () -> {
+            try {
+                return Files.newInputStream(path);
+            } catch (IOException e) {
+                throw new IORuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * 字节数组, 上传时直接读取该数组, 调用方在上传结束前不应修改
+     */
+    @Nonnull
+    public static JdyUploadSource of(@Nonnull final String name, @Nonnull final byte[] bytes) {
+        Assert.notNull(bytes, "bytes must not be null");
+        return new JdyUploadSource(name, bytes.length, true, () -> new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * 缓冲区, 上传 position 到 limit 之间的内容, 不改变缓冲区的 position, 支持堆外缓冲区
+     */
+    @Nonnull
+    public static JdyUploadSource of(@Nonnull final String name, @Nonnull final ByteBuffer buffer) {
+        Assert.notNull(buffer, "buffer must not be null");
+        final ByteBuffer readOnly = buffer.asReadOnlyBuffer();
+        return new JdyUploadSource(name, readOnly.remaining(), true, () -> new ByteBufferInputStream(readOnly.duplicate()));
+    }
+
+    /**
+     * 输入流, 只能读取一次, 上传失败时不会重试, 需要重试时请使用 {@link #of(String, Supplier)}
+     */
+    @Nonnull
+    public static JdyUploadSource of(@Nonnull final String name, @Nonnull final InputStream inputStream) {
+        Assert.notNull(inputStream, "inputStream must not be null");
+        final AtomicBoolean opened = new AtomicBoolean();
+        return new JdyUploadSource(name, -1, false, () -> {
+            Assert.isFalse(opened.getAndSet(true), "{} inputStream can only be read once", name);
+            return inputStream;
+        });
+    }
+
+    /**
+     * 输入流提供者, 每次上传 (包括重试) 时获取一个新的输入流
+     */
+    @Nonnull
+    public static JdyUploadSource of(@Nonnull final String name, @Nonnull final Supplier<InputStream> streamSupplier) {
+        return new JdyUploadSource(name, -1, true, streamSupplier);
+    }
+
+    /**
+     * 缓冲区输入流, 直接从缓冲区读取, 不复制到堆内
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(@Nonnull final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@Nonnull final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.util;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * 采集输入流
+ * 读取的同时复制前若干字节, 超出部分只读取不复制, 用于在解析响应的同时采集截断后的响应体, 并统计响应体字节数
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyCaptureInputStream extends FilterInputStream {
+    /**
+     * 最大复制字节数
+     */
+    private final int maxSize;
+
+    /**
+     * 已复制的字节, 按需扩容
+     */
+    private byte[] buffer = new byte[0];
+
+    /**
+     * 已复制的字节数
+     */
+    private int size;
+
+    /**
+     * 是否有未复制的字节
+     */
+    private boolean truncated;
+
+    /**
+     * 已读取的总字节数
+     */
+    private long readSize;
+
+    /**
+     * @param in      被读取的输入流
+     * @param maxSize 最大复制字节数
+     */
+    public JdyCaptureInputStream(@Nonnull final InputStream in, final int maxSize) {
+        super(in);
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = super.read();
+        if (b != -1) {
+            this.capture(new byte[]{(byte) b}, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len) throws IOException {
+        final int n = super.read(b, off, len);
+        if (n > 0) {
+            this.capture(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        // 跳过的字节同样需要复制, 改为读取
+        final byte[] skipBuffer = new byte[(int) Math.min(n, 8192)];
+        final int read = this.read(skipBuffer, 0, skipBuffer.length);
+        return Math.max(read, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * 已复制的字节
+     */
+    @Nonnull
+    public byte[] getCaptured() {
+        return Arrays.copyOf(this.buffer, this.size);
+    }
+
+    /**
+     * 已读取的总字节数
+     */
+    public long getReadSize() {
+        return this.readSize;
+    }
+
+    /**
+     * 是否有未复制的字节 (已截断)
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+
+    private void capture(final byte[] b, final int off, final int len) {
+        this.readSize += len;
+        final int n = Math.min(len, this.maxSize - this.size);
+        if (n < len) {
+            this.truncated = true;
+        }
+        if (n <= 0) {
+            return;
+        }
+        if (this.size + n > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.min(this.maxSize, Math.max(this.buffer.length * 2, this.size + n)));
+        }
+        System.arraycopy(b, off, this.buffer, this.size, n);
+        this.size += n;
+    }
+}
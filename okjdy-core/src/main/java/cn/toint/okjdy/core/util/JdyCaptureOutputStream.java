@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.util;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * 采集输出流
+ * 只复制写入的前若干字节, 超出部分只计数不复制, 用于采集截断后的请求体, 避免为了截断先构建完整的请求体字符串
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyCaptureOutputStream extends OutputStream {
+    /**
+     * 最大复制字节数
+     */
+    private final int maxSize;
+
+    /**
+     * 已复制的字节, 按需扩容
+     */
+    private byte[] buffer = new byte[0];
+
+    /**
+     * 已复制的字节数
+     */
+    private int size;
+
+    /**
+     * 已写入的总字节数
+     */
+    private long writtenSize;
+
+    /**
+     * @param maxSize 最大复制字节数
+     */
+    public JdyCaptureOutputStream(final int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    @Override
+    public void write(final int b) {
+        this.write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(@Nonnull final byte[] b, final int off, final int len) {
+        this.writtenSize += len;
+        final int n = Math.min(len, this.maxSize - this.size);
+        if (n <= 0) {
+            return;
+        }
+        if (this.size + n > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.min(this.maxSize, Math.max(this.buffer.length * 2, this.size + n)));
+        }
+        System.arraycopy(b, off, this.buffer, this.size, n);
+        this.size += n;
+    }
+
+    /**
+     * 已复制的字节
+     */
+    @Nonnull
+    public byte[] getCaptured() {
+        return Arrays.copyOf(this.buffer, this.size);
+    }
+
+    /**
+     * 已写入的总字节数
+     */
+    public long getWrittenSize() {
+        return this.writtenSize;
+    }
+
+    /**
+     * 是否有未复制的字节 (已截断)
+     */
+    public boolean isTruncated() {
+        return this.writtenSize > this.size;
+    }
+}
@@ -19,9 +19,17 @@ package cn.toint.okjdy.core.util;
 import cn.toint.okjdy.core.enums.JdyFieldTypeEnum;
 import cn.toint.okjdy.core.model.*;
 import cn.toint.oktool.util.JacksonUtil;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.node.*;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
@@ -29,18 +37,18 @@ import org.apache.commons.lang3.StringUtils;
 import org.dromara.hutool.core.collection.CollUtil;
 import org.dromara.hutool.core.lang.Assert;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * 简道云请求数据转换工具
  * 用于将Java对象转换为简道云API所需的请求格式
+ * 转换器只负责转换字段值, {"value": xxx} 包装由转换计划统一处理, 可构建为 JsonNode, 也可在序列化时直接写入输出流
  *
  * @author Toint
  * @date 2024/10/20
@@ -106,6 +114,7 @@ public class JdyDataRequestConvertUtil {
     /**
      * 转换请求简道云的 data 字段
      * 将Java对象转换为简道云API所需的请求格式
+     * 每次调用都会重新编译转换计划, 批量转换请使用 {@link #compile(List)} + {@link #convert(JsonNode, ConvertPlan)}
      *
      * @param data      原始数据对象
      * @param jdyFields 简道云表单字段定义列表
@@ -113,61 +122,177 @@ public class JdyDataRequestConvertUtil {
      */
     @Nonnull
     public static JsonNode convert(final @Nonnull JsonNode data, @Nonnull final List<JdyField> jdyFields) {
+        return JdyDataRequestConvertUtil.convert(data, JdyDataRequestConvertUtil.compile(jdyFields));
+    }
+
+    /**
+     * 转换请求简道云的 data 字段
+     * 使用预编译的转换计划, 不再逐条构建字段映射和查找转换器
+     *
+     * @param data        原始数据对象
+     * @param convertPlan 转换计划, 见 {@link #compile(List)}
+     * @return 转换后的符合简道云API格式的JsonNode
+     */
+    @Nonnull
+    public static JsonNode convert(@Nonnull JsonNode data, @Nonnull final ConvertPlan convertPlan) {
         Assert.notNull(data, "data must not be null");
+        Assert.notNull(convertPlan, "convertPlan must not be null");
 
-        // 如果表单不存在任何字段, 则返回空对象
-        if (CollUtil.isEmpty(jdyFields)) {
-            return JacksonUtil.ofObjectNode();
+        // 实体对象先转为 JsonNode
+        if (data instanceof POJONode pojoNode) {
+            data = JdyDataRequestConvertUtil.ofValue(pojoNode.getPojo());
         }
 
-        // key: 简道云字段名称, value: 简道云字段对象
-        final Map<String, JdyField> fieldNameTypeMap = new HashMap<>();
-        jdyFields.forEach(jdyField -> fieldNameTypeMap.put(jdyField.getName(), jdyField));
-
         // 创建新的数据对象
         final ObjectNode newData = JacksonUtil.ofObjectNode();
-        fieldNameTypeMap.forEach((fieldName, field) -> {
+        for (int i = 0; i < convertPlan.names.length; i++) {
+            final String fieldName = convertPlan.names[i];
+
             // 忽略未传入的字段, 让简道云不处理该字段
             if (!data.has(fieldName)) {
-                return;
-            }
-
-            // 获取原始值
-            final JsonNode oldValue = data.get(fieldName);
-            // 对于null值，简道云API会清空该字段
-            if (JacksonUtil.isNull(oldValue)) {
-                newData.set(fieldName, JdyDataRequestConvertUtil.ofNewValue(null));
-                return;
+                continue;
             }
 
-            // 获取对应的转换器, null 则忽略当前键值对, 避免框架未适配的字段影响正常是用
-            final Converter converter = JdyDataRequestConvertUtil.getConverter(field);
-            if (converter == null) return;
-
             // 执行转换, 得到新的 value, 加入到 newValue
             // newValue = {value: xxx}, 如果是 newValue = null, 简道云会保持该字段的当前值, 简道云不会对该字段做任何处理
             try {
-                final JsonNode newValue = converter.executeConvert(oldValue, field);
-                if (newValue == null) return;
-                newData.set(fieldName, newValue);
+                final JsonNode newValue = convertPlan.convertField(i, data.get(fieldName));
+                if (newValue == null) continue;
+                newData.set(fieldName, JdyDataRequestConvertUtil.ofNewValue(newValue));
             } catch (Exception e) {
-                log.error("字段[{}]转换失败: {}", fieldName, e.getMessage());
-                throw new RuntimeException("字段[" + fieldName + "]转换失败: " + e.getMessage(), e);
+                throw JdyDataRequestConvertUtil.convertException(fieldName, e);
             }
-        });
+        }
 
         return newData;
     }
 
+    /**
+     * 延迟转换请求简道云的 data 字段
+     * 不构建转换后的 JsonNode 树, 序列化请求时按转换计划直接将 {"字段": {"value": xxx}} 写入输出流.
+     * 实体对象 (JdyDo / JdySubDo) 通过 Jackson 属性读取字段值, 不会先整体转为 JsonNode.
+     * 注意: 转换在序列化时执行, 转换失败会在序列化请求时抛出异常
+     *
+     * @param data        原始数据对象, 支持 JsonNode 以及包装了实体对象的 POJONode
+     * @param convertPlan 转换计划, 见 {@link #compile(List)}
+     * @return 可直接放入请求体的 JsonNode
+     */
+    @Nonnull
+    public static JsonNode convertLazily(@Nonnull final JsonNode data, @Nonnull final ConvertPlan convertPlan) {
+        Assert.notNull(data, "data must not be null");
+        Assert.notNull(convertPlan, "convertPlan must not be null");
+        final Object source = data instanceof POJONode pojoNode ? pojoNode.getPojo() : data;
+        Assert.notNull(source, "data must not be null");
+        return new POJONode(new ConvertedData(source, convertPlan));
+    }
+
+    /**
+     * 编译转换计划
+     * 字段名称去重 (同名字段以后者为准), 提前解析每个字段的转换器, 子表单字段递归编译
+     *
+     * @param jdyFields 简道云表单字段定义列表
+     * @return 转换计划, 可被多线程共享
+     */
+    @Nonnull
+    public static ConvertPlan compile(@Nullable final List<JdyField> jdyFields) {
+        // key: 简道云字段名称, value: 简道云字段对象
+        final Map<String, JdyField> fieldNameTypeMap = new LinkedHashMap<>();
+        if (CollUtil.isNotEmpty(jdyFields)) {
+            jdyFields.forEach(jdyField -> fieldNameTypeMap.put(jdyField.getName(), jdyField));
+        }
+
+        final int size = fieldNameTypeMap.size();
+        final String[] names = new String[size];
+        final JdyField[] fields = new JdyField[size];
+        final Converter[] converters = new Converter[size];
+        final ConvertPlan[] subFormPlans = new ConvertPlan[size];
+        int i = 0;
+        for (final Map.Entry<String, JdyField> entry : fieldNameTypeMap.entrySet()) {
+            names[i] = entry.getKey();
+            fields[i] = entry.getValue();
+            converters[i] = JdyDataRequestConvertUtil.getConverter(entry.getValue());
+            if (converters[i] instanceof SubFormConverter) {
+                subFormPlans[i] = JdyDataRequestConvertUtil.compile(entry.getValue().getItems());
+            }
+            i++;
+        }
+        return new ConvertPlan(jdyFields, names, fields, converters, subFormPlans);
+    }
+
+    /**
+     * 转换子表单
+     *
+     * @param value       子表单原始值, 必须为数组
+     * @param convertPlan 子表单字段的转换计划
+     * @return 转换后的子表单数组 (不含 value 包装)
+     */
+    private static JsonNode convertSubForm(@Nonnull final JsonNode value, @Nonnull final ConvertPlan convertPlan) {
+        Assert.isTrue(value.isArray(), "value must be array");
+
+        // 创建子表单数据数组, 子表单没有字段定义时为空数组
+        final ArrayNode arrayValue = JacksonUtil.createArrayNode();
+        if (convertPlan.names.length == 0) {
+            return arrayValue;
+        }
+
+        // 处理每一行子表单数据
+        for (final JsonNode subFormItem : value) {
+            final ObjectNode newSubFormItem = JacksonUtil.ofObjectNode();
+
+            // 处理子表单数据ID
+            // 注意：根据简道云API，子表单数据ID需要保留并正确处理, 新增的子表单行没有数据ID
+            if (!JacksonUtil.isNull(subFormItem.get("_id"))) {
+                newSubFormItem.set("_id", JdyDataRequestConvertUtil.ofNewValue(TextNode.valueOf(subFormItem.get("_id").asText())));
+            }
+
+            // 处理子表单中的其他字段, 子表单行中未传入的字段会被清空
+            for (int i = 0; i < convertPlan.names.length; i++) {
+                final JsonNode newValue = convertPlan.convertField(i, subFormItem.get(convertPlan.names[i]));
+                if (newValue == null) continue;
+                newSubFormItem.set(convertPlan.names[i], JdyDataRequestConvertUtil.ofNewValue(newValue));
+            }
+
+            // 将处理好的子表单行添加到数组中
+            arrayValue.add(newSubFormItem);
+        }
+
+        return arrayValue;
+    }
+
     /**
      * 创建简道云API格式的值对象
      * 格式: {"value": xxx}
      *
-     * @param value 原始值
+     * @param value 转换后的值
      * @return 包装后的值对象
      */
-    private static JsonNode ofNewValue(@Nullable final Object value) {
-        return JacksonUtil.ofObjectNode().set(VALUE, JacksonUtil.valueToTree(value));
+    private static JsonNode ofNewValue(@Nonnull final JsonNode value) {
+        return JacksonUtil.ofObjectNode().set(VALUE, value);
+    }
+
+    /**
+     * 将转换后的值转为 JsonNode
+     *
+     * @param value 转换后的值, null 转为 NullNode
+     * @return JsonNode
+     */
+    @Nonnull
+    private static JsonNode ofValue(@Nullable final Object value) {
+        if (value == null) {
+            return NullNode.getInstance();
+        }
+        if (value instanceof JsonNode jsonNode) {
+            return jsonNode;
+        }
+        return JacksonUtil.valueToTree(value);
+    }
+
+    /**
+     * 字段转换异常
+     */
+    private static RuntimeException convertException(@Nonnull final String fieldName, @Nonnull final Exception e) {
+        log.error("字段[{}]转换失败: {}", fieldName, e.getMessage());
+        return new RuntimeException("字段[" + fieldName + "]转换失败: " + e.getMessage(), e);
     }
 
     /**
@@ -180,6 +305,313 @@ public class JdyDataRequestConvertUtil {
         return CONVERTER_MAP.get(jdyField.getType());
     }
 
+    /**
+     * 转换计划
+     * 按表单字段定义预编译, 保存扁平的字段名称、字段定义、转换器数组以及子表单的转换计划,
+     * 同一份字段定义编译一次即可用于任意多条数据, 不可变, 线程安全
+     */
+    public static final class ConvertPlan {
+        /**
+         * 编译时使用的字段定义, 用于判断字段定义是否变化
+         */
+        @Nullable
+        private final List<JdyField> jdyFields;
+
+        /**
+         * 字段名称
+         */
+        private final String[] names;
+
+        /**
+         * 字段定义, 与 names 下标一致
+         */
+        private final JdyField[] fields;
+
+        /**
+         * 转换器, 与 names 下标一致, 框架未适配的字段为 null
+         */
+        private final Converter[] converters;
+
+        /**
+         * 子表单转换计划, 与 names 下标一致, 非子表单字段为 null
+         */
+        private final ConvertPlan[] subFormPlans;
+
+        /**
+         * 无法直接读取属性的实体类型在缓存中的占位
+         */
+        private static final BeanPropertyWriter[] NO_PROPERTIES = new BeanPropertyWriter[0];
+
+        /**
+         * 实体属性缓存, 与 names 下标一致, 实体不存在的字段为 null
+         * k: 实体类型
+         */
+        private final Map<Class<?>, BeanPropertyWriter[]> propertyCache = new ConcurrentHashMap<>();
+
+        private ConvertPlan(@Nullable final List<JdyField> jdyFields, final String[] names, final JdyField[] fields,
+                            final Converter[] converters, final ConvertPlan[] subFormPlans) {
+            this.jdyFields = jdyFields;
+            this.names = names;
+            this.fields = fields;
+            this.converters = converters;
+            this.subFormPlans = subFormPlans;
+        }
+
+        /**
+         * 是否由指定的字段定义 (同一实例) 编译而来
+         *
+         * @param jdyFields 字段定义
+         * @return true: 可直接复用, false: 需要重新编译
+         */
+        public boolean isCompiledFrom(@Nullable final List<JdyField> jdyFields) {
+            return this.jdyFields == jdyFields;
+        }
+
+        /**
+         * 转换单个字段
+         *
+         * @param index    字段下标
+         * @param oldValue 原始值
+         * @return 转换后的值 (不含 value 包装), null 表示忽略该字段
+         */
+        @Nullable
+        private JsonNode convertField(final int index, @Nullable final JsonNode oldValue) {
+            // 对于null值，简道云API会清空该字段
+            if (JacksonUtil.isNull(oldValue)) {
+                return NullNode.getInstance();
+            }
+
+            // 框架未适配的字段, 忽略当前键值对, 避免影响正常使用
+            final Converter converter = this.converters[index];
+            if (converter == null) {
+                return null;
+            }
+
+            // 子表单使用预编译的转换计划
+            final ConvertPlan subFormPlan = this.subFormPlans[index];
+            if (subFormPlan != null) {
+                return JdyDataRequestConvertUtil.convertSubForm(oldValue, subFormPlan);
+            }
+
+            return converter.executeConvert(oldValue, this.fields[index]);
+        }
+
+        /**
+         * 将一行数据按转换计划直接写入输出流
+         *
+         * @param source   JsonNode 或实体对象
+         * @param subForm  是否为子表单行, 子表单行中未传入的字段会被清空, 并保留子表单数据ID
+         * @param gen      gen
+         * @param provider provider
+         */
+        private void write(@Nonnull final Object source, final boolean subForm, @Nonnull final JsonGenerator gen, @Nonnull final SerializerProvider provider) throws IOException {
+            // 没有对应 Bean 序列化器的对象 (如 Map), 先转为 JsonNode
+            final BeanPropertyWriter[] properties = source instanceof JsonNode ? null : this.getProperties(source.getClass(), provider);
+            final Object row = source instanceof JsonNode || properties != null ? source : JdyDataRequestConvertUtil.ofValue(source);
+
+            gen.writeStartObject();
+
+            // 子表单数据ID
+            if (subForm) {
+                final String dataId = row instanceof JsonNode jsonNode
+                        ? (JacksonUtil.isNull(jsonNode.get("_id")) ? null : jsonNode.get("_id").asText())
+                        : row instanceof JdySubDo jdySubDo ? jdySubDo.getDataId() : null;
+                if (dataId != null) {
+                    gen.writeFieldName("_id");
+                    JdyDataRequestConvertUtil.writeValue(TextNode.valueOf(dataId), gen, provider);
+                }
+            }
+
+            for (int i = 0; i < this.names.length; i++) {
+                final String fieldName = this.names[i];
+                try {
+                    if (row instanceof JsonNode jsonNode) {
+                        // 忽略未传入的字段, 让简道云不处理该字段
+                        if (!subForm && !jsonNode.has(fieldName)) continue;
+                        this.writeField(i, jsonNode.get(fieldName), gen, provider);
+                        continue;
+                    }
+
+                    // 实体中不存在的字段视为未传入, 值为 null 且配置了不序列化 null 的字段同样视为未传入
+                    final BeanPropertyWriter property = properties[i];
+                    final Object value = property == null ? null : property.get(row);
+                    if (value == null && (property == null || property.willSuppressNulls())) {
+                        if (subForm) this.writeField(i, null, gen, provider);
+                        continue;
+                    }
+
+                    // 子表单实体直接按子表单计划写出, 不转为 JsonNode
+                    final ConvertPlan subFormPlan = this.subFormPlans[i];
+                    if (subFormPlan != null && value instanceof Collection<?> rows) {
+                        gen.writeFieldName(fieldName);
+                        gen.writeStartObject();
+                        gen.writeFieldName(VALUE);
+                        gen.writeStartArray();
+                        if (subFormPlan.names.length > 0) {
+                            for (final Object subFormRow : rows) {
+                                Assert.notNull(subFormRow, "subform row must not be null");
+                                subFormPlan.write(subFormRow, true, gen, provider);
+                            }
+                        }
+                        gen.writeEndArray();
+                        gen.writeEndObject();
+                        continue;
+                    }
+
+                    this.writeField(i, JdyDataRequestConvertUtil.ofPropertyValue(row, property, value, provider), gen, provider);
+                } catch (Exception e) {
+                    throw JdyDataRequestConvertUtil.convertException(fieldName, e);
+                }
+            }
+
+            gen.writeEndObject();
+        }
+
+        /**
+         * 转换并写出单个字段, 格式: "字段": {"value": xxx}
+         */
+        private void writeField(final int index, @Nullable final JsonNode oldValue, @Nonnull final JsonGenerator gen, @Nonnull final SerializerProvider provider) throws IOException {
+            final JsonNode newValue = this.convertField(index, oldValue);
+            if (newValue == null) return;
+            gen.writeFieldName(this.names[index]);
+            JdyDataRequestConvertUtil.writeValue(newValue, gen, provider);
+        }
+
+        /**
+         * 获取实体属性, 与 names 下标一致
+         *
+         * @return 属性数组, 非 Bean 对象或属性无法完整描述序列化结果的对象返回 null, 由调用方先转为 JsonNode
+         */
+        @Nullable
+        private BeanPropertyWriter[] getProperties(@Nonnull final Class<?> type, @Nonnull final SerializerProvider provider) throws JsonMappingException {
+            // 视图按序列化时的激活视图过滤属性, 不缓存
+            if (provider.getActiveView() != null) {
+                return null;
+            }
+
+            final BeanPropertyWriter[] cached = this.propertyCache.get(type);
+            if (cached != null) {
+                return cached == NO_PROPERTIES ? null : cached;
+            }
+
+            if (!(provider.findValueSerializer(type) instanceof BeanSerializerBase beanSerializer)
+                    || !JdyDataRequestConvertUtil.isPlainBean(type, beanSerializer, provider)) {
+                this.propertyCache.put(type, NO_PROPERTIES);
+                return null;
+            }
+
+            // key: 属性名称 (已处理 @JsonProperty), value: 属性
+            final Map<String, BeanPropertyWriter> propertyMap = new HashMap<>();
+            beanSerializer.properties().forEachRemaining(propertyWriter -> {
+                if (propertyWriter instanceof BeanPropertyWriter beanPropertyWriter) {
+                    propertyMap.put(beanPropertyWriter.getName(), beanPropertyWriter);
+                }
+            });
+
+            final BeanPropertyWriter[] properties = new BeanPropertyWriter[this.names.length];
+            for (int i = 0; i < this.names.length; i++) {
+                properties[i] = propertyMap.get(this.names[i]);
+            }
+            this.propertyCache.put(type, properties);
+            return properties;
+        }
+    }
+
+    /**
+     * 实体的序列化结果是否完全由普通属性决定, 可以逐个读取属性直接写出
+     * 使用了 @JsonAnyGetter、@JsonUnwrapped、@JsonFilter、对象ID、类型信息, 或配置了非空以外的包含规则 (如 NON_EMPTY) 的实体,
+     * 逐个读取属性得到的结果与序列化结果不一致, 需要先转为 JsonNode
+     */
+    private static boolean isPlainBean(@Nonnull final Class<?> type, @Nonnull final BeanSerializerBase beanSerializer, @Nonnull final SerializerProvider provider) throws JsonMappingException {
+        if (beanSerializer.usesObjectId()) {
+            return false;
+        }
+
+        final SerializationConfig config = provider.getConfig();
+        final JavaType javaType = provider.constructType(type);
+        if (provider.findTypeSerializer(javaType) != null) {
+            return false;
+        }
+
+        final AnnotationIntrospector introspector = provider.getAnnotationIntrospector();
+        final BeanDescription beanDesc = config.introspect(javaType);
+        if (beanDesc.findAnyGetter() != null || introspector.findFilterId(beanDesc.getClassInfo()) != null
+                || !JdyDataRequestConvertUtil.isNullInclusion(beanDesc.findPropertyInclusion(config.getDefaultPropertyInclusion(type)))) {
+            return false;
+        }
+
+        final Iterator<PropertyWriter> iterator = beanSerializer.properties();
+        while (iterator.hasNext()) {
+            if (!(iterator.next() instanceof BeanPropertyWriter property)
+                    || property.isUnwrapping()
+                    || introspector.findFilterId(property.getMember()) != null
+                    || !JdyDataRequestConvertUtil.isNullInclusion(property.findPropertyInclusion(config, type))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 包含规则是否只可能过滤 null 值, null 值由 {@link BeanPropertyWriter#willSuppressNulls()} 判断
+     */
+    private static boolean isNullInclusion(@Nullable final JsonInclude.Value inclusion) {
+        if (inclusion == null) {
+            return true;
+        }
+        final JsonInclude.Include include = inclusion.getValueInclusion();
+        return include == JsonInclude.Include.ALWAYS || include == JsonInclude.Include.NON_NULL || include == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    /**
+     * 写出包装后的值, 格式: {"value": xxx}
+     */
+    private static void writeValue(@Nonnull final JsonNode value, @Nonnull final JsonGenerator gen, @Nonnull final SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(VALUE);
+        value.serialize(gen, provider);
+        gen.writeEndObject();
+    }
+
+    /**
+     * 将实体属性值转为 JsonNode
+     * 常见的简单类型直接构建节点, 其他类型使用属性自身的序列化配置 (如 @JsonFormat) 转换
+     */
+    @Nonnull
+    private static JsonNode ofPropertyValue(@Nonnull final Object bean, @Nonnull final BeanPropertyWriter property,
+                                            @Nonnull final Object value, @Nonnull final SerializerProvider provider) throws Exception {
+        if (property.getAnnotation(JsonFormat.class) == null && property.getAnnotation(JsonSerialize.class) == null) {
+            if (value instanceof JsonNode jsonNode) return jsonNode;
+            if (value instanceof String str) return TextNode.valueOf(str);
+            if (value instanceof Boolean bool) return BooleanNode.valueOf(bool);
+            if (value instanceof Integer number) return IntNode.valueOf(number);
+            if (value instanceof Long number) return LongNode.valueOf(number);
+            if (value instanceof BigDecimal number) return DecimalNode.valueOf(number);
+        }
+
+        final TokenBuffer buffer = new TokenBuffer(null, false);
+        property.serializeAsElement(bean, buffer, provider);
+        return JacksonUtil.getObjectMapper().readTree(buffer.asParser());
+    }
+
+    /**
+     * 延迟转换的数据, 序列化时按转换计划直接写出
+     *
+     * @param source      JsonNode 或实体对象
+     * @param convertPlan 转换计划
+     */
+    private record ConvertedData(@Nonnull Object source, @Nonnull ConvertPlan convertPlan) implements JsonSerializable {
+        @Override
+        public void serialize(final JsonGenerator gen, final SerializerProvider serializers) throws IOException {
+            this.convertPlan.write(this.source, false, gen, serializers);
+        }
+
+        @Override
+        public void serializeWithType(final JsonGenerator gen, final SerializerProvider serializers, final TypeSerializer typeSer) throws IOException {
+            this.serialize(gen, serializers);
+        }
+    }
+
     /**
      * 字段值转换器接口
      * 负责将Java对象转换为简道云API所需的格式
@@ -190,7 +622,7 @@ public class JdyDataRequestConvertUtil {
          *
          * @param value    原始值
          * @param jdyField 字段定义
-         * @return 转换后的值，格式为{"value": xxx}
+         * @return 转换后的值, 不含 {"value": xxx} 包装, 由调用方统一包装
          *         如果返回null，简道云API会保持该字段的当前值不变
          */
         @Nullable
@@ -230,7 +662,7 @@ public class JdyDataRequestConvertUtil {
             if (keys.isEmpty()) {
                 return null;
             } else {
-                return JdyDataRequestConvertUtil.ofNewValue(keys);
+                return JdyDataRequestConvertUtil.ofValue(keys);
             }
         }
     }
@@ -243,7 +675,7 @@ public class JdyDataRequestConvertUtil {
         @Nullable
         @Override
         public JsonNode executeConvert(@Nonnull JsonNode value, @Nonnull JdyField jdyField) {
-            return JdyDataRequestConvertUtil.ofNewValue(value.asText());
+            return JdyDataRequestConvertUtil.ofValue(value.asText());
         }
     }
 
@@ -279,10 +711,10 @@ public class JdyDataRequestConvertUtil {
         @Override
         public JsonNode executeConvert(@Nonnull JsonNode value, @Nonnull JdyField jdyField) {
             if (StringUtils.isBlank(value.asText())) {
-                return JdyDataRequestConvertUtil.ofNewValue(null);
+                return JdyDataRequestConvertUtil.ofValue(null);
             } else {
                 try {
-                    return JdyDataRequestConvertUtil.ofNewValue(new BigDecimal(value.asText()));
+                    return JdyDataRequestConvertUtil.ofValue(new BigDecimal(value.asText()));
                 } catch (NumberFormatException e) {
                     throw new IllegalArgumentException("无效的数字格式: " + value.asText(), e);
                 }
@@ -301,7 +733,7 @@ public class JdyDataRequestConvertUtil {
                 // 处理字符串格式的日期时间
                 if (value.isTextual()) {
                     final Instant instant = Instant.parse(value.asText());
-                    return JdyDataRequestConvertUtil.ofNewValue(instant.toString());
+                    return JdyDataRequestConvertUtil.ofValue(instant.toString());
                 }
 
                 // 处理数字格式的日期时间（时间戳）
@@ -312,10 +744,10 @@ public class JdyDataRequestConvertUtil {
                     // 根据时间戳长度判断单位（秒/毫秒）
                     if (length == 10) {
                         // 秒级时间戳
-                        return JdyDataRequestConvertUtil.ofNewValue(Instant.ofEpochSecond(time).toString());
+                        return JdyDataRequestConvertUtil.ofValue(Instant.ofEpochSecond(time).toString());
                     } else if (length == 13) {
                         // 毫秒级时间戳
-                        return JdyDataRequestConvertUtil.ofNewValue(Instant.ofEpochMilli(time).toString());
+                        return JdyDataRequestConvertUtil.ofValue(Instant.ofEpochMilli(time).toString());
                     }
                 }
                 throw new IllegalArgumentException("不支持的日期时间格式: " + value);
@@ -343,7 +775,7 @@ public class JdyDataRequestConvertUtil {
                 stringArray.add(element.asText());
             }
 
-            return JdyDataRequestConvertUtil.ofNewValue(stringArray);
+            return JdyDataRequestConvertUtil.ofValue(stringArray);
         }
     }
 
@@ -367,7 +799,7 @@ public class JdyDataRequestConvertUtil {
         @Override
         public JsonNode executeConvert(@Nonnull JsonNode value, @Nonnull JdyField jdyField) {
             final JdyAddress address = JacksonUtil.treeToValue(value, JdyAddress.class);
-            return JdyDataRequestConvertUtil.ofNewValue(address);
+            return JdyDataRequestConvertUtil.ofValue(address);
         }
     }
 
@@ -379,7 +811,7 @@ public class JdyDataRequestConvertUtil {
         @Override
         public JsonNode executeConvert(@Nonnull JsonNode value, @Nonnull JdyField jdyField) {
             final JdyLocation location = JacksonUtil.treeToValue(value, JdyLocation.class);
-            return JdyDataRequestConvertUtil.ofNewValue(location);
+            return JdyDataRequestConvertUtil.ofValue(location);
         }
     }
 
@@ -397,61 +829,13 @@ public class JdyDataRequestConvertUtil {
 
     /**
      * 子表单转换器
+     * 通过转换计划转换时直接使用预编译的子表单计划, 不会调用本方法
      */
     private static class SubFormConverter implements Converter {
         @Nullable
         @Override
         public JsonNode executeConvert(@Nonnull JsonNode value, @Nonnull JdyField jdyField) {
-            Assert.isTrue(value.isArray(), "value must be array");
-
-            // 获取子表单字段定义, key: 简道云字段名称, value: 简道云字段对象
-            final List<JdyField> jdyFields = jdyField.getItems();
-            if (CollUtil.isEmpty(jdyFields)) {
-                return JdyDataRequestConvertUtil.ofNewValue(JacksonUtil.createArrayNode());
-            }
-
-            // 构建子表单字段映射
-            final Map<String, JdyField> fieldNameTypeMap = new HashMap<>();
-            jdyFields.forEach(jdyFieldItem -> fieldNameTypeMap.put(jdyFieldItem.getName(), jdyFieldItem));
-
-            // 创建子表单数据数组
-            final ArrayNode arrayValue = JacksonUtil.createArrayNode();
-
-            // 处理每一行子表单数据
-            for (final JsonNode subFormItem : value) {
-                final ObjectNode newSubFormItem = JacksonUtil.ofObjectNode();
-
-                // 处理子表单数据ID
-                // 注意：根据简道云API，子表单数据ID需要保留并正确处理
-                if (subFormItem.has("_id")) {
-                    newSubFormItem.set("_id", JdyDataRequestConvertUtil.ofNewValue(subFormItem.get("_id").asText()));
-                }
-
-                // 处理子表单中的其他字段
-                fieldNameTypeMap.forEach((fieldName, field) -> {
-                    // 获取子表单行中该字段的值
-                    final JsonNode oldValue = subFormItem.get(fieldName);
-                    if (JacksonUtil.isNull(oldValue)) {
-                        newSubFormItem.set(fieldName, JdyDataRequestConvertUtil.ofNewValue(null));
-                        return;
-                    }
-
-                    // 获取该字段类型对应的转换器
-                    final Converter converter = JdyDataRequestConvertUtil.getConverter(field);
-                    if (converter == null) return;
-
-                    // 执行转换，得到新的value
-                    final JsonNode newValue = converter.executeConvert(oldValue, field);
-                    if (newValue == null) return;
-                    newSubFormItem.set(fieldName, newValue);
-                });
-
-                // 将处理好的子表单行添加到数组中
-                arrayValue.add(newSubFormItem);
-            }
-
-            // 返回包装好的子表单数据
-            return JdyDataRequestConvertUtil.ofNewValue(arrayValue);
+            return JdyDataRequestConvertUtil.convertSubForm(value, JdyDataRequestConvertUtil.compile(jdyField.getItems()));
         }
     }
 
@@ -463,7 +847,7 @@ public class JdyDataRequestConvertUtil {
         @Override
         public JsonNode executeConvert(@Nonnull JsonNode value, @Nonnull JdyField jdyField) {
             final JdyUser user = JacksonUtil.treeToValue(value, JdyUser.class);
-            return JdyDataRequestConvertUtil.ofNewValue(user.getUsername());
+            return JdyDataRequestConvertUtil.ofValue(user.getUsername());
         }
     }
 
@@ -477,7 +861,7 @@ public class JdyDataRequestConvertUtil {
             Assert.isTrue(value.isArray(), "value must be array");
             final JdyUserGroup users = JacksonUtil.treeToValue(value, JdyUserGroup.class);
             final Set<String> usernames = users.stream().map(JdyUser::getUsername).collect(Collectors.toSet());
-            return JdyDataRequestConvertUtil.ofNewValue(usernames);
+            return JdyDataRequestConvertUtil.ofValue(usernames);
         }
     }
 
@@ -489,7 +873,7 @@ public class JdyDataRequestConvertUtil {
         @Override
         public JsonNode executeConvert(@Nonnull JsonNode value, @Nonnull JdyField jdyField) {
             final JdyDept dept = JacksonUtil.treeToValue(value, JdyDept.class);
-            return JdyDataRequestConvertUtil.ofNewValue(dept.getDeptNo());
+            return JdyDataRequestConvertUtil.ofValue(dept.getDeptNo());
         }
     }
 
@@ -503,7 +887,7 @@ public class JdyDataRequestConvertUtil {
             Assert.isTrue(value.isArray(), "value must be array");
             final JdyDeptGroup depts = JacksonUtil.treeToValue(value, JdyDeptGroup.class);
             final Set<Integer> deptnos = depts.stream().map(JdyDept::getDeptNo).collect(Collectors.toSet());
-            return JdyDataRequestConvertUtil.ofNewValue(deptnos);
+            return JdyDataRequestConvertUtil.ofValue(deptnos);
         }
     }
 
@@ -515,7 +899,7 @@ public class JdyDataRequestConvertUtil {
         @Override
         public JsonNode executeConvert(@Nonnull JsonNode value, @Nonnull JdyField jdyField) {
             final JdyPhone phone = JacksonUtil.treeToValue(value, JdyPhone.class);
-            return JdyDataRequestConvertUtil.ofNewValue(phone.getPhone());
+            return JdyDataRequestConvertUtil.ofValue(phone.getPhone());
         }
     }
 }
\ No newline at end of file
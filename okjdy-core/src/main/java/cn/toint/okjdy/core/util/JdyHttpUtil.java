@@ -17,6 +17,8 @@
 package cn.toint.okjdy.core.util;
 
 import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Optional;
@@ -36,9 +38,27 @@ public class JdyHttpUtil {
         return Optional.ofNullable(responseBody)
                 .filter(StringUtils::isNotBlank)
                 .map(JacksonUtil::tryReadTree)
-                .map(jsonNode -> jsonNode.path("code"))
-                .map(code -> code.asInt(-1))
-                .filter(code -> code == 8303 || code == 8304) // 请求超过频率异常
+                .filter(JdyHttpUtil::isLimitException)
                 .isPresent();
     }
+
+    /**
+     * 是否为请求超过频率异常
+     *
+     * @param responseBody 已解析的响应体, 避免重复解析
+     * @return 是否为请求超过频率异常
+     */
+    public static boolean isLimitException(@Nullable final JsonNode responseBody) {
+        return JdyHttpUtil.isLimitCode(responseBody == null ? -1 : responseBody.path("code").asInt(-1));
+    }
+
+    /**
+     * 是否为请求超过频率错误码
+     *
+     * @param code 错误码
+     * @return 是否为请求超过频率错误码
+     */
+    public static boolean isLimitCode(final int code) {
+        return code == 8303 || code == 8304; // 请求超过频率异常
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.util;
+
+import cn.toint.okjdy.core.exception.JdyRequestLimitException;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 简道云 Json 工具
+ * 用于直接从响应流中解析 Json, 避免先读取为字符串再解析,
+ * 查询数据列表时可直接将 data 数组逐条反序列化为实体, 不构建中间 JsonNode 树
+ * 解析器由 {@link JacksonUtil} 的 ObjectMapper 创建, 反序列化配置与客户端其他解析保持一致
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+public class JdyJsonUtil {
+    /**
+     * 使用指定读取方法解析 Json, Json 格式错误或内容为空返回 null
+     *
+     * @param inputStream 输入流, 由调用方关闭
+     * @param bodyReader  读取方法
+     */
+    @Nullable
+    public static <R> R tryRead(@Nullable final InputStream inputStream, @Nonnull final BodyReader<R> bodyReader) throws IOException {
+        if (inputStream == null) {
+            return null;
+        }
+
+        try (final JsonParser parser = JacksonUtil.getObjectMapper().createParser(inputStream)) {
+            return parser.nextToken() == null ? null : bodyReader.read(parser);
+        } catch (StreamReadException e) {
+            log.debug("json parse error: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 流式读取响应中的 data 数组, 每个元素直接反序列化为指定类型, 不构建中间 JsonNode 树
+     * 元素由创建解析器的 ObjectMapper (即 {@link JacksonUtil} 的 ObjectMapper) 反序列化, 结果与 {@link JacksonUtil#treeToValue} 一致
+     * 示例: {"data": [{数据1}, {数据2}]}
+     *
+     * @param parser       已定位到根节点的解析器
+     * @param responseType 元素类型
+     * @return 数据集合, 响应中不存在 data 数组时返回 null
+     * @throws JdyRequestLimitException 响应错误码为请求超过频率
+     */
+    @Nullable
+    public static <T> List<T> readData(@Nonnull final JsonParser parser, @Nonnull final Class<T> responseType) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+
+        List<T> data = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            final JsonToken token = parser.nextToken();
+            if ("code".equals(fieldName) && token == JsonToken.VALUE_NUMBER_INT) {
+                final int code = parser.getIntValue();
+                if (JdyHttpUtil.isLimitCode(code)) {
+                    throw new JdyRequestLimitException("简道云接口超出频率限制, code: " + code);
+                }
+            } else if ("data".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                data = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    data.add(parser.readValueAs(responseType));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return data;
+    }
+
+    /**
+     * 响应体读取方法
+     */
+    @FunctionalInterface
+    public interface BodyReader<R> {
+        /**
+         * 读取响应体
+         *
+         * @param parser 已定位到根节点的解析器
+         * @return 读取结果, 无法识别时返回 null
+         */
+        @Nullable
+        R read(@Nonnull JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025 Toint (599818663@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.toint.okjdy.core.util;
+
+import cn.toint.okjdy.core.config.JdyRetryPolicy;
+import cn.toint.okjdy.core.exception.JdyRequestLimitException;
+import cn.toint.oktool.util.Assert;
+import cn.toint.oktool.util.ExceptionUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 简道云重试工具
+ * 同步重试在调用线程中等待; 异步重试由 {@link ScheduledExecutorService} 定时重新提交请求, 等待期间不占用线程.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+public class JdyRetryUtil {
+    /**
+     * 执行任务, 异常时按重试策略重试
+     *
+     * @param task        任务
+     * @param retryPolicy 重试策略
+     * @return 任务结果
+     * @throws RuntimeException 不再重试时抛出最后一次异常, 受检异常被包装为运行时异常
+     */
+    public static <R> R execute(@Nonnull final Callable<R> task, @Nonnull final JdyRetryPolicy retryPolicy) {
+        Assert.notNull(task, "task must not be null");
+        Assert.notNull(retryPolicy, "retryPolicy must not be null");
+
+        if (retryPolicy.getRetryBudget() != null) {
+            retryPolicy.getRetryBudget().onRequest();
+        }
+
+        final long startNanos = System.nanoTime();
+        int retries = 0;
+        int limitRetries = 0;
+        Duration delay = null;
+        while (true) {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                delay = retryPolicy.nextDelay(e, retries, limitRetries, delay, Duration.ofNanos(System.nanoTime() - startNanos));
+                if (delay == null) {
+                    throw e instanceof RuntimeException runtimeException ? runtimeException : ExceptionUtil.wrapRuntimeException(e);
+                }
+                retries++;
+                if (e instanceof JdyRequestLimitException) {
+                    limitRetries++;
+                }
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("简道云请求重试等待被中断", e);
+            }
+        }
+    }
+
+    /**
+     * 异步执行任务, 异常时按重试策略在定时器上调度重试, 等待期间不占用线程
+     *
+     * @param task        异步任务, 每次重试重新调用
+     * @param retryPolicy 重试策略
+     * @param scheduler   定时器, 到达重试间隔后重新提交任务, 任务本身应在其他线程池中执行
+     * @return 任务结果, 不再重试时以最后一次异常完成
+     */
+    @Nonnull
+    public static <R> CompletableFuture<R> executeAsync(@Nonnull final Supplier<CompletableFuture<R>> task, @Nonnull final JdyRetryPolicy retryPolicy,
+                                                        @Nonnull final ScheduledExecutorService scheduler) {
+        Assert.notNull(task, "task must not be null");
+        Assert.notNull(retryPolicy, "retryPolicy must not be null");
+        Assert.notNull(scheduler, "scheduler must not be null");
+
+        if (retryPolicy.getRetryBudget() != null) {
+            retryPolicy.getRetryBudget().onRequest();
+        }
+
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        new AsyncRetry<>(task, retryPolicy, scheduler, result).attempt();
+        return result;
+    }
+
+    /**
+     * 异步重试状态, 同一时刻只有一次请求在执行
+     */
+    private static class AsyncRetry<R> {
+        private final Supplier<CompletableFuture<R>> task;
+
+        private final JdyRetryPolicy retryPolicy;
+
+        private final ScheduledExecutorService scheduler;
+
+        private final CompletableFuture<R> result;
+
+        private final long startNanos = System.nanoTime();
+
+        private int retries;
+
+        private int limitRetries;
+
+        @Nullable
+        private Duration delay;
+
+        private AsyncRetry(final Supplier<CompletableFuture<R>> task, final JdyRetryPolicy retryPolicy,
+                           final ScheduledExecutorService scheduler, final CompletableFuture<R> result) {
+            this.task = task;
+            this.retryPolicy = retryPolicy;
+            this.scheduler = scheduler;
+            this.result = result;
+        }
+
+        private void attempt() {
+            // 调用方已取消
+            if (this.result.isDone()) {
+                return;
+            }
+
+            final CompletableFuture<R> future;
+            try {
+                future = this.task.get();
+            } catch (Exception e) {
+                this.onFailure(e);
+                return;
+            }
+
+            future.whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    this.result.complete(value);
+                } else {
+                    this.onFailure(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                }
+            });
+        }
+
+        private void onFailure(final Throwable e) {
+            this.delay = this.retryPolicy.nextDelay(e, this.retries, this.limitRetries, this.delay, Duration.ofNanos(System.nanoTime() - this.startNanos));
+            if (this.delay == null) {
+                this.result.completeExceptionally(e);
+                return;
+            }
+            this.retries++;
+            if (e instanceof JdyRequestLimitException) {
+                this.limitRetries++;
+            }
+
+            try {
+                this.scheduler.schedule(this::attempt, this.delay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejectedExecutionException) {
+                // 定时器已关闭, 不再重试
+                e.addSuppressed(rejectedExecutionException);
+                this.result.completeExceptionally(e);
+            }
+        }
+    }
+}
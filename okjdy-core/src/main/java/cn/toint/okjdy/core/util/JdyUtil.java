@@ -16,10 +16,16 @@
 
 package cn.toint.okjdy.core.util;
 
+import cn.toint.oktool.util.Assert;
 import cn.toint.oktool.util.ExceptionUtil;
 import cn.toint.oktool.util.JacksonUtil;
+import jakarta.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Optional;
 
 /**
@@ -53,4 +59,18 @@ public class JdyUtil {
             return false;
         }
     }
+
+    /**
+     * apiKey 摘要 (sha256 的前 16 位), 用于 Redis 等外部存储的 key, 避免明文暴露 apiKey
+     */
+    @Nonnull
+    public static String digestApiKey(@Nonnull final String apiKey) {
+        Assert.notBlank(apiKey, "apiKey must not be blank");
+        try {
+            final byte[] bytes = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -43,19 +43,33 @@ public class JdyWebhookUtil {
      */
     public static JdyWebhookRequest decode(final HttpServletRequest request, final String secret) {
         Assert.notNull(request, "request must not be null");
-        Assert.notBlank(secret, "secret must not be null");
+        Assert.notBlank(secret, "secret must not be blank");
 
         final String body = ServletUtil.getBody(request);
-        final Map<String, String> param = ServletUtil.getParamMap(request);
-        final Map<String, String> header = ServletUtil.getHeaderMap(request);
+        return JdyWebhookUtil.decode(body, ServletUtil.getParamMap(request), ServletUtil.getHeaderMap(request), secret);
+    }
+
+    /**
+     * 解码简道云 webhook 请求, 适用于已读取请求体和参数的场景 (如非 Servlet 容器)
+     *
+     * @param body    请求体
+     * @param params  请求参数, 需包含 nonce、timestamp
+     * @param headers 请求头, 需包含 X-JDY-Signature、X-JDY-DeliverId, 名称不区分大小写
+     * @param secret  secret
+     * @return webhook 请求
+     */
+    public static JdyWebhookRequest decode(final String body, final Map<String, String> params, final Map<String, String> headers, final String secret) {
+        Assert.notBlank(secret, "secret must not be blank");
+        Assert.notNull(params, "params must not be null");
+        Assert.notNull(headers, "headers must not be null");
 
-        final String nonce = param.get("nonce");
+        final String nonce = params.get("nonce");
+        final String timestamp = params.get("timestamp");
+        final String signature = JdyWebhookUtil.getHeader(headers, "X-JDY-Signature");
+        final String deliverId = JdyWebhookUtil.getHeader(headers, "X-JDY-DeliverId");
         Assert.notBlank(nonce, "nonce must not be blank");
-        final String timestamp = param.get("timestamp");
         Assert.notBlank(timestamp, "timestamp must not be blank");
-        final String signature = header.get("x-jdy-signature");
         Assert.notBlank(signature, "signature must not be blank");
-        final String deliverId = header.get("x-jdy-deliverid");
         Assert.notBlank(deliverId, "deliverId must not be blank");
 
         final Map<String, String> signatureParamMap = new HashMap<>();
@@ -72,4 +86,20 @@ public class JdyWebhookUtil {
         jdyWebhookRequest.setDeliverId(deliverId);
         return jdyWebhookRequest;
     }
+
+    /**
+     * 获取请求头, 名称不区分大小写
+     */
+    private static String getHeader(final Map<String, String> headers, final String name) {
+        final String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (final Map.Entry<String, String> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,219 @@
+package cn.toint.okjdy.core.breaker;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.exception.JdyCircuitOpenException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 熔断器测试, 使用可控的时钟
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyCircuitBreakerTest {
+    private static final JdyUrlEnum URL = JdyUrlEnum.LIST_DATA;
+
+    private static final long FAST = Duration.ofMillis(100).toNanos();
+
+    private static final long SLOW = Duration.ofSeconds(6).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final JdyCircuitBreaker breaker = new JdyCircuitBreaker(0.5, Duration.ofSeconds(5), 0.8, Duration.ofSeconds(30), this.now::get);
+
+    /**
+     * 请求数达到最少请求次数后, 失败率达到阈值时打开
+     */
+    @Test
+    void testOpenOnFailureRate() {
+        for (int i = 0; i < 19; i++) {
+            this.breaker.acquire(URL).onError(FAST);
+        }
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(URL));
+
+        this.breaker.acquire(URL).onError(FAST);
+        assertEquals(JdyCircuitBreaker.State.OPEN, this.breaker.getState(URL));
+        assertThrows(JdyCircuitOpenException.class, () -> this.breaker.acquire(URL));
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(JdyUrlEnum.GET_DATA));
+    }
+
+    /**
+     * 失败率低于阈值时保持关闭
+     */
+    @Test
+    void testBelowFailureRate() {
+        for (int i = 0; i < 100; i++) {
+            this.breaker.acquire(URL).onSuccess(FAST);
+            if (i % 3 == 0) {
+                this.breaker.acquire(URL).onError(FAST);
+            }
+        }
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(URL));
+    }
+
+    /**
+     * 慢请求比例达到阈值时打开
+     */
+    @Test
+    void testOpenOnSlowRate() {
+        for (int i = 0; i < 5; i++) {
+            this.breaker.acquire(URL).onSuccess(FAST);
+        }
+        // 19 / 24 < 80%
+        for (int i = 0; i < 19; i++) {
+            this.breaker.acquire(URL).onSuccess(SLOW);
+        }
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(URL));
+
+        // 20 / 25 = 80%
+        this.breaker.acquire(URL).onSuccess(SLOW);
+        assertEquals(JdyCircuitBreaker.State.OPEN, this.breaker.getState(URL));
+    }
+
+    /**
+     * 不计入统计的请求不影响失败率
+     */
+    @Test
+    void testIgnoreNotCounted() {
+        for (int i = 0; i < 100; i++) {
+            this.breaker.acquire(URL).onIgnore();
+        }
+        for (int i = 0; i < 19; i++) {
+            this.breaker.acquire(URL).onError(FAST);
+        }
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(URL));
+    }
+
+    /**
+     * 只统计最近的请求, 窗口外的结果被移出
+     */
+    @Test
+    void testWindowEviction() {
+        for (int i = 0; i < 100; i++) {
+            this.breaker.acquire(URL).onSuccess(FAST);
+        }
+        for (int i = 0; i < 49; i++) {
+            this.breaker.acquire(URL).onError(FAST);
+        }
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(URL));
+
+        this.breaker.acquire(URL).onError(FAST);
+        assertEquals(JdyCircuitBreaker.State.OPEN, this.breaker.getState(URL));
+    }
+
+    /**
+     * 熔断时长后半开, 试探请求全部成功时关闭并清空统计
+     */
+    @Test
+    void testHalfOpenClose() {
+        this.open();
+        this.now.addAndGet(Duration.ofSeconds(30).toNanos() - 1);
+        assertThrows(JdyCircuitOpenException.class, () -> this.breaker.acquire(URL));
+
+        this.now.incrementAndGet();
+        final List<JdyCircuitBreaker.Permit> trials = this.acquireTrials(5);
+        assertEquals(JdyCircuitBreaker.State.HALF_OPEN, this.breaker.getState(URL));
+        assertThrows(JdyCircuitOpenException.class, () -> this.breaker.acquire(URL));
+
+        trials.forEach(permit -> permit.onSuccess(FAST));
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(URL));
+
+        for (int i = 0; i < 19; i++) {
+            this.breaker.acquire(URL).onError(FAST);
+        }
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(URL));
+    }
+
+    /**
+     * 试探请求失败或过慢时重新打开, 重新计算熔断时长
+     */
+    @Test
+    void testHalfOpenReopen() {
+        this.open();
+        this.now.addAndGet(Duration.ofSeconds(30).toNanos());
+        final List<JdyCircuitBreaker.Permit> trials = this.acquireTrials(2);
+        trials.getFirst().onSuccess(FAST);
+        trials.getLast().onSuccess(SLOW);
+        assertEquals(JdyCircuitBreaker.State.OPEN, this.breaker.getState(URL));
+
+        this.now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThrows(JdyCircuitOpenException.class, () -> this.breaker.acquire(URL));
+        this.now.addAndGet(Duration.ofSeconds(1).toNanos());
+        this.breaker.acquire(URL).onError(FAST);
+        assertEquals(JdyCircuitBreaker.State.OPEN, this.breaker.getState(URL));
+    }
+
+    /**
+     * 不计入统计的试探请求归还名额
+     */
+    @Test
+    void testHalfOpenIgnoreReturnsPermit() {
+        this.open();
+        this.now.addAndGet(Duration.ofSeconds(30).toNanos());
+        final List<JdyCircuitBreaker.Permit> trials = this.acquireTrials(5);
+        assertThrows(JdyCircuitOpenException.class, () -> this.breaker.acquire(URL));
+
+        trials.getFirst().onIgnore();
+        trials.getFirst().onIgnore();
+        final JdyCircuitBreaker.Permit extra = this.breaker.acquire(URL);
+        assertThrows(JdyCircuitOpenException.class, () -> this.breaker.acquire(URL));
+
+        trials.subList(1, 5).forEach(permit -> permit.onSuccess(FAST));
+        assertEquals(JdyCircuitBreaker.State.HALF_OPEN, this.breaker.getState(URL));
+        extra.onSuccess(FAST);
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(URL));
+    }
+
+    /**
+     * 上一轮半开状态的试探请求不影响本轮的名额和结果
+     */
+    @Test
+    void testStaleTrialPermit() {
+        this.open();
+        this.now.addAndGet(Duration.ofSeconds(30).toNanos());
+        final List<JdyCircuitBreaker.Permit> staleTrials = this.acquireTrials(5);
+        staleTrials.getFirst().onError(FAST);
+        assertEquals(JdyCircuitBreaker.State.OPEN, this.breaker.getState(URL));
+
+        this.now.addAndGet(Duration.ofSeconds(30).toNanos());
+        final List<JdyCircuitBreaker.Permit> trials = this.acquireTrials(5);
+
+        // 上一轮的名额不能归还到本轮
+        staleTrials.get(1).onIgnore();
+        assertThrows(JdyCircuitOpenException.class, () -> this.breaker.acquire(URL));
+
+        // 上一轮的成功不计入本轮, 失败也不会重新打开
+        trials.subList(0, 4).forEach(permit -> permit.onSuccess(FAST));
+        staleTrials.get(2).onSuccess(FAST);
+        staleTrials.get(3).onError(FAST);
+        assertEquals(JdyCircuitBreaker.State.HALF_OPEN, this.breaker.getState(URL));
+
+        trials.getLast().onSuccess(FAST);
+        assertEquals(JdyCircuitBreaker.State.CLOSED, this.breaker.getState(URL));
+    }
+
+    /**
+     * 打开熔断
+     */
+    private void open() {
+        for (int i = 0; i < 20; i++) {
+            this.breaker.acquire(URL).onError(FAST);
+        }
+        assertEquals(JdyCircuitBreaker.State.OPEN, this.breaker.getState(URL));
+    }
+
+    private List<JdyCircuitBreaker.Permit> acquireTrials(final int count) {
+        final List<JdyCircuitBreaker.Permit> permits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            permits.add(this.breaker.acquire(URL));
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,97 @@
+package cn.toint.okjdy.core.breaker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 重试预算测试, 使用可控的时钟
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyRetryBudgetTest {
+    private final AtomicLong now = new AtomicLong();
+
+    /**
+     * 重试次数 = 请求次数 * 20% + 每秒 1 次 * 10 秒
+     */
+    private final JdyRetryBudget budget = new JdyRetryBudget(0.2, 1, this.now::get);
+
+    /**
+     * 重试次数不超过预算
+     */
+    @Test
+    void testBudget() {
+        this.requests(100);
+        assertEquals(30, this.retries(100));
+    }
+
+    /**
+     * 没有请求时只允许每秒最少重试次数
+     */
+    @Test
+    void testMinRetries() {
+        assertEquals(10, this.retries(100));
+        assertEquals(0, new JdyRetryBudget(0.2, 0, this.now::get).tryRetry() ? 1 : 0);
+    }
+
+    /**
+     * 窗口滚动后移出过期秒的请求和重试次数
+     */
+    @Test
+    void testWindowRollover() {
+        this.requests(50);
+        assertEquals(20, this.retries(100));
+
+        this.advanceSeconds(5);
+        this.requests(50);
+        assertEquals(10, this.retries(100));
+
+        // 第 0 秒的 50 次请求、20 次重试移出窗口, 剩余 50 次请求、10 次重试
+        this.advanceSeconds(5);
+        assertEquals(10, this.retries(100));
+
+        // 间隔超过窗口时清空所有计数
+        this.advanceSeconds(1000);
+        assertEquals(10, this.retries(100));
+    }
+
+    /**
+     * 窗口内未到期的计数保留
+     */
+    @Test
+    void testWithinWindow() {
+        this.requests(100);
+        assertEquals(30, this.retries(100));
+
+        this.advanceSeconds(9);
+        assertFalse(this.budget.tryRetry());
+    }
+
+    private void requests(final int count) {
+        for (int i = 0; i < count; i++) {
+            this.budget.onRequest();
+        }
+    }
+
+    /**
+     * 连续尝试重试, 返回成功的次数
+     */
+    private int retries(final int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (this.budget.tryRetry()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    private void advanceSeconds(final long seconds) {
+        this.now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
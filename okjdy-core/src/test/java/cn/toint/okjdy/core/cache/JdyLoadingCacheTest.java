@@ -0,0 +1,271 @@
+package cn.toint.okjdy.core.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 本地加载缓存测试
+ * 时钟与后台线程池均由测试控制, 刷新任务只在调用 {@link #runTasks()} 时执行
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyLoadingCacheTest {
+    private static final Duration REFRESH_AFTER = Duration.ofSeconds(10);
+
+    private static final Duration EXPIRE_AFTER = Duration.ofSeconds(60);
+
+    /**
+     * 当前时间 (纳秒)
+     */
+    private final AtomicLong now = new AtomicLong();
+
+    /**
+     * 加载次数
+     */
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    /**
+     * 为 true 时加载失败
+     */
+    private volatile boolean failing;
+
+    /**
+     * 待执行的后台任务
+     */
+    private final Deque<Runnable> tasks = new ConcurrentLinkedDeque<>();
+
+    private JdyLoadingCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        this.cache = new JdyLoadingCache<>(this::load, (oldValue, newValue) -> newValue, this::submit,
+                REFRESH_AFTER, EXPIRE_AFTER, this.now::get);
+    }
+
+    /**
+     * 并发访问同一个 key 只加载一次
+     */
+    @Test
+    void testSingleFlight() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger blockingLoadCount = new AtomicInteger();
+        final JdyLoadingCache<String, String> blockingCache = new JdyLoadingCache<>(key -> {
+            blockingLoadCount.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return key + "-value";
+        }, (oldValue, newValue) -> newValue, this::submit, REFRESH_AFTER, EXPIRE_AFTER, this.now::get);
+
+        final int threads = 8;
+        try (ExecutorService executorService = Executors.newFixedThreadPool(threads)) {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> blockingCache.get("a")));
+            }
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            // 等待其他线程进入等待
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+
+            for (final Future<String> future : futures) {
+                assertEquals("a-value", future.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, blockingLoadCount.get());
+        assertEquals(1, blockingCache.getMissCount());
+        assertEquals(threads - 1, blockingCache.getHitCount());
+    }
+
+    /**
+     * 超过刷新时间后返回旧值并只提交一个后台刷新任务, 刷新完成后返回新值
+     */
+    @Test
+    void testRefreshAhead() {
+        assertEquals("a-1", this.cache.get("a"));
+
+        this.now.set(REFRESH_AFTER.toNanos());
+        assertEquals("a-1", this.cache.get("a"));
+        assertEquals("a-1", this.cache.get("a"));
+        assertEquals(1, this.tasks.size());
+        assertEquals(1, this.loadCount.get());
+
+        this.runTasks();
+        assertEquals(2, this.loadCount.get());
+        assertEquals("a-2", this.cache.get("a"));
+        assertTrue(this.tasks.isEmpty());
+    }
+
+    /**
+     * 刷新时合并新旧值
+     */
+    @Test
+    void testRefreshMerge() {
+        final JdyLoadingCache<String, String> mergingCache = new JdyLoadingCache<>(this::load, (oldValue, newValue) -> oldValue + "+" + newValue,
+                this::submit, REFRESH_AFTER, EXPIRE_AFTER, this.now::get);
+        assertEquals("a-1", mergingCache.get("a"));
+
+        this.now.set(REFRESH_AFTER.toNanos());
+        mergingCache.get("a");
+        this.runTasks();
+        assertEquals("a-1+a-2", mergingCache.get("a"));
+    }
+
+    /**
+     * 刷新失败时保留旧值, 下一次访问再次刷新
+     */
+    @Test
+    void testRefreshFailure() {
+        assertEquals("a-1", this.cache.get("a"));
+
+        this.now.set(REFRESH_AFTER.toNanos());
+        this.failing = true;
+        assertEquals("a-1", this.cache.get("a"));
+        this.runTasks();
+        assertEquals("a-1", this.cache.get("a"));
+        assertEquals(1, this.tasks.size());
+
+        this.failing = false;
+        this.runTasks();
+        assertEquals("a-3", this.cache.get("a"));
+    }
+
+    /**
+     * 超过过期时间后同步加载
+     */
+    @Test
+    void testExpire() {
+        assertEquals("a-1", this.cache.get("a"));
+        assertEquals("a-1", this.cache.getIfPresent("a"));
+
+        this.now.set(EXPIRE_AFTER.toNanos());
+        assertNull(this.cache.getIfPresent("a"));
+        assertEquals("a-2", this.cache.get("a"));
+        assertTrue(this.tasks.isEmpty());
+        assertEquals(2, this.cache.getMissCount());
+    }
+
+    /**
+     * 加载失败时不缓存异常, 下一次访问重新加载
+     */
+    @Test
+    void testLoadFailure() {
+        this.failing = true;
+        assertThrows(IllegalStateException.class, () -> this.cache.get("a"));
+        assertNull(this.cache.getIfPresent("a"));
+
+        this.failing = false;
+        assertEquals("a-2", this.cache.get("a"));
+    }
+
+    /**
+     * reload 期间访问的请求等待 reload 结果, 不重复加载
+     */
+    @Test
+    void testReload() throws Exception {
+        assertEquals("a-1", this.cache.get("a"));
+
+        this.cache.reload("a");
+        assertNull(this.cache.getIfPresent("a"));
+
+        final CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> this.cache.get("a"));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertFalse(waiting.isDone());
+        assertEquals(1, this.loadCount.get());
+
+        this.runTasks();
+        assertEquals("a-2", waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(2, this.loadCount.get());
+    }
+
+    /**
+     * reload 之后完成的旧刷新任务不能覆盖 reload 的结果
+     */
+    @Test
+    void testRefreshAfterReload() {
+        assertEquals("a-1", this.cache.get("a"));
+
+        this.now.set(REFRESH_AFTER.toNanos());
+        this.cache.get("a");
+        this.cache.reload("a");
+        assertEquals(2, this.tasks.size());
+
+        // 先执行 reload, 再执行旧的刷新
+        this.tasks.pollLast().run();
+        this.tasks.pollFirst().run();
+        assertEquals(3, this.loadCount.get());
+        assertEquals("a-2", this.cache.get("a"));
+    }
+
+    /**
+     * 刷新期间被移除或写入的, 刷新结果不覆盖
+     */
+    @Test
+    void testRefreshAfterInvalidateOrPut() {
+        assertEquals("a-1", this.cache.get("a"));
+        assertEquals("b-2", this.cache.get("b"));
+
+        this.now.set(REFRESH_AFTER.toNanos());
+        this.cache.get("a");
+        this.cache.get("b");
+        this.cache.invalidate("a");
+        this.cache.put("b", "b-put");
+        this.runTasks();
+
+        assertNull(this.cache.getIfPresent("a"));
+        assertEquals("b-put", this.cache.get("b"));
+    }
+
+    /**
+     * reload 提交失败时移除占位, 下一次访问同步加载
+     */
+    @Test
+    void testReloadRejected() {
+        final JdyLoadingCache<String, String> rejectingCache = new JdyLoadingCache<>(this::load, (oldValue, newValue) -> newValue, command -> {
+            throw new RejectedExecutionException("rejected");
+        }, REFRESH_AFTER, EXPIRE_AFTER, this.now::get);
+        assertEquals("a-1", rejectingCache.get("a"));
+
+        rejectingCache.reload("a");
+        assertEquals("a-2", rejectingCache.get("a"));
+    }
+
+    private String load(final String key) {
+        final int count = this.loadCount.incrementAndGet();
+        if (this.failing) {
+            throw new IllegalStateException("load failed");
+        }
+        return key + "-" + count;
+    }
+
+    private void submit(final Runnable task) {
+        this.tasks.add(task);
+    }
+
+    /**
+     * 按提交顺序执行当前所有后台任务
+     */
+    private void runTasks() {
+        final List<Runnable> current = new ArrayList<>();
+        Runnable task;
+        while ((task = this.tasks.pollFirst()) != null) {
+            current.add(task);
+        }
+        current.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,328 @@
+package cn.toint.okjdy.core.cache.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 进程内的 Redis 模拟服务, 只实现 {@link JdyRedisCache} 与 Redis 限流器用到的命令 (RESP2)
+ * GET/SET/SETEX/PSETEX/DEL/PUBLISH/SUBSCRIBE/UNSUBSCRIBE/PING/EVAL/EVALSHA, 过期时间使用可控的时钟.
+ * 模拟服务不能执行 Lua, EVAL/EVALSHA 交给 {@link #script} 注册的 Java 实现执行.
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+@Slf4j
+public class JdyMockRedisServer implements AutoCloseable {
+    /**
+     * 当前时间 (毫秒), 可通过 {@link #advance} 推进
+     */
+    private final AtomicLong now = new AtomicLong();
+
+    /**
+     * k: key, v: 值与过期时间
+     */
+    private final Map<String, Value> data = new ConcurrentHashMap<>();
+
+    /**
+     * k: 频道, v: 订阅的连接
+     */
+    private final Map<String, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    private final ServerSocket serverSocket;
+
+    /**
+     * 脚本的 Java 实现, 为 null 时 EVAL/EVALSHA 返回错误
+     */
+    private volatile ScriptHandler scriptHandler;
+
+    public JdyMockRedisServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("mock-redis-accept").start(this::accept);
+    }
+
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * 推进时钟
+     */
+    public void advance(final long millis) {
+        this.now.addAndGet(millis);
+    }
+
+    /**
+     * 当前时间 (毫秒)
+     */
+    public long now() {
+        return this.now.get();
+    }
+
+    /**
+     * 注册脚本的 Java 实现, 之后所有 EVAL/EVALSHA 都由其执行
+     */
+    public void script(final ScriptHandler scriptHandler) {
+        this.scriptHandler = scriptHandler;
+    }
+
+    /**
+     * 读取 key, 不存在或已过期返回 null
+     */
+    public String get(final String key) {
+        final Value value = this.live(key);
+        return value == null ? null : value.value();
+    }
+
+    /**
+     * 写入 key
+     *
+     * @param ttlMillis 过期时间 (毫秒), 小于 0 表示不过期
+     */
+    public void set(final String key, final String value, final long ttlMillis) {
+        this.data.put(key, new Value(value, ttlMillis < 0 ? -1 : this.now.get() + ttlMillis));
+    }
+
+    /**
+     * 剩余过期时间 (毫秒), 不存在返回 -2, 未设置过期时间返回 -1
+     */
+    public long pttl(final String key) {
+        final Value value = this.live(key);
+        if (value == null) {
+            return -2;
+        }
+        return value.expireAt < 0 ? -1 : value.expireAt - this.now.get();
+    }
+
+    /**
+     * 频道的订阅连接数
+     */
+    int subscriberCount(final String channel) {
+        return this.subscribers.getOrDefault(channel, Set.of()).size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.serverSocket.close();
+        for (final Connection connection : this.connections) {
+            connection.close();
+        }
+    }
+
+    private void accept() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                final Connection connection = new Connection(this.serverSocket.accept());
+                this.connections.add(connection);
+                Thread.ofVirtual().name("mock-redis-connection").start(connection::serve);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private Value live(final String key) {
+        final Value value = this.data.get(key);
+        if (value != null && value.expireAt >= 0 && value.expireAt <= this.now.get()) {
+            this.data.remove(key, value);
+            return null;
+        }
+        return value;
+    }
+
+    private record Value(String value, long expireAt) {
+    }
+
+    /**
+     * 脚本的 Java 实现
+     */
+    @FunctionalInterface
+    public interface ScriptHandler {
+        /**
+         * @param keys KEYS
+         * @param args ARGV
+         * @return 整数结果
+         */
+        long eval(List<String> keys, List<String> args);
+    }
+
+    /**
+     * 客户端连接
+     */
+    private class Connection {
+        private final Socket socket;
+
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        private final Set<String> channels = new CopyOnWriteArraySet<>();
+
+        private OutputStream out;
+
+        private Connection(final Socket socket) {
+            this.socket = socket;
+        }
+
+        private void serve() {
+            try (final Socket ignored = this.socket) {
+                final InputStream in = new BufferedInputStream(this.socket.getInputStream());
+                this.out = new BufferedOutputStream(this.socket.getOutputStream());
+                List<String> command;
+                while ((command = readCommand(in)) != null) {
+                    this.execute(command);
+                }
+            } catch (IOException e) {
+                log.debug("mock redis connection closed, cause: {}", e.getMessage());
+            } finally {
+                for (final String channel : this.channels) {
+                    subscribers.getOrDefault(channel, Set.of()).remove(this);
+                }
+                connections.remove(this);
+            }
+        }
+
+        private void close() {
+            try {
+                this.socket.close();
+            } catch (IOException e) {
+                log.debug("mock redis connection close failed, cause: {}", e.getMessage());
+            }
+        }
+
+        private void execute(final List<String> command) throws IOException {
+            final String name = command.getFirst().toUpperCase(Locale.ROOT);
+            switch (name) {
+                case "PING" -> this.write("+PONG\r\n");
+                case "SELECT", "CLIENT" -> this.write("+OK\r\n");
+                case "GET" -> {
+                    final Value value = live(command.get(1));
+                    this.write(value == null ? "$-1\r\n" : bulk(value.value()));
+                }
+                case "SET" -> {
+                    long expireAt = -1;
+                    for (int i = 3; i + 1 < command.size(); i++) {
+                        final String option = command.get(i).toUpperCase(Locale.ROOT);
+                        if ("EX".equals(option)) {
+                            expireAt = now.get() + Long.parseLong(command.get(i + 1)) * 1000;
+                        } else if ("PX".equals(option)) {
+                            expireAt = now.get() + Long.parseLong(command.get(i + 1));
+                        }
+                    }
+                    data.put(command.get(1), new Value(command.get(2), expireAt));
+                    this.write("+OK\r\n");
+                }
+                case "SETEX", "PSETEX" -> {
+                    final long ttl = Long.parseLong(command.get(2)) * ("SETEX".equals(name) ? 1000 : 1);
+                    data.put(command.get(1), new Value(command.get(3), now.get() + ttl));
+                    this.write("+OK\r\n");
+                }
+                case "DEL" -> {
+                    int count = 0;
+                    for (final String key : command.subList(1, command.size())) {
+                        if (live(key) != null && data.remove(key) != null) {
+                            count++;
+                        }
+                    }
+                    this.write(":" + count + "\r\n");
+                }
+                case "PUBLISH" -> {
+                    final Set<Connection> receivers = subscribers.getOrDefault(command.get(1), Set.of());
+                    for (final Connection receiver : receivers) {
+                        receiver.write(array(List.of(bulk("message"), bulk(command.get(1)), bulk(command.get(2)))));
+                    }
+                    this.write(":" + receivers.size() + "\r\n");
+                }
+                case "SUBSCRIBE" -> {
+                    for (final String channel : command.subList(1, command.size())) {
+                        this.channels.add(channel);
+                        subscribers.computeIfAbsent(channel, k -> new CopyOnWriteArraySet<>()).add(this);
+                        this.write(array(List.of(bulk("subscribe"), bulk(channel), ":" + this.channels.size() + "\r\n")));
+                    }
+                }
+                case "UNSUBSCRIBE" -> {
+                    final List<String> channels = command.size() > 1 ? command.subList(1, command.size()) : new ArrayList<>(this.channels);
+                    for (final String channel : channels) {
+                        this.channels.remove(channel);
+                        subscribers.getOrDefault(channel, Set.of()).remove(this);
+                        this.write(array(List.of(bulk("unsubscribe"), bulk(channel), ":" + this.channels.size() + "\r\n")));
+                    }
+                }
+                case "EVAL", "EVALSHA" -> {
+                    final ScriptHandler handler = scriptHandler;
+                    if (handler == null) {
+                        this.write("-NOSCRIPT No matching script. Please use EVAL.\r\n");
+                        return;
+                    }
+                    final int numKeys = Integer.parseInt(command.get(2));
+                    final long result = handler.eval(command.subList(3, 3 + numKeys), command.subList(3 + numKeys, command.size()));
+                    this.write(":" + result + "\r\n");
+                }
+                default -> this.write("-ERR unknown command '" + name + "'\r\n");
+            }
+        }
+
+        private void write(final String reply) throws IOException {
+            this.writeLock.lock();
+            try {
+                this.out.write(reply.getBytes(StandardCharsets.UTF_8));
+                this.out.flush();
+            } finally {
+                this.writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 读取一条命令 (多条批量字符串组成的数组), 连接关闭返回 null
+     */
+    private static List<String> readCommand(final InputStream in) throws IOException {
+        final String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        if (header.charAt(0) != '*') {
+            // inline 命令
+            return List.of(header.trim().split("\\s+"));
+        }
+
+        final int size = Integer.parseInt(header.substring(1));
+        final List<String> command = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final String lengthLine = Objects.requireNonNull(readLine(in), "unexpected end of stream");
+            final byte[] bytes = in.readNBytes(Integer.parseInt(lengthLine.substring(1)) + 2);
+            command.add(new String(bytes, 0, bytes.length - 2, StandardCharsets.UTF_8));
+        }
+        return command;
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return line.size() == 0 ? null : line.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String bulk(final String value) {
+        return "$" + value.getBytes(StandardCharsets.UTF_8).length + "\r\n" + value + "\r\n";
+    }
+
+    private static String array(final List<String> items) {
+        return "*" + items.size() + "\r\n" + String.join("", items);
+    }
+}
@@ -0,0 +1,149 @@
+package cn.toint.okjdy.core.cache.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Redis 远程缓存测试, 使用进程内的 {@link JdyMockRedisServer} 代替 Redis
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyRedisCacheTest {
+    private JdyMockRedisServer server;
+
+    private final List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+
+    private final List<JdyRedisCache> caches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.server = new JdyMockRedisServer();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (final JdyRedisCache cache : this.caches) {
+            cache.close();
+        }
+        this.connectionFactories.forEach(LettuceConnectionFactory::destroy);
+        this.server.close();
+    }
+
+    /**
+     * 读写缓存与过期时间
+     */
+    @Test
+    void testGetPut() {
+        final JdyRedisCache cache = this.createCache();
+        assertNull(cache.get("okjdy:field:a"));
+
+        cache.put("okjdy:field:a", "{\"widgets\":[]}", Duration.ofMinutes(10));
+        assertEquals("{\"widgets\":[]}", cache.get("okjdy:field:a"));
+        assertEquals(Duration.ofMinutes(10).toMillis(), this.server.pttl("okjdy:field:a"));
+
+        this.server.advance(Duration.ofMinutes(10).toMillis());
+        assertNull(cache.get("okjdy:field:a"));
+    }
+
+    /**
+     * 删除缓存时通知其他节点, 不通知自己
+     */
+    @Test
+    void testEvictNotifyOtherNodes() throws Exception {
+        final JdyRedisCache node1 = this.createCache();
+        final JdyRedisCache node2 = this.createCache();
+        final BlockingQueue<String> node1Evicted = new LinkedBlockingQueue<>();
+        final BlockingQueue<String> node2Evicted = new LinkedBlockingQueue<>();
+        node1.addInvalidationListener(node1Evicted::add);
+        node2.addInvalidationListener(node2Evicted::add);
+        this.awaitSubscribers(2);
+
+        node1.put("okjdy:field:a", "value", Duration.ofMinutes(10));
+        node1.evict("okjdy:field:a");
+        assertNull(node2.get("okjdy:field:a"));
+        assertEquals("okjdy:field:a", node2Evicted.poll(5, TimeUnit.SECONDS));
+
+        // 同一连接上的消息按顺序送达, 收到下一条通知时, 自己发出的通知已被处理并忽略
+        node2.evict("okjdy:field:b");
+        assertEquals("okjdy:field:b", node1Evicted.poll(5, TimeUnit.SECONDS));
+        assertTrue(node1Evicted.isEmpty());
+        node1.evict("okjdy:field:c");
+        assertEquals("okjdy:field:c", node2Evicted.poll(5, TimeUnit.SECONDS));
+        assertTrue(node1Evicted.isEmpty());
+        assertTrue(node2Evicted.isEmpty());
+    }
+
+    /**
+     * 失效回调异常不影响其他回调
+     */
+    @Test
+    void testListenerError() throws Exception {
+        final JdyRedisCache node1 = this.createCache();
+        final JdyRedisCache node2 = this.createCache();
+        final BlockingQueue<String> evicted = new LinkedBlockingQueue<>();
+        node2.addInvalidationListener(key -> {
+            throw new IllegalStateException("listener error");
+        });
+        node2.addInvalidationListener(evicted::add);
+        this.awaitSubscribers(2);
+
+        node1.evict("okjdy:field:a");
+        assertEquals("okjdy:field:a", evicted.poll(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Redis 不可用时视为未命中, 不抛出异常
+     */
+    @Test
+    void testRedisDown() throws Exception {
+        final JdyRedisCache cache = this.createCache();
+        cache.put("okjdy:field:a", "value", Duration.ofMinutes(10));
+        assertEquals("value", cache.get("okjdy:field:a"));
+
+        this.server.close();
+        assertNull(cache.get("okjdy:field:a"));
+        assertDoesNotThrow(() -> cache.put("okjdy:field:a", "value", Duration.ofMinutes(10)));
+        assertDoesNotThrow(() -> cache.evict("okjdy:field:a"));
+    }
+
+    private JdyRedisCache createCache() {
+        final LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(500))
+                .build();
+        final LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("127.0.0.1", this.server.getPort()), clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        this.connectionFactories.add(connectionFactory);
+
+        final JdyRedisCache cache = new JdyRedisCache(new StringRedisTemplate(connectionFactory));
+        this.caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * 等待所有节点完成订阅
+     */
+    private void awaitSubscribers(final int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (this.server.subscriberCount(JdyRedisCache.DEFAULT_CHANNEL) < count) {
+            assertTrue(System.nanoTime() < deadline, "subscribe timeout");
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package cn.toint.okjdy.core.client.impl;
+
+import cn.toint.okjdy.core.client.JdyClient;
+import cn.toint.okjdy.core.config.JdyClientConfig;
+import cn.toint.okjdy.core.config.JdyRetryPolicy;
+import cn.toint.okjdy.core.exception.JdyRequestLimitException;
+import cn.toint.okjdy.core.model.JdyDataGetRequest;
+import cn.toint.okjdy.core.model.JdyDataSaveRequest;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.dromara.hutool.http.client.ClientConfig;
+import org.dromara.hutool.http.client.Request;
+import org.dromara.hutool.http.client.Response;
+import org.dromara.hutool.http.client.body.ResponseBody;
+import org.dromara.hutool.http.client.engine.ClientEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 异步客户端测试
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyAsyncClientImplTest {
+    private static final String LIMIT_BODY = "{\"code\":8303,\"msg\":\"超出频率限制\"}";
+
+    private static final String DATA_BODY = "{\"data\":{\"_id\":\"1\"}}";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "jdy-async-test"));
+
+    /**
+     * 统计定时调度次数的重试定时器
+     */
+    private final AtomicInteger scheduleCount = new AtomicInteger();
+
+    private final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1) {
+        @Override
+        public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+            JdyAsyncClientImplTest.this.scheduleCount.incrementAndGet();
+            return super.schedule(command, delay, unit);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * 同步客户端在指定的线程池中执行
+     */
+    @Test
+    void testExecutor() throws Exception {
+        final Queue<String> threads = new ConcurrentLinkedQueue<>();
+        final JdyClient jdyClient = this.proxyClient((method, args) -> {
+            threads.add(Thread.currentThread().getName());
+            return JacksonUtil.readTree(DATA_BODY).get("data");
+        });
+        final JdyAsyncClientImpl asyncClient = new JdyAsyncClientImpl(jdyClient, this.executor);
+
+        final JsonNode data = asyncClient.getData(new JdyDataGetRequest("appId", "entryId", "1")).get(5, TimeUnit.SECONDS);
+        assertEquals("1", data.path("_id").asText());
+        assertEquals(List.of("jdy-async-test"), List.copyOf(threads));
+    }
+
+    /**
+     * 同步客户端的异常通过 CompletableFuture 传递, 不被包装为其他类型
+     */
+    @Test
+    void testExceptionPropagation() {
+        final IllegalStateException error = new IllegalStateException("save failed");
+        final JdyClient jdyClient = this.proxyClient((method, args) -> {
+            throw error;
+        });
+        final JdyAsyncClientImpl asyncClient = new JdyAsyncClientImpl(jdyClient, this.executor);
+
+        final CompletableFuture<JsonNode> future = asyncClient.saveData(new JdyDataSaveRequest());
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertSame(error, e.getCause());
+        final CompletionException completionException = assertThrows(CompletionException.class, future::join);
+        assertSame(error, completionException.getCause());
+    }
+
+    /**
+     * 配置重试定时器后, 被限流时由定时器调度重试, 同步客户端只请求一次
+     */
+    @Test
+    void testTimerRetry() throws Exception {
+        final StubClientEngine engine = new StubClientEngine(LIMIT_BODY, LIMIT_BODY, DATA_BODY);
+        final JdyAsyncClientImpl asyncClient = new JdyAsyncClientImpl(new JdyClientImpl(this.clientConfig(engine)), this.executor,
+                this.scheduler, this.retryPolicy());
+
+        final JsonNode data = asyncClient.getData(new JdyDataGetRequest("appId", "entryId", "1")).get(5, TimeUnit.SECONDS);
+        assertEquals("1", data.path("_id").asText());
+        assertEquals(3, engine.sendCount.get());
+        assertEquals(2, this.scheduleCount.get());
+    }
+
+    /**
+     * 超过重试次数后以最后一次异常完成
+     */
+    @Test
+    void testTimerRetryGiveUp() {
+        final StubClientEngine engine = new StubClientEngine(LIMIT_BODY, LIMIT_BODY, LIMIT_BODY);
+        final JdyRetryPolicy retryPolicy = this.retryPolicy();
+        retryPolicy.setMaxLimitRetries(1);
+        final JdyAsyncClientImpl asyncClient = new JdyAsyncClientImpl(new JdyClientImpl(this.clientConfig(engine)), this.executor,
+                this.scheduler, retryPolicy);
+
+        final CompletableFuture<JsonNode> future = asyncClient.getData(new JdyDataGetRequest("appId", "entryId", "1"));
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(JdyRequestLimitException.class, e.getCause());
+        assertEquals(2, engine.sendCount.get());
+        assertEquals(1, this.scheduleCount.get());
+    }
+
+    private JdyClientConfig clientConfig(final ClientEngine engine) {
+        final JdyClientConfig jdyClientConfig = new JdyClientConfig("apiKey");
+        jdyClientConfig.setClientEngine(engine);
+        jdyClientConfig.setRateLimiter(null);
+        jdyClientConfig.setCircuitBreaker(null);
+        jdyClientConfig.setMeterRegistry(null);
+        jdyClientConfig.setAsyncExecutor(this.executor);
+        return jdyClientConfig;
+    }
+
+    private JdyRetryPolicy retryPolicy() {
+        final JdyRetryPolicy retryPolicy = new JdyRetryPolicy();
+        retryPolicy.setBaseDelay(Duration.ofMillis(1));
+        retryPolicy.setMaxDelay(Duration.ofMillis(5));
+        return retryPolicy;
+    }
+
+    private JdyClient proxyClient(final Invocation invocation) {
+        return (JdyClient) Proxy.newProxyInstance(JdyClient.class.getClassLoader(), new Class<?>[]{JdyClient.class},
+                (proxy, method, args) -> invocation.invoke(method.getName(), args));
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(String method, Object[] args);
+    }
+
+    /**
+     * 按顺序返回预设响应体的 http 客户端
+     */
+    private static class StubClientEngine implements ClientEngine {
+        private final Queue<String> bodies;
+
+        private final AtomicInteger sendCount = new AtomicInteger();
+
+        private StubClientEngine(final String... bodies) {
+            this.bodies = new ConcurrentLinkedQueue<>(List.of(bodies));
+        }
+
+        @Override
+        public ClientEngine init(final ClientConfig config) {
+            return this;
+        }
+
+        @Override
+        public Response send(final Request message) {
+            this.sendCount.incrementAndGet();
+            final byte[] body = this.bodies.remove().getBytes(StandardCharsets.UTF_8);
+            return new Response() {
+                @Override
+                public int getStatus() {
+                    return 200;
+                }
+
+                @Override
+                public String header(final String name) {
+                    return null;
+                }
+
+                @Override
+                public Map<String, List<String>> headers() {
+                    return Map.of();
+                }
+
+                @Override
+                public InputStream bodyStream() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public Response sync() {
+                    return this;
+                }
+
+                @Override
+                public ResponseBody body() {
+                    return null;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        @Override
+        public Object getRawEngine() {
+            return this;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package cn.toint.okjdy.core.client.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 查询数据列表迭代器测试, 使用内存中的数据模拟分页查询
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyListDataIteratorTest {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 已查询的页数
+     */
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * 预取时每页耗时不同, 返回顺序仍与游标顺序一致, 并且按查询数量截断
+     */
+    @Test
+    void testPrefetchOrder() {
+        final List<Integer> rows = rows(1050);
+        final JdyListDataIterator<Integer> iterator = this.iterator(rows, 1000, 3, Duration.ofSeconds(10), 0);
+
+        final List<Integer> result;
+        try (Stream<Integer> stream = iterator.stream()) {
+            result = stream.toList();
+        }
+        assertEquals(rows.subList(0, 1000), result);
+        assertEquals(10, this.loadCount.get());
+    }
+
+    /**
+     * 预取异常在消费到该页时抛出, 之前的页正常返回
+     */
+    @Test
+    void testPrefetchError() {
+        final JdyListDataIterator<Integer> iterator = this.iterator(rows(1000), Integer.MAX_VALUE, 2, Duration.ofSeconds(10), 3);
+
+        final List<Integer> result = new ArrayList<>();
+        final IllegalStateException e = assertThrows(IllegalStateException.class, () -> iterator.forEachRemaining(result::add));
+        assertEquals("load failed", e.getMessage());
+        assertEquals(rows(200), result);
+        assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * 关闭后停止预取
+     */
+    @Test
+    void testPrefetchClose() throws InterruptedException {
+        final JdyListDataIterator<Integer> iterator = this.iterator(rows(10000), Integer.MAX_VALUE, 1, Duration.ofSeconds(10), 0);
+        assertEquals(0, iterator.next());
+        iterator.close();
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        final int loaded = this.loadCount.get();
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertEquals(loaded, this.loadCount.get());
+        assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * 消费方超时未取数据时停止预取, 继续消费时抛出异常
+     */
+    @Test
+    void testPrefetchConsumerTimeout() throws InterruptedException {
+        final JdyListDataIterator<Integer> iterator = this.iterator(rows(10000), Integer.MAX_VALUE, 1, Duration.ofMillis(200), 0);
+        assertEquals(0, iterator.next());
+
+        TimeUnit.MILLISECONDS.sleep(600);
+        final int loaded = this.loadCount.get();
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertEquals(loaded, this.loadCount.get());
+        assertTrue(loaded <= 3);
+
+        assertThrows(RuntimeException.class, () -> iterator.forEachRemaining(row -> {
+        }));
+    }
+
+    /**
+     * 按游标分页查询内存数据, 每页随机耗时
+     *
+     * @param failPage 第几页 (从 1 开始) 查询失败, 小于等于 0 不失败
+     */
+    private JdyListDataIterator<Integer> iterator(final List<Integer> rows, final int limit, final int prefetchDepth,
+                                                  final Duration consumerTimeout, final int failPage) {
+        return new JdyListDataIterator<>((dataId, size) -> {
+            final int page = this.loadCount.incrementAndGet();
+            try {
+                TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextInt(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (page == failPage) {
+                throw new IllegalStateException("load failed");
+            }
+            final int from = dataId == null ? 0 : Integer.parseInt(dataId) + 1;
+            return new ArrayList<>(rows.subList(Math.min(from, rows.size()), Math.min(from + size, rows.size())));
+        }, String::valueOf, null, limit, this.executor, prefetchDepth, consumerTimeout);
+    }
+
+    private static List<Integer> rows(final int size) {
+        final List<Integer> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(i);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,212 @@
+package cn.toint.okjdy.core.client.impl;
+
+import cn.toint.okjdy.core.model.JdyListDataRequest;
+import cn.toint.okjdy.core.model.JdyListDataScanRequest;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 并行分区查询迭代器测试, 使用内存中的数据模拟分页查询
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyListDataScanIteratorTest {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 已查询的页数
+     */
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    /**
+     * 已关闭的区间数
+     */
+    private final AtomicInteger closedCount = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * 等于区间边界的数据只属于上一个区间, 最后一个区间包含上边界, 每条数据只出现一次
+     */
+    @Test
+    void testPartitionBoundaries() {
+        final JdyListDataScanRequest scanRequest = JdyListDataScanRequest.ofNumber(new JdyListDataRequest(), "num",
+                BigDecimal.ZERO, BigDecimal.valueOf(300), 3);
+        assertEquals(List.of(0, 100, 200, 300), scanRequest.getBoundaries().stream().map(boundary -> ((BigDecimal) boundary).intValueExact()).toList());
+        assertTrue(scanRequest.contains(0, row(99)));
+        assertFalse(scanRequest.contains(0, row(100)));
+        assertTrue(scanRequest.contains(1, row(100)));
+        assertFalse(scanRequest.contains(1, row(200)));
+        assertTrue(scanRequest.contains(2, row(300)));
+
+        // 简道云的范围条件包含上下边界, 相邻区间都会查询到边界数据
+        final List<JsonNode> rows = rows(301);
+        final List<JdyListDataScanIterator.Partition<JsonNode>> partitions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final int index = i;
+            final int lower = i * 100;
+            final int upper = lower + 100;
+            partitions.add(this.partition(rows.stream().filter(row -> row.get("num").asInt() >= lower && row.get("num").asInt() <= upper).toList(),
+                    row -> scanRequest.contains(index, row)));
+        }
+
+        final List<Integer> nums;
+        try (Stream<JsonNode> stream = new JdyListDataScanIterator<>(partitions, this.executor, 2, Integer.MAX_VALUE, Duration.ofSeconds(10)).stream()) {
+            nums = stream.map(row -> row.get("num").asInt()).sorted().toList();
+        }
+        assertEquals(rows.stream().map(row -> row.get("num").asInt()).toList(), nums);
+    }
+
+    /**
+     * 区间边界必须为同一类型 (BigDecimal 或 Instant) 且严格升序
+     */
+    @Test
+    void testBoundariesValidation() {
+        final JdyListDataRequest request = new JdyListDataRequest();
+        assertDoesNotThrow(() -> new JdyListDataScanRequest(request, "num", List.of(BigDecimal.ZERO, BigDecimal.TEN)));
+        assertDoesNotThrow(() -> new JdyListDataScanRequest(request, "createTime", List.of(Instant.EPOCH, Instant.EPOCH.plusSeconds(1))));
+
+        assertThrows(RuntimeException.class, () -> new JdyListDataScanRequest(request, "num", List.of(1, 2)));
+        assertThrows(RuntimeException.class, () -> new JdyListDataScanRequest(request, "num", List.of(BigDecimal.ZERO, Instant.EPOCH)));
+        assertThrows(RuntimeException.class, () -> new JdyListDataScanRequest(request, "num", List.of(BigDecimal.TEN, BigDecimal.ZERO)));
+        assertThrows(RuntimeException.class, () -> new JdyListDataScanRequest(request, "num", List.of(BigDecimal.ONE, new BigDecimal("1.0"))));
+
+        // 使用 setter 设置的边界在生成区间时校验
+        final JdyListDataScanRequest scanRequest = new JdyListDataScanRequest();
+        scanRequest.setRequest(request);
+        scanRequest.setField("num");
+        scanRequest.setBoundaries(List.of(Instant.EPOCH.plusSeconds(1), Instant.EPOCH));
+        assertThrows(RuntimeException.class, scanRequest::partitions);
+    }
+
+    /**
+     * 所有区间查询结束后自动关闭, 不需要关闭 Stream
+     */
+    @Test
+    void testCloseOnExhausted() {
+        final List<JsonNode> rows = rows(250);
+        final JdyListDataScanIterator<JsonNode> iterator = new JdyListDataScanIterator<>(
+                List.of(this.partition(rows.subList(0, 120), row -> true), this.partition(rows.subList(120, 250), row -> true)),
+                this.executor, 2, Integer.MAX_VALUE, Duration.ofSeconds(10));
+
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        assertEquals(250, count);
+        assertEquals(2, this.closedCount.get());
+    }
+
+    /**
+     * 达到查询数量后自动关闭, 停止后台查询
+     */
+    @Test
+    void testCloseOnLimit() throws InterruptedException {
+        final JdyListDataScanIterator<JsonNode> iterator = new JdyListDataScanIterator<>(
+                List.of(this.partition(rows(1000), row -> true)), this.executor, 1, 150, Duration.ofSeconds(10));
+
+        final List<JsonNode> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        assertEquals(150, result.size());
+        assertEquals(1, this.closedCount.get());
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        final int loaded = this.loadCount.get();
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertEquals(loaded, this.loadCount.get());
+        assertTrue(loaded < 10);
+    }
+
+    /**
+     * 消费方超时未取数据时停止后台查询, 继续消费时抛出异常
+     */
+    @Test
+    void testConsumerTimeout() throws InterruptedException {
+        final JdyListDataScanIterator<JsonNode> iterator = new JdyListDataScanIterator<>(
+                List.of(this.partition(rows(1000), row -> true)), this.executor, 1, Integer.MAX_VALUE, Duration.ofMillis(200));
+        assertTrue(iterator.hasNext());
+
+        TimeUnit.MILLISECONDS.sleep(600);
+        final int loaded = this.loadCount.get();
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertEquals(loaded, this.loadCount.get());
+
+        assertThrows(RuntimeException.class, () -> iterator.forEachRemaining(row -> {
+        }));
+        assertEquals(1, this.closedCount.get());
+    }
+
+    /**
+     * 查询异常传递给消费方
+     */
+    @Test
+    void testLoaderError() {
+        final JdyListDataIterator<JsonNode> failing = new JdyListDataIterator<>((dataId, limit) -> {
+            if (dataId != null) {
+                throw new IllegalStateException("load failed");
+            }
+            return rows(100);
+        }, row -> row.get("_id").asText(), null, Integer.MAX_VALUE);
+        final JdyListDataScanIterator<JsonNode> iterator = new JdyListDataScanIterator<>(
+                List.of(new JdyListDataScanIterator.Partition<>(failing, row -> true)), this.executor, 1, Integer.MAX_VALUE, Duration.ofSeconds(10));
+
+        final IllegalStateException e = assertThrows(IllegalStateException.class, () -> iterator.forEachRemaining(row -> {
+        }));
+        assertEquals("load failed", e.getMessage());
+    }
+
+    /**
+     * 按数据 ID 游标分页查询内存数据的区间
+     */
+    private JdyListDataScanIterator.Partition<JsonNode> partition(final List<JsonNode> rows, final Predicate<JsonNode> filter) {
+        final JdyListDataIterator<JsonNode> iterator = new JdyListDataIterator<>((dataId, limit) -> {
+            this.loadCount.incrementAndGet();
+            int from = 0;
+            if (dataId != null) {
+                while (from < rows.size() && !rows.get(from).get("_id").asText().equals(dataId)) {
+                    from++;
+                }
+                from++;
+            }
+            return new ArrayList<>(rows.subList(Math.min(from, rows.size()), Math.min(from + limit, rows.size())));
+        }, row -> row.get("_id").asText(), null, Integer.MAX_VALUE);
+        iterator.onClose(pages -> this.closedCount.incrementAndGet());
+        return new JdyListDataScanIterator.Partition<>(iterator, filter);
+    }
+
+    private static List<JsonNode> rows(final int size) {
+        final List<JsonNode> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(row(i));
+        }
+        return rows;
+    }
+
+    private static JsonNode row(final int num) {
+        final ObjectNode row = JacksonUtil.ofObjectNode();
+        row.put("_id", String.format("%024d", num));
+        row.put("num", num);
+        return row;
+    }
+}
@@ -0,0 +1,112 @@
+package cn.toint.okjdy.core.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 有界异步事件分发器测试, 处理任务只在调用 {@link #runTasks()} 时执行
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyEventDispatcherTest {
+    /**
+     * 待执行的处理任务
+     */
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 队列已满时丢弃新事件, 调用方跳过提交的事件同样计为丢弃
+     */
+    @Test
+    void testDrop() {
+        final List<Integer> handled = new ArrayList<>();
+        final JdyEventDispatcher<Integer> dispatcher = new JdyEventDispatcher<>(handled::addAll, this.tasks::add,
+                2, 10, JdyEventDispatcher.OverflowPolicy.DROP);
+
+        assertTrue(dispatcher.publish(1));
+        assertTrue(dispatcher.hasCapacity());
+        assertTrue(dispatcher.publish(2));
+        assertFalse(dispatcher.hasCapacity());
+        assertFalse(dispatcher.publish(3));
+        dispatcher.recordDropped();
+        assertEquals(2, dispatcher.getDroppedCount());
+        assertEquals(2, dispatcher.getQueueSize());
+
+        this.runTasks();
+        assertEquals(List.of(1, 2), handled);
+        assertEquals(2, dispatcher.getDispatchedCount());
+        assertEquals(0, dispatcher.getQueueSize());
+        assertTrue(dispatcher.hasCapacity());
+    }
+
+    /**
+     * 处理方法抛出异常时整批计为失败
+     */
+    @Test
+    void testBatchFailed() {
+        final JdyEventDispatcher<Integer> dispatcher = new JdyEventDispatcher<>(batch -> {
+            throw new IllegalStateException("handler error");
+        }, this.tasks::add, 10, 10, JdyEventDispatcher.OverflowPolicy.DROP);
+
+        dispatcher.publish(1);
+        dispatcher.publish(2);
+        this.runTasks();
+        assertEquals(0, dispatcher.getDispatchedCount());
+        assertEquals(2, dispatcher.getFailedCount());
+    }
+
+    /**
+     * 处理方法逐条处理并自行记录失败时, 失败的事件不计入已处理数
+     */
+    @Test
+    void testRecordFailed() {
+        final AtomicReference<JdyEventDispatcher<Integer>> holder = new AtomicReference<>();
+        final JdyEventDispatcher<Integer> dispatcher = new JdyEventDispatcher<>(batch -> batch.forEach(event -> {
+            if (event % 2 == 1) {
+                holder.get().recordFailed();
+            }
+        }), this.tasks::add, 10, 3, JdyEventDispatcher.OverflowPolicy.DROP);
+        holder.set(dispatcher);
+
+        for (int i = 0; i < 5; i++) {
+            dispatcher.publish(i);
+        }
+        this.runTasks();
+        assertEquals(3, dispatcher.getDispatchedCount());
+        assertEquals(2, dispatcher.getFailedCount());
+    }
+
+    /**
+     * 同一时间只有一个处理任务, 处理结束后再提交的事件重新调度
+     */
+    @Test
+    void testSingleDrainTask() {
+        final List<Integer> handled = new ArrayList<>();
+        final JdyEventDispatcher<Integer> dispatcher = new JdyEventDispatcher<>(handled::addAll, this.tasks::add,
+                10, 10, JdyEventDispatcher.OverflowPolicy.BLOCK);
+
+        dispatcher.publish(1);
+        dispatcher.publish(2);
+        assertEquals(1, this.tasks.size());
+        this.runTasks();
+
+        dispatcher.publish(3);
+        assertEquals(1, this.tasks.size());
+        this.runTasks();
+        assertEquals(List.of(1, 2, 3), handled);
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
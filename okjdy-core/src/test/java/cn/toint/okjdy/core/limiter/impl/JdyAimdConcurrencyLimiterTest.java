@@ -0,0 +1,181 @@
+package cn.toint.okjdy.core.limiter.impl;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.limiter.JdyConcurrencyLimiter;
+import cn.toint.okjdy.core.util.JdyUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AIMD 自适应并发限制器测试
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyAimdConcurrencyLimiterTest {
+    private static final String API_KEY = "apiKey";
+
+    /**
+     * 初始上限为接口频率限制, 并发被充分使用且请求成功时加性增加
+     */
+    @Test
+    void testAdditiveIncrease() {
+        final JdyAimdConcurrencyLimiter limiter = new JdyAimdConcurrencyLimiter();
+        final List<JdyConcurrencyLimiter.Permit> first = this.acquire(limiter, 1);
+        assertEquals(JdyUrlEnum.SAVE_BATCH_DATA.getQps(), this.snapshot(limiter).limit());
+        first.forEach(JdyConcurrencyLimiter.Permit::onSuccess);
+
+        // 每轮占满上限后全部成功, 约一半的请求在并发充分使用时完成, 每个请求增加 1/上限, 每轮增加不超过 1
+        for (int round = 0; round < 10; round++) {
+            final int before = this.snapshot(limiter).limit();
+            this.acquire(limiter, before).forEach(JdyConcurrencyLimiter.Permit::onSuccess);
+            assertTrue(this.snapshot(limiter).limit() - before <= 1);
+        }
+        final JdyAimdConcurrencyLimiter.Snapshot snapshot = this.snapshot(limiter);
+        assertTrue(snapshot.limit() >= JdyUrlEnum.SAVE_BATCH_DATA.getQps() + 4, "limit: " + snapshot.limit());
+        assertTrue(snapshot.limit() <= JdyUrlEnum.SAVE_BATCH_DATA.getQps() + 6, "limit: " + snapshot.limit());
+        assertEquals(0, snapshot.inflight());
+        assertEquals(0, snapshot.backoffCount());
+    }
+
+    /**
+     * 并发未被充分使用时, 请求成功不提高上限
+     */
+    @Test
+    void testNoIncreaseWhenIdle() {
+        final JdyAimdConcurrencyLimiter limiter = new JdyAimdConcurrencyLimiter();
+        for (int i = 0; i < 1000; i++) {
+            this.acquire(limiter, 1).forEach(JdyConcurrencyLimiter.Permit::onSuccess);
+        }
+        assertEquals(JdyUrlEnum.SAVE_BATCH_DATA.getQps(), this.snapshot(limiter).limit());
+    }
+
+    /**
+     * 上限不超过最大并发上限
+     */
+    @Test
+    void testMaxLimit() {
+        final JdyAimdConcurrencyLimiter limiter = new JdyAimdConcurrencyLimiter(1, 11, 0.5);
+        for (int round = 0; round < 20; round++) {
+            this.acquire(limiter, this.snapshot(limiter, 10)).forEach(JdyConcurrencyLimiter.Permit::onSuccess);
+        }
+        assertEquals(11, this.snapshot(limiter).limit());
+    }
+
+    /**
+     * 同一代数内获取的许可被限流时只降低一次上限, 之后获取的许可被限流时再次降低
+     */
+    @Test
+    void testDecreaseOncePerEpoch() {
+        final JdyAimdConcurrencyLimiter limiter = new JdyAimdConcurrencyLimiter();
+        final List<JdyConcurrencyLimiter.Permit> permits = this.acquire(limiter, 10);
+        permits.forEach(JdyConcurrencyLimiter.Permit::onLimited);
+
+        JdyAimdConcurrencyLimiter.Snapshot snapshot = this.snapshot(limiter);
+        assertEquals(5, snapshot.limit());
+        assertEquals(10, snapshot.limitedCount());
+        assertEquals(1, snapshot.backoffCount());
+        assertEquals(0, snapshot.inflight());
+
+        this.acquire(limiter, 1).forEach(JdyConcurrencyLimiter.Permit::onLimited);
+        snapshot = this.snapshot(limiter);
+        assertEquals(2, snapshot.limit());
+        assertEquals(11, snapshot.limitedCount());
+        assertEquals(2, snapshot.backoffCount());
+    }
+
+    /**
+     * 上一代数的许可在上限降低后被限流, 不再降低上限
+     */
+    @Test
+    void testStalePermitDoesNotDecrease() {
+        final JdyAimdConcurrencyLimiter limiter = new JdyAimdConcurrencyLimiter();
+        final List<JdyConcurrencyLimiter.Permit> oldPermits = this.acquire(limiter, 2);
+        oldPermits.getFirst().onLimited();
+        final List<JdyConcurrencyLimiter.Permit> newPermits = this.acquire(limiter, 1);
+
+        oldPermits.getLast().onLimited();
+        assertEquals(5, this.snapshot(limiter).limit());
+        assertEquals(1, this.snapshot(limiter).backoffCount());
+
+        newPermits.getFirst().onLimited();
+        assertEquals(2, this.snapshot(limiter).limit());
+        assertEquals(2, this.snapshot(limiter).backoffCount());
+    }
+
+    /**
+     * 上限不低于最小并发上限, 重复调用结果方法只生效一次
+     */
+    @Test
+    void testMinLimitAndRepeatedRelease() {
+        final JdyAimdConcurrencyLimiter limiter = new JdyAimdConcurrencyLimiter(2, 200, 0.5);
+        for (int i = 0; i < 10; i++) {
+            final JdyConcurrencyLimiter.Permit permit = this.acquire(limiter, 1).getFirst();
+            permit.onLimited();
+            permit.onLimited();
+            permit.onSuccess();
+        }
+        final JdyAimdConcurrencyLimiter.Snapshot snapshot = this.snapshot(limiter);
+        assertEquals(2, snapshot.limit());
+        assertEquals(10, snapshot.limitedCount());
+        assertEquals(0, snapshot.inflight());
+    }
+
+    /**
+     * 达到上限时等待, 许可释放后继续
+     */
+    @Test
+    void testAcquireWait() throws Exception {
+        final JdyAimdConcurrencyLimiter limiter = new JdyAimdConcurrencyLimiter(1, 1, 0.5);
+        final JdyConcurrencyLimiter.Permit permit = this.acquire(limiter, 1).getFirst();
+
+        final CompletableFuture<JdyConcurrencyLimiter.Permit> waiting = CompletableFuture.supplyAsync(() -> limiter.acquire(API_KEY, JdyUrlEnum.SAVE_BATCH_DATA));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertFalse(waiting.isDone());
+
+        permit.onIgnore();
+        waiting.get(5, TimeUnit.SECONDS).onSuccess();
+        assertEquals(0, this.snapshot(limiter).inflight());
+    }
+
+    /**
+     * 不同 apiKey 的上限互不影响
+     */
+    @Test
+    void testIsolatedByApiKey() {
+        final JdyAimdConcurrencyLimiter limiter = new JdyAimdConcurrencyLimiter();
+        this.acquire(limiter, 1).forEach(JdyConcurrencyLimiter.Permit::onLimited);
+        limiter.acquire("otherApiKey", JdyUrlEnum.SAVE_BATCH_DATA).onSuccess();
+
+        assertEquals(5, this.snapshot(limiter).limit());
+        assertEquals(10, limiter.snapshot(JdyUtil.digestApiKey("otherApiKey"), JdyUrlEnum.SAVE_BATCH_DATA).limit());
+        assertNull(limiter.snapshot(JdyUtil.digestApiKey(API_KEY), JdyUrlEnum.LIST_DATA));
+        assertEquals(2, limiter.snapshots().size());
+    }
+
+    private List<JdyConcurrencyLimiter.Permit> acquire(final JdyAimdConcurrencyLimiter limiter, final int count) {
+        final List<JdyConcurrencyLimiter.Permit> permits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire(API_KEY, JdyUrlEnum.SAVE_BATCH_DATA));
+        }
+        return permits;
+    }
+
+    private JdyAimdConcurrencyLimiter.Snapshot snapshot(final JdyAimdConcurrencyLimiter limiter) {
+        return limiter.snapshot(JdyUtil.digestApiKey(API_KEY), JdyUrlEnum.SAVE_BATCH_DATA);
+    }
+
+    /**
+     * 当前上限, 尚未请求过时返回默认值
+     */
+    private int snapshot(final JdyAimdConcurrencyLimiter limiter, final int defaultLimit) {
+        final JdyAimdConcurrencyLimiter.Snapshot snapshot = this.snapshot(limiter);
+        return snapshot == null ? defaultLimit : snapshot.limit();
+    }
+}
@@ -0,0 +1,84 @@
+package cn.toint.okjdy.core.limiter.impl;
+
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 本地令牌桶限流器测试, 使用可控的时钟
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyLocalRateLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private final JdyLocalRateLimiter limiter = new JdyLocalRateLimiter(this.now::get);
+
+    /**
+     * 同一接口的请求按 1 / qps 的间隔排队
+     */
+    @Test
+    void testIntervalPacing() {
+        final long intervalNanos = this.intervalNanos(JdyUrlEnum.SAVE_BATCH_DATA);
+
+        assertEquals(0, this.limiter.reserve("apiKey", JdyUrlEnum.SAVE_BATCH_DATA));
+        assertEquals(intervalNanos, this.limiter.reserve("apiKey", JdyUrlEnum.SAVE_BATCH_DATA));
+        assertEquals(intervalNanos * 2, this.limiter.reserve("apiKey", JdyUrlEnum.SAVE_BATCH_DATA));
+
+        // 时间前进后, 等待时长相应减少
+        this.now.addAndGet(intervalNanos * 2);
+        assertEquals(intervalNanos, this.limiter.reserve("apiKey", JdyUrlEnum.SAVE_BATCH_DATA));
+
+        // 空闲期间不积累令牌, 空闲后也不会出现突发请求
+        this.now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertEquals(0, this.limiter.reserve("apiKey", JdyUrlEnum.SAVE_BATCH_DATA));
+        assertEquals(intervalNanos, this.limiter.reserve("apiKey", JdyUrlEnum.SAVE_BATCH_DATA));
+    }
+
+    /**
+     * 不同 apiKey 的令牌桶互不影响
+     */
+    @Test
+    void testApiKeyIsolation() {
+        assertEquals(0, this.limiter.reserve("apiKey1", JdyUrlEnum.LIST_DATA));
+        assertEquals(0, this.limiter.reserve("apiKey2", JdyUrlEnum.LIST_DATA));
+        assertEquals(this.intervalNanos(JdyUrlEnum.LIST_DATA), this.limiter.reserve("apiKey1", JdyUrlEnum.LIST_DATA));
+    }
+
+    /**
+     * 同一 apiKey 的不同接口互不影响, 按各自的频率排队
+     */
+    @Test
+    void testEndpointIsolation() {
+        assertEquals(0, this.limiter.reserve("apiKey", JdyUrlEnum.LIST_DATA));
+        assertEquals(0, this.limiter.reserve("apiKey", JdyUrlEnum.SAVE_BATCH_DATA));
+        assertEquals(this.intervalNanos(JdyUrlEnum.LIST_DATA), this.limiter.reserve("apiKey", JdyUrlEnum.LIST_DATA));
+        assertEquals(this.intervalNanos(JdyUrlEnum.SAVE_BATCH_DATA), this.limiter.reserve("apiKey", JdyUrlEnum.SAVE_BATCH_DATA));
+    }
+
+    /**
+     * 等待令牌时被中断, 抛出异常并保留中断状态
+     */
+    @Test
+    void testInterrupt() {
+        this.limiter.acquire("apiKey", JdyUrlEnum.SAVE_BATCH_DATA);
+
+        Thread.currentThread().interrupt();
+        try {
+            final RuntimeException e = assertThrows(RuntimeException.class, () -> this.limiter.acquire("apiKey", JdyUrlEnum.SAVE_BATCH_DATA));
+            assertInstanceOf(InterruptedException.class, e.getCause());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private long intervalNanos(final JdyUrlEnum jdyUrlEnum) {
+        return Duration.ofSeconds(1).toNanos() / jdyUrlEnum.getQps();
+    }
+}
@@ -0,0 +1,153 @@
+package cn.toint.okjdy.core.limiter.impl;
+
+import cn.toint.okjdy.core.cache.impl.JdyMockRedisServer;
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.util.JdyUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Redis 分布式限流器测试, 使用进程内的 {@link JdyMockRedisServer} 代替 Redis
+ * 模拟服务不能执行 Lua, 预占令牌脚本由逐行对应的 Java 实现代替, 时间取模拟服务的可控时钟
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyRedisRateLimiterTest {
+    private JdyMockRedisServer server;
+
+    private LettuceConnectionFactory connectionFactory;
+
+    /**
+     * 降级限流器收到的请求
+     */
+    private final List<JdyUrlEnum> fallbackCalls = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.server = new JdyMockRedisServer();
+        this.server.script((keys, args) -> {
+            final long now = this.server.now() * 1000;
+            final long interval = Long.parseLong(args.getFirst());
+            final String next = this.server.get(keys.getFirst());
+            final long start = Math.max(next == null ? 0 : Long.parseLong(next), now);
+            this.server.set(keys.getFirst(), String.valueOf(start + interval), (long) Math.ceil((start + interval - now) / 1000.0) + 1000);
+            return start - now;
+        });
+
+        final LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(500))
+                .build();
+        this.connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("127.0.0.1", this.server.getPort()), clientConfiguration);
+        this.connectionFactory.afterPropertiesSet();
+        this.connectionFactory.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        this.connectionFactory.destroy();
+        this.server.close();
+    }
+
+    /**
+     * 令牌发放间隔按 qps * qpsRatio 计算, 同一时刻的第二次请求等待一个间隔
+     */
+    @Test
+    void testWaitComputation() {
+        final JdyRedisRateLimiter limiter = this.createLimiter(1);
+        final String key = "okjdy:limiter:" + JdyUtil.digestApiKey("apiKey") + ":" + JdyUrlEnum.LIST_DATA.name();
+        final long intervalMicros = Duration.ofSeconds(1).toNanos() / 1000 / JdyUrlEnum.LIST_DATA.getQps();
+
+        limiter.acquire("apiKey", JdyUrlEnum.LIST_DATA);
+        assertEquals(String.valueOf(intervalMicros), this.server.get(key));
+
+        // 模拟服务的时钟不动, 第二次请求需要等待一个间隔
+        final long startNanos = System.nanoTime();
+        limiter.acquire("apiKey", JdyUrlEnum.LIST_DATA);
+        assertTrue(System.nanoTime() - startNanos >= TimeUnit.MICROSECONDS.toNanos(intervalMicros));
+        assertEquals(String.valueOf(intervalMicros * 2), this.server.get(key));
+        // 令牌桶在最后一个令牌发放后 1 秒过期
+        assertEquals((long) Math.ceil(intervalMicros * 2 / 1000.0) + 1000, this.server.pttl(key));
+        assertTrue(this.fallbackCalls.isEmpty());
+    }
+
+    /**
+     * 预留余量时间隔相应变长, 时间推进后无需等待
+     */
+    @Test
+    void testQpsRatio() {
+        final JdyRedisRateLimiter limiter = this.createLimiter(0.5);
+        final String key = "okjdy:limiter:" + JdyUtil.digestApiKey("apiKey") + ":" + JdyUrlEnum.SAVE_BATCH_DATA.name();
+        final long intervalMicros = Duration.ofSeconds(1).toNanos() / 1000 / (JdyUrlEnum.SAVE_BATCH_DATA.getQps() / 2);
+
+        limiter.acquire("apiKey", JdyUrlEnum.SAVE_BATCH_DATA);
+        assertEquals(String.valueOf(intervalMicros), this.server.get(key));
+
+        this.server.advance(TimeUnit.MICROSECONDS.toMillis(intervalMicros));
+        final long startNanos = System.nanoTime();
+        limiter.acquire("apiKey", JdyUrlEnum.SAVE_BATCH_DATA);
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.MICROSECONDS.toNanos(intervalMicros));
+        assertEquals(String.valueOf(intervalMicros * 2), this.server.get(key));
+    }
+
+    /**
+     * 不同 apiKey、不同接口使用不同的令牌桶, key 中不包含 apiKey 明文
+     */
+    @Test
+    void testKeyIsolation() {
+        final JdyRedisRateLimiter limiter = this.createLimiter(1);
+        limiter.acquire("apiKey1", JdyUrlEnum.LIST_DATA);
+        limiter.acquire("apiKey2", JdyUrlEnum.LIST_DATA);
+        limiter.acquire("apiKey1", JdyUrlEnum.GET_DATA);
+
+        final long intervalMicros = Duration.ofSeconds(1).toNanos() / 1000 / JdyUrlEnum.LIST_DATA.getQps();
+        assertEquals(String.valueOf(intervalMicros), this.server.get("okjdy:limiter:" + JdyUtil.digestApiKey("apiKey1") + ":LIST_DATA"));
+        assertEquals(String.valueOf(intervalMicros), this.server.get("okjdy:limiter:" + JdyUtil.digestApiKey("apiKey2") + ":LIST_DATA"));
+        assertNotNull(this.server.get("okjdy:limiter:" + JdyUtil.digestApiKey("apiKey1") + ":GET_DATA"));
+        assertNull(this.server.get("okjdy:limiter:apiKey1:LIST_DATA"));
+    }
+
+    /**
+     * Redis 返回错误时降级为本地限流
+     */
+    @Test
+    void testFallbackOnRedisError() {
+        this.server.script(null);
+        final JdyRedisRateLimiter limiter = this.createLimiter(1);
+
+        limiter.acquire("apiKey", JdyUrlEnum.LIST_DATA);
+        assertEquals(List.of(JdyUrlEnum.LIST_DATA), this.fallbackCalls);
+    }
+
+    /**
+     * Redis 不可用时降级为本地限流
+     */
+    @Test
+    void testFallbackOnRedisDown() throws Exception {
+        final JdyRedisRateLimiter limiter = this.createLimiter(1);
+        limiter.acquire("apiKey", JdyUrlEnum.LIST_DATA);
+        assertTrue(this.fallbackCalls.isEmpty());
+
+        this.server.close();
+        limiter.acquire("apiKey", JdyUrlEnum.LIST_DATA);
+        assertEquals(List.of(JdyUrlEnum.LIST_DATA), this.fallbackCalls);
+    }
+
+    private JdyRedisRateLimiter createLimiter(final double qpsRatio) {
+        return new JdyRedisRateLimiter(new StringRedisTemplate(this.connectionFactory), qpsRatio,
+                (apiKey, jdyUrlEnum) -> this.fallbackCalls.add(jdyUrlEnum));
+    }
+}
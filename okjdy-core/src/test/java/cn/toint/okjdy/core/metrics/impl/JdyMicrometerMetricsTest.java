@@ -0,0 +1,83 @@
+package cn.toint.okjdy.core.metrics.impl;
+
+import cn.toint.okjdy.core.cache.JdyLoadingCache;
+import cn.toint.okjdy.core.enums.JdyUrlEnum;
+import cn.toint.okjdy.core.limiter.JdyConcurrencyLimiter;
+import cn.toint.okjdy.core.limiter.impl.JdyAimdConcurrencyLimiter;
+import cn.toint.okjdy.core.metrics.JdyMetrics;
+import cn.toint.okjdy.core.util.JdyUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 客户端指标测试
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyMicrometerMetricsTest {
+    /**
+     * 按接口注册 AIMD 并发上限指标, 重复注册不重复创建
+     */
+    @Test
+    void testBindConcurrencyLimiter() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final String apiKeyDigest = JdyUtil.digestApiKey("apiKey");
+        final JdyMetrics metrics = new JdyMicrometerMetrics(registry, apiKeyDigest);
+        final JdyAimdConcurrencyLimiter limiter = new JdyAimdConcurrencyLimiter();
+
+        final JdyConcurrencyLimiter.Permit permit = limiter.acquire("apiKey", JdyUrlEnum.LIST_DATA);
+        final int meters = registry.getMeters().size();
+        metrics.bindConcurrencyLimiter(limiter, JdyUrlEnum.LIST_DATA);
+        metrics.bindConcurrencyLimiter(limiter, JdyUrlEnum.LIST_DATA);
+        assertEquals(meters + 4, registry.getMeters().size());
+
+        assertEquals(30, registry.get("okjdy.concurrency.limit").tag("client", apiKeyDigest).tag("endpoint", "LIST_DATA").gauge().value());
+        assertEquals(1, registry.get("okjdy.concurrency.inflight").tag("endpoint", "LIST_DATA").gauge().value());
+
+        permit.onLimited();
+        assertEquals(15, registry.get("okjdy.concurrency.limit").tag("endpoint", "LIST_DATA").gauge().value());
+        assertEquals(0, registry.get("okjdy.concurrency.inflight").tag("endpoint", "LIST_DATA").gauge().value());
+        assertEquals(1, registry.get("okjdy.concurrency.limited").tag("endpoint", "LIST_DATA").functionCounter().count());
+        assertEquals(1, registry.get("okjdy.concurrency.backoffs").tag("endpoint", "LIST_DATA").functionCounter().count());
+    }
+
+    /**
+     * 同一 apiKey 的多个客户端分别注册缓存指标, 通过 instance 标签区分
+     */
+    @Test
+    void testBindCachePerInstance() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final String apiKeyDigest = JdyUtil.digestApiKey("apiKey");
+        final JdyLoadingCache<String, String> cache1 = new JdyLoadingCache<>(key -> key, (oldValue, newValue) -> newValue, Runnable::run, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        final JdyLoadingCache<String, String> cache2 = new JdyLoadingCache<>(key -> key, (oldValue, newValue) -> newValue, Runnable::run, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        new JdyMicrometerMetrics(registry, apiKeyDigest).bindCache("field", cache1);
+        new JdyMicrometerMetrics(registry, apiKeyDigest).bindCache("field", cache2);
+
+        cache1.get("a");
+        cache2.get("a");
+        cache2.get("a");
+
+        final double[] hits = registry.get("okjdy.cache.gets").tag("client", apiKeyDigest).tag("result", "hit").functionCounters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sorted()
+                .toArray();
+        assertArrayEquals(new double[]{0, 1}, hits);
+        assertEquals(2, registry.get("okjdy.cache.gets").tag("result", "miss").functionCounters().size());
+    }
+
+    /**
+     * 未配置注册表时不记录, 注册表类型错误时抛出异常
+     */
+    @Test
+    void testOf() {
+        assertSame(JdyMetrics.NOOP, JdyMetrics.of(null, "digest"));
+        assertInstanceOf(JdyMicrometerMetrics.class, JdyMetrics.of(new SimpleMeterRegistry(), "digest"));
+        assertThrows(IllegalArgumentException.class, () -> JdyMetrics.of(new Object(), "digest"));
+        assertNotNull(JdyMetrics.globalRegistry());
+    }
+}
@@ -0,0 +1,48 @@
+package cn.toint.okjdy.core.util;
+
+import org.dromara.hutool.http.client.body.StringBody;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 采集输出流测试
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyCaptureOutputStreamTest {
+    /**
+     * 只复制前若干字节, 统计全部字节数
+     */
+    @Test
+    void testCapture() {
+        final String body = "{\"data\":\"" + "x".repeat(10000) + "\"}";
+        final JdyCaptureOutputStream out = new JdyCaptureOutputStream(16);
+        new StringBody(body, StandardCharsets.UTF_8).write(out);
+
+        assertEquals(body.substring(0, 16), new String(out.getCaptured(), StandardCharsets.UTF_8));
+        assertEquals(body.length(), out.getWrittenSize());
+        assertTrue(out.isTruncated());
+    }
+
+    /**
+     * 未超过最大字节数时不截断, 逐字节写入与批量写入结果一致
+     */
+    @Test
+    void testNotTruncated() {
+        final JdyCaptureOutputStream out = new JdyCaptureOutputStream(16);
+        out.write('{');
+        out.write("\"a\":1}".getBytes(StandardCharsets.UTF_8), 0, 6);
+
+        assertEquals("{\"a\":1}", new String(out.getCaptured(), StandardCharsets.UTF_8));
+        assertFalse(out.isTruncated());
+
+        final JdyCaptureOutputStream empty = new JdyCaptureOutputStream(0);
+        empty.write(new byte[10], 0, 10);
+        assertEquals(0, empty.getCaptured().length);
+        assertTrue(empty.isTruncated());
+    }
+}
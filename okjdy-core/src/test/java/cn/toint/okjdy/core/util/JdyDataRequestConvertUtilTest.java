@@ -0,0 +1,370 @@
+package cn.toint.okjdy.core.util;
+
+import cn.toint.okjdy.core.enums.JdyFieldTypeEnum;
+import cn.toint.okjdy.core.model.*;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.annotation.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求数据转换测试
+ * 延迟转换 (按实体属性直接写出) 的结果必须与旧方式 (实体先转为 JsonNode 树再转换) 完全一致
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyDataRequestConvertUtilTest {
+    private static final Instant BASE_TIME = Instant.parse("2025-07-01T00:00:00Z");
+
+    /**
+     * 宽表单实体, 覆盖所有转换器、null 值、子表单以及子表单行数据ID为 null 的情况
+     */
+    @Test
+    void testWideEntity() {
+        final JdyDataRequestConvertUtil.ConvertPlan plan = JdyDataRequestConvertUtil.compile(wideFields());
+        for (int seed = 0; seed < 200; seed++) {
+            final WideDo wideDo = wideDo(seed);
+            final JsonNode expected = treePath(wideDo, plan);
+            assertEquals(expected, writerPath(wideDo, plan), "seed: " + seed);
+        }
+    }
+
+    /**
+     * 子表单行数据ID为 null 时不写出 _id, 不为 null 时写出
+     */
+    @Test
+    void testSubFormDataId() {
+        final JdyDataRequestConvertUtil.ConvertPlan plan = JdyDataRequestConvertUtil.compile(wideFields());
+        final WideDo wideDo = wideDo(1);
+        final JsonNode rows = writerPath(wideDo, plan).path("_widget_sub").path("value");
+        assertEquals(wideDo.getSub().size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            final String dataId = wideDo.getSub().get(i).getDataId();
+            if (dataId == null) {
+                assertFalse(rows.get(i).has("_id"));
+            } else {
+                assertEquals(dataId, rows.get(i).path("_id").path("value").asText());
+            }
+        }
+    }
+
+    /**
+     * 单条转换与延迟转换一致, JsonNode 数据同样一致
+     */
+    @Test
+    void testJsonNode() {
+        final JdyDataRequestConvertUtil.ConvertPlan plan = JdyDataRequestConvertUtil.compile(wideFields());
+        final JsonNode data = JacksonUtil.valueToTree(wideDo(7));
+        final JsonNode expected = JacksonUtil.readTree(JacksonUtil.writeValueAsString(JdyDataRequestConvertUtil.convert(data, plan)));
+        final JsonNode actual = JacksonUtil.readTree(JacksonUtil.writeValueAsString(JdyDataRequestConvertUtil.convertLazily(data, plan)));
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * @JsonAnyGetter 输出的字段不能遗漏
+     */
+    @Test
+    void testAnyGetterFallback() {
+        final AnyGetterDo anyGetterDo = new AnyGetterDo();
+        anyGetterDo.setText("text");
+        anyGetterDo.getExtra().put("_widget_extra", "extra");
+        final JdyDataRequestConvertUtil.ConvertPlan plan = JdyDataRequestConvertUtil.compile(List.of(
+                field("_widget_text", JdyFieldTypeEnum.TEXT, null),
+                field("_widget_extra", JdyFieldTypeEnum.TEXT, null)));
+
+        final JsonNode actual = writerPath(anyGetterDo, plan);
+        assertEquals("extra", actual.path("_widget_extra").path("value").asText());
+        assertEquals(treePath(anyGetterDo, plan), actual);
+    }
+
+    /**
+     * @JsonUnwrapped 展开的字段不能遗漏
+     */
+    @Test
+    void testUnwrappedFallback() {
+        final UnwrappedDo unwrappedDo = new UnwrappedDo();
+        unwrappedDo.setText("text");
+        unwrappedDo.setInner(new Inner());
+        unwrappedDo.getInner().setInnerText("inner");
+        final JdyDataRequestConvertUtil.ConvertPlan plan = JdyDataRequestConvertUtil.compile(List.of(
+                field("_widget_text", JdyFieldTypeEnum.TEXT, null),
+                field("_widget_inner", JdyFieldTypeEnum.TEXT, null)));
+
+        final JsonNode actual = writerPath(unwrappedDo, plan);
+        assertEquals("inner", actual.path("_widget_inner").path("value").asText());
+        assertEquals(treePath(unwrappedDo, plan), actual);
+    }
+
+    /**
+     * NON_EMPTY 不输出的空字符串, 视为未传入
+     */
+    @Test
+    void testNonEmptyFallback() {
+        final NonEmptyDo nonEmptyDo = new NonEmptyDo();
+        nonEmptyDo.setText("");
+        nonEmptyDo.setTags(List.of());
+        final JdyDataRequestConvertUtil.ConvertPlan plan = JdyDataRequestConvertUtil.compile(List.of(
+                field("_widget_text", JdyFieldTypeEnum.TEXT, null),
+                field("_widget_tags", JdyFieldTypeEnum.CHECK_BOX_GROUP, null)));
+
+        final JsonNode actual = writerPath(nonEmptyDo, plan);
+        assertTrue(actual.isEmpty());
+        assertEquals(treePath(nonEmptyDo, plan), actual);
+    }
+
+    /**
+     * 实体保存请求: of 保持 ObjectNode, ofEntity 为延迟转换使用的 POJONode
+     */
+    @Test
+    void testSaveRequestData() {
+        final WideDo wideDo = wideDo(3);
+        assertTrue(JdyDataSaveRequest.of(wideDo).getData().isObject());
+        assertInstanceOf(POJONode.class, JdyDataSaveRequest.ofEntity(wideDo).getData());
+        assertTrue(JdyDataSaveBatchRequest.of(List.of(wideDo)).getDatas().get(0).isObject());
+        assertInstanceOf(POJONode.class, JdyDataSaveBatchRequest.ofEntities(List.of(wideDo)).getDatas().get(0));
+    }
+
+    /**
+     * 旧方式: 实体转为 JsonNode 树后转换
+     */
+    private static JsonNode treePath(final Object entity, final JdyDataRequestConvertUtil.ConvertPlan plan) {
+        final JsonNode converted = JdyDataRequestConvertUtil.convert(JacksonUtil.valueToTree(entity), plan);
+        return JacksonUtil.readTree(JacksonUtil.writeValueAsString(converted));
+    }
+
+    /**
+     * 新方式: 序列化时按实体属性直接写出
+     */
+    private static JsonNode writerPath(final Object entity, final JdyDataRequestConvertUtil.ConvertPlan plan) {
+        final JsonNode converted = JdyDataRequestConvertUtil.convertLazily(new POJONode(entity), plan);
+        return JacksonUtil.readTree(JacksonUtil.writeValueAsString(converted));
+    }
+
+    private static List<JdyField> wideFields() {
+        final List<JdyField> items = List.of(
+                field("_widget_item_text", JdyFieldTypeEnum.TEXT, null),
+                field("_widget_item_number", JdyFieldTypeEnum.NUMBER, null),
+                field("_widget_item_missing", JdyFieldTypeEnum.TEXT, null));
+
+        final List<JdyField> fields = new ArrayList<>(List.of(
+                field("_widget_text", JdyFieldTypeEnum.TEXT, null),
+                field("_widget_textarea", JdyFieldTypeEnum.TEXT_AREA, null),
+                field("_widget_int", JdyFieldTypeEnum.NUMBER, null),
+                field("_widget_long", JdyFieldTypeEnum.NUMBER, null),
+                field("_widget_decimal", JdyFieldTypeEnum.NUMBER, null),
+                field("_widget_double", JdyFieldTypeEnum.NUMBER, null),
+                field("_widget_time", JdyFieldTypeEnum.DATE_TIME, null),
+                field("_widget_instant", JdyFieldTypeEnum.DATE_TIME, null),
+                field("_widget_instant_str", JdyFieldTypeEnum.DATE_TIME, null),
+                field("_widget_radio", JdyFieldTypeEnum.RADIO_GROUP, null),
+                field("_widget_checkbox", JdyFieldTypeEnum.CHECK_BOX_GROUP, null),
+                field("_widget_combo", JdyFieldTypeEnum.COMBO, null),
+                field("_widget_combo_check", JdyFieldTypeEnum.COMBO_CHECK, null),
+                field("_widget_address", JdyFieldTypeEnum.ADDRESS, null),
+                field("_widget_phone", JdyFieldTypeEnum.PHONE, null),
+                field("_widget_user", JdyFieldTypeEnum.USER, null),
+                field("_widget_upload", JdyFieldTypeEnum.UPLOAD, null),
+                field("_widget_null", JdyFieldTypeEnum.TEXT, null),
+                field("_widget_skip", JdyFieldTypeEnum.TEXT, null),
+                field("_widget_sn", JdyFieldTypeEnum.SN, null),
+                field("_widget_missing", JdyFieldTypeEnum.TEXT, null),
+                field("_widget_sub", JdyFieldTypeEnum.SUBFORM, items)));
+        // 宽表单: 字段定义中存在但实体中不存在的字段视为未传入
+        for (int i = 0; i < 80; i++) {
+            fields.add(field("_widget_extra_" + i, JdyFieldTypeEnum.TEXT, null));
+        }
+        return fields;
+    }
+
+    private static WideDo wideDo(final int seed) {
+        final WideDo wideDo = new WideDo();
+        wideDo.setAppId("app");
+        wideDo.setEntryId("entry");
+        wideDo.setDataId(seed % 2 == 0 ? null : "data-" + seed);
+        wideDo.setText("文本-" + seed);
+        wideDo.setTextarea(seed % 5 == 0 ? null : "多行文本-" + seed);
+        wideDo.setIntValue(seed);
+        wideDo.setLongValue(seed * 100000000000L);
+        wideDo.setDecimal(BigDecimal.valueOf(seed * 131L, 2));
+        wideDo.setDoubleValue(seed * 1.5D);
+        wideDo.setTime(BASE_TIME.plusSeconds(seed).toString());
+        wideDo.setInstant(BASE_TIME.plusSeconds(seed * 60L));
+        wideDo.setInstantStr(BASE_TIME.plusSeconds(seed * 3600L));
+        wideDo.setRadio("选项" + seed % 3);
+        wideDo.setCheckbox(List.of("选项" + seed % 3, "选项" + seed % 5));
+        wideDo.setCombo(seed % 7 == 0 ? null : "选项" + seed % 4);
+        wideDo.setComboCheck(List.of());
+        final JdyAddress address = new JdyAddress();
+        address.setProvince("浙江省");
+        address.setCity("杭州市");
+        address.setDetail("地址-" + seed);
+        wideDo.setAddress(address);
+        final JdyPhone phone = new JdyPhone();
+        phone.setPhone("1380000" + String.format("%04d", seed));
+        wideDo.setPhone(phone);
+        final JdyUser user = new JdyUser();
+        user.setUsername("user-" + seed);
+        wideDo.setUser(user);
+        final JdyFile upload = new JdyFile();
+        final JdyFile.Detail detail = new JdyFile.Detail();
+        detail.setKey("key-" + seed);
+        upload.add(detail);
+        wideDo.setUpload(upload);
+        wideDo.setSn("SN-" + seed);
+
+        final JdySub<WideItemDo> sub = new JdySub<>();
+        for (int i = 0; i < 5; i++) {
+            final WideItemDo item = new WideItemDo();
+            // 新增的子表单行没有数据ID
+            item.setDataId(i % 2 == 0 ? null : "sub-" + seed + "-" + i);
+            item.setItemText(i == 3 ? null : "子表单-" + i);
+            item.setItemNumber(i * 10 + seed);
+            sub.add(item);
+        }
+        wideDo.setSub(seed % 11 == 0 ? null : sub);
+        return wideDo;
+    }
+
+    private static JdyField field(final String name, final JdyFieldTypeEnum type, final List<JdyField> items) {
+        final JdyField field = new JdyField();
+        field.setLabel(name);
+        field.setName(name);
+        field.setType(type.getValue());
+        field.setItems(items);
+        return field;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class WideDo extends JdyDo {
+        @JsonProperty("_widget_text")
+        private String text;
+
+        @JsonProperty("_widget_textarea")
+        private String textarea;
+
+        @JsonProperty("_widget_int")
+        private Integer intValue;
+
+        @JsonProperty("_widget_long")
+        private Long longValue;
+
+        @JsonProperty("_widget_decimal")
+        private BigDecimal decimal;
+
+        @JsonProperty("_widget_double")
+        private Double doubleValue;
+
+        @JsonProperty("_widget_time")
+        private String time;
+
+        @JsonProperty("_widget_instant")
+        private Instant instant;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        @JsonProperty("_widget_instant_str")
+        private Instant instantStr;
+
+        @JsonProperty("_widget_radio")
+        private String radio;
+
+        @JsonProperty("_widget_checkbox")
+        private List<String> checkbox;
+
+        @JsonProperty("_widget_combo")
+        private String combo;
+
+        @JsonProperty("_widget_combo_check")
+        private List<String> comboCheck;
+
+        @JsonProperty("_widget_address")
+        private JdyAddress address;
+
+        @JsonProperty("_widget_phone")
+        private JdyPhone phone;
+
+        @JsonProperty("_widget_user")
+        private JdyUser user;
+
+        @JsonProperty("_widget_upload")
+        private JdyFile upload;
+
+        @JsonProperty("_widget_null")
+        private String nullValue;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonProperty("_widget_skip")
+        private String skip;
+
+        @JsonProperty("_widget_sn")
+        private String sn;
+
+        @JsonProperty("_widget_sub")
+        private JdySub<WideItemDo> sub;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class WideItemDo extends JdySubDo {
+        @JsonProperty("_widget_item_text")
+        private String itemText;
+
+        @JsonProperty("_widget_item_number")
+        private Integer itemNumber;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class AnyGetterDo extends JdyDo {
+        @JsonProperty("_widget_text")
+        private String text;
+
+        @JsonIgnore
+        private Map<String, Object> extra = new LinkedHashMap<>();
+
+        @JsonAnyGetter
+        public Map<String, Object> getExtra() {
+            return this.extra;
+        }
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class UnwrappedDo extends JdyDo {
+        @JsonProperty("_widget_text")
+        private String text;
+
+        @JsonUnwrapped
+        private Inner inner;
+    }
+
+    @Data
+    static class Inner {
+        @JsonProperty("_widget_inner")
+        private String innerText;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    static class NonEmptyDo extends JdyDo {
+        @JsonProperty("_widget_text")
+        private String text;
+
+        @JsonProperty("_widget_tags")
+        private List<String> tags;
+    }
+}
@@ -0,0 +1,128 @@
+package cn.toint.okjdy.core.util;
+
+import cn.toint.okjdy.core.exception.JdyRequestLimitException;
+import cn.toint.okjdy.core.model.*;
+import cn.toint.oktool.util.JacksonUtil;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Json 工具测试
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyJsonUtilTest {
+    /**
+     * 流式读取 data 数组的结果必须与旧方式 (readTree + treeToValue) 一致
+     */
+    @Test
+    void testReadDataSameAsTree() throws IOException {
+        final byte[] page = readFixture("fixture/list-data-page.json");
+
+        final List<OrderDo> expected = new ArrayList<>();
+        for (final JsonNode item : JacksonUtil.readTree(new String(page, StandardCharsets.UTF_8)).get("data")) {
+            expected.add(JacksonUtil.treeToValue(item, OrderDo.class));
+        }
+
+        final List<OrderDo> actual = JdyJsonUtil.tryRead(new ByteArrayInputStream(page), parser -> JdyJsonUtil.readData(parser, OrderDo.class));
+        assertNotNull(actual);
+        assertEquals(2, actual.size());
+        assertEquals(expected, actual);
+
+        // 抽查字段, 避免两种方式同时出错
+        final OrderDo order = actual.get(0);
+        assertEquals("6864a1f2c3b1a20007e3f101", order.getDataId());
+        assertEquals(new BigDecimal("1288.5"), order.getAmount());
+        assertEquals("zhangsan", order.getCreator().getUsername());
+        assertEquals("6864a1f2c3b1a20007e3f1a2", order.getItems().get(1).getDataId());
+        assertEquals(5, order.getItems().get(1).getQty());
+        assertEquals("合同.pdf", order.getFiles().get(0).getName());
+        assertNull(actual.get(1).getAmount());
+    }
+
+    /**
+     * 限流错误码抛出限流异常, 其他错误响应没有 data 数组时返回 null
+     */
+    @Test
+    void testReadDataError() throws IOException {
+        final byte[] limit = "{\"code\":8303,\"msg\":\"请求过于频繁\"}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(JdyRequestLimitException.class,
+                () -> JdyJsonUtil.tryRead(new ByteArrayInputStream(limit), parser -> JdyJsonUtil.readData(parser, OrderDo.class)));
+
+        final byte[] error = "{\"code\":4040,\"msg\":\"表单不存在\"}".getBytes(StandardCharsets.UTF_8);
+        assertNull(JdyJsonUtil.tryRead(new ByteArrayInputStream(error), parser -> JdyJsonUtil.readData(parser, OrderDo.class)));
+    }
+
+    /**
+     * 非 Json 响应或空响应返回 null
+     */
+    @Test
+    void testTryReadInvalid() throws IOException {
+        final byte[] html = "<html>502 Bad Gateway</html>".getBytes(StandardCharsets.UTF_8);
+        assertNull(JdyJsonUtil.tryRead(new ByteArrayInputStream(html), parser -> parser.readValueAsTree()));
+        assertNull(JdyJsonUtil.tryRead(new ByteArrayInputStream(new byte[0]), parser -> parser.readValueAsTree()));
+        assertNull(JdyJsonUtil.tryRead(null, parser -> parser.readValueAsTree()));
+    }
+
+    private static byte[] readFixture(final String name) throws IOException {
+        try (final InputStream inputStream = JdyJsonUtilTest.class.getClassLoader().getResourceAsStream(name)) {
+            assertNotNull(inputStream, name);
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class OrderDo extends JdyDo {
+        @JsonProperty("_widget_1751424001001")
+        private String orderNo;
+
+        @JsonProperty("_widget_1751424001002")
+        private String customer;
+
+        @JsonProperty("_widget_1751424001003")
+        private BigDecimal amount;
+
+        @JsonProperty("_widget_1751424001004")
+        private String orderTime;
+
+        @JsonProperty("_widget_1751424001005")
+        private List<String> tags;
+
+        @JsonProperty("_widget_1751424001006")
+        private JdyAddress address;
+
+        @JsonProperty("_widget_1751424001007")
+        private JdyPhone phone;
+
+        @JsonProperty("_widget_1751424001008")
+        private JdySub<OrderItemDo> items;
+
+        @JsonProperty("_widget_1751424001011")
+        private JdyFile files;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class OrderItemDo extends JdySubDo {
+        @JsonProperty("_widget_1751424001009")
+        private String sku;
+
+        @JsonProperty("_widget_1751424001010")
+        private Integer qty;
+    }
+}
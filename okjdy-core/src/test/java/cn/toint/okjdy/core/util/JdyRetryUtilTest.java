@@ -0,0 +1,81 @@
+package cn.toint.okjdy.core.util;
+
+import cn.toint.okjdy.core.config.JdyRetryPolicy;
+import cn.toint.okjdy.core.exception.JdyRequestLimitException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 重试工具测试
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyRetryUtilTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final JdyRetryPolicy retryPolicy = new JdyRetryPolicy();
+
+    @BeforeEach
+    void setUp() {
+        this.retryPolicy.setBaseDelay(Duration.ofMillis(1));
+        this.retryPolicy.setMaxDelay(Duration.ofMillis(5));
+        this.retryPolicy.setRetryBudget(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * 异步重试由定时器重新提交, 成功后以结果完成
+     */
+    @Test
+    void testExecuteAsyncRetry() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> future = JdyRetryUtil.executeAsync(() -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(new JdyRequestLimitException("限流"))
+                : CompletableFuture.completedFuture("ok"), this.retryPolicy, this.scheduler);
+
+        assertEquals("ok", future.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+    }
+
+    /**
+     * 超过最大重试次数后以最后一次异常完成
+     */
+    @Test
+    void testExecuteAsyncGiveUp() {
+        this.retryPolicy.setMaxRetries(2);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> future = JdyRetryUtil.executeAsync(() -> {
+            throw new IllegalStateException("第 " + attempts.incrementAndGet() + " 次");
+        }, this.retryPolicy, this.scheduler);
+
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals("第 3 次", e.getCause().getMessage());
+    }
+
+    /**
+     * 定时器关闭后不再重试
+     */
+    @Test
+    void testExecuteAsyncSchedulerShutdown() {
+        this.scheduler.shutdown();
+        final CompletableFuture<String> future = JdyRetryUtil.executeAsync(
+                () -> CompletableFuture.failedFuture(new IllegalStateException("失败")), this.retryPolicy, this.scheduler);
+
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(1, e.getCause().getSuppressed().length);
+    }
+}
@@ -0,0 +1,54 @@
+package cn.toint.okjdy.core.util;
+
+import cn.toint.okjdy.core.enums.JdyWebhookOpEnum;
+import cn.toint.okjdy.core.model.JdyWebhookRequest;
+import org.dromara.hutool.crypto.SecureUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * webhook 解码测试
+ *
+ * @author Toint
+ * @date 2025/7/1
+ */
+class JdyWebhookUtilTest {
+    private static final String SECRET = "secret";
+
+    private static final String BODY = "{\"op\":\"data_create\",\"data\":{\"_id\":\"1\"}}";
+
+    /**
+     * 签名正确时解码, 请求头名称不区分大小写
+     */
+    @Test
+    void testDecode() {
+        final String signature = SecureUtil.sha1("n:" + BODY + ":" + SECRET + ":1");
+        final Map<String, String> params = Map.of("nonce", "n", "timestamp", "1");
+
+        final JdyWebhookRequest request = JdyWebhookUtil.decode(BODY, params, Map.of("X-JDY-Signature", signature, "X-JDY-DeliverId", "d1"), SECRET);
+        assertEquals(JdyWebhookOpEnum.DATA_CREATE, request.opEnum());
+        assertEquals("1", request.getData().path("_id").asText());
+        assertEquals("d1", request.getDeliverId());
+
+        final JdyWebhookRequest lowerCase = JdyWebhookUtil.decode(BODY, params, Map.of("x-jdy-signature", signature, "x-jdy-deliverid", "d2"), SECRET);
+        assertEquals("d2", lowerCase.getDeliverId());
+    }
+
+    /**
+     * 签名错误或缺少参数时抛出异常
+     */
+    @Test
+    void testDecodeInvalid() {
+        final String signature = SecureUtil.sha1("n:" + BODY + ":" + SECRET + ":1");
+        final Map<String, String> params = Map.of("nonce", "n", "timestamp", "1");
+        final Map<String, String> headers = Map.of("X-JDY-Signature", signature, "X-JDY-DeliverId", "d1");
+
+        assertThrows(IllegalArgumentException.class, () -> JdyWebhookUtil.decode(BODY, params, headers, "other"));
+        assertThrows(IllegalArgumentException.class, () -> JdyWebhookUtil.decode(BODY, Map.of("nonce", "n"), headers, SECRET));
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> JdyWebhookUtil.decode(BODY, params, headers, " "));
+        assertEquals("secret must not be blank", e.getMessage());
+    }
+}